@@ -0,0 +1,84 @@
+package benchmarks;
+
+import Utilities.DaoRegistry;
+import Utilities.BackupRestoreManager;
+import models.Group;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Title: BackupRestoreBenchmark Class </p>
+ *
+ * <p> Description: Measures an encrypted backup of every group with its articles, and a restore of that
+ * backup replacing the existing groups and articles. Public articles belong to no group and are not
+ * backed up, so the backup is restored once during setup; from then on the database holds exactly the
+ * backup and every invocation does the same work. Setup fails if the backup holds no articles. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BackupRestoreBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int articles;
+
+    private BackupRestoreManager backupRestoreManager;
+    private Path backupFile;
+    private Path restoreFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException, ClassNotFoundException {
+        DatasetGenerator.generate(DatasetGenerator.Spec.forArticles(articles, 42));
+        backupRestoreManager = DaoRegistry.getInstance().getBackupRestoreManager();
+        backupFile = Files.createTempFile("benchmark-backup", ".bak");
+        restoreFile = Files.createTempFile("benchmark-restore", ".bak");
+        backupRestoreManager.backupAllGroups(restoreFile.toString());
+        backupRestoreManager.restoreGroups(restoreFile.toString(), true);
+
+        DaoRegistry registry = DaoRegistry.getInstance();
+        int backedUp = 0;
+        for (Group group : registry.getGroupDAO().getAllGroups()) {
+            backedUp += registry.getHelpArticleDAO().getArticlesByGroupId(group.getId(), true).size();
+        }
+        if (backedUp == 0) {
+            throw new IllegalStateException("The backup holds no articles, so the benchmark would measure empty backups.");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(backupFile);
+        Files.deleteIfExists(restoreFile);
+    }
+
+    @Benchmark
+    public void backupAllGroups() throws SQLException, IOException {
+        backupRestoreManager.backupAllGroups(backupFile.toString());
+    }
+
+    @Benchmark
+    public void restoreGroups() throws SQLException, IOException, ClassNotFoundException {
+        backupRestoreManager.restoreGroups(restoreFile.toString(), true);
+    }
+}
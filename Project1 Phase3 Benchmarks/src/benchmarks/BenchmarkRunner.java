@@ -0,0 +1,34 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p> Title: BenchmarkRunner Class </p>
+ *
+ * <p> Description: Runs the benchmarks and writes the results to {@code benchmark-results.json}, so runs
+ * can be compared to catch regressions. Any JMH command line option may be passed; for example
+ * {@code HelpArticleDAOBenchmark -p articles=1000} runs one class at one dataset size. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class BenchmarkRunner {
+    /**
+     * Runs the benchmarks selected by the arguments, or all of them.
+     *
+     * @param args JMH command line options.
+     * @throws CommandLineOptionException If an option is not valid.
+     * @throws RunnerException            If a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result("benchmark-results.json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import models.User;
+
+/**
+ * <p> Title: Dataset Class </p>
+ *
+ * <p> Description: The ids and names of the data written by {@link DatasetGenerator}, for benchmarks and
+ * the {@link WorkloadDriver} to pick from. Methods taking an index cycle through the data, so any
+ * non-negative number can be passed. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class Dataset {
+    private final long[] articleIds;
+    private final long[] groupIds;
+    private final String[] groupNames;
+    private final String[] usernames;
+    private final int[][] userGroups;
+
+    Dataset(long[] articleIds, long[] groupIds, String[] groupNames, String[] usernames, int[][] userGroups) {
+        this.articleIds = articleIds;
+        this.groupIds = groupIds;
+        this.groupNames = groupNames;
+        this.usernames = usernames;
+        this.userGroups = userGroups;
+    }
+
+    public int articleCount() {
+        return articleIds.length;
+    }
+
+    public int groupCount() {
+        return groupIds.length;
+    }
+
+    public int userCount() {
+        return usernames.length;
+    }
+
+    public long articleId(int index) {
+        return articleIds[index % articleIds.length];
+    }
+
+    public long groupId(int index) {
+        return groupIds[index % groupIds.length];
+    }
+
+    public String groupName(int index) {
+        return groupNames[index % groupNames.length];
+    }
+
+    /**
+     * Returns a user to act as. Only the username is filled in, which is all the DAOs read.
+     *
+     * @param index The user's index.
+     * @return The user.
+     */
+    public User user(int index) {
+        return new User(usernames[index % usernames.length], null);
+    }
+
+    /**
+     * Returns the indexes of the groups a user belongs to.
+     *
+     * @param index The user's index.
+     * @return The group indexes; do not modify.
+     */
+    public int[] groupsOf(int index) {
+        return userGroups[index % userGroups.length];
+    }
+
+    /**
+     * Returns the user the read benchmarks act as, who belongs to group 0.
+     *
+     * @return The reader.
+     */
+    public User reader() {
+        return user(0);
+    }
+
+    /**
+     * Returns the name of a group the reader belongs to.
+     *
+     * @return The group name.
+     */
+    public String readerGroupName() {
+        return groupName(0);
+    }
+}
@@ -0,0 +1,211 @@
+package benchmarks;
+
+import Utilities.DaoRegistry;
+import Utilities.DatabaseManager;
+import Utilities.GroupDAO;
+import Utilities.HelpArticleDAO;
+import Utilities.UserDAO;
+import models.Group;
+import models.HelpArticle;
+import models.Role;
+import models.User;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p> Title: DatasetGenerator Class </p>
+ *
+ * <p> Description: Replaces the database with synthetic data of a given size. The same {@link Spec},
+ * seed included, always produces the same data, so benchmark and load test results can be compared
+ * across runs. Data is written through the DAOs' batch methods, in batches of {@value #BATCH_SIZE}. </p>
+ *
+ * <p> The data is shaped like real use: article bodies are mostly short with a long tail up to 64 KB,
+ * one group in ten is a special access group, group popularity is skewed so a few groups are large,
+ * and four in five articles belong to one to three groups while the rest are public. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class DatasetGenerator {
+    static final int BATCH_SIZE = 1000;
+
+    /** Title and body words; {@link #SEARCH_TERM} is one of them, so searches hit about one title in five. */
+    public static final String[] WORDS = {"index", "query", "group", "access", "backup", "restore", "search",
+            "article", "student", "instructor"};
+    public static final String SEARCH_TERM = "backup";
+
+    /**
+     * The size of a dataset.
+     *
+     * @param articles      The number of help articles.
+     * @param groups        The number of groups, at least one.
+     * @param users         The number of users, at least one; one in twenty is an instructor.
+     * @param groupsPerUser The number of groups each user belongs to.
+     * @param seed          The random seed.
+     */
+    public record Spec(int articles, int groups, int users, int groupsPerUser, long seed) {
+        /**
+         * Returns a dataset scaled from a number of articles: one group per 100 articles and one user
+         * per 20, each in three groups.
+         *
+         * @param articles The number of articles.
+         * @param seed     The random seed.
+         * @return The spec.
+         */
+        public static Spec forArticles(int articles, long seed) {
+            return new Spec(articles, Math.max(2, articles / 100), Math.max(10, articles / 20), 3, seed);
+        }
+
+        /**
+         * Returns the full-scale dataset: 100,000 articles, 2,000 groups and 50,000 users in five groups each.
+         *
+         * @param seed The random seed.
+         * @return The spec.
+         */
+        public static Spec large(long seed) {
+            return new Spec(100_000, 2_000, 50_000, 5, seed);
+        }
+    }
+
+    private DatasetGenerator() {
+    }
+
+    /**
+     * Resets the database and fills it with the data described by a spec.
+     *
+     * @param spec The dataset size and seed.
+     * @return The ids and names of what was written.
+     * @throws SQLException If the data cannot be written.
+     */
+    public static Dataset generate(Spec spec) throws SQLException {
+        DatabaseManager.getInstance().resetDatabase();
+        Random random = new Random(spec.seed());
+        GroupDAO groupDAO = DaoRegistry.getInstance().getGroupDAO();
+        HelpArticleDAO articleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+        UserDAO userDAO = DaoRegistry.getInstance().getUserDAO();
+
+        int groupCount = Math.max(1, spec.groups());
+        long[] groupIds = new long[groupCount];
+        String[] groupNames = new String[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            Group group = new Group("Group " + g);
+            group.setSpecialAccessGroup(g % 10 == 9);
+            groupDAO.addGroup(group);
+            groupIds[g] = group.getId();
+            groupNames[g] = group.getName();
+        }
+
+        int userCount = Math.max(1, spec.users());
+        String[] usernames = new String[userCount];
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < userCount; u++) {
+            User user = new User((u % 20 == 19 ? "instructor" : "student") + u, "password" + u);
+            user.setRoles(new ArrayList<>(List.of(u % 20 == 19 ? Role.INSTRUCTOR : Role.STUDENT)));
+            user.setFirstLogin(false);
+            usernames[u] = user.getUsername();
+            batch.add(user);
+            if (batch.size() == BATCH_SIZE || u == userCount - 1) {
+                userDAO.saveUsers(batch);
+                batch.clear();
+            }
+        }
+
+        int groupsPerUser = Math.min(spec.groupsPerUser(), groupCount);
+        int[][] userGroups = new int[userCount][];
+        List<List<String>> members = emptyLists(groupCount);
+        for (int u = 0; u < userCount; u++) {
+            Set<Integer> chosen = new LinkedHashSet<>();
+            // The first user reads the benchmarks, so make sure it can see group 0.
+            if (u == 0) {
+                chosen.add(0);
+            }
+            while (chosen.size() < groupsPerUser) {
+                chosen.add(skewedGroup(random, groupCount));
+            }
+            userGroups[u] = chosen.stream().mapToInt(Integer::intValue).toArray();
+            for (int g : userGroups[u]) {
+                members.get(g).add(usernames[u]);
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            for (List<String> chunk : chunks(members.get(g))) {
+                groupDAO.addStudentsToGroup(groupIds[g], chunk);
+            }
+        }
+
+        long[] articleIds = new long[spec.articles()];
+        List<List<Long>> links = emptyLists(groupCount);
+        List<HelpArticle> articles = new ArrayList<>(BATCH_SIZE);
+        for (int a = 0; a < spec.articles(); a++) {
+            articles.add(new HelpArticle(0, "Header " + a, word(random) + " " + word(random) + " guide " + a,
+                    "Summary of article " + a, List.of(word(random), word(random)), body(random), List.of()));
+            if (articles.size() == BATCH_SIZE || a == spec.articles() - 1) {
+                articleDAO.addHelpArticles(articles);
+                int first = a - articles.size() + 1;
+                for (int i = 0; i < articles.size(); i++) {
+                    articleIds[first + i] = articles.get(i).getId();
+                }
+                articles.clear();
+            }
+        }
+        for (long articleId : articleIds) {
+            if (random.nextInt(5) != 0) {
+                int linked = 1 + random.nextInt(Math.min(3, groupCount));
+                int group = skewedGroup(random, groupCount);
+                for (int l = 0; l < linked; l++) {
+                    links.get((group + l) % groupCount).add(articleId);
+                }
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            for (List<Long> chunk : chunks(links.get(g))) {
+                articleDAO.associateArticlesWithGroup(groupIds[g], chunk);
+            }
+        }
+        return new Dataset(articleIds, groupIds, groupNames, usernames, userGroups);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /**
+     * Picks a group, favouring low indexes so that group sizes are skewed.
+     */
+    private static int skewedGroup(Random random, int groups) {
+        double r = random.nextDouble();
+        return Math.min(groups - 1, (int) (groups * r * r));
+    }
+
+    /**
+     * Builds a body of 200 bytes to 64 KB, mostly short.
+     */
+    private static String body(Random random) {
+        int length = 200 + (int) (Math.pow(random.nextDouble(), 4) * (65_536 - 200));
+        StringBuilder body = new StringBuilder(length + 16);
+        while (body.length() < length) {
+            body.append(word(random)).append(' ');
+        }
+        return body.toString();
+    }
+
+    private static <T> List<List<T>> emptyLists(int count) {
+        List<List<T>> lists = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += BATCH_SIZE) {
+            chunks.add(list.subList(start, Math.min(list.size(), start + BATCH_SIZE)));
+        }
+        return chunks;
+    }
+}
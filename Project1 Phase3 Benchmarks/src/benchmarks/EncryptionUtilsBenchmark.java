@@ -0,0 +1,76 @@
+package benchmarks;
+
+import Utilities.EncryptionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Title: EncryptionUtilsBenchmark Class </p>
+ *
+ * <p> Description: Measures string and buffer encryption and decryption for field-sized to chunk-sized
+ * payloads. The buffer benchmarks reuse direct buffers, as bulk callers do. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionUtilsBenchmark {
+    @Param({"64", "4096", "65536"})
+    public int bytes;
+
+    private String plainText;
+    private String encryptedText;
+    private ByteBuffer plain;
+    private ByteBuffer encrypted;
+    private ByteBuffer decrypted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        char[] chars = new char[bytes];
+        Arrays.fill(chars, 'a');
+        plainText = new String(chars);
+        encryptedText = EncryptionUtils.encrypt(plainText);
+        plain = ByteBuffer.allocateDirect(bytes);
+        encrypted = ByteBuffer.allocateDirect(EncryptionUtils.encryptedSize(bytes));
+        decrypted = ByteBuffer.allocateDirect(bytes);
+    }
+
+    @Benchmark
+    public String encryptString() throws Exception {
+        return EncryptionUtils.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decryptString() throws Exception {
+        return EncryptionUtils.decrypt(encryptedText);
+    }
+
+    @Benchmark
+    public int encryptAndDecryptBuffer() throws GeneralSecurityException {
+        plain.clear();
+        encrypted.clear();
+        EncryptionUtils.encrypt(plain, encrypted);
+        encrypted.flip();
+        decrypted.clear();
+        return EncryptionUtils.decrypt(encrypted, decrypted);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import Utilities.DaoRegistry;
+import Utilities.GroupDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Title: GroupDAOBenchmark Class </p>
+ *
+ * <p> Description: Measures listing the members of a group, cycling through every group. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupDAOBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int articles;
+
+    private Dataset data;
+    private GroupDAO groupDAO;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        data = DatasetGenerator.generate(DatasetGenerator.Spec.forArticles(articles, 42));
+        groupDAO = DaoRegistry.getInstance().getGroupDAO();
+    }
+
+    @Benchmark
+    public List<String> getGroupMembers() throws SQLException {
+        return groupDAO.getGroupMembers(data.groupId(next++ & Integer.MAX_VALUE));
+    }
+}
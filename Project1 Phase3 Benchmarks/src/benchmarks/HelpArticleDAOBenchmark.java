@@ -0,0 +1,70 @@
+package benchmarks;
+
+import Utilities.DaoRegistry;
+import Utilities.HelpArticleDAO;
+import models.HelpArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Title: HelpArticleDAOBenchmark Class </p>
+ *
+ * <p> Description: Measures the article reads a student triggers: listing every visible article, both
+ * searches, and opening an article, which joins its groups and the student's memberships. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelpArticleDAOBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int articles;
+
+    private Dataset data;
+    private HelpArticleDAO helpArticleDAO;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        data = DatasetGenerator.generate(DatasetGenerator.Spec.forArticles(articles, 42));
+        helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+    }
+
+    @Benchmark
+    public List<HelpArticle> getAllHelpArticles() throws SQLException {
+        return helpArticleDAO.getAllHelpArticles(data.reader());
+    }
+
+    @Benchmark
+    public List<HelpArticle> searchHelpArticles() throws SQLException {
+        return helpArticleDAO.searchHelpArticles(data.reader(), DatasetGenerator.SEARCH_TERM, data.readerGroupName());
+    }
+
+    @Benchmark
+    public List<HelpArticle> searchHelpArticlesInGroup() throws SQLException {
+        return helpArticleDAO.searchHelpArticles(data.reader(), DatasetGenerator.SEARCH_TERM, "all", data.readerGroupName());
+    }
+
+    @Benchmark
+    public HelpArticle getHelpArticleById() throws SQLException {
+        return helpArticleDAO.getHelpArticleById(data.articleId(next++ & Integer.MAX_VALUE), data.reader());
+    }
+}
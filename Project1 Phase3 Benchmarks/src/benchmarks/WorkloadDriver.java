@@ -0,0 +1,291 @@
+package benchmarks;
+
+import Utilities.DaoRegistry;
+import Utilities.DaoMetrics;
+import Utilities.GroupDAO;
+import Utilities.HelpArticleDAO;
+import Utilities.LatencyHistogram;
+import models.HelpArticle;
+import models.User;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p> Title: WorkloadDriver Class </p>
+ *
+ * <p> Description: A load test. It generates a dataset with {@link DatasetGenerator}, then has many
+ * threads replay a weighted mix of what users do, and reports throughput and latency percentiles for
+ * each kind of operation. Options are given as {@code --name=value}:
+ * <ul>
+ *   <li>{@code --articles}, {@code --groups}, {@code --users}, {@code --groupsPerUser}, {@code --seed}:
+ *       the dataset, by default the full-scale {@link DatasetGenerator.Spec#large(long)} with seed 42;</li>
+ *   <li>{@code --threads}: concurrent users, default 8;</li>
+ *   <li>{@code --warmup} and {@code --seconds}: the warm-up and measured durations, default 10 and 30;</li>
+ *   <li>{@code --mix}: operation weights, default {@code search:50,view:35,edit:10,membership:5};</li>
+ *   <li>{@code --metrics=true}: also print the per-method {@link DaoMetrics} report.</li>
+ * </ul></p>
+ *
+ * <p> A search is one of the two article searches by a random user; a view opens a random article as a
+ * random user; an edit lists a group's articles and saves one with a version check, where a lost race is
+ * counted as a conflict, not an error; a membership change adds a user to a group and removes them
+ * again. Each thread changes the memberships of its own users only, so the changes never collide. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class WorkloadDriver {
+    /**
+     * The kinds of operation replayed.
+     */
+    enum Operation {
+        SEARCH, VIEW, EDIT, MEMBERSHIP
+    }
+
+    /**
+     * The results of one kind of operation.
+     */
+    static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            conflicts.reset();
+        }
+    }
+
+    private final Dataset dataset;
+    private final int threads;
+    private final Operation[] schedule;
+    private final long seed;
+    private final Map<Operation, Stats> stats = new LinkedHashMap<>();
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a WorkloadDriver.
+     *
+     * @param dataset The data to act on.
+     * @param threads The number of concurrent users.
+     * @param mix     The relative weight of each operation.
+     * @param seed    The random seed for the choices each thread makes.
+     */
+    WorkloadDriver(Dataset dataset, int threads, Map<Operation, Integer> mix, long seed) {
+        this.dataset = dataset;
+        this.threads = threads;
+        this.seed = seed;
+        List<Operation> weighted = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                weighted.add(entry.getKey());
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix must have a positive weight.");
+        }
+        schedule = weighted.toArray(new Operation[0]);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Generates the dataset, runs the workload and prints the report.
+     *
+     * @param args Options as {@code --name=value}.
+     * @throws Exception If the dataset cannot be generated or the run is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options must look like --name=value: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        DatasetGenerator.Spec large = DatasetGenerator.Spec.large(seed);
+        DatasetGenerator.Spec spec = new DatasetGenerator.Spec(
+                intOption(options, "articles", large.articles()),
+                intOption(options, "groups", large.groups()),
+                intOption(options, "users", large.users()),
+                intOption(options, "groupsPerUser", large.groupsPerUser()),
+                seed);
+        DaoMetrics.setEnabled(Boolean.parseBoolean(options.getOrDefault("metrics", "false")));
+
+        long start = System.nanoTime();
+        Dataset dataset = DatasetGenerator.generate(spec);
+        System.out.printf("Generated %d articles, %d groups and %d users in %d ms.%n", dataset.articleCount(),
+                dataset.groupCount(), dataset.userCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        WorkloadDriver driver = new WorkloadDriver(dataset, intOption(options, "threads", 8),
+                parseMix(options.getOrDefault("mix", "search:50,view:35,edit:10,membership:5")), seed);
+        double seconds = driver.run(intOption(options, "warmup", 10), intOption(options, "seconds", 30));
+        System.out.print(driver.report(seconds));
+        if (DaoMetrics.isEnabled()) {
+            System.out.print(DaoMetrics.report());
+        }
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Parses a mix such as {@code search:50,view:35}; operations left out get no weight.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Runs the workload, discarding the results of the warm-up.
+     *
+     * @param warmupSeconds   How long to run before measuring.
+     * @param measuredSeconds How long to measure.
+     * @return The measured duration in seconds.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    double run(int warmupSeconds, int measuredSeconds) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread.ofPlatform().name("workload-" + t).daemon().start(() -> {
+                try {
+                    work(thread);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        for (Stats stat : stats.values()) {
+            stat.reset();
+        }
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(measuredSeconds));
+        running = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        done.await();
+        return seconds;
+    }
+
+    private void work(int thread) {
+        Random random = new Random(seed * 31 + thread);
+        HelpArticleDAO articleDAO;
+        GroupDAO groupDAO;
+        try {
+            articleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
+        } catch (SQLException e) {
+            System.out.println("Workload thread " + thread + " could not start: " + e.getMessage());
+            return;
+        }
+        while (running) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            Stats stat = stats.get(operation);
+            long start = System.nanoTime();
+            try {
+                if (!perform(operation, thread, random, articleDAO, groupDAO)) {
+                    stat.conflicts.increment();
+                }
+            } catch (SQLException | RuntimeException e) {
+                stat.errors.increment();
+            }
+            stat.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Performs one operation.
+     *
+     * @return False if an edit lost a race with another edit.
+     */
+    private boolean perform(Operation operation, int thread, Random random, HelpArticleDAO articleDAO,
+                            GroupDAO groupDAO) throws SQLException {
+        int userIndex = random.nextInt(dataset.userCount());
+        User user = dataset.user(userIndex);
+        int[] groups = dataset.groupsOf(userIndex);
+        switch (operation) {
+            case SEARCH:
+                String term = DatasetGenerator.WORDS[random.nextInt(DatasetGenerator.WORDS.length)];
+                if (random.nextBoolean() && groups.length > 0) {
+                    articleDAO.searchHelpArticles(user, term, "all", dataset.groupName(groups[random.nextInt(groups.length)]));
+                } else {
+                    articleDAO.searchHelpArticles(user, term, null);
+                }
+                return true;
+            case VIEW:
+                articleDAO.getHelpArticleById(dataset.articleId(random.nextInt(dataset.articleCount())), user);
+                return true;
+            case EDIT:
+                List<HelpArticle> articles = articleDAO.getArticlesByGroup(dataset.groupId(random.nextInt(dataset.groupCount())));
+                if (articles.isEmpty()) {
+                    return true;
+                }
+                HelpArticle article = articles.get(random.nextInt(articles.size()));
+                article.setShortDescription("Edited by workload thread " + thread);
+                return articleDAO.updateHelpArticle(article, article.getVersion());
+            case MEMBERSHIP:
+                // Stay within this thread's users so concurrent changes never touch the same row.
+                int member = userIndex - userIndex % threads + thread;
+                if (member >= dataset.userCount()) {
+                    member = thread % dataset.userCount();
+                }
+                int group = random.nextInt(dataset.groupCount());
+                for (int g : dataset.groupsOf(member)) {
+                    if (g == group) {
+                        return true;
+                    }
+                }
+                String username = dataset.user(member).getUsername();
+                groupDAO.addStudentToGroup(dataset.groupId(group), username);
+                groupDAO.removeStudentFromGroup(dataset.groupId(group), username);
+                return true;
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Formats throughput and latency percentiles in microseconds for each operation that ran.
+     *
+     * @param seconds The measured duration.
+     * @return The report.
+     */
+    String report(double seconds) {
+        StringBuilder report = new StringBuilder(String.format("%-11s %9s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "errors", "conflicts", "mean_us", "p50_us", "p90_us", "p99_us", "p999_us", "max_us"));
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            report.append(String.format("%-11s %9d %9.1f %7d %9d %9d %9d %9d %9d %9d %9d%n",
+                    entry.getKey().name().toLowerCase(), latency.getCount(), latency.getCount() / seconds,
+                    entry.getValue().errors.sum(), entry.getValue().conflicts.sum(),
+                    micros(latency.getMeanNanos()), micros(latency.getPercentileNanos(50)),
+                    micros(latency.getPercentileNanos(90)), micros(latency.getPercentileNanos(99)),
+                    micros(latency.getPercentileNanos(99.9)), micros(latency.getMaxNanos())));
+        }
+        return report.toString();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -29,6 +29,7 @@ public class AccountSetupPage {
     private Button finishButton;
     private Label messageLabel;
     private User user;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructor that sets up the form elements for the account setup page.
@@ -100,13 +101,18 @@ public class AccountSetupPage {
         user.setPreferredName(preferredName.isEmpty() ? firstName : preferredName);
         user.setFirstLogin(false);
 
-        UserManager.getInstance().addUser(user);
-        SessionManager.getInstance().setCurrentUser(user);
-
-        if (user.getRoles().size() > 1) {
-            Main.showRoleSelectionPage(user);
-        } else {
-            Main.showHomePage(user, user.getRoles().get(0));
-        }
+        finishButton.setDisable(true);
+        tasks.run(() -> UserManager.getInstance().addUserAsync(user).get(), () -> {
+            SessionManager.getInstance().setCurrentUser(user);
+
+            if (user.getRoles().size() > 1) {
+                Main.showRoleSelectionPage(user);
+            } else {
+                Main.showHomePage(user, user.getRoles().get(0));
+            }
+        }, e -> {
+            finishButton.setDisable(false);
+            messageLabel.setText("Failed to save your details. Please try again.");
+        });
     }
 }
@@ -7,12 +7,13 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import java.time.format.DateTimeFormatter;
 
 import java.util.*;
 
-public class AdminHomePage {
+public class AdminHomePage implements SceneCache.CachedPage {
 
     /**
      * <p> Title: Admin Home Page Controller. </p>
@@ -38,7 +39,9 @@ public class AdminHomePage {
     private Button backupRestoreButton;
     private Button logoutButton;
     private TextArea outputArea;
+    private ListView<User> usersListView;
     private Button manageSpecialAccessGroupsButton;
+    private final TaskRunner tasks = new TaskRunner();
     
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a");
 
@@ -84,6 +87,7 @@ public class AdminHomePage {
 
         logoutButton = new Button("Log Out");
         logoutButton.setOnAction(e -> {
+            tasks.cancelLoads();
             SessionManager.getInstance().clearSession();
             Main.showLoginPage();
         });
@@ -91,8 +95,26 @@ public class AdminHomePage {
         outputArea = new TextArea();
         outputArea.setEditable(false);
 
+        // Hidden until the users are listed; rows are paged in as the list scrolls.
+        usersListView = new ListView<>();
+        usersListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(User u, boolean empty) {
+                super.updateItem(u, empty);
+                if (empty) {
+                    setText(null);
+                } else if (u == null) {
+                    setText("Loading...");
+                } else {
+                    setText("Username: " + u.getUsername() + ", Name: " + u.getFirstName() + " " + u.getLastName() + ", Roles: " + u.getRoles());
+                }
+            }
+        });
+        usersListView.setVisible(false);
+        usersListView.managedProperty().bind(usersListView.visibleProperty());
+
         view.getChildren().addAll(
-                welcomeLabel,
+                new HBox(10, welcomeLabel, tasks.createIndicator()),
                 inviteButton,
                 resetButton,
                 deleteButton,
@@ -103,14 +125,17 @@ public class AdminHomePage {
                 backupRestoreButton,
                 logoutButton,
                 outputArea,
+                usersListView,
                 manageSpecialAccessGroupsButton
         );
     }
     
     private void handleManageSpecialAccessGroups() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("SpecialAccessGroupPage");
         SpecialAccessGroupPage specialAccessGroupPage = new SpecialAccessGroupPage();
         Scene scene = new Scene(specialAccessGroupPage.getView(), 800, 600);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
     
     /**
@@ -121,6 +146,24 @@ public class AdminHomePage {
     public VBox getView() {
         return view;
     }
+
+    /**
+     * Reloads the user list, if it is shown, when users changed since the page was last shown.
+     *
+     * @param changes The changes, or null to reload everything.
+     */
+    @Override
+    public void refresh(List<ChangeEvent> changes) {
+        if (usersListView.isVisible() && SceneCache.touches(changes, ChangeEvent.Type.USER_SAVED,
+                ChangeEvent.Type.USER_DELETED)) {
+            loadUsers();
+        }
+    }
+
+    @Override
+    public void discard() {
+        tasks.cancelLoads();
+    }
     
     /**
      * Handles inviting a new user and displaying the generated invitation code.
@@ -188,17 +231,29 @@ public class AdminHomePage {
     }
 
     /**
-     * Lists all users present in the system by fetching them from the UserManager and 
-     * displaying their usernames, names, and roles in the output area.
+     * Lists all users present in the system with their usernames, names, and roles. Only the
+     * usernames are read up front; the users are paged in from the database as the list scrolls.
      */
     private void handleListUsers() {
-        UserManager userManager = UserManager.getInstance();
-        Collection<User> users = userManager.getAllUsers();
-
         outputArea.clear();
-        for (User u : users) {
-            outputArea.appendText("Username: " + u.getUsername() + ", Name: " + u.getFirstName() + " " + u.getLastName() + ", Roles: " + u.getRoles() + "\n");
-        }
+        loadUsers();
+    }
+
+    /**
+     * Loads the users into the paged user list and shows it.
+     */
+    private void loadUsers() {
+        UserManager userManager = UserManager.getInstance();
+        tasks.load("users", () -> {
+            // Changes are written to the database behind the UserManager, so write them out first.
+            userManager.flush();
+            UserDAO userDAO = DaoRegistry.getInstance().getUserDAO();
+            return new PagedList<String, User>(userDAO.getUsernames(), userDAO::getUsersInRange, User::getUsername,
+                    username -> null, tasks);
+        }, users -> {
+            usersListView.setItems(users);
+            usersListView.setVisible(true);
+        }, e -> outputArea.appendText("Failed to list users.\n"));
     }
 
     /**
@@ -211,26 +266,32 @@ public class AdminHomePage {
     }
     
     private void handleManageArticles() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("HelpArticlePage");
         HelpArticlePage helpArticlePage = new HelpArticlePage();
         Scene scene = new Scene(helpArticlePage.getView(), 800, 600);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
 
     /**
      * Handles navigation to the GroupPage.
      */
     private void handleManageGroups() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("GroupPage");
         GroupPage groupPage = new GroupPage();
         Scene scene = new Scene(groupPage.getView(), 600, 400);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
 
     /**
      * Handles navigation to the BackupRestorePage.
      */
     private void handleBackupRestore() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("BackupRestorePage");
         BackupRestorePage backupRestorePage = new BackupRestorePage();
         Scene scene = new Scene(backupRestorePage.getView(), 400, 300);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
 }
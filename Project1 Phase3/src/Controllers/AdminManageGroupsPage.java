@@ -11,7 +11,6 @@ import Utilities.*;
 import javafx.util.Pair;
 
 import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
 
 public class AdminManageGroupsPage {
@@ -25,6 +24,7 @@ public class AdminManageGroupsPage {
     private Button createGroupButton;
     private Button editGroupButton;
     private Button deleteGroupButton;
+    private final TaskRunner tasks = new TaskRunner();
 
     public AdminManageGroupsPage() {
         view = new VBox(10);
@@ -57,13 +57,14 @@ public class AdminManageGroupsPage {
         deleteGroupButton.setOnAction(e -> handleDeleteGroup());
         assignArticleButton = new Button("Assign Article");
         assignArticleButton.setOnAction(e -> handleAssignArticle());
-        groupButtons.getChildren().addAll(createGroupButton, editGroupButton, deleteGroupButton, assignArticleButton);
+        groupButtons.getChildren().addAll(createGroupButton, editGroupButton, deleteGroupButton, assignArticleButton,
+                tasks.createIndicator());
 
         view.getChildren().addAll(groupsTableView, groupButtons);
 
         try {
-            groupDAO = new GroupDAO();
-            helpArticleDAO = new HelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load data.");
             return;
@@ -81,16 +82,11 @@ public class AdminManageGroupsPage {
 
         AssignArticleToGroupDialog assignDialog = new AssignArticleToGroupDialog(groupDAO, helpArticleDAO, selectedGroup.getId());
         Optional<Void> result = assignDialog.showAndWait();
-        if (result.isPresent()) {
-            try {
-                HelpArticle selectedArticle = assignDialog.getSelectedArticle();
-                if (selectedArticle != null) {
-                    helpArticleDAO.associateArticleWithGroup(selectedArticle.getId(), selectedGroup.getId());
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Article assigned to group successfully.");
-                }
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign article to group.");
-            }
+        HelpArticle selectedArticle = assignDialog.getSelectedArticle();
+        if (result.isPresent() && selectedArticle != null) {
+            tasks.run(() -> helpArticleDAO.associateArticleWithGroup(selectedArticle.getId(), selectedGroup.getId()),
+                    () -> showAlert(Alert.AlertType.INFORMATION, "Success", "Article assigned to group successfully."),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign article to group."));
         }
     }
 
@@ -115,13 +111,10 @@ public class AdminManageGroupsPage {
             Optional<String> accessResult = accessDialog.showAndWait();
             accessResult.ifPresent(access -> {
                 boolean isSpecial = access.equalsIgnoreCase("Yes");
-                try {
-                    groupDAO.createGroup(groupName, isSpecial);
+                tasks.run(() -> groupDAO.createGroup(groupName, isSpecial), () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Group created successfully.");
                     loadGroups();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create group.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create group."));
             });
         });
     }
@@ -153,13 +146,10 @@ public class AdminManageGroupsPage {
             Optional<String> accessResult = accessDialog.showAndWait();
             accessResult.ifPresent(access -> {
                 boolean isSpecial = access.equalsIgnoreCase("Yes");
-                try {
-                    groupDAO.updateGroup(selectedGroup.getId(), newName, isSpecial);
+                tasks.run(() -> groupDAO.updateGroup(selectedGroup.getId(), newName, isSpecial), () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Group updated successfully.");
                     loadGroups();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group."));
             });
         });
     }
@@ -178,24 +168,17 @@ public class AdminManageGroupsPage {
         confirmationAlert.setHeaderText(null);
         confirmationAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try {
-                    groupDAO.deleteGroup(selectedGroup.getId());
+                tasks.run(() -> groupDAO.deleteGroup(selectedGroup.getId()), () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Deleted", "Group deleted successfully.");
                     loadGroups();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the group.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the group."));
             }
         });
     }
 
     private void loadGroups() {
-        try {
-            List<Group> currentGroups = groupDAO.getAllGroups();
-            groupsList.setAll(currentGroups);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        tasks.load("groups", groupDAO::getAllGroups, groupsList::setAll,
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
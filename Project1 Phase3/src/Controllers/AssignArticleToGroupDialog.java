@@ -3,13 +3,13 @@ package Controllers;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import models.HelpArticle;
 import Utilities.GroupDAO;
 import Utilities.HelpArticleDAO;
 
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 public class AssignArticleToGroupDialog extends Dialog<Void> {
 
@@ -18,6 +18,8 @@ public class AssignArticleToGroupDialog extends Dialog<Void> {
     private GroupDAO groupDAO;
     private HelpArticle selectedArticle;
     private long groupId;
+    private List<HelpArticle> articles = new ArrayList<>();
+    private final TaskRunner tasks = new TaskRunner();
 
     public AssignArticleToGroupDialog(GroupDAO groupDAO, HelpArticleDAO helpArticleDAO, long groupId) {
         this.groupDAO = groupDAO;
@@ -36,17 +38,16 @@ public class AssignArticleToGroupDialog extends Dialog<Void> {
         grid.setPadding(new Insets(20, 150, 10, 10));
 
         articleComboBox = new ComboBox<>();
-        try {
-            List<HelpArticle> articles = helpArticleDAO.getAllHelpArticles(null);
-            for (HelpArticle article : articles) {
+        tasks.load("articles", () -> helpArticleDAO.getAllHelpArticles(null), loaded -> {
+            articles = loaded;
+            for (HelpArticle article : loaded) {
                 articleComboBox.getItems().add(article.getId() + ". " + article.getTitle());
             }
-        } catch (SQLException e) {
-            // Handle exception
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles."));
+        setOnHidden(e -> tasks.cancelLoads());
 
         grid.add(new Label("Article:"), 0, 0);
-        grid.add(articleComboBox, 1, 0);
+        grid.add(new HBox(10, articleComboBox, tasks.createIndicator()), 1, 0);
 
         getDialogPane().setContent(grid);
 
@@ -58,11 +59,11 @@ public class AssignArticleToGroupDialog extends Dialog<Void> {
                     return null;
                 }
                 long articleId = Long.parseLong(selected.split("\\.")[0]);
-                try {
-                    selectedArticle = helpArticleDAO.getHelpArticleById(articleId, null);
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article details.");
-                    return null;
+                // The articles listed were loaded with the dialog, so there is no need to query again.
+                for (HelpArticle article : articles) {
+                    if (article.getId() == articleId) {
+                        selectedArticle = article;
+                    }
                 }
                 return null;
             }
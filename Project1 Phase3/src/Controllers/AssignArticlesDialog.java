@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.HelpArticleDAO;
 import models.Group;
 import models.HelpArticle;
@@ -33,17 +34,18 @@ public class AssignArticlesDialog extends Dialog<List<HelpArticle>> {
     private ListView<HelpArticle> articleListView;
     private ObservableList<HelpArticle> allArticles;
     private HelpArticleDAO helpArticleDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs an AssignArticlesDialog for the specified group.
-     * Initializes the dialog's UI components and loads articles.
+     * Initializes the dialog's UI components and loads articles in the background.
      *
      * @param group The {@link Group} to which articles will be assigned.
      * @throws SQLException If there is an error accessing the database.
      */
     public AssignArticlesDialog(Group group) throws SQLException {
         this.selectedGroup = group;
-        helpArticleDAO = new HelpArticleDAO();
+        helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
 
         setTitle("Assign Articles to Group");
         setHeaderText("Select articles to assign to the group: " + group.getName());
@@ -54,16 +56,20 @@ public class AssignArticlesDialog extends Dialog<List<HelpArticle>> {
         articleListView = new ListView<>();
         articleListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE); 
 
-        allArticles = FXCollections.observableArrayList(helpArticleDAO.getAllHelpArticles(null));
+        allArticles = FXCollections.observableArrayList();
         articleListView.setItems(allArticles);
 
-        List<HelpArticle> assignedArticles = helpArticleDAO.getArticlesByGroupId(group.getId(), false);
-        for (HelpArticle article : assignedArticles) {
-            articleListView.getSelectionModel().select(article);
-        }
+        tasks.load("articles", () -> List.of(helpArticleDAO.getAllHelpArticles(null),
+                helpArticleDAO.getArticlesByGroupId(group.getId(), false)), loaded -> {
+            allArticles.setAll(loaded.get(0));
+            for (HelpArticle article : loaded.get(1)) {
+                articleListView.getSelectionModel().select(article);
+            }
+        }, e -> articleListView.setPlaceholder(new Label("Failed to load articles.")));
+        setOnHidden(e -> tasks.cancelLoads());
 
         VBox content = new VBox(10);
-        content.getChildren().addAll(new Label("Select Articles:"), articleListView);
+        content.getChildren().addAll(new Label("Select Articles:"), tasks.createIndicator(), articleListView);
         content.setPadding(new javafx.geometry.Insets(10));
         getDialogPane().setContent(content);
 
@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.GroupDAO;
 import Utilities.HelpArticleDAO;
 import models.Group;
@@ -7,6 +8,8 @@ import models.HelpArticle;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,18 +36,19 @@ public class AssignGroupsDialog extends Dialog<List<Group>> {
     private ObservableList<Group> allGroups;
     private GroupDAO groupDAO;
     private HelpArticleDAO helpArticleDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs an AssignGroupsDialog for the specified help article.
-     * Initializes the dialog's UI components and loads groups.
+     * Initializes the dialog's UI components and loads groups in the background.
      *
      * @param article The {@link HelpArticle} to which groups will be associated.
      * @throws SQLException If there is an error accessing the database.
      */
     public AssignGroupsDialog(HelpArticle article) throws SQLException {
         this.selectedArticle = article;
-        groupDAO = new GroupDAO();
-        helpArticleDAO = new HelpArticleDAO();
+        groupDAO = DaoRegistry.getInstance().getGroupDAO();
+        helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
 
         setTitle("Assign Groups to Article");
         setHeaderText("Select groups to associate with the article: " + article.getTitle());
@@ -56,16 +60,18 @@ public class AssignGroupsDialog extends Dialog<List<Group>> {
         groupListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         allGroups = FXCollections.observableArrayList();
 
-        List<Group> groups = groupDAO.getAllGroups();
-        allGroups.addAll(groups);
         groupListView.setItems(allGroups);
 
-        List<Group> associatedGroups = helpArticleDAO.getGroupsByArticleId(article.getId());
-        for (Group group : associatedGroups) {
-            groupListView.getSelectionModel().select(group);
-        }
+        tasks.load("groups", () -> List.of(groupDAO.getAllGroups(),
+                helpArticleDAO.getGroupsByArticleId(article.getId())), loaded -> {
+            allGroups.setAll(loaded.get(0));
+            for (Group group : loaded.get(1)) {
+                groupListView.getSelectionModel().select(group);
+            }
+        }, e -> groupListView.setPlaceholder(new Label("Failed to load groups.")));
+        setOnHidden(e -> tasks.cancelLoads());
 
-        getDialogPane().setContent(groupListView);
+        getDialogPane().setContent(new VBox(10, tasks.createIndicator(), groupListView));
 
         setResultConverter(dialogButton -> {
             if (dialogButton == assignButtonType) {
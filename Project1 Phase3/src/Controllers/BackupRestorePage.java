@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.BackupRestoreManager;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -8,7 +9,6 @@ import models.Role;
 import models.User;
 import Utilities.SessionManager;
 
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +38,7 @@ public class BackupRestorePage {
     private Button backupAllButton;
     private Button backupByGroupButton;
     private Button restoreButton;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs the BackupRestorePage and initializes its UI components.
@@ -45,7 +46,7 @@ public class BackupRestorePage {
      */
     public BackupRestorePage() {
         try {
-            backupRestoreManager = new BackupRestoreManager();
+            backupRestoreManager = DaoRegistry.getInstance().getBackupRestoreManager();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to initialize backup/restore manager.");
             return;
@@ -73,7 +74,12 @@ public class BackupRestorePage {
         restoreButton = new Button("Restore Groups");
         restoreButton.setOnAction(e -> handleRestoreGroups());
 
-        ToolBar toolBar = new ToolBar(backButton, backupAllButton, backupByGroupButton, restoreButton);
+        ToolBar toolBar = new ToolBar(backButton, backupAllButton, backupByGroupButton, restoreButton, tasks.createIndicator());
+
+        // Only one backup or restore at a time; the runner's busy flag covers the whole operation.
+        backupAllButton.disableProperty().bind(tasks.busyProperty());
+        backupByGroupButton.disableProperty().bind(tasks.busyProperty());
+        restoreButton.disableProperty().bind(tasks.busyProperty());
 
         view.getChildren().addAll(toolBar);
     }
@@ -89,24 +95,19 @@ public class BackupRestorePage {
 
     /**
      * Handles backing up all groups along with their associated articles.
-     * Prompts the user to select a destination file and performs the backup.
+     * Prompts the user to select a destination file and performs the backup in the background.
      */
     private void handleBackupAllGroups() {
         FileChooserDialog fileDialog = new FileChooserDialog("Backup All Groups with Articles", "*.bak");
         Optional<String> result = fileDialog.showSaveDialog();
-        result.ifPresent(filePath -> {
-            try {
-                backupRestoreManager.backupAllGroups(filePath);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "All groups and their articles backed up successfully.");
-            } catch (IOException | SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Backup Error", "Failed to backup all groups and articles.");
-            }
-        });
+        result.ifPresent(filePath -> tasks.run(() -> backupRestoreManager.backupAllGroups(filePath),
+                () -> showAlert(Alert.AlertType.INFORMATION, "Success", "All groups and their articles backed up successfully."),
+                e -> showAlert(Alert.AlertType.ERROR, "Backup Error", "Failed to backup all groups and articles.")));
     }
 
     /**
      * Handles backing up selected groups along with their associated articles.
-     * Prompts the user to select groups and a destination file before performing the backup.
+     * Prompts the user to select groups and a destination file before performing the backup in the background.
      *
      * @throws SQLException If there is an error accessing the database.
      */
@@ -123,20 +124,16 @@ public class BackupRestorePage {
 
             FileChooserDialog fileDialog = new FileChooserDialog("Backup Selected Groups with Articles", "*.bak");
             Optional<String> filePathOpt = fileDialog.showSaveDialog();
-            filePathOpt.ifPresent(filePath -> {
-                try {
-                    backupRestoreManager.backupGroups(groups, filePath);
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Selected groups and their articles backed up successfully.");
-                } catch (IOException | SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Backup Error", "Failed to backup selected groups and articles.");
-                }
-            });
+            filePathOpt.ifPresent(filePath -> tasks.run(() -> backupRestoreManager.backupGroups(groups, filePath),
+                    () -> showAlert(Alert.AlertType.INFORMATION, "Success", "Selected groups and their articles backed up successfully."),
+                    e -> showAlert(Alert.AlertType.ERROR, "Backup Error", "Failed to backup selected groups and articles.")));
         });
     }
 
     /**
      * Handles restoring groups and their articles from a backup file.
-     * Prompts the user to select a backup file and choose restore options before performing the restore.
+     * Prompts the user to select a backup file and choose restore options before performing the restore
+     * in the background.
      */
     private void handleRestoreGroups() {
         FileChooserDialog fileDialog = new FileChooserDialog("Select Backup File", "*.bak");
@@ -151,12 +148,9 @@ public class BackupRestorePage {
             Optional<String> choice = choiceDialog.showAndWait();
             if (choice.isPresent()) {
                 boolean removeExisting = choice.get().equals("Remove All");
-                try {
-                    backupRestoreManager.restoreGroups(filePath, removeExisting);
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Groups and articles restored successfully.");
-                } catch (IOException | SQLException | ClassNotFoundException e) {
-                    showAlert(Alert.AlertType.ERROR, "Restore Error", "Failed to restore groups and articles.");
-                }
+                tasks.run(() -> backupRestoreManager.restoreGroups(filePath, removeExisting),
+                        () -> showAlert(Alert.AlertType.INFORMATION, "Success", "Groups and articles restored successfully."),
+                        e -> showAlert(Alert.AlertType.ERROR, "Restore Error", "Failed to restore groups and articles."));
             }
         });
     }
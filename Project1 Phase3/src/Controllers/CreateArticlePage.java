@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.HelpArticleDAO;
 import Utilities.GroupDAO;
 import Utilities.SessionManager;
@@ -10,6 +11,7 @@ import models.User;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -36,6 +38,7 @@ public class CreateArticlePage {
     private Label messageLabel;
     private HelpArticleDAO helpArticleDAO;
     private GroupDAO groupDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs a CreateArticlePage instance.
@@ -43,8 +46,8 @@ public class CreateArticlePage {
      */
     public CreateArticlePage() {
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            groupDAO = new GroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
             return;
@@ -64,14 +67,12 @@ public class CreateArticlePage {
         groupComboBox = new ComboBox<>();
 
         // Populate groupComboBox with groups
-        try {
-            groupComboBox.getItems().addAll(groupDAO.getAllGroups());
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        tasks.load("groups", groupDAO::getAllGroups, groupComboBox.getItems()::setAll,
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
 
         createButton = new Button("Create");
         createButton.setOnAction(e -> handleCreate());
+        createButton.disableProperty().bind(tasks.busyProperty());
 
         messageLabel = new Label();
 
@@ -90,7 +91,7 @@ public class CreateArticlePage {
         view.add(referenceLinksField, 1, 5);
         view.add(new Label("Group:"), 0, 6);
         view.add(groupComboBox, 1, 6);
-        view.add(createButton, 1, 7);
+        view.add(new HBox(10, createButton, tasks.createIndicator()), 1, 7);
         view.add(messageLabel, 0, 8, 2, 1);
 
         // Article Type Selection (General or Special Access)
@@ -162,32 +163,33 @@ public class CreateArticlePage {
             body, Arrays.asList(referenceLinks.split(","))
         );
 
-        try {
-            if (isSpecialAccessGroup) {
-                // Only admins can create special access group articles
-                if (!currentUser.getRoles().contains(Role.ADMIN)) {
-                    messageLabel.setText("Only admins can create special access group articles.");
-                    return;
-                }
-            } else {
-                // Only admins and instructors can create general articles
-                if (!currentUser.getRoles().contains(Role.ADMIN) && !currentUser.getRoles().contains(Role.INSTRUCTOR)) {
-                    messageLabel.setText("You do not have permission to create articles.");
-                    return;
-                }
+        if (isSpecialAccessGroup) {
+            // Only admins can create special access group articles
+            if (!currentUser.getRoles().contains(Role.ADMIN)) {
+                messageLabel.setText("Only admins can create special access group articles.");
+                return;
             }
+        } else {
+            // Only admins and instructors can create general articles
+            if (!currentUser.getRoles().contains(Role.ADMIN) && !currentUser.getRoles().contains(Role.INSTRUCTOR)) {
+                messageLabel.setText("You do not have permission to create articles.");
+                return;
+            }
+        }
 
-            // Add article using HelpArticleDAO
+        // Add article using HelpArticleDAO
+        tasks.run(() -> {
             helpArticleDAO.addHelpArticle(article);
-            if (isSpecialAccessGroup && selectedGroup != null) {
+            if (isSpecialAccessGroup) {
                 helpArticleDAO.associateArticleWithGroup(article.getId(), selectedGroup.getId());
             }
+        }, () -> {
             messageLabel.setText("Article created successfully.");
             clearForm();
-        } catch (SQLException e) {
+        }, e -> {
             messageLabel.setText("Failed to create article.");
             e.printStackTrace();
-        }
+        });
     }
 
     /**
@@ -31,6 +31,7 @@ public class CreateUserPage {
     private Button createButton;
     private Label messageLabel;
     private InvitationCode invitation;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructor that initializes the create user page.
@@ -110,14 +111,24 @@ public class CreateUserPage {
         newUser.setFirstLogin(true);
         newUser.setRoles(invitation.getRoles());
 
-        userManager.addUser(newUser);
-        invitation.setUsed(true);
-        userManager.removeInvitationCode(invitation.getCode());
-
-        messageLabel.setText("Account created successfully. Redirecting to login...");
-
         createButton.setDisable(true);
+        messageLabel.setText("Creating account...");
+        // The password is hashed on the verification pool, not on the JavaFX thread.
+        tasks.run(() -> userManager.addUserAsync(newUser).get(), () -> {
+            invitation.setUsed(true);
+            userManager.removeInvitationCode(invitation.getCode());
+            messageLabel.setText("Account created successfully. Redirecting to login...");
+            redirectToLogin();
+        }, e -> {
+            createButton.setDisable(false);
+            messageLabel.setText("Failed to create the account. Please try again.");
+        });
+    }
 
+    /**
+     * Shows the login page after a brief delay.
+     */
+    private void redirectToLogin() {
         Task<Void> redirectTask = new Task<Void>() {
             @Override
             protected Void call() throws Exception {
@@ -1,14 +1,15 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.HelpArticleDAO;
 import Utilities.SessionManager;
-import Utilities.GroupDAO;
 import models.HelpArticle;
 import models.Role;
-import models.Group;
 import models.User;
+import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
 
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -16,7 +17,7 @@ import java.util.Arrays;
 public class EditArticleDialog extends Dialog<Void> {
     private HelpArticle article;
     private HelpArticleDAO helpArticleDAO;
-    private GroupDAO groupDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     private TextField headerField;
     private TextField titleField;
@@ -29,8 +30,7 @@ public class EditArticleDialog extends Dialog<Void> {
     public EditArticleDialog(HelpArticle article) {
         this.article = article;
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            groupDAO = new GroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to connect to the database.");
             return;
@@ -68,7 +68,7 @@ public class EditArticleDialog extends Dialog<Void> {
         grid.add(referenceLinksField, 1, 5);
         grid.add(messageLabel, 0, 6, 2, 1);
 
-        getDialogPane().setContent(grid);
+        getDialogPane().setContent(new VBox(10, tasks.createIndicator(), grid));
 
         User currentUser = SessionManager.getInstance().getCurrentUser();
         if (!currentUser.getRoles().contains(Role.INSTRUCTOR)) {
@@ -76,12 +76,14 @@ public class EditArticleDialog extends Dialog<Void> {
             bodyArea.setDisable(true);
         }
 
-        setResultConverter(dialogButton -> {
-            if (dialogButton == saveButtonType) {
-                handleSave();
-            }
-            return null;
+        // Saving runs in the background, so the dialog stays open until the save is done.
+        Button saveButton = (Button) getDialogPane().lookupButton(saveButtonType);
+        saveButton.disableProperty().bind(tasks.busyProperty());
+        saveButton.addEventFilter(ActionEvent.ACTION, e -> {
+            e.consume();
+            handleSave();
         });
+        setResultConverter(dialogButton -> null);
     }
 
 
@@ -112,15 +114,14 @@ public class EditArticleDialog extends Dialog<Void> {
         article.setBody(body);
         article.setReferenceLinks(Arrays.asList(referenceLinks.split(",")));
 
-        try {
-            Long groupId = helpArticleDAO.getGroupIdByArticleId(article.getId());
-            Group group = groupId != null ? groupDAO.getGroupById(groupId) : null;
-            boolean isSpecialAccessGroup = group != null && group.isSpecialAccessGroup();
-            helpArticleDAO.updateHelpArticle(article);
-            messageLabel.setText("Article updated successfully.");
-        } catch (SQLException e) {
-            messageLabel.setText("Failed to update article.");
-        }
+        tasks.call(() -> helpArticleDAO.updateHelpArticle(article, article.getVersion()), updated -> {
+            if (updated) {
+                setResult(null);
+                close();
+            } else {
+                messageLabel.setText("This article was changed by someone else. Reopen it to edit the latest version.");
+            }
+        }, e -> messageLabel.setText("Failed to update article."));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -1,13 +1,13 @@
 package Controllers;
 
-import Utilities.GroupDAO;
+import Utilities.DaoRegistry;
 import Utilities.HelpArticleDAO;
 import models.HelpArticle;
-import models.Group;
 import models.User;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -24,13 +24,12 @@ public class EditArticlePage {
     private Label messageLabel;
     private HelpArticle article;
     private HelpArticleDAO helpArticleDAO;
-    private GroupDAO groupDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     public EditArticlePage(HelpArticle article) {
         this.article = article;
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            groupDAO = new GroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to connect to the database.");
             return;
@@ -50,6 +49,7 @@ public class EditArticlePage {
 
         saveButton = new Button("Save");
         saveButton.setOnAction(e -> handleSave());
+        saveButton.disableProperty().bind(tasks.busyProperty());
 
         messageLabel = new Label();
 
@@ -65,7 +65,7 @@ public class EditArticlePage {
         view.add(bodyArea, 1, 4);
         view.add(new Label("Reference Links:"), 0, 5);
         view.add(referenceLinksField, 1, 5);
-        view.add(saveButton, 1, 6);
+        view.add(new HBox(10, saveButton, tasks.createIndicator()), 1, 6);
         view.add(messageLabel, 0, 7, 2, 1);
     }
 
@@ -93,15 +93,13 @@ public class EditArticlePage {
         article.setBody(body);
         article.setReferenceLinks(Arrays.asList(referenceLinks.split(",")));
 
-        try {
-            Long groupId = helpArticleDAO.getGroupIdByArticleId(article.getId());
-            Group group = groupId != null ? groupDAO.getGroupById(groupId) : null;
-            boolean isSpecialAccessGroup = group != null && group.isSpecialAccessGroup();
-            helpArticleDAO.updateHelpArticle(article);
-            messageLabel.setText("Article updated successfully.");
-        } catch (SQLException e) {
-            messageLabel.setText("Failed to update article.");
-        }
+        tasks.call(() -> helpArticleDAO.updateHelpArticle(article, article.getVersion()), updated -> {
+            if (updated) {
+                messageLabel.setText("Article updated successfully.");
+            } else {
+                messageLabel.setText("This article was changed by someone else. Reopen it to edit the latest version.");
+            }
+        }, e -> messageLabel.setText("Failed to update article."));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -0,0 +1,135 @@
+package Controllers;
+
+import Utilities.RotatingLog;
+import javafx.application.Platform;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Title: FxStallWatchdog Class </p>
+ *
+ * <p> Description: Finds what freezes the window. A watchdog thread posts a ping to the JavaFX
+ * Application Thread every {@value #CHECK_INTERVAL_MILLIS} ms. A ping runs between pulses and events, so
+ * if it has not run within the stall threshold ({@code helpsystem.fxStallMillis}, 250 ms by default; 0
+ * turns the watchdog off), the thread is blocked. The watchdog then captures the thread's stack, waits
+ * for the ping to run, and appends the stall to a rotating log ({@code helpsystem.fxStallLog},
+ * {@value #DEFAULT_LOG_PATTERN} by default) with its duration and the stack. </p>
+ *
+ * <p> Each stall is attributed to the innermost controller method on the stack, the action that blocked,
+ * and to the first application call that action made, typically the DAO or manager method doing
+ * database work on the JavaFX thread. Such calls belong on a {@link TaskRunner}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class FxStallWatchdog {
+    static final String THRESHOLD_PROPERTY = "helpsystem.fxStallMillis";
+    static final String LOG_PROPERTY = "helpsystem.fxStallLog";
+    static final String DEFAULT_LOG_PATTERN = "fx-stalls.%g.log";
+    static final long CHECK_INTERVAL_MILLIS = 100;
+    static final int MAX_LOGGED_FRAMES = 40;
+
+    private static boolean started;
+    private final Thread fxThread;
+    private final long thresholdNanos;
+    private final RotatingLog stallLog;
+
+    private FxStallWatchdog(Thread fxThread, long thresholdNanos, String logPattern) {
+        this.fxThread = fxThread;
+        this.thresholdNanos = thresholdNanos;
+        this.stallLog = new RotatingLog("Stall", logPattern);
+    }
+
+    /**
+     * Starts watching the JavaFX Application Thread, once, configured from system properties. Must be
+     * called on that thread.
+     */
+    public static synchronized void start() {
+        long thresholdMillis = Long.getLong(THRESHOLD_PROPERTY, 250);
+        if (started || thresholdMillis <= 0) {
+            return;
+        }
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("The stall watchdog must be started on the JavaFX Application Thread.");
+        }
+        started = true;
+        FxStallWatchdog watchdog = new FxStallWatchdog(Thread.currentThread(),
+                TimeUnit.MILLISECONDS.toNanos(thresholdMillis), System.getProperty(LOG_PROPERTY, DEFAULT_LOG_PATTERN));
+        Thread.ofPlatform().name("fx-stall-watchdog").daemon().start(watchdog::watch);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                long posted = System.nanoTime();
+                CountDownLatch ran = new CountDownLatch(1);
+                Platform.runLater(ran::countDown);
+                if (!ran.await(thresholdNanos, TimeUnit.NANOSECONDS)) {
+                    StackTraceElement[] stack = fxThread.getStackTrace();
+                    ran.await();
+                    logStall(System.nanoTime() - posted, stack);
+                }
+                Thread.sleep(CHECK_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the innermost controller frame on a stack, or -1.
+     */
+    static int actionFrame(StackTraceElement[] stack) {
+        for (int i = 0; i < stack.length; i++) {
+            String className = stack[i].getClassName();
+            if (className.startsWith("Controllers.") && !className.startsWith(FxStallWatchdog.class.getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first application frame called from a controller frame, or -1.
+     */
+    static int callFrame(StackTraceElement[] stack, int actionFrame) {
+        for (int i = (actionFrame < 0 ? stack.length : actionFrame) - 1; i >= 0; i--) {
+            if (stack[i].getClassName().startsWith("Utilities.")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Names a frame's method as {@code Class.method}, naming a lambda after the method that declares it.
+     */
+    static String describe(StackTraceElement frame) {
+        String className = frame.getClassName();
+        className = className.substring(className.lastIndexOf('.') + 1);
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = method.substring("lambda$".length(), end < 0 ? method.length() : end);
+        }
+        return className + "." + method;
+    }
+
+    private void logStall(long elapsedNanos, StackTraceElement[] stack) {
+        int action = actionFrame(stack);
+        int call = callFrame(stack, action);
+        StringBuilder entry = new StringBuilder()
+                .append(Instant.now())
+                .append(' ').append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append("ms")
+                .append(" action=").append(action < 0 ? "unknown" : describe(stack[action]))
+                .append(" call=").append(call < 0 ? "none" : describe(stack[call]));
+        for (int i = 0; i < Math.min(stack.length, MAX_LOGGED_FRAMES); i++) {
+            entry.append(System.lineSeparator()).append("    at ").append(stack[i]);
+        }
+        if (stack.length > MAX_LOGGED_FRAMES) {
+            entry.append(System.lineSeparator()).append("    ... ").append(stack.length - MAX_LOGGED_FRAMES).append(" more");
+        }
+        stallLog.append(entry.toString());
+    }
+}
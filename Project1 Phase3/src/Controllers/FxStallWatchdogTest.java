@@ -0,0 +1,57 @@
+// src/test/java/Controllers/FxStallWatchdogTest.java
+package Controllers;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxStallWatchdogTest {
+    private static StackTraceElement frame(String className, String method) {
+        return new StackTraceElement(className, method, null, -1);
+    }
+
+    // Innermost frame first, as Thread.getStackTrace returns it.
+    private static final StackTraceElement[] STALLED = {
+            frame("java.net.SocketInputStream", "read"),
+            frame("org.h2.jdbc.JdbcPreparedStatement", "executeQuery"),
+            frame("Utilities.DaoMetrics", "call"),
+            frame("Utilities.GroupDAO", "lambda$getAllGroups$3"),
+            frame("Utilities.GroupDAO", "getAllGroups"),
+            frame("Controllers.AdminManageGroupsPage", "lambda$show$0"),
+            frame("Controllers.AdminManageGroupsPage", "show"),
+            frame("javafx.event.CompositeEventHandler", "dispatchBubblingEvent"),
+    };
+
+    @Test
+    void testActionFrameIsTheInnermostController() {
+        assertEquals(5, FxStallWatchdog.actionFrame(STALLED));
+        StackTraceElement[] withWatchdog = {
+                frame("Controllers.FxStallWatchdog", "watch"),
+                frame("Controllers.StudentHomePage", "refresh"),
+        };
+        assertEquals(1, FxStallWatchdog.actionFrame(withWatchdog), "The watchdog's own frames should be skipped.");
+        assertEquals(-1, FxStallWatchdog.actionFrame(new StackTraceElement[] {
+                frame("com.sun.glass.ui.InvokeLaterDispatcher", "run")}), "A stack without a controller has no action.");
+    }
+
+    @Test
+    void testCallFrameIsTheFirstApplicationCallFromTheAction() {
+        assertEquals(4, FxStallWatchdog.callFrame(STALLED, 5),
+                "The call should be the outermost application frame under the action.");
+        StackTraceElement[] layoutOnly = {
+                frame("javafx.scene.Parent", "layout"),
+                frame("Controllers.HelpArticlePage", "show"),
+        };
+        assertEquals(-1, FxStallWatchdog.callFrame(layoutOnly, 1), "An action making no application call has none.");
+        assertEquals(4, FxStallWatchdog.callFrame(STALLED, -1),
+                "Without an action, the outermost application frame should be used.");
+    }
+
+    @Test
+    void testDescribeNamesLambdasAfterTheirMethod() {
+        assertEquals("GroupDAO.getAllGroups", FxStallWatchdog.describe(STALLED[3]));
+        assertEquals("AdminManageGroupsPage.show", FxStallWatchdog.describe(STALLED[6]));
+        assertEquals("Main.start", FxStallWatchdog.describe(frame("Main", "start")), "A class without a package is named as is.");
+        assertEquals("Page.odd", FxStallWatchdog.describe(frame("Controllers.Page", "lambda$odd")));
+    }
+}
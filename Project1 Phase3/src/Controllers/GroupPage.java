@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.GroupDAO;
 import Utilities.HelpArticleDAO;
 import Utilities.SessionManager;
@@ -45,6 +46,7 @@ public class GroupPage {
     private Button assignArticlesButton;
     private Button removeArticlesButton; 
     private ListView<HelpArticle> articlesListView; 
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs a GroupPage instance.
@@ -52,8 +54,8 @@ public class GroupPage {
      */
     public GroupPage() {
         try {
-            groupDAO = new GroupDAO();
-            helpArticleDAO = new HelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to connect to the database.");
             return;
@@ -103,7 +105,7 @@ public class GroupPage {
         removeArticlesButton = new Button("Remove Articles");
         removeArticlesButton.setOnAction(e -> removeArticlesFromGroup());
 
-        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, refreshButton, assignArticlesButton, removeArticlesButton);
+        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, refreshButton, assignArticlesButton, removeArticlesButton, tasks.createIndicator());
 
         articlesListView = new ListView<>();
         articlesListView.setPrefHeight(200);
@@ -140,32 +142,24 @@ public class GroupPage {
     }
 
     /**
-     * Loads all groups from the database into the table view.
+     * Loads all groups from the database into the table view in the background.
      * Fetches the list of groups and updates the observable list.
      */
     private void loadGroups() {
-        try {
-            List<Group> groups = groupDAO.getAllGroups();
-            groupsList.setAll(groups);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        tasks.load("groups", () -> groupDAO.getAllGroups(), groups -> groupsList.setAll(groups),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
     }
 
     /**
-     * Loads articles associated with a specific group ID.
-     * Fetches the list of articles linked to the group and updates the list view.
+     * Loads articles associated with a specific group ID in the background.
+     * Selecting another group before the articles arrive discards them.
      *
      * @param groupId The ID of the group.
      */
     private void loadArticlesForGroup(long groupId) {
-        try {
-            List<HelpArticle> articles = helpArticleDAO.getArticlesByGroupId(groupId, false);
-            ObservableList<HelpArticle> articlesList = FXCollections.observableArrayList(articles);
-            articlesListView.setItems(articlesList);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles for the selected group.");
-        }
+        tasks.load("groupArticles", () -> helpArticleDAO.getArticlesByGroupId(groupId, false),
+                articles -> articlesListView.setItems(FXCollections.observableArrayList(articles)),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles for the selected group."));
     }
 
     /**
@@ -184,19 +178,20 @@ public class GroupPage {
                 showAlert(Alert.AlertType.WARNING, "Invalid Input", "Group name cannot be empty.");
                 return;
             }
-            try {
-                Group existing = groupDAO.getGroupByName(name.trim());
-                if (existing != null) {
+            tasks.call(() -> {
+                if (groupDAO.getGroupByName(name.trim()) != null) {
+                    return false;
+                }
+                groupDAO.addGroup(new Group(name.trim()));
+                return true;
+            }, added -> {
+                if (!added) {
                     showAlert(Alert.AlertType.WARNING, "Duplicate Group", "A group with this name already exists.");
                     return;
                 }
-                Group group = new Group(name.trim());
-                groupDAO.addGroup(group);
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Group added successfully.");
                 loadGroups();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add group.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add group."));
         });
     }
 
@@ -222,19 +217,22 @@ public class GroupPage {
                 showAlert(Alert.AlertType.WARNING, "Invalid Input", "Group name cannot be empty.");
                 return;
             }
-            try {
-                Group existing = groupDAO.getGroupByName(name.trim());
+            tasks.load("groupName", () -> groupDAO.getGroupByName(name.trim()), existing -> {
                 if (existing != null && existing.getId() != selected.getId()) {
                     showAlert(Alert.AlertType.WARNING, "Duplicate Group", "A group with this name already exists.");
                     return;
                 }
                 selected.setName(name.trim());
-                groupDAO.updateGroup(selected);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Group updated successfully.");
-                loadGroups();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group.");
-            }
+                long version = selected.getVersion();
+                tasks.call(() -> groupDAO.updateGroup(selected, version), updated -> {
+                    if (updated) {
+                        showAlert(Alert.AlertType.INFORMATION, "Success", "Group updated successfully.");
+                    } else {
+                        showAlert(Alert.AlertType.WARNING, "Group Changed", "This group was changed by someone else. Please try again.");
+                    }
+                    loadGroups();
+                }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group."));
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group."));
         });
     }
 
@@ -253,14 +251,11 @@ public class GroupPage {
         Optional<ButtonType> result = confirm.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.YES) {
-            try {
-                groupDAO.deleteGroup(selected.getId());
+            tasks.run(() -> groupDAO.deleteGroup(selected.getId()), () -> {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Group deleted successfully.");
                 loadGroups();
                 articlesListView.getItems().clear();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete group.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete group."));
         }
     }
 
@@ -280,18 +275,14 @@ public class GroupPage {
             dialog = new AssignArticlesDialog(selectedGroup);
             Optional<List<HelpArticle>> result = dialog.showAndWait();
 
-            result.ifPresent(articles -> {
-                try {
-                    for (HelpArticle article : articles) {
-                        helpArticleDAO.associateArticleWithGroup(article.getId(), selectedGroup.getId());
-                    }
-
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Articles assigned to group successfully.");
-                    loadArticlesForGroup(selectedGroup.getId());
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign articles to group.");
+            result.ifPresent(articles -> tasks.run(() -> {
+                for (HelpArticle article : articles) {
+                    helpArticleDAO.associateArticleWithGroup(article.getId(), selectedGroup.getId());
                 }
-            });
+            }, () -> {
+                showAlert(Alert.AlertType.INFORMATION, "Success", "Articles assigned to group successfully.");
+                loadArticlesForGroup(selectedGroup.getId());
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign articles to group.")));
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to initialize assignment dialog.");
         }
@@ -318,15 +309,16 @@ public class GroupPage {
         Optional<ButtonType> result = confirm.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.YES) {
-            try {
-                for (HelpArticle article : selectedArticles) {
+            // The selection belongs to the JavaFX thread, so copy it before handing it to the runner.
+            List<HelpArticle> articles = List.copyOf(selectedArticles);
+            tasks.run(() -> {
+                for (HelpArticle article : articles) {
                     helpArticleDAO.dissociateArticleFromGroup(article.getId(), selectedGroup.getId());
                 }
+            }, () -> {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Selected articles removed from group successfully.");
                 loadArticlesForGroup(selectedGroup.getId());
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove articles from group.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove articles from group."));
         }
     }
 
@@ -335,6 +327,7 @@ public class GroupPage {
      * Invokes the {@link Main#showHomePage(User, Role)} method to display the appropriate home page.
      */
     private void handleBack() {
+        tasks.cancelLoads();
         User currentUser = SessionManager.getInstance().getCurrentUser();
         Role currentRole = SessionManager.getInstance().getCurrentRole();
         Main.showHomePage(currentUser, currentRole);
@@ -1,10 +1,13 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.GroupDAO;
 import models.Group;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,10 +33,11 @@ public class GroupSelectionDialog extends Dialog<List<String>> {
     private ListView<String> groupListView;
     private ObservableList<String> groupNames;
     private GroupDAO groupDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs a GroupSelectionDialog instance.
-     * Initializes the dialog's UI components and loads groups from the database.
+     * Initializes the dialog's UI components and loads groups from the database in the background.
      *
      * @throws SQLException If there is an error accessing the database.
      */
@@ -48,14 +52,16 @@ public class GroupSelectionDialog extends Dialog<List<String>> {
         groupListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         groupNames = FXCollections.observableArrayList();
 
-        groupDAO = new GroupDAO();
-        List<Group> groups = groupDAO.getAllGroups();
-        for (Group group : groups) {
-            groupNames.add(group.getName());
-        }
+        groupDAO = DaoRegistry.getInstance().getGroupDAO();
         groupListView.setItems(groupNames);
+        tasks.load("groups", groupDAO::getAllGroups, groups -> {
+            for (Group group : groups) {
+                groupNames.add(group.getName());
+            }
+        }, e -> groupListView.setPlaceholder(new Label("Failed to load groups.")));
+        setOnHidden(e -> tasks.cancelLoads());
 
-        getDialogPane().setContent(groupListView);
+        getDialogPane().setContent(new VBox(10, tasks.createIndicator(), groupListView));
 
         setResultConverter(dialogButton -> {
             if (dialogButton == backupButtonType) {
@@ -1,13 +1,12 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.HelpArticleDAO;
 import Utilities.GroupDAO;
 import Utilities.SessionManager;
 import models.HelpArticle;
 import models.Role;
 import models.User;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
@@ -15,7 +14,6 @@ import javafx.scene.layout.VBox;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,7 +29,6 @@ public class HelpArticlePage {
 
     private VBox view;
     private TableView<HelpArticle> tableView;
-    private ObservableList<HelpArticle> articlesList;
     private HelpArticleDAO helpArticleDAO;
     private GroupDAO groupDAO;
 
@@ -41,6 +38,7 @@ public class HelpArticlePage {
     private Button deleteButton;
     private Button refreshButton;
     private Button viewButton;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructs a HelpArticlePage instance.
@@ -48,8 +46,8 @@ public class HelpArticlePage {
      */
     public HelpArticlePage() {
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            groupDAO = new GroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to connect to the database.");
             return;
@@ -64,8 +62,6 @@ public class HelpArticlePage {
         backButton.setOnAction(e -> handleBack());
 
         tableView = new TableView<>();
-        articlesList = FXCollections.observableArrayList();
-        tableView.setItems(articlesList);
 
         TableColumn<HelpArticle, Long> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(data -> new javafx.beans.property.SimpleLongProperty(data.getValue().getId()).asObject());
@@ -80,6 +76,10 @@ public class HelpArticlePage {
         shortDescCol.setPrefWidth(300);
 
         tableView.getColumns().addAll(idCol, titleCol, shortDescCol);
+        // The articles are paged in by key as the table scrolls, so they cannot be sorted in place.
+        for (TableColumn<HelpArticle, ?> column : tableView.getColumns()) {
+            column.setSortable(false);
+        }
 
         addButton = new Button("Add Article");
         addButton.setOnAction(e -> showAddArticleDialog());
@@ -101,7 +101,7 @@ public class HelpArticlePage {
             deleteButton.setDisable(true);
         }
 
-        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, viewButton, refreshButton);
+        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, viewButton, refreshButton, tasks.createIndicator());
 
         view.getChildren().addAll(toolBar, tableView);
 
@@ -115,17 +115,14 @@ public class HelpArticlePage {
             return;
         }
         User currentUser = SessionManager.getInstance().getCurrentUser();
-        try {
-            HelpArticle article = helpArticleDAO.getHelpArticleById(selected.getId(), currentUser);
+        tasks.load("article", () -> helpArticleDAO.getHelpArticleById(selected.getId(), currentUser), article -> {
             if (article != null) {
                 ViewArticleDialog dialog = new ViewArticleDialog(article, currentUser);
                 dialog.showAndWait();
             } else {
                 showAlert(Alert.AlertType.ERROR, "Access Denied", "You do not have permission to view this article.");
             }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article."));
     }
     
     private void handleEditArticle() {
@@ -159,13 +156,10 @@ public class HelpArticlePage {
         Optional<ButtonType> result = confirm.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.YES) {
-            try {
-                helpArticleDAO.deleteHelpArticle(selected.getId());
+            tasks.run(() -> helpArticleDAO.deleteHelpArticle(selected.getId()), () -> {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Help article deleted successfully.");
                 loadArticles();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete help article.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete help article."));
         }
     }
 
@@ -179,17 +173,26 @@ public class HelpArticlePage {
     }
 
     /**
-     * Loads all help articles from the database into the table view.
-     * Fetches the list of help articles and updates the observable list.
+     * Loads all help articles from the database into the table view in the background.
+     * Fetches only the article ids; the articles are paged in as the table scrolls.
      */
     private void loadArticles() {
         User currentUser = SessionManager.getInstance().getCurrentUser();
-        try {
-            List<HelpArticle> articles = helpArticleDAO.getAllHelpArticles(currentUser);
-            articlesList.setAll(articles);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles.");
-        }
+        tasks.load("articles", () -> helpArticleDAO.getHelpArticleIds(currentUser),
+                ids -> tableView.setItems(new PagedList<>(ids,
+                        (firstId, lastId) -> helpArticleDAO.getHelpArticlesInRange(currentUser, firstId, lastId),
+                        HelpArticle::getId, HelpArticlePage::placeholderArticle, tasks)),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles."));
+    }
+
+    /**
+     * Stands in for an article whose page is still loading.
+     */
+    private static HelpArticle placeholderArticle(long id) {
+        HelpArticle article = new HelpArticle();
+        article.setId(id);
+        article.setTitle("Loading...");
+        return article;
     }
 
     /**
@@ -216,23 +219,10 @@ public class HelpArticlePage {
 
         Optional<HelpArticle> result = dialog.showAndWait();
 
-        result.ifPresent(article -> {
-            try {
-                User currentUser = SessionManager.getInstance().getCurrentUser();
-                boolean isSpecialAccessGroup = false;
-                Long groupId = null;
-
-                
-                helpArticleDAO.addHelpArticle(article);
-                if (isSpecialAccessGroup && groupId != null) {
-                    helpArticleDAO.associateArticleWithGroup(article.getId(), groupId);
-                }
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Help article added successfully.");
-                loadArticles();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add help article.");
-            }
-        });
+        result.ifPresent(article -> tasks.run(() -> helpArticleDAO.addHelpArticle(article), () -> {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Help article added successfully.");
+            loadArticles();
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add help article.")));
     }
 
     /**
@@ -327,11 +317,13 @@ public class HelpArticlePage {
 
     /**
      * Handles navigation back to the home page based on the current user's role.
-     * Invokes the {@link Main#showHomePage(User)} method to display the appropriate home page.
+     * Invokes the {@link Main#showHomePage(User, Role)} method to display the appropriate home page.
      */
     private void handleBack() {
+        tasks.cancelLoads();
         User currentUser = SessionManager.getInstance().getCurrentUser();
-        Main.showHomePage(currentUser, null);
+        Role currentRole = SessionManager.getInstance().getCurrentRole();
+        Main.showHomePage(currentUser, currentRole);
     }
 
     /**
@@ -1,5 +1,6 @@
 package Controllers;
 
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -8,6 +9,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import models.*;
 import Utilities.*;
+import javafx.util.Duration;
 import javafx.util.Pair;
 
 import java.sql.SQLException;
@@ -15,7 +17,7 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
 
-public class InstructorHomePage {
+public class InstructorHomePage implements SceneCache.CachedPage {
 
     private VBox view;
     private User user;
@@ -24,7 +26,6 @@ public class InstructorHomePage {
     private HelpArticleDAO helpArticleDAO;
     private UserDAO userDAO;
     private GroupDAO groupDAO;
-    private ObservableList<HelpArticle> articlesList;
     private TableView<HelpArticle> articlesTableView;
     private Button viewArticleButton;
     private Button editArticleButton;
@@ -55,6 +56,8 @@ public class InstructorHomePage {
     private Button searchButton;
     private Button backupButton;
     private Button restoreButton;
+    private final TaskRunner tasks = new TaskRunner();
+    private final PauseTransition searchDelay = new PauseTransition(Duration.millis(100));
 
     public InstructorHomePage(User user) {
         this.user = user;
@@ -64,16 +67,26 @@ public class InstructorHomePage {
 
         welcomeLabel = new Label("Welcome, " + user.getPreferredName() + " (Instructor)");
         logoutButton = new Button("Log Out");
-        logoutButton.setOnAction(e -> Main.showLoginPage());
+        logoutButton.setOnAction(e -> {
+            tasks.cancelLoads();
+            Main.showLoginPage();
+        });
 
         TabPane tabPane = new TabPane();
 
         Tab helpArticlesTab = new Tab("Help Articles");
         helpArticlesTab.setClosable(false);
         VBox helpArticlesBox = new VBox(10);
-        articlesList = FXCollections.observableArrayList();
         articlesTableView = new TableView<>();
-        articlesTableView.setItems(articlesList);
+
+        // Filter the table as the instructor types, once typing pauses.
+        searchField = new TextField();
+        searchField.setPromptText("Search articles");
+        searchDelay.setOnFinished(e -> loadArticles());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDelay.playFromStart());
+        searchField.setOnAction(e -> loadArticles());
+        HBox.setHgrow(searchField, Priority.ALWAYS);
+        HBox searchBox = new HBox(10, new Label("Search:"), searchField);
 
         TableColumn<HelpArticle, Long> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(data -> new javafx.beans.property.SimpleLongProperty(data.getValue().getId()).asObject());
@@ -88,6 +101,8 @@ public class InstructorHomePage {
         descriptionCol.setPrefWidth(300);
 
         articlesTableView.getColumns().addAll(idCol, titleCol, descriptionCol);
+        // All articles are paged in by key; only search results can be sorted.
+        articlesTableView.setSortPolicy(PagedList.sortPolicy());
 
         HBox articleButtons = new HBox(10);
         viewArticleButton = new Button("View Article");
@@ -115,7 +130,7 @@ public class InstructorHomePage {
             }
         });
 
-        helpArticlesBox.getChildren().addAll(articlesTableView, articleButtons);
+        helpArticlesBox.getChildren().addAll(searchBox, articlesTableView, articleButtons);
         helpArticlesTab.setContent(helpArticlesBox);
 
         Tab groupManagementTab = new Tab("Group Management");
@@ -194,12 +209,12 @@ public class InstructorHomePage {
 
         tabPane.getTabs().addAll(helpArticlesTab, groupManagementTab, studentManagementTab, backupRestoreTab);
 
-        view.getChildren().addAll(welcomeLabel, tabPane, logoutButton);
+        view.getChildren().addAll(new HBox(10, welcomeLabel, tasks.createIndicator()), tabPane, logoutButton);
 
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            groupDAO = new GroupDAO();
-            userDAO = new UserDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
+            userDAO = DaoRegistry.getInstance().getUserDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load data.");
             return;
@@ -238,12 +253,9 @@ public class InstructorHomePage {
         AssignArticleToGroupDialog assignDialog = new AssignArticleToGroupDialog(groupDAO, helpArticleDAO, groupId);
         Optional<Void> result = assignDialog.showAndWait();
         if (result.isPresent()) {
-            try {
-                helpArticleDAO.associateArticleWithGroup(selectedArticle.getId(), groupId);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Article assigned to group successfully.");
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign article to group.");
-            }
+            tasks.run(() -> helpArticleDAO.associateArticleWithGroup(selectedArticle.getId(), groupId),
+                    () -> showAlert(Alert.AlertType.INFORMATION, "Success", "Article assigned to group successfully."),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to assign article to group."));
         }
     }
     
@@ -253,17 +265,14 @@ public class InstructorHomePage {
             showAlert(Alert.AlertType.WARNING, "No Selection", "Please select an article to view.");
             return;
         }
-        try {
-            HelpArticle fullArticle = helpArticleDAO.getHelpArticleById(selected.getId(), user);
+        tasks.load("article", () -> helpArticleDAO.getHelpArticleById(selected.getId(), user), fullArticle -> {
             if (fullArticle != null && fullArticle.getBody() != null) {
                 ViewArticleDialog dialog = new ViewArticleDialog(fullArticle, user);
                 dialog.showAndWait();
             } else {
                 showAlert(Alert.AlertType.ERROR, "Access Denied", "You do not have permission to view this article.");
             }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article."));
     }
     
     private void handleEditArticle() {
@@ -280,15 +289,10 @@ public class InstructorHomePage {
     private void handleAddArticle() {
         AddArticleDialog addDialog = new AddArticleDialog();
         Optional<HelpArticle> result = addDialog.showAndWait();
-        result.ifPresent(article -> {
-            try {
-                helpArticleDAO.addHelpArticle(article);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Article added successfully.");
-                loadArticles();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add article.");
-            }
-        });
+        result.ifPresent(article -> tasks.run(() -> helpArticleDAO.addHelpArticle(article), () -> {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Article added successfully.");
+            loadArticles();
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add article.")));
     }
 
     private void handleBackup() {
@@ -299,12 +303,16 @@ public class InstructorHomePage {
 
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(filename -> {
-            try (Statement stmt = helpArticleDAO.getConnection().createStatement()) {
-                String backupSQL = "SCRIPT TO '" + filename + "';";
-                stmt.execute(backupSQL);
-            } catch (SQLException e) {
+            setBackupRestoreDisabled(true);
+            tasks.run(() -> {
+                try (Statement stmt = helpArticleDAO.getConnection().createStatement()) {
+                    String backupSQL = "SCRIPT TO '" + filename + "';";
+                    stmt.execute(backupSQL);
+                }
+            }, () -> setBackupRestoreDisabled(false), e -> {
+                setBackupRestoreDisabled(false);
                 showAlert(Alert.AlertType.ERROR, "Backup Failed", "Failed to backup the database.");
-            }
+            });
         });
     }
 
@@ -316,27 +324,34 @@ public class InstructorHomePage {
 
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(filename -> {
-            try (Statement stmt = helpArticleDAO.getConnection().createStatement()) {
-                String restoreSQL = "RUNSCRIPT FROM '" + filename + "';";
-                stmt.execute(restoreSQL);
+            setBackupRestoreDisabled(true);
+            tasks.run(() -> {
+                try (Statement stmt = helpArticleDAO.getConnection().createStatement()) {
+                    String restoreSQL = "RUNSCRIPT FROM '" + filename + "';";
+                    stmt.execute(restoreSQL);
+                    ChangeEventBus.getInstance().publish(ChangeEvent.Type.DATABASE_REPLACED, 0, 0, null);
+                }
+            }, () -> {
+                setBackupRestoreDisabled(false);
                 showAlert(Alert.AlertType.INFORMATION, "Restore Successful", "Database restored from " + filename);
                 loadGroups();
                 loadArticles();
                 loadStudents();
-            } catch (SQLException e) {
+            }, e -> {
+                setBackupRestoreDisabled(false);
                 showAlert(Alert.AlertType.ERROR, "Restore Failed", "Failed to restore the database.");
-            }
+            });
         });
     }
 
+    private void setBackupRestoreDisabled(boolean disabled) {
+        backupButton.setDisable(disabled);
+        restoreButton.setDisable(disabled);
+    }
+
     private void loadGroupMembers(long groupId) {
-        try {
-            List<String> members = groupDAO.getGroupMembers(groupId);
-            groupMembersList.clear();
-            groupMembersList.addAll(members);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load group members.");
-        }
+        tasks.load("groupMembers", () -> groupDAO.getGroupMembers(groupId), members -> groupMembersList.setAll(members),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load group members."));
     }
 
     private void handleAddStudentToGroup() {
@@ -359,19 +374,21 @@ public class InstructorHomePage {
                 return;
             }
 
-            try {
+            tasks.call(() -> {
                 User student = userDAO.getUserByUsername(usernameInput);
                 if (student == null || !student.getRoles().contains(Role.STUDENT)) {
+                    return false;
+                }
+                groupDAO.addStudentToGroup(groupId, usernameInput);
+                return true;
+            }, added -> {
+                if (!added) {
                     showAlert(Alert.AlertType.ERROR, "Invalid User", "The specified user is not a student.");
                     return;
                 }
-
-                groupDAO.addStudentToGroup(groupId, usernameInput);
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Student added to group successfully.");
                 loadGroupMembers(groupId);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student to group.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student to group."));
         });
     }
 
@@ -396,29 +413,23 @@ public class InstructorHomePage {
         confirmationAlert.setHeaderText(null);
         confirmationAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try {
-                    groupDAO.removeStudentFromGroup(groupId, selectedStudent);
+                tasks.run(() -> groupDAO.removeStudentFromGroup(groupId, selectedStudent), () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Removed", "Student removed from group successfully.");
                     loadGroupMembers(groupId);
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Removal Failed", "Failed to remove student from group.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Removal Failed", "Failed to remove student from group."));
             }
         });
     }
 
     private void loadStudents() {
-        try {
-            List<User> currentStudents = userDAO.getAllStudents();
+        tasks.load("students", () -> userDAO.getAllStudents(), currentStudents -> {
             studentsList.clear();
             for (User student : currentStudents) {
                 String display = String.format("%s - %s %s", 
                     student.getUsername(), student.getFirstName(), student.getLastName());
                 studentsList.add(display);
             }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load students.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load students."));
     }
 
     private void handleAddStudent() {
@@ -469,15 +480,21 @@ public class InstructorHomePage {
                     return;
                 }
 
+                UserManager userManager = UserManager.getInstance();
+                if (userManager.isUsernameTaken(username)) {
+                    showAlert(Alert.AlertType.WARNING, "Username Taken", "A user with this username already exists.");
+                    return;
+                }
                 User newStudent = new User(username, password);
                 newStudent.setRoles(FXCollections.observableArrayList(Role.STUDENT));
-                try {
-                    userDAO.addUser(newStudent);
+                // Through UserManager, so the password is hashed and the user can log in at once.
+                tasks.run(() -> {
+                    userManager.addUserAsync(newStudent).get();
+                    userManager.flush();
+                }, () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Student added successfully.");
                     loadStudents();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student. Username might already exist.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student."));
             });
         });
     }
@@ -497,13 +514,14 @@ public class InstructorHomePage {
         confirmationAlert.setHeaderText(null);
         confirmationAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try {
-                    userDAO.deleteUser(username);
+                tasks.run(() -> {
+                    UserManager userManager = UserManager.getInstance();
+                    userManager.removeUser(username);
+                    userManager.flush();
+                }, () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Deleted", "Student deleted successfully.");
                     loadStudents();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the student.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the student."));
             }
         });
     }
@@ -529,13 +547,10 @@ public class InstructorHomePage {
             Optional<String> accessResult = accessDialog.showAndWait();
             accessResult.ifPresent(access -> {
                 boolean isSpecial = access.equalsIgnoreCase("Yes");
-                try {
-                    groupDAO.createGroup(groupName, isSpecial);
+                tasks.run(() -> groupDAO.createGroup(groupName, isSpecial), () -> {
                     showAlert(Alert.AlertType.INFORMATION, "Success", "Group created successfully.");
                     loadGroups();
-                } catch (SQLException e) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create group.");
-                }
+                }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to create group."));
             });
         });
     }
@@ -547,8 +562,7 @@ public class InstructorHomePage {
             return;
         }
         long groupId = Long.parseLong(selected.split("\\.")[0]);
-        try {
-            Group groupToEdit = groupDAO.getGroupById(groupId);
+        tasks.load("group", () -> groupDAO.getGroupById(groupId), groupToEdit -> {
             if (groupToEdit == null) {
                 showAlert(Alert.AlertType.ERROR, "Error", "Selected group does not exist.");
                 return;
@@ -574,18 +588,13 @@ public class InstructorHomePage {
                 Optional<String> accessResult = accessDialog.showAndWait();
                 accessResult.ifPresent(access -> {
                     boolean isSpecial = access.equalsIgnoreCase("Yes");
-                    try {
-                        groupDAO.updateGroup(groupId, newName, isSpecial);
+                    tasks.run(() -> groupDAO.updateGroup(groupId, newName, isSpecial), () -> {
                         showAlert(Alert.AlertType.INFORMATION, "Success", "Group updated successfully.");
                         loadGroups();
-                    } catch (SQLException e) {
-                        showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group.");
-                    }
+                    }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group."));
                 });
             });
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to retrieve group details.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to retrieve group details."));
     }
 
     private void handleDeleteGroup() {
@@ -595,8 +604,7 @@ public class InstructorHomePage {
             return;
         }
         long groupId = Long.parseLong(selected.split("\\.")[0]);
-        try {
-            Group groupToDelete = groupDAO.getGroupById(groupId);
+        tasks.load("group", () -> groupDAO.getGroupById(groupId), groupToDelete -> {
             if (groupToDelete == null) {
                 showAlert(Alert.AlertType.ERROR, "Error", "Selected group does not exist.");
                 return;
@@ -609,53 +617,73 @@ public class InstructorHomePage {
             confirmationAlert.setHeaderText(null);
             confirmationAlert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.YES) {
-                    try {
-                        groupDAO.deleteGroup(groupId);
+                    tasks.run(() -> groupDAO.deleteGroup(groupId), () -> {
                         showAlert(Alert.AlertType.INFORMATION, "Deleted", "Group deleted successfully.");
                         loadGroups();
-                    } catch (SQLException e) {
-                        showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the group.");
-                    }
+                    }, e -> showAlert(Alert.AlertType.ERROR, "Deletion Failed", "Failed to delete the group."));
                 }
             });
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to retrieve group details.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to retrieve group details."));
     }
 
     private void handleViewArticles() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("HelpArticlePage");
         HelpArticlePage helpArticlePage = new HelpArticlePage();
         Scene scene = new Scene(helpArticlePage.getView(), 800, 600);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
 
     private void handleManageArticles() {
+        PageLoadEvent pageLoad = PageLoadEvent.start("HelpArticlePage");
         HelpArticlePage helpArticlePage = new HelpArticlePage();
         Scene scene = new Scene(helpArticlePage.getView(), 800, 600);
         Main.getStage().setScene(scene);
+        pageLoad.commit();
     }
 
 
+    /**
+     * Loads the articles matching the search field, or all articles when it is empty. All articles are
+     * paged in as the table scrolls. A newer load stops this one and discards its results, so only the
+     * latest search is shown.
+     */
     private void loadArticles() {
-        try {
-            articlesList.setAll(helpArticleDAO.getAllHelpArticles(user));
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles.");
+        searchDelay.stop();
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            tasks.load("articles", () -> helpArticleDAO.getHelpArticleIds(user),
+                    ids -> articlesTableView.setItems(new PagedList<>(ids,
+                            (firstId, lastId) -> helpArticleDAO.getHelpArticlesInRange(user, firstId, lastId),
+                            HelpArticle::getId, InstructorHomePage::placeholderArticle, tasks)),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles."));
+            return;
         }
+        tasks.loadCancellable("articles",
+                cancellation -> helpArticleDAO.searchHelpArticles(user, query, "all", "all", cancellation),
+                articles -> articlesTableView.setItems(FXCollections.observableArrayList(articles)),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to search articles."));
+    }
+
+    /**
+     * Stands in for an article whose page is still loading.
+     */
+    private static HelpArticle placeholderArticle(long id) {
+        HelpArticle article = new HelpArticle();
+        article.setId(id);
+        article.setTitle("Loading...");
+        return article;
     }
 
     private void loadGroups() {
-        try {
-            List<Group> currentGroups = groupDAO.getAllGroups();
+        tasks.load("groups", () -> groupDAO.getAllGroups(), currentGroups -> {
             groupsList.clear();
             for (Group group : currentGroups) {
                 String display = String.format("%d. %s (Special Access: %s)", 
                     group.getId(), group.getName(), group.isSpecialAccessGroup() ? "Yes" : "No");
                 groupsList.add(display);
             }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
@@ -673,4 +701,41 @@ public class InstructorHomePage {
     public VBox getView() {
         return view;
     }
+
+    /**
+     * Reloads the lists that changes made since the page was last shown affect.
+     *
+     * @param changes The changes, or null to reload everything.
+     */
+    @Override
+    public void refresh(List<ChangeEvent> changes) {
+        if (helpArticleDAO == null) {
+            return;
+        }
+        if (SceneCache.touches(changes, ChangeEvent.Type.ARTICLE_ADDED, ChangeEvent.Type.ARTICLE_UPDATED,
+                ChangeEvent.Type.ARTICLE_DELETED, ChangeEvent.Type.ALL_ARTICLES_DELETED, ChangeEvent.Type.ARTICLE_LINKED,
+                ChangeEvent.Type.ARTICLE_UNLINKED, ChangeEvent.Type.LINKS_CLEARED, ChangeEvent.Type.GROUP_DELETED,
+                ChangeEvent.Type.ALL_GROUPS_DELETED, ChangeEvent.Type.MEMBER_ADDED, ChangeEvent.Type.MEMBER_REMOVED)) {
+            loadArticles();
+        }
+        if (SceneCache.touches(changes, ChangeEvent.Type.GROUP_ADDED, ChangeEvent.Type.GROUP_UPDATED,
+                ChangeEvent.Type.GROUP_DELETED, ChangeEvent.Type.ALL_GROUPS_DELETED)) {
+            // Reloading the groups clears the selection, and with it the members.
+            loadGroups();
+        } else if (SceneCache.touches(changes, ChangeEvent.Type.MEMBER_ADDED, ChangeEvent.Type.MEMBER_REMOVED,
+                ChangeEvent.Type.USER_DELETED)) {
+            String selectedGroup = groupsListView.getSelectionModel().getSelectedItem();
+            if (selectedGroup != null && selectedGroup.matches("^\\d+\\. .*")) {
+                loadGroupMembers(Long.parseLong(selectedGroup.split("\\.")[0]));
+            }
+        }
+        if (SceneCache.touches(changes, ChangeEvent.Type.USER_SAVED, ChangeEvent.Type.USER_DELETED)) {
+            loadStudents();
+        }
+    }
+
+    @Override
+    public void discard() {
+        tasks.cancelLoads();
+    }
 }
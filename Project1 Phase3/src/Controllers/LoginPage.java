@@ -1,5 +1,6 @@
 package Controllers;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -7,6 +8,7 @@ import models.*;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.time.format.DateTimeFormatter;
 
 import Utilities.*;
@@ -34,6 +36,7 @@ public class LoginPage {
     private Button loginButton;
     private Button useInvitationButton;
     private Label messageLabel;
+    private final TaskRunner tasks = new TaskRunner();
     
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a");
 
@@ -88,7 +91,7 @@ public class LoginPage {
     /**
      * Handles the login functionality. If the user list is empty, it triggers the creation
      * of the first admin user. Otherwise, it validates the entered username and password 
-     * and proceeds to the next page based on the user's login status and roles.
+     * in the background and proceeds to the next page based on the user's login status and roles.
      */
     private void handleLogin() {
         UserManager userManager = UserManager.getInstance();
@@ -102,15 +105,40 @@ public class LoginPage {
         String username = usernameField.getText().trim();
         String password = passwordField.getText().trim();
 
-        User user = userManager.authenticate(username, password);
+        loginButton.setDisable(true);
+        messageLabel.setText("Signing in...");
+        userManager.authenticateAsync(username, password).whenComplete((user, error) -> Platform.runLater(() -> {
+            loginButton.setDisable(false);
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof LoginThrottledException) {
+                messageLabel.setText(cause.getMessage());
+            } else if (cause != null) {
+                messageLabel.setText("Login failed: " + cause.getMessage());
+            } else {
+                completeLogin(username, user);
+            }
+        }));
+    }
 
+    /**
+     * Proceeds after the credentials have been checked, showing the next page for an authenticated
+     * user or explaining why the login was refused.
+     * 
+     * @param username The username that was entered.
+     * @param user     The authenticated user, or null if authentication failed.
+     */
+    private void completeLogin(String username, User user) {
+        UserManager userManager = UserManager.getInstance();
+        messageLabel.setText("");
         if (user != null) {
             SessionManager.getInstance().setCurrentUser(user);
 
             if (user.isResetRequired()) {
+                PageLoadEvent pageLoad = PageLoadEvent.start("SetNewPasswordPage");
                 SetNewPasswordPage setNewPasswordPage = new SetNewPasswordPage(user);
                 Scene scene = new Scene(setNewPasswordPage.getView(), 400, 300);
                 Main.getStage().setScene(scene);
+                pageLoad.commit();
             } else if (user.isFirstLogin()) {
                 Main.showAccountSetupPage(user);
             } else if (user.getRoles().size() > 1) {
@@ -146,9 +174,11 @@ public class LoginPage {
         InvitationCode invitation = userManager.getInvitationCode(code);
 
         if (invitation != null && !invitation.isUsed()) {
+            PageLoadEvent pageLoad = PageLoadEvent.start("CreateUserPage");
             CreateUserPage createUserPage = new CreateUserPage(invitation);
             Scene scene = new Scene(createUserPage.getView(), 400, 400);
             Main.getStage().setScene(scene);
+            pageLoad.commit();
         } else {
             messageLabel.setText("Invalid or used invitation code.");
         }
@@ -175,9 +205,16 @@ public class LoginPage {
             UserManager userManager = UserManager.getInstance();
             User adminUser = new User(username, password);
             adminUser.addRole(Role.ADMIN); 
-            userManager.addUser(adminUser);
-
-            messageLabel.setText("Admin account created. Please log in.");
+            loginButton.setDisable(true);
+            messageLabel.setText("Creating admin account...");
+            // The password is hashed on the verification pool, not on the JavaFX thread.
+            tasks.run(() -> userManager.addUserAsync(adminUser).get(), () -> {
+                loginButton.setDisable(false);
+                messageLabel.setText("Admin account created. Please log in.");
+            }, e -> {
+                loginButton.setDisable(false);
+                messageLabel.setText("Failed to create the admin account. Please try again.");
+            });
         } else {
             messageLabel.setText("Passwords do not match. Try again.");
         }
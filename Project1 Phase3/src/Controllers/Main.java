@@ -1,12 +1,20 @@
 package Controllers;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.stage.Stage;
 import models.*;
-import Utilities.SessionManager;
+import Utilities.DaoRegistry;
+import Utilities.DatabaseManager;
+import Utilities.UserManager;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * <p> Title: Main Application Class </p>
@@ -14,7 +22,10 @@ import Utilities.SessionManager;
  * <p> Description: This class serves as the entry point for the application.
  * It controls the primary stage and manages navigation between different pages
  * such as login, account setup, role selection, and the home pages for various user roles. 
- * Additionally, it initiates the execution of all test suites upon application launch. </p>
+ * Data is kept in the file database named by {@link DatabaseManager#useApplicationDatabase()}.
+ * The database, its DAOs and the user cache are warmed up in the background while JavaFX starts,
+ * and each phase of start is reported on a {@link StartupTimeline}. The test suites are run
+ * with {@code --self-test} instead of the application. </p>
  * 
  * @author Naimish Maniya
  * 
@@ -23,23 +34,68 @@ import Utilities.SessionManager;
 public class Main extends Application {
 
     private static Stage primaryStage;
+    private static CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
+    private static StartupTimeline.Phase toolkitPhase;
 
     /**
      * Starts the application and sets the initial stage.
-     * The login page is displayed when the application starts.
+     * The login page is displayed when the application starts, and the
+     * {@link FxStallWatchdog} starts logging any stalls of the JavaFX thread.
+     * The application is interactive once the stage is showing and the warm-up has finished.
      *
      * @param primaryStage The primary stage for the application.
      */
     @Override
     public void start(Stage primaryStage) {
+        if (toolkitPhase != null) {
+            toolkitPhase.end();
+        }
+        StartupTimeline.Phase stagePhase = StartupTimeline.start("stage");
         Main.primaryStage = primaryStage;
+        FxStallWatchdog.start();
         primaryStage.setTitle("Help System Application");
         showLoginPage();
         primaryStage.show();
+        stagePhase.end();
+        warmUp.whenComplete((ignored, error) -> Platform.runLater(StartupTimeline::interactive));
+    }
+
+    /**
+     * Opens the database and creates its schema, builds the shared DAOs and loads the user cache on a
+     * background thread, so they are ready by the time the login page is used. A failed phase is
+     * reported and left to be retried on first use.
+     *
+     * @return A future completed when the warm-up has finished.
+     */
+    private static CompletableFuture<Void> startWarmUp() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "startup-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            StartupTimeline.Phase phase = StartupTimeline.start("database and schema");
+            try {
+                DatabaseManager.getInstance();
+                phase.end();
+                phase = StartupTimeline.start("dao registry");
+                DaoRegistry.getInstance();
+                phase.end();
+                phase = StartupTimeline.start("user cache");
+                UserManager.getInstance();
+                phase.end();
+            } catch (Exception e) {
+                phase.fail();
+                System.out.println("Startup warm-up failed: " + e.getMessage());
+            }
+        }, executor);
+        future.whenComplete((ignored, error) -> executor.shutdown());
+        return future;
     }
 
     /**
      * Displays the home page based on the user's selected role.
+     * The page is kept for the rest of the session, see {@link SceneCache}.
      * 
      * @param user The user object whose home page is being displayed.
      * @param role The selected role determining which home page to display (Admin, Student, Instructor).
@@ -51,19 +107,7 @@ public class Main extends Application {
             return;
         }
 
-        if (role == Role.ADMIN) {
-            AdminHomePage adminHomePage = new AdminHomePage(user);
-            Scene scene = new Scene(adminHomePage.getView(), 800, 600);
-            primaryStage.setScene(scene);
-        } else if (role == Role.INSTRUCTOR) {
-            InstructorHomePage instructorHomePage = new InstructorHomePage(user);
-            Scene scene = new Scene(instructorHomePage.getView(), 800, 600);
-            primaryStage.setScene(scene);
-        } else if (role == Role.STUDENT) {
-            StudentHomePage studentHomePage = new StudentHomePage(user);
-            Scene scene = new Scene(studentHomePage.getView(), 800, 600);
-            getStage().setScene(scene);
-        }
+        primaryStage.setScene(SceneCache.homeScene(user, role));
     }
 
     /**
@@ -82,11 +126,15 @@ public class Main extends Application {
 
     /**
      * Displays the login page in the primary stage.
+     * This ends the session's cached home pages.
      */
     public static void showLoginPage() {
+        SceneCache.clear();
+        PageLoadEvent pageLoad = PageLoadEvent.start("LoginPage");
         LoginPage loginPage = new LoginPage();
         Scene scene = new Scene(loginPage.getView(), 400, 300);
         primaryStage.setScene(scene);
+        pageLoad.commit();
     }
 
     /**
@@ -95,9 +143,11 @@ public class Main extends Application {
      * @param user The user object whose account is being set up.
      */
     public static void showAccountSetupPage(User user) {
+        PageLoadEvent pageLoad = PageLoadEvent.start("AccountSetupPage");
         AccountSetupPage accountSetupPage = new AccountSetupPage(user);
         Scene scene = new Scene(accountSetupPage.getView(), 400, 400);
         primaryStage.setScene(scene);
+        pageLoad.commit();
     }
 
     /**
@@ -106,9 +156,12 @@ public class Main extends Application {
      * @param user The user object selecting their role.
      */
     public static void showRoleSelectionPage(User user) {
+        PageLoadEvent pageLoad = PageLoadEvent.start("RoleSelectionPage");
         RoleSelectionPage roleSelectionPage = new RoleSelectionPage(user);
         Scene scene = new Scene(roleSelectionPage.getView(), 400, 400);
         primaryStage.setScene(scene);
+        pageLoad.commit();
+        SceneCache.preload(user, user.getRoles());
     }
 
     /**
@@ -121,12 +174,38 @@ public class Main extends Application {
     }
 
     /**
-     * Main method that launches the JavaFX application and executes all test suites.
+     * Main method that launches the JavaFX application.
+     * With {@code --headless} as the first argument, it starts the {@link Utilities.HelpApiServer}
+     * instead, passing it the remaining arguments; with {@code --self-test}, it runs all test suites
+     * instead.
      * 
      * @param args The command line arguments passed to the application.
      */
     public static void main(String[] args) {
+        StartupTimeline.begin();
+        if (args.length > 0 && args[0].equals("--headless")) {
+            try {
+                Utilities.HelpApiServer.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (Exception e) {
+                System.out.println("Failed to start the headless server: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--self-test")) {
+            runSelfTests();
+            return;
+        }
+        DatabaseManager.useApplicationDatabase();
+        warmUp = startWarmUp();
+        toolkitPhase = StartupTimeline.start("javafx toolkit");
         launch(args);
+    }
+
+    /**
+     * Runs the hand-written test suites.
+     */
+    private static void runSelfTests() {
         System.out.println("Running all tests...");
 
         try {
@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.GroupDAO;
 import Utilities.UserManager;
 import models.Group;
@@ -9,6 +10,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -18,6 +20,7 @@ public class ManageAccessRightsDialog extends Dialog<Void> {
     private Group group;
     private GroupDAO groupDAO;
     private UserManager userManager;
+    private final TaskRunner tasks = new TaskRunner();
 
     private ListView<User> adminsListView;
     private ListView<User> instructorViewersListView;
@@ -27,7 +30,7 @@ public class ManageAccessRightsDialog extends Dialog<Void> {
     public ManageAccessRightsDialog(Group group) {
         this.group = group;
         try {
-            groupDAO = new GroupDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
             userManager = UserManager.getInstance();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to initialize access rights manager.");
@@ -46,6 +49,7 @@ public class ManageAccessRightsDialog extends Dialog<Void> {
         studentViewersListView = new ListView<>();
 
         populateLists();
+        setOnHidden(e -> tasks.cancelLoads());
 
         Button addAdminButton = new Button("Add Admin");
         addAdminButton.setOnAction(e -> addAdmin());
@@ -95,118 +99,83 @@ public class ManageAccessRightsDialog extends Dialog<Void> {
         grid.add(addStudentViewerButton, 3, 2);
         grid.add(removeStudentViewerButton, 3, 3);
 
-        getDialogPane().setContent(grid);
+        getDialogPane().setContent(new VBox(10, tasks.createIndicator(), grid));
     }
 
     private void populateLists() {
-        try {
-            List<User> admins = groupDAO.getSpecialGroupAdmins(group.getId());
-            List<User> instructorViewers = groupDAO.getSpecialGroupInstructorViewers(group.getId());
-            List<User> instructorAdmins = groupDAO.getSpecialGroupInstructorAdmins(group.getId());
-            List<User> studentViewers = groupDAO.getSpecialGroupStudentViewers(group.getId());
-
-            adminsListView.setItems(FXCollections.observableArrayList(admins));
-            instructorViewersListView.setItems(FXCollections.observableArrayList(instructorViewers));
-            instructorAdminsListView.setItems(FXCollections.observableArrayList(instructorAdmins));
-            studentViewersListView.setItems(FXCollections.observableArrayList(studentViewers));
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load access rights.");
-        }
+        tasks.load("rights", () -> List.of(
+                groupDAO.getSpecialGroupAdmins(group.getId()),
+                groupDAO.getSpecialGroupInstructorViewers(group.getId()),
+                groupDAO.getSpecialGroupInstructorAdmins(group.getId()),
+                groupDAO.getSpecialGroupStudentViewers(group.getId())), lists -> {
+            adminsListView.setItems(FXCollections.observableArrayList(lists.get(0)));
+            instructorViewersListView.setItems(FXCollections.observableArrayList(lists.get(1)));
+            instructorAdminsListView.setItems(FXCollections.observableArrayList(lists.get(2)));
+            studentViewersListView.setItems(FXCollections.observableArrayList(lists.get(3)));
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load access rights."));
     }
 
     private void addAdmin() {
         Optional<User> userOpt = showUserSelectionDialog();
-        userOpt.ifPresent(user -> {
-            try {
-                groupDAO.addSpecialGroupAdmin(group.getId(), user.getUsername());
-                adminsListView.getItems().add(user);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add admin.");
-            }
-        });
+        userOpt.ifPresent(user -> tasks.run(() -> groupDAO.addSpecialGroupAdmin(group.getId(), user.getUsername()),
+                () -> adminsListView.getItems().add(user),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add admin.")));
     }
 
     private void removeAdmin() {
         User selected = adminsListView.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            try {
-                groupDAO.removeSpecialGroupAdmin(group.getId(), selected.getUsername());
-                adminsListView.getItems().remove(selected);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove admin.");
-            }
+            tasks.run(() -> groupDAO.removeSpecialGroupAdmin(group.getId(), selected.getUsername()),
+                    () -> adminsListView.getItems().remove(selected),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove admin."));
         }
     }
 
     private void addInstructorViewer() {
         Optional<User> userOpt = showUserSelectionDialog(Role.INSTRUCTOR);
-        userOpt.ifPresent(user -> {
-            try {
-                groupDAO.addSpecialGroupInstructorViewer(group.getId(), user.getUsername());
-                instructorViewersListView.getItems().add(user);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add instructor viewer.");
-            }
-        });
+        userOpt.ifPresent(user -> tasks.run(() -> groupDAO.addSpecialGroupInstructorViewer(group.getId(), user.getUsername()),
+                () -> instructorViewersListView.getItems().add(user),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add instructor viewer.")));
     }
 
     private void removeInstructorViewer() {
         User selected = instructorViewersListView.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            try {
-                groupDAO.removeSpecialGroupInstructorViewer(group.getId(), selected.getUsername());
-                instructorViewersListView.getItems().remove(selected);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove instructor viewer.");
-            }
+            tasks.run(() -> groupDAO.removeSpecialGroupInstructorViewer(group.getId(), selected.getUsername()),
+                    () -> instructorViewersListView.getItems().remove(selected),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove instructor viewer."));
         }
     }
 
     private void addInstructorAdmin() {
         Optional<User> userOpt = showUserSelectionDialog(Role.INSTRUCTOR);
-        userOpt.ifPresent(user -> {
-            try {
-                groupDAO.addSpecialGroupInstructorAdmin(group.getId(), user.getUsername());
-                instructorAdminsListView.getItems().add(user);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add instructor admin.");
-            }
-        });
+        userOpt.ifPresent(user -> tasks.run(() -> groupDAO.addSpecialGroupInstructorAdmin(group.getId(), user.getUsername()),
+                () -> instructorAdminsListView.getItems().add(user),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add instructor admin.")));
     }
 
     private void removeInstructorAdmin() {
         User selected = instructorAdminsListView.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            try {
-                groupDAO.removeSpecialGroupInstructorAdmin(group.getId(), selected.getUsername());
-                instructorAdminsListView.getItems().remove(selected);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove instructor admin.");
-            }
+            tasks.run(() -> groupDAO.removeSpecialGroupInstructorAdmin(group.getId(), selected.getUsername()),
+                    () -> instructorAdminsListView.getItems().remove(selected),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove instructor admin."));
         }
     }
 
     private void addStudentViewer() {
         Optional<User> userOpt = showUserSelectionDialog(Role.STUDENT);
-        userOpt.ifPresent(user -> {
-            try {
-                groupDAO.addSpecialGroupStudentViewer(group.getId(), user.getUsername());
-                studentViewersListView.getItems().add(user);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student viewer.");
-            }
-        });
+        userOpt.ifPresent(user -> tasks.run(() -> groupDAO.addSpecialGroupStudentViewer(group.getId(), user.getUsername()),
+                () -> studentViewersListView.getItems().add(user),
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student viewer.")));
     }
 
     private void removeStudentViewer() {
         User selected = studentViewersListView.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            try {
-                groupDAO.removeSpecialGroupStudentViewer(group.getId(), selected.getUsername());
-                studentViewersListView.getItems().remove(selected);
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove student viewer.");
-            }
+            tasks.run(() -> groupDAO.removeSpecialGroupStudentViewer(group.getId(), selected.getUsername()),
+                    () -> studentViewersListView.getItems().remove(selected),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to remove student viewer."));
         }
     }
 
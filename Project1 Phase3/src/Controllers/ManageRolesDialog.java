@@ -43,9 +43,9 @@ public class ManageRolesDialog extends Dialog<Void> {
                                 try {
                                     Role role = Role.valueOf(roleName);
                                     if (op == '+') {
-                                        user.addRole(role);
+                                        userManager.addRoleToUser(username, role);
                                     } else if (op == '-') {
-                                        user.removeRole(role);
+                                        userManager.removeRoleFromUser(username, role);
                                     }
                                 } catch (IllegalArgumentException e) {
                                 }
@@ -0,0 +1,43 @@
+package Controllers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p> Title: PageLoadEvent Class </p>
+ *
+ * <p> Description: A JDK Flight Recorder event covering the construction of a page and the scene that
+ * shows it, including any database work its constructor does on the JavaFX thread. Disabled unless the
+ * recording uses the {@code helpsystem.jfc} profile. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@Name("helpsystem.PageLoad")
+@Label("Page Load")
+@Category({"Help System", "JavaFX"})
+@Description("The construction of a page and its scene")
+@Enabled(false)
+public class PageLoadEvent extends Event {
+    @Label("Page")
+    String page;
+
+    private PageLoadEvent(String page) {
+        this.page = page;
+    }
+
+    /**
+     * Starts timing a page load; call {@link #commit()} once the scene is set.
+     *
+     * @param page The page class name.
+     * @return The started event.
+     */
+    static PageLoadEvent start(String page) {
+        PageLoadEvent event = new PageLoadEvent(page);
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,275 @@
+package Controllers;
+
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * <p> Title: PagedList Class </p>
+ *
+ * <p> Description: A read-only list for a {@code TableView} or {@code ListView} that holds every row's
+ * key but only a few pages of rows. A view asks for the rows it shows; a row whose page is not loaded
+ * reads as a placeholder while the page is fetched by key range in the background, and the rows are
+ * swapped in when it arrives. The next page in the direction of scrolling is fetched ahead. Once more
+ * than the maximum number of pages are held, the pages furthest from where the view is reading are
+ * dropped, so memory stays bounded however long the list is. </p>
+ *
+ * <p> The keys are loaded up front, because they are small and give the list its size. Rows deleted
+ * after the keys were loaded stay placeholders, and rows added are not shown until the list is rebuilt.
+ * The list cannot be sorted in place: sorting would read every row, fetching every page. A table that
+ * shows one should not offer sorting, or should use {@link #sortPolicy()}.
+ * {@link #indexOf} and {@link #contains} only search the pages held. A list may be built on any thread,
+ * but once shown it must only be used on the JavaFX Application Thread. </p>
+ *
+ * <p> A page whose fetch fails reads as placeholders and is fetched again on a later read, but not before
+ * a delay that doubles after each failure in a row, up to {@value #MAX_RETRY_DELAY_MILLIS} ms, so a
+ * failing query is not re-run on every layout pass. </p>
+ *
+ * @param <K> The type of key, in the order the rows are listed.
+ * @param <T> The type of row.
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class PagedList<K, T> extends ObservableListBase<T> {
+    /** The default number of rows fetched at a time. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /** The default number of pages held. */
+    public static final int DEFAULT_MAX_PAGES = 10;
+
+    /** How long a failed page waits before it is fetched again, doubled after each further failure. */
+    static final long RETRY_DELAY_MILLIS = 1_000;
+
+    /** The longest a failed page waits before it is fetched again. */
+    static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    /**
+     * Fetches the rows with keys from one key to another, inclusive.
+     *
+     * @param <K> The type of key.
+     * @param <T> The type of row.
+     */
+    @FunctionalInterface
+    public interface PageQuery<K, T> {
+        List<T> fetch(K firstKey, K lastKey) throws Exception;
+    }
+
+    /**
+     * Runs a page fetch in the background and calls back on the thread the list is used on.
+     *
+     * @param <T> The type of row.
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        void fetch(Callable<List<T>> fetch, Consumer<List<T>> onLoaded, Consumer<Throwable> onFailed);
+    }
+
+    /**
+     * A page whose last fetch failed.
+     *
+     * @param failures The number of fetches that failed in a row.
+     * @param retryAt  The clock time, in milliseconds, before which the page is not fetched again.
+     */
+    private record FailedPage(int failures, long retryAt) {
+    }
+
+    private final List<K> keys;
+    private final int pageSize;
+    private final int maxPages;
+    private final PageQuery<K, T> query;
+    private final Function<? super T, ? extends K> keyOf;
+    private final Function<? super K, ? extends T> placeholder;
+    private final PageFetcher<T> fetcher;
+    private final LongSupplier clock;
+    private final Map<Integer, List<T>> pages = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private final Map<Integer, FailedPage> failed = new HashMap<>();
+    private int currentPage;
+    private int direction = 1;
+
+    /**
+     * Constructs a PagedList of {@value #DEFAULT_PAGE_SIZE} row pages, holding at most
+     * {@value #DEFAULT_MAX_PAGES} of them.
+     *
+     * @param keys        Every row's key, in list order.
+     * @param query       Fetches a page of rows, on a background thread.
+     * @param keyOf       Returns a row's key.
+     * @param placeholder Returns what to show for a row that is not loaded yet.
+     * @param tasks       Runs the page fetches.
+     */
+    public PagedList(List<K> keys, PageQuery<K, T> query, Function<? super T, ? extends K> keyOf,
+                     Function<? super K, ? extends T> placeholder, TaskRunner tasks) {
+        this(keys, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES, query, keyOf, placeholder, tasks);
+    }
+
+    /**
+     * Constructs a PagedList.
+     *
+     * @param keys        Every row's key, in list order.
+     * @param pageSize    The number of rows fetched at a time.
+     * @param maxPages    The number of pages held, at least two so that fetching ahead keeps the current page.
+     * @param query       Fetches a page of rows, on a background thread.
+     * @param keyOf       Returns a row's key.
+     * @param placeholder Returns what to show for a row that is not loaded yet.
+     * @param tasks       Runs the page fetches.
+     */
+    public PagedList(List<K> keys, int pageSize, int maxPages, PageQuery<K, T> query,
+                     Function<? super T, ? extends K> keyOf, Function<? super K, ? extends T> placeholder,
+                     TaskRunner tasks) {
+        this(keys, pageSize, maxPages, query, keyOf, placeholder, tasks::call, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a PagedList that fetches pages through a fetcher, timing retries with a clock.
+     *
+     * @param keys        Every row's key, in list order.
+     * @param pageSize    The number of rows fetched at a time.
+     * @param maxPages    The number of pages held, at least two.
+     * @param query       Fetches a page of rows.
+     * @param keyOf       Returns a row's key.
+     * @param placeholder Returns what to show for a row that is not loaded yet.
+     * @param fetcher     Runs the page fetches.
+     * @param clock       Returns the current time in milliseconds.
+     */
+    PagedList(List<K> keys, int pageSize, int maxPages, PageQuery<K, T> query,
+              Function<? super T, ? extends K> keyOf, Function<? super K, ? extends T> placeholder,
+              PageFetcher<T> fetcher, LongSupplier clock) {
+        if (pageSize < 1 || maxPages < 2) {
+            throw new IllegalArgumentException("A paged list needs pages of at least one row and room for two pages.");
+        }
+        this.keys = List.copyOf(keys);
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.query = query;
+        this.keyOf = keyOf;
+        this.placeholder = placeholder;
+        this.fetcher = fetcher;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a sort policy for a table that shows a PagedList at some times and a plain list at others.
+     * A PagedList is left in key order and the sort is refused, so the table clears its sort indicator;
+     * other lists are sorted as usual.
+     *
+     * @param <S> The type of row.
+     * @return The sort policy.
+     */
+    public static <S> Callback<TableView<S>, Boolean> sortPolicy() {
+        return table -> !(table.getItems() instanceof PagedList) && TableView.DEFAULT_SORT_POLICY.call(table);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, keys.size());
+        int page = index / pageSize;
+        if (page != currentPage) {
+            direction = page > currentPage ? 1 : -1;
+            currentPage = page;
+        }
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+        }
+        request(page + direction);
+        T row = rows == null ? null : rows.get(index - page * pageSize);
+        return row != null ? row : placeholder.apply(keys.get(index));
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            int offset = page.getValue().indexOf(o);
+            if (offset >= 0) {
+                return page.getKey() * pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private void request(int page) {
+        int first = page * pageSize;
+        if (page < 0 || first >= keys.size() || pages.containsKey(page) || loading.contains(page)) {
+            return;
+        }
+        FailedPage failure = failed.get(page);
+        if (failure != null && clock.getAsLong() < failure.retryAt()) {
+            return;
+        }
+        loading.add(page);
+        List<K> pageKeys = keys.subList(first, Math.min(keys.size(), first + pageSize));
+        fetcher.fetch(() -> query.fetch(pageKeys.get(0), pageKeys.get(pageKeys.size() - 1)),
+                rows -> loaded(page, pageKeys, rows),
+                e -> failed(page));
+    }
+
+    /**
+     * Holds off fetching a page again, for longer after each failure in a row.
+     */
+    private void failed(int page) {
+        loading.remove(page);
+        FailedPage previous = failed.get(page);
+        int failures = previous == null ? 1 : previous.failures() + 1;
+        long delay = RETRY_DELAY_MILLIS << Math.min(failures - 1, 5);
+        failed.put(page, new FailedPage(failures, clock.getAsLong() + Math.min(delay, MAX_RETRY_DELAY_MILLIS)));
+    }
+
+    /**
+     * Puts a fetched page's rows in key order, drops far-off pages and tells the view.
+     */
+    private void loaded(int page, List<K> pageKeys, List<T> fetched) {
+        loading.remove(page);
+        failed.remove(page);
+        Map<K, T> byKey = new HashMap<>();
+        for (T row : fetched) {
+            byKey.put(keyOf.apply(row), row);
+        }
+        List<T> rows = new ArrayList<>(pageKeys.size());
+        for (K key : pageKeys) {
+            rows.add(byKey.get(key));
+        }
+        pages.put(page, rows);
+        replaced(page);
+        while (pages.size() > maxPages) {
+            int furthest = Collections.max(pages.keySet(),
+                    (a, b) -> Integer.compare(Math.abs(a - currentPage), Math.abs(b - currentPage)));
+            pages.remove(furthest);
+            replaced(furthest);
+        }
+    }
+
+    /**
+     * Reports that a page's rows were replaced, by loading or dropping it.
+     */
+    private void replaced(int page) {
+        int from = page * pageSize;
+        int to = Math.min(keys.size(), from + pageSize);
+        beginChange();
+        // The removed rows are not kept, so report placeholders; views re-read the rows by index.
+        nextReplace(from, to, new ArrayList<>(Collections.nCopies(to - from, null)));
+        endChange();
+    }
+}
@@ -0,0 +1,147 @@
+// src/test/java/Controllers/PagedListTest.java
+package Controllers;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedListTest {
+    private static final int PAGE_SIZE = 3;
+
+    /** Runs fetches on the test thread, when {@link #runAll()} is called. */
+    private static final class QueuedFetcher implements PagedList.PageFetcher<String> {
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+
+        @Override
+        public void fetch(Callable<List<String>> fetch, Consumer<List<String>> onLoaded, Consumer<Throwable> onFailed) {
+            pending.add(() -> {
+                List<String> rows;
+                try {
+                    rows = fetch.call();
+                } catch (Exception e) {
+                    onFailed.accept(e);
+                    return;
+                }
+                onLoaded.accept(rows);
+            });
+        }
+
+        void runAll() {
+            while (!pending.isEmpty()) {
+                pending.poll().run();
+            }
+        }
+    }
+
+    private QueuedFetcher fetcher;
+    private AtomicLong now;
+    private List<String> fetchedRanges;
+    private int failuresLeft;
+    private PagedList<Integer, String> list;
+
+    @BeforeEach
+    void setup() {
+        fetcher = new QueuedFetcher();
+        now = new AtomicLong(0);
+        fetchedRanges = new ArrayList<>();
+        failuresLeft = 0;
+        list = new PagedList<>(IntStream.range(0, 10).boxed().toList(), PAGE_SIZE, 2, this::fetch,
+                row -> Integer.parseInt(row.substring("row".length())), key -> "?" + key, fetcher, now::get);
+    }
+
+    private List<String> fetch(Integer first, Integer last) {
+        fetchedRanges.add(first + "-" + last);
+        if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new IllegalStateException("Database unavailable");
+        }
+        return IntStream.rangeClosed(first, last).mapToObj(key -> "row" + key).toList();
+    }
+
+    @Test
+    void testUnloadedRowsReadAsPlaceholdersUntilTheirPageArrives() {
+        assertEquals(10, list.size());
+        assertEquals("?1", list.get(1), "A row whose page is not loaded should read as a placeholder.");
+        fetcher.runAll();
+        assertEquals("row1", list.get(1));
+        assertEquals(List.of("0-2", "3-5"), fetchedRanges, "The page and the next one should be fetched once each.");
+        assertEquals(4, list.indexOf("row4"), "The prefetched page should be searchable.");
+    }
+
+    @Test
+    void testFetchesAheadInTheDirectionOfScrolling() {
+        list.get(7);
+        fetcher.runAll();
+        assertEquals(List.of("6-8", "9-9"), fetchedRanges, "Scrolling down should fetch the page below.");
+
+        fetchedRanges.clear();
+        list.get(4);
+        fetcher.runAll();
+        assertEquals(List.of("3-5", "0-2"), fetchedRanges, "Scrolling up should fetch the page above.");
+    }
+
+    @Test
+    void testDropsTheFurthestPagesPastTheMaximum() {
+        list.get(0);
+        fetcher.runAll();
+        list.get(9);
+        fetcher.runAll();
+        assertEquals(List.of("0-2", "3-5", "9-9"), fetchedRanges);
+
+        assertEquals(-1, list.indexOf("row0"), "The page furthest from the reader should be dropped.");
+        assertEquals(4, list.indexOf("row4"), "Pages within the maximum should be kept.");
+        assertEquals(9, list.indexOf("row9"));
+
+        fetchedRanges.clear();
+        assertEquals("?0", list.get(0), "A dropped page should read as placeholders again.");
+        fetcher.runAll();
+        assertTrue(fetchedRanges.contains("0-2"), "A dropped page should be fetched again when read.");
+    }
+
+    @Test
+    void testFailedPageIsRetriedAfterABackoff() {
+        failuresLeft = 1;
+        list.get(9);
+        fetcher.runAll();
+        assertEquals("?9", list.get(9), "A failed page should read as placeholders.");
+        fetcher.runAll();
+        assertEquals(List.of("9-9"), fetchedRanges, "A failed page should not be fetched again straight away.");
+
+        now.addAndGet(PagedList.RETRY_DELAY_MILLIS);
+        list.get(9);
+        fetcher.runAll();
+        assertEquals(List.of("9-9", "9-9"), fetchedRanges);
+        assertEquals("row9", list.get(9), "The page should load once the retry succeeds.");
+    }
+
+    @Test
+    void testRetryDelayDoublesAfterEachFailure() {
+        failuresLeft = 2;
+        list.get(9);
+        fetcher.runAll();
+        now.addAndGet(PagedList.RETRY_DELAY_MILLIS);
+        list.get(9);
+        fetcher.runAll();
+        assertEquals(2, fetchedRanges.size());
+
+        now.addAndGet(PagedList.RETRY_DELAY_MILLIS);
+        list.get(9);
+        fetcher.runAll();
+        assertEquals(2, fetchedRanges.size(), "The second failure should wait twice as long.");
+
+        now.addAndGet(PagedList.RETRY_DELAY_MILLIS);
+        list.get(9);
+        fetcher.runAll();
+        assertEquals("row9", list.get(9));
+        assertEquals(3, fetchedRanges.size());
+    }
+}
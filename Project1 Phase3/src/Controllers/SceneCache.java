@@ -0,0 +1,193 @@
+package Controllers;
+
+import Utilities.ChangeEvent;
+import Utilities.ChangeEventBus;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import models.Role;
+import models.User;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> Title: SceneCache Class </p>
+ *
+ * <p> Description: Keeps the home page scene of each role a user has opened during a session, so going
+ * back to a home page or switching roles shows the page as it was instead of rebuilding it and
+ * re-running its queries. When a cached page is shown again it catches up on the {@link ChangeEvent}s
+ * published since it was last shown and reloads only the lists they affect; if too many changes were
+ * missed, it reloads everything. The home pages of a user's other roles can be built ahead with
+ * {@link #preload}. The cache is emptied when the session ends. </p>
+ *
+ * <p> All methods must be called on the JavaFX Application Thread. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+final class SceneCache {
+    /**
+     * A page that can be kept and brought up to date.
+     */
+    interface CachedPage {
+        /**
+         * Returns the root of the page.
+         *
+         * @return The view.
+         */
+        Parent getView();
+
+        /**
+         * Reloads what the changes affect.
+         *
+         * @param changes The changes since the page was last shown, or null if they are unknown and
+         *                everything must be reloaded.
+         */
+        void refresh(List<ChangeEvent> changes);
+
+        /**
+         * Stops the page's loads when it is dropped from the cache.
+         */
+        void discard();
+    }
+
+    private record Key(String username, Role role) {
+    }
+
+    private static final class Entry {
+        final CachedPage page;
+        final Scene scene;
+        long sequence;
+
+        Entry(CachedPage page, Scene scene, long sequence) {
+            this.page = page;
+            this.scene = scene;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final Map<Key, Entry> entries = new HashMap<>();
+    /** Counts sessions, so a preload queued before the cache was cleared is skipped. */
+    private static int generation;
+
+    private SceneCache() {
+    }
+
+    /**
+     * Returns the home page scene for a user in a role, building it on first use and otherwise bringing
+     * it up to date.
+     *
+     * @param user The user.
+     * @param role The role whose home page to show.
+     * @return The scene.
+     */
+    static Scene homeScene(User user, Role role) {
+        Key key = new Key(user.getUsername(), role);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = build(user, role);
+            entries.put(key, entry);
+        } else {
+            catchUp(entry);
+        }
+        return entry.scene;
+    }
+
+    /**
+     * Builds the home pages of some roles once the current event has been handled, one page per turn
+     * of the event loop, so they are ready when the user picks one.
+     *
+     * @param user  The user.
+     * @param roles The roles whose home pages to build.
+     */
+    static void preload(User user, List<Role> roles) {
+        int session = generation;
+        for (Role role : roles) {
+            Platform.runLater(() -> {
+                Key key = new Key(user.getUsername(), role);
+                if (session == generation && !entries.containsKey(key)) {
+                    entries.put(key, build(user, role));
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every cached page, for the end of a session.
+     */
+    static void clear() {
+        for (Entry entry : entries.values()) {
+            entry.page.discard();
+        }
+        entries.clear();
+        generation++;
+    }
+
+    /**
+     * Returns whether a list of changes, or unknown changes, includes any of some types.
+     *
+     * @param changes The changes, or null if unknown.
+     * @param types   The types of interest.
+     * @return True if the changes may include one of the types.
+     */
+    static boolean touches(List<ChangeEvent> changes, ChangeEvent.Type... types) {
+        if (changes == null) {
+            return true;
+        }
+        for (ChangeEvent change : changes) {
+            if (change.type() == ChangeEvent.Type.DATABASE_REPLACED) {
+                return true;
+            }
+            for (ChangeEvent.Type type : types) {
+                if (change.type() == type) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Entry build(User user, Role role) {
+        // Taken before the page starts loading, so changes made during its first load are caught up on.
+        long sequence = ChangeEventBus.getInstance().getLastSequence();
+        CachedPage page;
+        PageLoadEvent pageLoad;
+        switch (role) {
+            case ADMIN:
+                pageLoad = PageLoadEvent.start("AdminHomePage");
+                page = new AdminHomePage(user);
+                break;
+            case INSTRUCTOR:
+                pageLoad = PageLoadEvent.start("InstructorHomePage");
+                page = new InstructorHomePage(user);
+                break;
+            case STUDENT:
+                pageLoad = PageLoadEvent.start("StudentHomePage");
+                page = new StudentHomePage(user);
+                break;
+            default:
+                throw new IllegalArgumentException("No home page for role " + role);
+        }
+        Scene scene = new Scene(page.getView(), 800, 600);
+        pageLoad.commit();
+        return new Entry(page, scene, sequence);
+    }
+
+    private static void catchUp(Entry entry) {
+        ChangeEventBus bus = ChangeEventBus.getInstance();
+        long last = bus.getLastSequence();
+        if (last == entry.sequence) {
+            return;
+        }
+        List<ChangeEvent> changes = bus.eventsSince(entry.sequence);
+        if (changes == null) {
+            entry.sequence = last;
+        } else if (!changes.isEmpty()) {
+            entry.sequence = changes.get(changes.size() - 1).sequence();
+        } else {
+            return;
+        }
+        entry.page.refresh(changes);
+    }
+}
@@ -29,6 +29,7 @@ public class SetNewPasswordPage {
     private Button setPasswordButton;
     private Label messageLabel;
     private User user;
+    private final TaskRunner tasks = new TaskRunner();
 
     /**
      * Constructor that initializes the set new password page.
@@ -92,14 +93,22 @@ public class SetNewPasswordPage {
             return;
         }
 
-        user.setPassword(newPassword);
-
-        UserManager.getInstance().invalidateOtp(user);
-
-        messageLabel.setText("Password updated successfully. Redirecting to login...");
-
         setPasswordButton.setDisable(true);
+        // The password is hashed on the verification pool, not on the JavaFX thread.
+        tasks.run(() -> UserManager.getInstance().changePasswordAsync(user, newPassword).get(), () -> {
+            UserManager.getInstance().invalidateOtp(user);
+            messageLabel.setText("Password updated successfully. Redirecting to login...");
+            redirectToLogin();
+        }, e -> {
+            setPasswordButton.setDisable(false);
+            messageLabel.setText("Failed to update the password. Please try again.");
+        });
+    }
 
+    /**
+     * Shows the login page after a brief delay.
+     */
+    private void redirectToLogin() {
         Task<Void> redirectTask = new Task<Void>() {
             @Override
             protected Void call() throws Exception {
@@ -1,5 +1,6 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
 import Utilities.GroupDAO;
 import Utilities.SessionManager;
 import Utilities.UserManager;
@@ -14,7 +15,6 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 
 import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
 
 public class SpecialAccessGroupPage {
@@ -22,6 +22,7 @@ public class SpecialAccessGroupPage {
     private TableView<Group> tableView;
     private ObservableList<Group> groupsList;
     private GroupDAO groupDAO;
+    private final TaskRunner tasks = new TaskRunner();
 
     private Button backButton;
     private Button addButton;
@@ -32,7 +33,7 @@ public class SpecialAccessGroupPage {
 
     public SpecialAccessGroupPage() {
         try {
-            groupDAO = new GroupDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to connect to the database.");
             return;
@@ -77,7 +78,7 @@ public class SpecialAccessGroupPage {
         refreshButton = new Button("Refresh");
         refreshButton.setOnAction(e -> loadGroups());
 
-        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, manageAccessButton, refreshButton);
+        ToolBar toolBar = new ToolBar(backButton, addButton, editButton, deleteButton, manageAccessButton, refreshButton, tasks.createIndicator());
 
         view.getChildren().addAll(toolBar, tableView);
 
@@ -89,12 +90,9 @@ public class SpecialAccessGroupPage {
     }
 
     private void loadGroups() {
-        try {
-            List<Group> groups = groupDAO.getAllGroups();
-            groupsList.setAll(groups.stream().filter(Group::isSpecialAccessGroup).toList());
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        tasks.load("groups", () -> groupDAO.getAllGroups().stream().filter(Group::isSpecialAccessGroup).toList(),
+                groupsList::setAll,
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
     }
 
     private void showAddGroupDialog() {
@@ -126,15 +124,10 @@ public class SpecialAccessGroupPage {
 
         Optional<Group> result = dialog.showAndWait();
 
-        result.ifPresent(group -> {
-            try {
-                groupDAO.addGroup(group);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Special access group added successfully.");
-                loadGroups();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add group.");
-            }
-        });
+        result.ifPresent(group -> tasks.run(() -> groupDAO.addGroup(group), () -> {
+            showAlert(Alert.AlertType.INFORMATION, "Success", "Special access group added successfully.");
+            loadGroups();
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add group.")));
     }
 
     private void showEditGroupDialog() {
@@ -171,15 +164,14 @@ public class SpecialAccessGroupPage {
 
         Optional<Group> result = dialog.showAndWait();
 
-        result.ifPresent(group -> {
-            try {
-                groupDAO.updateGroup(group);
+        result.ifPresent(group -> tasks.call(() -> groupDAO.updateGroup(group, group.getVersion()), updated -> {
+            if (updated) {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Special access group updated successfully.");
-                loadGroups();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group.");
+            } else {
+                showAlert(Alert.AlertType.WARNING, "Group Changed", "This group was changed by someone else. Please try again.");
             }
-        });
+            loadGroups();
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update group.")));
     }
 
     private void deleteSelectedGroup() {
@@ -193,13 +185,10 @@ public class SpecialAccessGroupPage {
         Optional<ButtonType> result = confirm.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.YES) {
-            try {
-                groupDAO.deleteGroup(selected.getId());
+            tasks.run(() -> groupDAO.deleteGroup(selected.getId()), () -> {
                 showAlert(Alert.AlertType.INFORMATION, "Success", "Group deleted successfully.");
                 loadGroups();
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete group.");
-            }
+            }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete group."));
         }
     }
 
@@ -215,6 +204,7 @@ public class SpecialAccessGroupPage {
     }
 
     private void handleBack() {
+        tasks.cancelLoads();
         User currentUser = SessionManager.getInstance().getCurrentUser();
         Role currentRole = SessionManager.getInstance().getCurrentRole();
         Main.showHomePage(currentUser, currentRole);
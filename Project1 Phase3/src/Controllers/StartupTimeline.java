@@ -0,0 +1,119 @@
+package Controllers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p> Title: StartupTimeline Class </p>
+ *
+ * <p> Description: Times the phases of application start, on whichever thread they run, and prints them
+ * as a timeline once the application first becomes interactive, so time-to-first-interactive can be
+ * tracked from run to run. Offsets are measured from the start of the process where the platform reports
+ * it, and otherwise from {@link #begin()}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+final class StartupTimeline {
+    /**
+     * A phase being timed; call {@link #end()} when it finishes.
+     */
+    static final class Phase {
+        private final String name;
+        private final String thread;
+        private long startNanos;
+        private long endNanos;
+        private boolean failed;
+
+        private Phase(String name) {
+            this.name = name;
+            this.thread = Thread.currentThread().getName();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Ends the phase.
+         */
+        void end() {
+            synchronized (StartupTimeline.class) {
+                if (endNanos == 0) {
+                    endNanos = System.nanoTime();
+                }
+            }
+        }
+
+        /**
+         * Ends the phase, marking it as failed.
+         */
+        void fail() {
+            synchronized (StartupTimeline.class) {
+                failed = true;
+            }
+            end();
+        }
+    }
+
+    private static final List<Phase> phases = new ArrayList<>();
+    private static long originNanos = System.nanoTime();
+    private static boolean reported;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Sets the origin of the timeline to the start of the process, or to now if that is unknown. Called
+     * first thing in {@code main}.
+     */
+    static synchronized void begin() {
+        long now = System.nanoTime();
+        long sinceProcessStart = ProcessHandle.current().info().startInstant()
+                .map(started -> Duration.between(started, Instant.now()).toNanos())
+                .filter(elapsed -> elapsed >= 0)
+                .orElse(0L);
+        originNanos = now - sinceProcessStart;
+        if (sinceProcessStart > 0) {
+            Phase jvm = new Phase("jvm start");
+            jvm.startNanos = originNanos;
+            jvm.endNanos = now;
+            phases.add(jvm);
+        }
+    }
+
+    /**
+     * Starts timing a phase on the current thread.
+     *
+     * @param name The phase name.
+     * @return The started phase.
+     */
+    static synchronized Phase start(String name) {
+        Phase phase = new Phase(name);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Marks the application as interactive and prints the timeline, once.
+     */
+    static synchronized void interactive() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        long now = System.nanoTime();
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingLong(phase -> phase.startNanos));
+        System.out.println("Startup timeline (ms):");
+        for (Phase phase : sorted) {
+            String duration = phase.endNanos == 0 ? "running" : millis(phase.endNanos - phase.startNanos) + " ms";
+            System.out.printf("  %6d  %-20s %10s  [%s]%s%n", millis(phase.startNanos - originNanos), phase.name,
+                    duration, phase.thread, phase.failed ? " FAILED" : "");
+        }
+        System.out.printf("  %6d  first interactive%n", millis(now - originNanos));
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -1,5 +1,7 @@
 package Controllers;
 
+import Utilities.DaoRegistry;
+import Utilities.ChangeEvent;
 import Utilities.GroupDAO;
 import Utilities.HelpArticleDAO;
 import Utilities.SearchRequestDAO;
@@ -8,21 +10,28 @@ import models.SearchRequest;
 import models.Role;
 import models.Group;
 import models.User;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Arrays;
+import javafx.util.Duration;
 import javafx.util.Pair;
 import java.util.Optional;
 
-public class StudentHomePage {
+public class StudentHomePage implements SceneCache.CachedPage {
+    /** How long typing must pause before the search runs. */
+    private static final Duration SEARCH_DELAY = Duration.millis(100);
+
     private VBox view;
     private ComboBox<String> contentLevelComboBox;
     private ComboBox<String> groupComboBox;
@@ -38,13 +47,17 @@ public class StudentHomePage {
     private SearchRequestDAO searchRequestDAO;
     private List<HelpArticle> currentSearchResults;
     private GroupDAO groupDAO;
+    private User user;
+    private final TaskRunner tasks = new TaskRunner();
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
 
     public StudentHomePage(User user) {
+        this.user = user;
         view = new VBox(10);
         view.setPadding(new Insets(20));
 
         Label welcomeLabel = new Label("Welcome, " + user.getPreferredName() + " (Student)");
-        view.getChildren().add(welcomeLabel);
+        view.getChildren().add(new HBox(10, welcomeLabel, tasks.createIndicator()));
 
         GridPane searchPane = new GridPane();
         searchPane.setVgap(10);
@@ -55,19 +68,25 @@ public class StudentHomePage {
         contentLevelComboBox.setValue("all");
 
         groupComboBox = new ComboBox<>();
-        try {
-            groupComboBox.getItems().add("all");
-            groupComboBox.getItems().addAll(new GroupDAO().getAllGroups().stream().map(Group::getName).toList());
-            groupComboBox.setValue("all");
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups.");
-        }
+        groupComboBox.getItems().add("all");
+        groupComboBox.setValue("all");
 
         searchField = new TextField();
         searchField.setPromptText("Enter search query");
 
         searchButton = new Button("Search");
-//        searchButton.setOnAction(e -> handleSearch(user));
+        searchButton.setOnAction(e -> handleSearch(user));
+        searchField.setOnAction(e -> handleSearch(user));
+
+        // Search as the student types once typing pauses, and at once when a filter changes.
+        searchDelay.setOnFinished(e -> runSearch(user));
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDelay.playFromStart());
+        contentLevelComboBox.valueProperty().addListener((obs, oldLevel, newLevel) -> runSearch(user));
+        groupComboBox.valueProperty().addListener((obs, oldGroup, newGroup) -> {
+            if (newGroup != null) {
+                runSearch(user);
+            }
+        });
 
         searchPane.add(new Label("Content Level:"), 0, 0);
         searchPane.add(contentLevelComboBox, 1, 0);
@@ -110,59 +129,120 @@ public class StudentHomePage {
         view.getChildren().add(actionsPane);
 
         try {
-            helpArticleDAO = new HelpArticleDAO();
-            searchRequestDAO = new SearchRequestDAO();
-            groupDAO = new GroupDAO();
+            helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+            searchRequestDAO = DaoRegistry.getInstance().getSearchRequestDAO();
+            groupDAO = DaoRegistry.getInstance().getGroupDAO();
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to initialize DAOs.");
+            return;
         }
+
+        loadGroups();
     }
 
     public VBox getView() {
         return view;
     }
 
-//    private void handleSearch(User user) {
-//        String query = searchField.getText().trim();
-//        String contentLevel = contentLevelComboBox.getValue();
-//        String groupName = groupComboBox.getValue();
-//
-//        if (query.isEmpty()) {
-//            showAlert(Alert.AlertType.WARNING, "Input Required", "Please enter a search query.");
-//            return;
-//        }
-//
-//        try {
-//            List<HelpArticle> articles = helpArticleDAO.searchHelpArticles(user, query, contentLevel, groupName);
-//            currentSearchResults = articles;
-//            searchResults.clear();
-//
-//            long beginner = articles.stream().filter(a -> a.getContentLevel().equalsIgnoreCase("beginner")).count();
-//            long intermediate = articles.stream().filter(a -> a.getContentLevel().equalsIgnoreCase("intermediate")).count();
-//            long advanced = articles.stream().filter(a -> a.getContentLevel().equalsIgnoreCase("advanced")).count();
-//            long expert = articles.stream().filter(a -> a.getContentLevel().equalsIgnoreCase("expert")).count();
-//
-//            searchResults.add("Active Group: " + groupName);
-//            searchResults.add("Beginner: " + beginner);
-//            searchResults.add("Intermediate: " + intermediate);
-//            searchResults.add("Advanced: " + advanced);
-//            searchResults.add("Expert: " + expert);
-//            searchResults.add("Search Results:");
-//
-//            for (int i = 0; i < articles.size(); i++) {
-//                HelpArticle article = articles.get(i);
-//                String display = String.format("%d. %s by %s - %s", 
-//                    i + 1, article.getTitle(), article.getAuthor(), article.getShortDescription());
-//                searchResults.add(display);
-//            }
-//
-//            SearchRequest request = new SearchRequest(user.getUsername(), query, LocalDateTime.now());
-//            searchRequestDAO.addSearchRequest(request);
-//
-//        } catch (SQLException e) {
-//            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to perform search.");
-//        }
-//    }
+    /**
+     * Reloads the groups and reruns the search when changes made since the page was last shown affect them.
+     *
+     * @param changes The changes, or null to reload everything.
+     */
+    @Override
+    public void refresh(List<ChangeEvent> changes) {
+        if (helpArticleDAO == null) {
+            return;
+        }
+        if (SceneCache.touches(changes, ChangeEvent.Type.GROUP_ADDED, ChangeEvent.Type.GROUP_UPDATED,
+                ChangeEvent.Type.GROUP_DELETED, ChangeEvent.Type.ALL_GROUPS_DELETED)) {
+            loadGroups();
+        }
+        if (SceneCache.touches(changes, ChangeEvent.Type.ARTICLE_ADDED, ChangeEvent.Type.ARTICLE_UPDATED,
+                ChangeEvent.Type.ARTICLE_DELETED, ChangeEvent.Type.ALL_ARTICLES_DELETED, ChangeEvent.Type.ARTICLE_LINKED,
+                ChangeEvent.Type.ARTICLE_UNLINKED, ChangeEvent.Type.LINKS_CLEARED, ChangeEvent.Type.GROUP_DELETED,
+                ChangeEvent.Type.ALL_GROUPS_DELETED, ChangeEvent.Type.MEMBER_ADDED, ChangeEvent.Type.MEMBER_REMOVED)) {
+            runSearch(user);
+        }
+    }
+
+    @Override
+    public void discard() {
+        tasks.cancelLoads();
+    }
+
+    /**
+     * Loads the group names into the group filter, keeping the chosen group if it still exists.
+     */
+    private void loadGroups() {
+        tasks.load("groups", () -> groupDAO.getAllGroups().stream().map(Group::getName).toList(), groupNames -> {
+            String selected = groupComboBox.getValue();
+            List<String> items = new ArrayList<>(groupNames.size() + 1);
+            items.add("all");
+            items.addAll(groupNames);
+            groupComboBox.getItems().setAll(items);
+            groupComboBox.setValue(items.contains(selected) ? selected : "all");
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load groups."));
+    }
+
+    /**
+     * Runs the search at once and records it as a search request. Searches made while typing are not
+     * recorded, only deliberate ones.
+     *
+     * @param user The student searching.
+     */
+    private void handleSearch(User user) {
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Input Required", "Please enter a search query.");
+            return;
+        }
+        runSearch(user);
+        SearchRequest request = new SearchRequest(user.getUsername(), query, LocalDateTime.now());
+        tasks.run(() -> searchRequestDAO.addSearchRequest(request), () -> { },
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to record the search."));
+    }
+
+    /**
+     * Searches with the current query and filters in the background. A newer search stops this one and
+     * discards its results, so only the latest results are shown.
+     *
+     * @param user The student searching.
+     */
+    private void runSearch(User user) {
+        searchDelay.stop();
+        if (helpArticleDAO == null) {
+            return;
+        }
+        String query = searchField.getText().trim();
+        String contentLevel = contentLevelComboBox.getValue();
+        String groupName = groupComboBox.getValue();
+        if (query.isEmpty()) {
+            tasks.cancel("search");
+            currentSearchResults = List.of();
+            searchResults.clear();
+            return;
+        }
+        tasks.loadCancellable("search",
+                cancellation -> helpArticleDAO.searchHelpArticles(user, query, contentLevel, groupName, cancellation),
+                articles -> showSearchResults(groupName, articles),
+                e -> {
+                    currentSearchResults = List.of();
+                    searchResults.setAll("Search failed. Please try again.");
+                });
+    }
+
+    private void showSearchResults(String groupName, List<HelpArticle> articles) {
+        currentSearchResults = articles;
+        List<String> lines = new ArrayList<>(articles.size() + 2);
+        lines.add("Active Group: " + groupName);
+        lines.add("Search Results: " + articles.size());
+        for (int i = 0; i < articles.size(); i++) {
+            HelpArticle article = articles.get(i);
+            lines.add(String.format("%d. %s - %s", i + 1, article.getTitle(), article.getShortDescription()));
+        }
+        searchResults.setAll(lines);
+    }
 
     private void handleViewArticle(User user) {
         String selected = searchResultsListView.getSelectionModel().getSelectedItem();
@@ -176,17 +256,14 @@ public class StudentHomePage {
             return;
         }
         HelpArticle article = currentSearchResults.get(sequenceNumber);
-        try {
-            HelpArticle fullArticle = helpArticleDAO.getHelpArticleById(article.getId(), user);
+        tasks.load("article", () -> helpArticleDAO.getHelpArticleById(article.getId(), user), fullArticle -> {
             if (fullArticle != null && fullArticle.getBody() != null) {
                 ViewArticleDialog dialog = new ViewArticleDialog(fullArticle, user);
                 dialog.showAndWait();
             } else {
                 showAlert(Alert.AlertType.ERROR, "Access Denied", "You do not have permission to view this article.");
             }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article.");
-        }
+        }, e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to retrieve article."));
     }
 
     private void handleSendGenericMessage(User user) {
@@ -206,13 +283,10 @@ public class StudentHomePage {
         dialog.setHeaderText("Specify what you need and cannot find.");
         dialog.setContentText("Message:");
         dialog.showAndWait().ifPresent(message -> {
-            try {
-                SearchRequest request = new SearchRequest(user.getUsername(), message, LocalDateTime.now());
-                searchRequestDAO.addSearchRequest(request);
-                showAlert(Alert.AlertType.INFORMATION, "Message Sent", "Your specific request has been sent.");
-            } catch (SQLException e) {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to send message.");
-            }
+            SearchRequest request = new SearchRequest(user.getUsername(), message, LocalDateTime.now());
+            tasks.run(() -> searchRequestDAO.addSearchRequest(request),
+                    () -> showAlert(Alert.AlertType.INFORMATION, "Message Sent", "Your specific request has been sent."),
+                    e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to send message."));
         });
     }
 
@@ -0,0 +1,256 @@
+package Controllers;
+
+import Utilities.QueryCancellation;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.scene.control.ProgressIndicator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * <p> Title: TaskRunner Class </p>
+ *
+ * <p> Description: Runs a page's database work off the JavaFX Application Thread, so a slow query or a
+ * large backup never freezes the window. Each piece of work runs on a virtual thread, and its result or
+ * failure is handed back on the JavaFX thread. </p>
+ *
+ * <p> A {@link #load load} is keyed by what it fills, such as "articles". Starting a load cancels the
+ * previous load with the same key and drops its result, so a slow, stale query can never overwrite a
+ * newer one. A {@link #loadCancellable cancellable load} also tells its query to stop early. Changes
+ * made with {@link #run run} or {@link #call call} are never superseded. While any work is in flight
+ * {@link #busyProperty()} is true, which drives the indicator from {@link #createIndicator()}. </p>
+ *
+ * <p> Usage: a page creates one runner, adds its indicator to the layout, and goes through the runner
+ * instead of calling DAOs in event handlers. A dialog that shows data loads it through its own runner
+ * and cancels its loads when hidden; a dialog that only collects input is shown first, then its DAO call
+ * is handed to the page's runner. All methods must be called on the JavaFX Application Thread. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class TaskRunner {
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-task-", 0).factory());
+
+    /**
+     * Work returning nothing.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * A query that stops early once its cancellation is cancelled.
+     *
+     * @param <T> The type of data loaded.
+     */
+    @FunctionalInterface
+    public interface CancellableQuery<T> {
+        T call(QueryCancellation cancellation) throws Exception;
+    }
+
+    private final Executor worker;
+    private final Executor fxThread;
+    private final Map<String, Future<?>> loads = new HashMap<>();
+    private final Set<Future<?>> inFlight = new LinkedHashSet<>();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(this, "busy");
+
+    /**
+     * Constructs a TaskRunner that runs work on virtual threads.
+     */
+    public TaskRunner() {
+        this(EXECUTOR, Platform::runLater);
+    }
+
+    /**
+     * Constructs a TaskRunner over given executors, so tests can run it without the JavaFX toolkit.
+     *
+     * @param worker   Runs the work.
+     * @param fxThread Runs results and failures on the thread that owns the page.
+     */
+    TaskRunner(Executor worker, Executor fxThread) {
+        this.worker = worker;
+        this.fxThread = fxThread;
+    }
+
+    /**
+     * Loads data in the background, replacing any earlier load with the same key.
+     *
+     * @param key      What the load fills; a later load with the same key supersedes this one.
+     * @param query    The work, run on a background thread.
+     * @param onLoaded Called on the JavaFX thread with the result, unless the load was superseded.
+     * @param onFailed Called on the JavaFX thread if the work throws, unless the load was superseded.
+     * @param <T>      The type of data loaded.
+     * @return The task, which may be cancelled.
+     */
+    public <T> Future<T> load(String key, Callable<T> query, Consumer<? super T> onLoaded,
+                            Consumer<? super Throwable> onFailed) {
+        return replaceLoad(key, submit(key, query, onLoaded, onFailed, null));
+    }
+
+    /**
+     * Loads data in the background like {@link #load load}, and when the load is superseded or
+     * cancelled, also cancels the query so it stops as soon as it can.
+     *
+     * @param key      What the load fills; a later load with the same key supersedes this one.
+     * @param query    The work, run on a background thread.
+     * @param onLoaded Called on the JavaFX thread with the result, unless the load was superseded.
+     * @param onFailed Called on the JavaFX thread if the work throws, unless the load was superseded.
+     * @param <T>      The type of data loaded.
+     * @return The task, which may be cancelled.
+     */
+    public <T> Future<T> loadCancellable(String key, CancellableQuery<T> query, Consumer<? super T> onLoaded,
+                                       Consumer<? super Throwable> onFailed) {
+        QueryCancellation cancellation = new QueryCancellation();
+        return replaceLoad(key, submit(key, () -> query.call(cancellation), onLoaded, onFailed, cancellation::cancel));
+    }
+
+    private <T> Future<T> replaceLoad(String key, Future<T> task) {
+        Future<?> previous = loads.put(key, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        return task;
+    }
+
+    /**
+     * Makes a change in the background and returns its result.
+     *
+     * @param update   The work, run on a background thread.
+     * @param onDone   Called on the JavaFX thread with the result.
+     * @param onFailed Called on the JavaFX thread if the work throws.
+     * @param <T>      The type of result.
+     * @return The task.
+     */
+    public <T> Future<T> call(Callable<T> update, Consumer<? super T> onDone, Consumer<? super Throwable> onFailed) {
+        return submit(null, update, onDone, onFailed, null);
+    }
+
+    /**
+     * Makes a change in the background.
+     *
+     * @param update   The work, run on a background thread.
+     * @param onDone   Called on the JavaFX thread once the work completes.
+     * @param onFailed Called on the JavaFX thread if the work throws.
+     * @return The task.
+     */
+    public Future<Void> run(Action update, Runnable onDone, Consumer<? super Throwable> onFailed) {
+        return submit(null, () -> {
+            update.run();
+            return null;
+        }, result -> onDone.run(), onFailed, null);
+    }
+
+    /**
+     * Cancels the load with a key, if one is in flight, dropping its result.
+     *
+     * @param key What the load fills.
+     */
+    public void cancel(String key) {
+        Future<?> task = loads.get(key);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Cancels every load, for a page that is being left. Changes already started still complete.
+     */
+    public void cancelLoads() {
+        for (Future<?> task : new ArrayList<>(loads.values())) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Returns whether any work is in flight.
+     *
+     * @return The busy property.
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    /**
+     * Creates a small spinner that shows while work is in flight and takes no space otherwise.
+     *
+     * @return The indicator.
+     */
+    public ProgressIndicator createIndicator() {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(20, 20);
+        indicator.visibleProperty().bind(busy.getReadOnlyProperty());
+        indicator.managedProperty().bind(indicator.visibleProperty());
+        return indicator;
+    }
+
+    private <T> Future<T> submit(String key, Callable<T> work, Consumer<? super T> onDone,
+                                 Consumer<? super Throwable> onFailed, Runnable onCancelled) {
+        FutureTask<T> task = new FutureTask<>(work) {
+            @Override
+            protected void done() {
+                fxThread.execute(() -> deliver(key, this, onDone, onFailed, onCancelled));
+            }
+        };
+        inFlight.add(task);
+        busy.set(true);
+        // Cancelling never interrupts: an interrupt inside JDBC can break the shared connection, so a
+        // cancelled query runs to completion on its virtual thread and its result is dropped.
+        worker.execute(task);
+        return task;
+    }
+
+    /**
+     * Hands a finished task's result or failure to its callback, unless it was cancelled or superseded.
+     */
+    private <T> void deliver(String key, FutureTask<T> task, Consumer<? super T> onDone,
+                             Consumer<? super Throwable> onFailed, Runnable onCancelled) {
+        boolean current = finish(key, task);
+        if (task.isCancelled()) {
+            if (onCancelled != null) {
+                onCancelled.run();
+            }
+            return;
+        }
+        if (!current) {
+            return;
+        }
+        T result;
+        try {
+            result = task.get();
+        } catch (ExecutionException e) {
+            onFailed.accept(e.getCause());
+            return;
+        } catch (InterruptedException e) {
+            // The task is done, so get() does not wait.
+            Thread.currentThread().interrupt();
+            return;
+        }
+        onDone.accept(result);
+    }
+
+    /**
+     * Records that a task is done and returns whether its result should still be delivered.
+     */
+    private boolean finish(String key, Future<?> task) {
+        inFlight.remove(task);
+        busy.set(!inFlight.isEmpty());
+        if (key == null) {
+            return true;
+        }
+        return loads.remove(key, task) && !task.isCancelled();
+    }
+}
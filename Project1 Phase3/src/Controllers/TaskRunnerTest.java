@@ -0,0 +1,144 @@
+// src/test/java/Controllers/TaskRunnerTest.java
+package Controllers;
+
+import Utilities.QueryCancellation;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRunnerTest {
+    /** Queues work until {@link #runAll()} runs it on the test thread. */
+    private static final class QueuedExecutor implements Executor {
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            pending.add(command);
+        }
+
+        void runAll() {
+            while (!pending.isEmpty()) {
+                pending.poll().run();
+            }
+        }
+    }
+
+    private QueuedExecutor worker;
+    private QueuedExecutor fxThread;
+    private TaskRunner tasks;
+    private List<String> loaded;
+    private List<Throwable> failures;
+
+    @BeforeEach
+    void setup() {
+        worker = new QueuedExecutor();
+        fxThread = new QueuedExecutor();
+        tasks = new TaskRunner(worker, fxThread);
+        loaded = new ArrayList<>();
+        failures = new ArrayList<>();
+    }
+
+    private void runAll() {
+        worker.runAll();
+        fxThread.runAll();
+    }
+
+    @Test
+    void testSupersededLoadIsNotDelivered() {
+        tasks.load("articles", () -> "old", loaded::add, failures::add);
+        tasks.load("articles", () -> "new", loaded::add, failures::add);
+        assertTrue(tasks.busyProperty().get());
+
+        runAll();
+        assertEquals(List.of("new"), loaded);
+        assertTrue(failures.isEmpty());
+        assertFalse(tasks.busyProperty().get(), "Busy should clear once every load is done.");
+    }
+
+    @Test
+    void testLoadFinishedButSupersededBeforeDeliveryIsDropped() {
+        tasks.load("articles", () -> "old", loaded::add, failures::add);
+        worker.runAll();
+        // The old result is waiting for the JavaFX thread when the newer load starts.
+        tasks.load("articles", () -> "new", loaded::add, failures::add);
+
+        runAll();
+        assertEquals(List.of("new"), loaded);
+        assertFalse(tasks.busyProperty().get());
+    }
+
+    @Test
+    void testSupersededFailureIsNotDelivered() {
+        tasks.<String>load("articles", () -> {
+            throw new IllegalStateException("stale");
+        }, loaded::add, failures::add);
+        tasks.load("articles", () -> "new", loaded::add, failures::add);
+
+        runAll();
+        assertEquals(List.of("new"), loaded);
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void testLoadsWithOtherKeysAreNotSuperseded() {
+        tasks.load("articles", () -> "articles", loaded::add, failures::add);
+        tasks.load("groups", () -> "groups", loaded::add, failures::add);
+
+        runAll();
+        assertEquals(List.of("articles", "groups"), loaded);
+    }
+
+    @Test
+    void testCancelledLoadClearsBusy() {
+        tasks.load("articles", () -> "old", loaded::add, failures::add);
+        tasks.cancel("articles");
+
+        runAll();
+        assertTrue(loaded.isEmpty());
+        assertFalse(tasks.busyProperty().get());
+    }
+
+    @Test
+    void testCancellableLoadSupersededWhileRunningCancelsItsQuery() {
+        List<QueryCancellation> cancellations = new ArrayList<>();
+        tasks.loadCancellable("search", cancellation -> {
+            cancellations.add(cancellation);
+            // A newer search starts while this one is still running.
+            tasks.loadCancellable("search", newer -> "new", loaded::add, failures::add);
+            return "old";
+        }, loaded::add, failures::add);
+
+        runAll();
+        assertTrue(cancellations.get(0).isCancelled(), "The superseded query should be told to stop.");
+        assertEquals(List.of("new"), loaded);
+        assertFalse(tasks.busyProperty().get());
+    }
+
+    @Test
+    void testFailureIsDeliveredUnwrapped() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        tasks.run(() -> {
+            throw failure;
+        }, () -> loaded.add("done"), failures::add);
+
+        runAll();
+        assertTrue(loaded.isEmpty());
+        assertEquals(List.of(failure), failures);
+        assertFalse(tasks.busyProperty().get());
+    }
+
+    @Test
+    void testChangesAreNeverSuperseded() {
+        tasks.call(() -> "first", loaded::add, failures::add);
+        tasks.call(() -> "second", loaded::add, failures::add);
+
+        runAll();
+        assertEquals(List.of("first", "second"), loaded);
+    }
+}
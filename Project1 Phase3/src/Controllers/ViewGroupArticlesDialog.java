@@ -9,9 +9,6 @@ import models.HelpArticle;
 import Utilities.GroupDAO;
 import Utilities.HelpArticleDAO;
 
-import java.sql.SQLException;
-import java.util.List;
-
 public class ViewGroupArticlesDialog extends Dialog<Void> {
 
     private GroupDAO groupDAO;
@@ -19,6 +16,7 @@ public class ViewGroupArticlesDialog extends Dialog<Void> {
     private long groupId;
     private TableView<HelpArticle> articlesTableView;
     private ObservableList<HelpArticle> articlesList;
+    private final TaskRunner tasks = new TaskRunner();
 
     public ViewGroupArticlesDialog(GroupDAO groupDAO, HelpArticleDAO helpArticleDAO, long groupId) {
         this.groupDAO = groupDAO;
@@ -52,19 +50,16 @@ public class ViewGroupArticlesDialog extends Dialog<Void> {
 
         articlesTableView.getColumns().addAll(idCol, titleCol, descriptionCol);
 
-        content.getChildren().addAll(articlesTableView);
+        content.getChildren().addAll(tasks.createIndicator(), articlesTableView);
         getDialogPane().setContent(content);
 
         loadGroupArticles();
+        setOnHidden(e -> tasks.cancelLoads());
     }
 
     private void loadGroupArticles() {
-        try {
-            List<HelpArticle> articles = helpArticleDAO.getArticlesByGroup(groupId);
-            articlesList.setAll(articles);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles for the group.");
-        }
+        tasks.load("articles", () -> helpArticleDAO.getArticlesByGroup(groupId), articlesList::setAll,
+                e -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load articles for the group."));
     }
 
     private void showAlert(Alert.AlertType type, String title, String content) {
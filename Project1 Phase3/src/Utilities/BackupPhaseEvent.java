@@ -0,0 +1,71 @@
+package Utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p> Title: BackupPhaseEvent Class </p>
+ *
+ * <p> Description: A JDK Flight Recorder event for one phase of a backup or restore made by
+ * {@link BackupRestoreManager}. A backup collects the groups and then writes the file; a restore reads
+ * the file, clears existing data if asked, and then applies the backup. Disabled unless the recording
+ * uses the {@code helpsystem.jfc} profile. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@Name("helpsystem.BackupPhase")
+@Label("Backup Phase")
+@Category({"Help System", "Backup"})
+@Description("A phase of a backup or restore")
+@Enabled(false)
+public class BackupPhaseEvent extends Event {
+    @Label("Operation")
+    @Description("backup or restore")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Groups")
+    int groups;
+
+    @Label("Articles")
+    int articles;
+
+    private BackupPhaseEvent(String operation, String phase) {
+        this.operation = operation;
+        this.phase = phase;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param operation backup or restore.
+     * @param phase     The phase name.
+     * @return The started event.
+     */
+    static BackupPhaseEvent start(String operation, String phase) {
+        BackupPhaseEvent event = new BackupPhaseEvent(operation, phase);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and commits it if the recording wants it.
+     *
+     * @param groups   The groups handled.
+     * @param articles The articles handled.
+     */
+    void finish(int groups, int articles) {
+        end();
+        if (shouldCommit()) {
+            this.groups = groups;
+            this.articles = articles;
+            commit();
+        }
+    }
+}
@@ -8,7 +8,9 @@ import models.User;
 import java.io.*;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <p> Title: BackupRestoreManager Class </p>
@@ -16,7 +18,8 @@ import java.util.List;
  * <p> Description: This class handles the backup and restoration of groups and their associated help articles.
  * It provides methods to backup all groups, backup specific groups, and restore groups from a backup file.
  * The class interacts with the data access objects (DAOs) to perform database operations and utilizes 
- * serialization for backup file handling. </p>
+ * serialization for backup file handling. Backup files are streamed through {@link EncryptionUtils#encryptingStream}
+ * so they are encrypted and authenticated without holding the whole backup in memory. </p>
  * 
  * @author Naimish Maniya
  * 
@@ -33,8 +36,18 @@ public class BackupRestoreManager {
      * @throws SQLException If there is an error accessing the database.
      */
     public BackupRestoreManager() throws SQLException {
-        helpArticleDAO = new HelpArticleDAO();
-        groupDAO = new GroupDAO();
+        this(DaoRegistry.getInstance().getHelpArticleDAO(), DaoRegistry.getInstance().getGroupDAO());
+    }
+
+    /**
+     * Constructs a BackupRestoreManager instance over existing data access objects.
+     *
+     * @param helpArticleDAO The DAO for articles.
+     * @param groupDAO       The DAO for groups.
+     */
+    public BackupRestoreManager(HelpArticleDAO helpArticleDAO, GroupDAO groupDAO) {
+        this.helpArticleDAO = helpArticleDAO;
+        this.groupDAO = groupDAO;
     }
 
     /**
@@ -45,16 +58,19 @@ public class BackupRestoreManager {
      * @throws SQLException   If database operations fail.
      */
     public void backupAllGroups(String filePath) throws IOException, SQLException {
-        List<Group> groups = groupDAO.getAllGroups();
-        List<GroupWithArticles> backupData = new ArrayList<>();
+        try (DaoMetrics.Timer timer = DaoMetrics.start("BackupRestoreManager.backupAllGroups")) {
+            BackupPhaseEvent collect = BackupPhaseEvent.start("backup", "collect");
+            List<Group> groups = groupDAO.getAllGroups();
+            List<GroupWithArticles> backupData = new ArrayList<>();
 
-        for (Group group : groups) {
-            List<HelpArticle> articles = helpArticleDAO.getArticlesByGroupId(group.getId(), false);
-            backupData.add(new GroupWithArticles(group, articles));
-        }
+            for (Group group : groups) {
+                List<HelpArticle> articles = helpArticleDAO.getArticlesByGroupId(group.getId(), true);
+                backupData.add(new GroupWithArticles(group, articles));
+            }
+            collect.finish(backupData.size(), countArticles(backupData));
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
-            oos.writeObject(backupData);
+            writeBackup(backupData, filePath);
+            timer.success(backupData.size());
         }
     }
 
@@ -67,18 +83,21 @@ public class BackupRestoreManager {
      * @throws SQLException   If database operations fail.
      */
     public void backupGroups(List<String> groupNames, String filePath) throws IOException, SQLException {
-        List<GroupWithArticles> backupData = new ArrayList<>();
+        try (DaoMetrics.Timer timer = DaoMetrics.start("BackupRestoreManager.backupGroups")) {
+            BackupPhaseEvent collect = BackupPhaseEvent.start("backup", "collect");
+            List<GroupWithArticles> backupData = new ArrayList<>();
 
-        for (String groupName : groupNames) {
-            Group group = groupDAO.getGroupByName(groupName);
-            if (group != null) {
-                List<HelpArticle> articles = helpArticleDAO.getArticlesByGroupId(group.getId(), false);
-                backupData.add(new GroupWithArticles(group, articles));
+            for (String groupName : groupNames) {
+                Group group = groupDAO.getGroupByName(groupName);
+                if (group != null) {
+                    List<HelpArticle> articles = helpArticleDAO.getArticlesByGroupId(group.getId(), true);
+                    backupData.add(new GroupWithArticles(group, articles));
+                }
             }
-        }
+            collect.finish(backupData.size(), countArticles(backupData));
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
-            oos.writeObject(backupData);
+            writeBackup(backupData, filePath);
+            timer.success(backupData.size());
         }
     }
 
@@ -93,33 +112,97 @@ public class BackupRestoreManager {
      */
     @SuppressWarnings("unchecked")
     public void restoreGroups(String filePath, boolean removeExisting) throws IOException, SQLException, ClassNotFoundException {
-        List<GroupWithArticles> backupData;
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
-            backupData = (List<GroupWithArticles>) ois.readObject();
+        try (DaoMetrics.Timer timer = DaoMetrics.start("BackupRestoreManager.restoreGroups")) {
+            BackupPhaseEvent read = BackupPhaseEvent.start("restore", "read");
+            List<GroupWithArticles> backupData;
+            try (ObjectInputStream ois = new ObjectInputStream(openBackup(filePath))) {
+                backupData = (List<GroupWithArticles>) ois.readObject();
+            }
+            int articleCount = countArticles(backupData);
+            read.finish(backupData.size(), articleCount);
+
+            if (removeExisting) {
+                BackupPhaseEvent clear = BackupPhaseEvent.start("restore", "clear");
+                helpArticleDAO.clearAllAssociations();
+                groupDAO.deleteAllGroups();
+                helpArticleDAO.deleteAllHelpArticles(); 
+                clear.finish(0, 0);
+            }
+
+            BackupPhaseEvent apply = BackupPhaseEvent.start("restore", "apply");
+            // An article in several groups is backed up once per group; restore it once.
+            Map<Long, Long> restoredIds = new HashMap<>();
+            for (GroupWithArticles gwa : backupData) {
+                Group group = gwa.getGroup();
+                Group existingGroup = groupDAO.getGroupByName(group.getName());
+                if (existingGroup == null) {
+                    groupDAO.addGroup(group);
+                    existingGroup = groupDAO.getGroupByName(group.getName());
+                }
+
+                for (HelpArticle article : gwa.getArticles()) {
+                    Long articleId = restoredIds.get(article.getId());
+                    if (articleId == null) {
+                        long backupId = article.getId();
+                        // Only existence matters here; the visibility check of getHelpArticleById needs a user.
+                        if (helpArticleDAO.getHelpArticleVersion(backupId) < 0) {
+                            helpArticleDAO.addHelpArticle(article);
+                        }
+                        articleId = article.getId();
+                        restoredIds.put(backupId, articleId);
+                    }
+                    // Associate article with group
+                    helpArticleDAO.associateArticleWithGroup(articleId, existingGroup.getId());
+                }
+            }
+            apply.finish(backupData.size(), articleCount);
+            timer.success(backupData.size());
         }
+    }
 
-        if (removeExisting) {
-            helpArticleDAO.clearAllAssociations();
-            groupDAO.deleteAllGroups();
-            helpArticleDAO.deleteAllHelpArticles(); 
+    /**
+     * Serializes the backup data into an encrypted backup file.
+     *
+     * @param backupData The groups and articles to write.
+     * @param filePath   The path to the backup file.
+     * @throws IOException If file operations fail.
+     */
+    private void writeBackup(List<GroupWithArticles> backupData, String filePath) throws IOException {
+        BackupPhaseEvent write = BackupPhaseEvent.start("backup", "write");
+        try (OutputStream encrypted = EncryptionUtils.encryptingStream(new BufferedOutputStream(new FileOutputStream(filePath)));
+             ObjectOutputStream oos = new ObjectOutputStream(encrypted)) {
+            oos.writeObject(backupData);
         }
+        write.finish(backupData.size(), countArticles(backupData));
+    }
 
+    /**
+     * Counts the articles in backup data.
+     *
+     * @param backupData The groups and their articles.
+     * @return The number of articles, counting an article once per group it is in.
+     */
+    private static int countArticles(List<GroupWithArticles> backupData) {
+        int count = 0;
         for (GroupWithArticles gwa : backupData) {
-            Group group = gwa.getGroup();
-            Group existingGroup = groupDAO.getGroupByName(group.getName());
-            if (existingGroup == null) {
-                groupDAO.addGroup(group);
-                existingGroup = groupDAO.getGroupByName(group.getName());
-            }
+            count += gwa.getArticles().size();
+        }
+        return count;
+    }
 
-            for (HelpArticle article : gwa.getArticles()) {
-                HelpArticle existingArticle = helpArticleDAO.getHelpArticleById(article.getId(), null);
-                if (existingArticle == null) {
-                	helpArticleDAO.addHelpArticle(article);
-                }
-                // Associate article with group
-                helpArticleDAO.associateArticleWithGroup(article.getId(), existingGroup.getId());
-            }
+    /**
+     * Opens a backup file for reading. Encrypted backups are decrypted as they are read;
+     * backups written before encryption was added are read as plain serialized data.
+     *
+     * @param filePath The path to the backup file.
+     * @return A stream of the serialized backup data.
+     * @throws IOException If file operations fail.
+     */
+    private InputStream openBackup(String filePath) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(new FileInputStream(filePath));
+        if (EncryptionUtils.isEncryptedStream(in)) {
+            return EncryptionUtils.decryptingStream(in);
         }
+        return in;
     }
 }
@@ -0,0 +1,61 @@
+package Utilities;
+
+/**
+ * <p> Title: ChangeEvent Record </p>
+ *
+ * <p> Description: A change made to the database, published on the {@link ChangeEventBus} after the
+ * write succeeds. Which of the identifying fields are set depends on the {@link Type}; unused ids are 0
+ * and an unused username is null. </p>
+ *
+ * @param sequence        The bus-wide sequence number, starting at 1 and increasing by one per event.
+ * @param type            What changed.
+ * @param articleId       The article involved, or 0.
+ * @param groupId         The group involved, or 0.
+ * @param username        The user involved, or null.
+ * @param timestampMillis When the event was published, in epoch milliseconds.
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public record ChangeEvent(long sequence, Type type, long articleId, long groupId, String username, long timestampMillis) {
+    /**
+     * The kinds of change, and the fields each one sets.
+     */
+    public enum Type {
+        /** An article was added; sets articleId. */
+        ARTICLE_ADDED,
+        /** An article was updated; sets articleId. */
+        ARTICLE_UPDATED,
+        /** An article was deleted, with its group links; sets articleId. */
+        ARTICLE_DELETED,
+        /** Every article was deleted. */
+        ALL_ARTICLES_DELETED,
+        /** An article was linked to a group; sets articleId and groupId. */
+        ARTICLE_LINKED,
+        /** An article was unlinked from a group; sets articleId and groupId. */
+        ARTICLE_UNLINKED,
+        /** The group links of an article, of a group, or of everything were cleared; sets whichever id applies. */
+        LINKS_CLEARED,
+        /** A group was added; sets groupId. */
+        GROUP_ADDED,
+        /** A group was renamed or its special access flag changed; sets groupId. */
+        GROUP_UPDATED,
+        /** A group was deleted, with its members and links; sets groupId. */
+        GROUP_DELETED,
+        /** Every group was deleted. */
+        ALL_GROUPS_DELETED,
+        /** A user joined a group; sets groupId and username. */
+        MEMBER_ADDED,
+        /** A user left a group; sets groupId and username. */
+        MEMBER_REMOVED,
+        /** A user's special access rights in a group changed; sets groupId and username. */
+        GROUP_RIGHTS_CHANGED,
+        /** A user was added or saved; sets username. */
+        USER_SAVED,
+        /** A user was deleted, with their roles and memberships; sets username. */
+        USER_DELETED,
+        /** A search was recorded; sets username. */
+        SEARCH_RECORDED,
+        /** The whole database was reset or restored from a script; every cache must be rebuilt. */
+        DATABASE_REPLACED
+    }
+}
@@ -0,0 +1,147 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p> Title: ChangeEventBus Class </p>
+ *
+ * <p> Description: An in-process bus carrying a {@link ChangeEvent} for every write the DAOs make, so
+ * caches and indexes can update incrementally instead of being rebuilt. It follows the Singleton design
+ * pattern so every DAO publishes to the same bus. </p>
+ *
+ * <p> Publishing takes no lock: the sequence number comes from an atomic counter and the event is
+ * stored in a fixed ring of recent events before listeners are called on the publishing thread.
+ * Listeners that fall behind, or that start late, can catch up with {@link #eventsSince(long)}; if the
+ * ring has already wrapped past the events they need, it returns null and they must rebuild from the
+ * database. Events published concurrently may reach listeners out of sequence order. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class ChangeEventBus {
+    static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Receives change events.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Called on the publishing thread after a change is written.
+         *
+         * @param event The change.
+         */
+        void changed(ChangeEvent event);
+    }
+
+    private static ChangeEventBus instance;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int mask;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a ChangeEventBus remembering a number of recent events.
+     *
+     * @param capacity The number of recent events kept for {@link #eventsSince(long)}; a power of two.
+     */
+    ChangeEventBus(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two.");
+        }
+        ring = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Retrieves the singleton instance of ChangeEventBus.
+     *
+     * @return The ChangeEventBus instance.
+     */
+    public static synchronized ChangeEventBus getInstance() {
+        if (instance == null) {
+            instance = new ChangeEventBus(DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener for every event published from now on.
+     *
+     * @param listener The listener to add.
+     */
+    public void subscribe(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void unsubscribe(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Publishes a change. Call this only after the write has succeeded.
+     *
+     * @param type      What changed.
+     * @param articleId The article involved, or 0.
+     * @param groupId   The group involved, or 0.
+     * @param username  The user involved, or null.
+     * @return The event's sequence number.
+     */
+    public long publish(ChangeEvent.Type type, long articleId, long groupId, String username) {
+        long sequence = lastSequence.incrementAndGet();
+        ChangeEvent event = new ChangeEvent(sequence, type, articleId, groupId, username, System.currentTimeMillis());
+        ring.set((int) (sequence & mask), event);
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.changed(event);
+            } catch (RuntimeException e) {
+                System.out.println("Change listener failed for event " + sequence + ": " + e.getMessage());
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns the sequence number of the latest event, or 0 if none has been published.
+     *
+     * @return The latest sequence number.
+     */
+    public long getLastSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Retrieves the events published after a sequence number, in sequence order. Events still being
+     * published are left for the next call.
+     *
+     * @param sequence The last sequence number the caller has seen, or 0 for none.
+     * @return The newer events, or null if some of them have been overwritten and the caller must resynchronize.
+     */
+    public List<ChangeEvent> eventsSince(long sequence) {
+        long last = lastSequence.get();
+        if (last - sequence > ring.length()) {
+            return null;
+        }
+        List<ChangeEvent> events = new ArrayList<>((int) Math.max(0, last - sequence));
+        for (long next = sequence + 1; next <= last; next++) {
+            ChangeEvent event = ring.get((int) (next & mask));
+            if (event == null || event.sequence() < next) {
+                // Claimed but not yet stored; stop so events stay in order.
+                break;
+            }
+            if (event.sequence() > next) {
+                return null;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,101 @@
+// src/test/java/Utilities/ChangeEventBusTest.java
+package Utilities;
+
+import models.Group;
+import models.HelpArticle;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventBusTest {
+    private final ChangeEventBus bus = new ChangeEventBus(8);
+
+    @Test
+    void testSequenceAndListeners() {
+        List<ChangeEvent> received = new ArrayList<>();
+        bus.subscribe(event -> {
+            throw new IllegalStateException("A failing listener should not stop the others.");
+        });
+        bus.subscribe(received::add);
+
+        assertEquals(1, bus.publish(ChangeEvent.Type.ARTICLE_ADDED, 5, 0, null));
+        assertEquals(2, bus.publish(ChangeEvent.Type.MEMBER_ADDED, 0, 3, "alice"));
+        assertEquals(2, received.size(), "Every event should reach the listener.");
+        assertEquals(ChangeEvent.Type.MEMBER_ADDED, received.get(1).type());
+        assertEquals("alice", received.get(1).username());
+        assertEquals(2, bus.getLastSequence());
+    }
+
+    @Test
+    void testEventsSince() {
+        for (int i = 1; i <= 6; i++) {
+            bus.publish(ChangeEvent.Type.ARTICLE_UPDATED, i, 0, null);
+        }
+        List<ChangeEvent> events = bus.eventsSince(3);
+        assertEquals(3, events.size(), "Events after the given sequence should be returned.");
+        assertEquals(4, events.get(0).sequence());
+        assertEquals(6, events.get(2).articleId());
+        assertTrue(bus.eventsSince(6).isEmpty(), "A caught-up caller should get no events.");
+
+        for (int i = 0; i < 8; i++) {
+            bus.publish(ChangeEvent.Type.ARTICLE_UPDATED, 0, 0, null);
+        }
+        assertNull(bus.eventsSince(3), "A caller behind the ring must resynchronize.");
+        assertEquals(8, bus.eventsSince(6).size(), "A caller exactly one ring behind can still catch up.");
+    }
+
+    @Test
+    void testConcurrentPublishersGetDistinctSequences() throws Exception {
+        ChangeEventBus large = new ChangeEventBus(1024);
+        AtomicInteger delivered = new AtomicInteger();
+        large.subscribe(event -> delivered.incrementAndGet());
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 200; i++) {
+                    large.publish(ChangeEvent.Type.SEARCH_RECORDED, 0, 0, "user");
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        assertEquals(800, delivered.get());
+        List<ChangeEvent> events = large.eventsSince(0);
+        assertEquals(800, events.size(), "Every sequence number should be used exactly once.");
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, events.get(i).sequence());
+        }
+    }
+
+    @Test
+    void testDaoWritesArePublished() throws Exception {
+        TestDatabaseManager.getInstance().resetDatabase();
+        ChangeEventBus shared = ChangeEventBus.getInstance();
+        long start = shared.getLastSequence();
+
+        GroupDAO groupDAO = new GroupDAO();
+        Group group = new Group("Events");
+        groupDAO.addGroup(group);
+        HelpArticleDAO articleDAO = new HelpArticleDAO();
+        HelpArticle article = new HelpArticle(0, "H", "T", "S", List.of("k"), "B", List.of());
+        articleDAO.addHelpArticle(article);
+        articleDAO.associateArticleWithGroup(article.getId(), group.getId());
+        articleDAO.deleteHelpArticle(article.getId());
+        groupDAO.deleteGroup(group.getId());
+
+        List<ChangeEvent.Type> types = new ArrayList<>();
+        for (ChangeEvent event : shared.eventsSince(start)) {
+            // Skip writes other components make in the background, such as flushed user saves.
+            if (event.articleId() == article.getId() || event.groupId() == group.getId()) {
+                types.add(event.type());
+            }
+        }
+        assertEquals(List.of(ChangeEvent.Type.GROUP_ADDED, ChangeEvent.Type.ARTICLE_ADDED, ChangeEvent.Type.ARTICLE_LINKED,
+                ChangeEvent.Type.ARTICLE_DELETED, ChangeEvent.Type.GROUP_DELETED), types);
+    }
+}
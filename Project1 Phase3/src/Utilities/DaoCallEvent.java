@@ -0,0 +1,53 @@
+package Utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p> Title: DaoCallEvent Class </p>
+ *
+ * <p> Description: A JDK Flight Recorder event for one call to a public DAO method, emitted by
+ * {@link DaoMetrics}. The {@link SqlStatementEvent}s of the call are recorded inside it on the same
+ * thread. Disabled unless the recording uses the {@code helpsystem.jfc} profile. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@Name("helpsystem.DaoCall")
+@Label("DAO Call")
+@Category({"Help System", "Database"})
+@Description("A call to a public data access method")
+@Enabled(false)
+public class DaoCallEvent extends Event {
+    @Label("Operation")
+    @Description("The method called, as Class.method")
+    String operation;
+
+    @Label("Rows")
+    @Description("The rows returned")
+    long rows;
+
+    @Label("Failed")
+    @Description("Whether the call threw an exception")
+    boolean failed;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param operation The method called.
+     * @param rows      The rows returned.
+     * @param failed    Whether the call threw.
+     */
+    void finish(String operation, long rows, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package Utilities;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p> Title: DaoMetrics Class </p>
+ *
+ * <p> Description: In-process metrics for data access calls. Each operation, named
+ * {@code Class.method}, has a call counter, an error counter, a counter of rows returned and a
+ * {@link LatencyHistogram}, all updated without locks. The DAOs wrap their public methods in
+ * {@link #call(String, SqlOperation)} or {@link #run(String, SqlAction)}. </p>
+ *
+ * <p> Metrics are off unless the {@code helpsystem.metrics} system property or the
+ * {@code HELP_SYSTEM_METRICS} environment variable is {@code true}, or {@link #setEnabled(boolean)} is
+ * called. Each call is also emitted as a {@link DaoCallEvent} when a flight recording enables it. While
+ * both are off a wrapped call costs one volatile read and the recorder's enabled check. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class DaoMetrics {
+    static final String ENABLED_PROPERTY = "helpsystem.metrics";
+    static final String ENABLED_ENV = "HELP_SYSTEM_METRICS";
+
+    /**
+     * A data access call returning a value.
+     *
+     * @param <T> The type of value returned.
+     */
+    @FunctionalInterface
+    public interface SqlOperation<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * A data access call returning nothing.
+     */
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    /**
+     * The metrics of one operation.
+     */
+    public static final class Operation {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records one finished call.
+         *
+         * @param nanos  How long the call took.
+         * @param rows   The rows it returned.
+         * @param failed Whether it threw.
+         */
+        public void record(long nanos, long rows, boolean failed) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (rows > 0) {
+                this.rows.add(rows);
+            }
+            latency.record(nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            rows.reset();
+            latency.reset();
+        }
+    }
+
+    /**
+     * Times a call that cannot be written as a lambda, for example because it throws several checked
+     * exceptions. Call {@link #success(long)} when it completes; closing a timer that did not succeed
+     * records an error.
+     */
+    public static final class Timer implements AutoCloseable {
+        private static final Timer DISABLED = new Timer(null, null, null);
+        private final String name;
+        private final Operation operation;
+        private final DaoCallEvent event;
+        private final long start;
+        private long rows = -1;
+
+        private Timer(String name, Operation operation, DaoCallEvent event) {
+            this.name = name;
+            this.operation = operation;
+            this.event = event;
+            this.start = operation == null ? 0 : System.nanoTime();
+            if (event != null) {
+                event.begin();
+            }
+        }
+
+        /**
+         * Marks the call as successful.
+         *
+         * @param rows The rows it returned.
+         */
+        public void success(long rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void close() {
+            if (operation != null) {
+                operation.record(System.nanoTime() - start, Math.max(0, rows), rows < 0);
+            }
+            if (event != null) {
+                event.finish(name, Math.max(0, rows), rows < 0);
+            }
+        }
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY)
+            || Boolean.parseBoolean(System.getenv(ENABLED_ENV));
+    private static final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private DaoMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Metrics already recorded are kept.
+     *
+     * @param enabled True to record calls.
+     */
+    public static void setEnabled(boolean enabled) {
+        DaoMetrics.enabled = enabled;
+    }
+
+    /**
+     * Retrieves the metrics of an operation, creating them if needed.
+     *
+     * @param name The operation name, {@code Class.method}.
+     * @return The operation's metrics.
+     */
+    public static Operation operation(String name) {
+        return operations.computeIfAbsent(name, Operation::new);
+    }
+
+    /**
+     * Returns the metrics of every operation called so far, sorted by name.
+     *
+     * @return The operations.
+     */
+    public static SortedMap<String, Operation> snapshot() {
+        return new TreeMap<>(operations);
+    }
+
+    /**
+     * Clears every recorded metric.
+     */
+    public static void reset() {
+        for (Operation operation : operations.values()) {
+            operation.reset();
+        }
+    }
+
+    /**
+     * Runs and records a call returning a value. Collections count their size as rows, booleans and
+     * numbers count none, and any other non-null value counts as one row.
+     *
+     * @param name The operation name.
+     * @param body The call.
+     * @param <T>  The type of value returned.
+     * @return The call's result.
+     * @throws SQLException If the call throws.
+     */
+    public static <T> T call(String name, SqlOperation<T> body) throws SQLException {
+        DaoCallEvent event = new DaoCallEvent();
+        if (!enabled && !event.isEnabled()) {
+            return body.run();
+        }
+        Operation operation = enabled ? operation(name) : null;
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        T result = null;
+        try {
+            result = body.run();
+            failed = false;
+            return result;
+        } finally {
+            long rows = failed ? 0 : rowsOf(result);
+            if (operation != null) {
+                operation.record(System.nanoTime() - start, rows, failed);
+            }
+            event.finish(name, rows, failed);
+        }
+    }
+
+    /**
+     * Runs and records a call returning nothing.
+     *
+     * @param name The operation name.
+     * @param body The call.
+     * @throws SQLException If the call throws.
+     */
+    public static void run(String name, SqlAction body) throws SQLException {
+        DaoCallEvent event = new DaoCallEvent();
+        if (!enabled && !event.isEnabled()) {
+            body.run();
+            return;
+        }
+        Operation operation = enabled ? operation(name) : null;
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            body.run();
+            failed = false;
+        } finally {
+            if (operation != null) {
+                operation.record(System.nanoTime() - start, 0, failed);
+            }
+            event.finish(name, 0, failed);
+        }
+    }
+
+    /**
+     * Starts timing a call; use with try-with-resources.
+     *
+     * @param name The operation name.
+     * @return The timer, which does nothing while metrics and the flight recorder event are off.
+     */
+    public static Timer start(String name) {
+        DaoCallEvent event = new DaoCallEvent();
+        if (!enabled && !event.isEnabled()) {
+            return Timer.DISABLED;
+        }
+        return new Timer(name, enabled ? operation(name) : null, event.isEnabled() ? event : null);
+    }
+
+    /**
+     * Formats every operation as a table of calls, errors, rows and latency percentiles in microseconds.
+     *
+     * @return The report.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder(String.format("%-55s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "calls", "errors", "rows", "mean_us", "p50_us", "p99_us", "max_us"));
+        for (Operation operation : snapshot().values()) {
+            LatencyHistogram latency = operation.getLatency();
+            report.append(String.format("%-55s %9d %7d %9d %9d %9d %9d %9d%n", operation.getName(),
+                    operation.getCalls(), operation.getErrors(), operation.getRows(),
+                    micros(latency.getMeanNanos()), micros(latency.getPercentileNanos(50)),
+                    micros(latency.getPercentileNanos(99)), micros(latency.getMaxNanos())));
+        }
+        return report.toString();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result == null || result instanceof Boolean || result instanceof Number) {
+            return 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,116 @@
+// src/test/java/Utilities/DaoMetricsTest.java
+package Utilities;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import models.Group;
+import models.HelpArticle;
+import models.User;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaoMetricsTest {
+    @TempDir
+    Path recordingDir;
+
+    private boolean wasEnabled;
+
+    @BeforeEach
+    void setUp() {
+        wasEnabled = DaoMetrics.isEnabled();
+        DaoMetrics.setEnabled(true);
+        DaoMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DaoMetrics.setEnabled(wasEnabled);
+    }
+
+    @Test
+    void testCallsErrorsAndRows() {
+        assertDoesNotThrow(() -> DaoMetrics.call("Test.list", () -> List.of(1, 2, 3)));
+        assertDoesNotThrow(() -> DaoMetrics.run("Test.list", () -> { }));
+        assertThrows(SQLException.class, () -> DaoMetrics.call("Test.list", () -> {
+            throw new SQLException("Failure");
+        }));
+
+        DaoMetrics.Operation operation = DaoMetrics.snapshot().get("Test.list");
+        assertEquals(3, operation.getCalls());
+        assertEquals(1, operation.getErrors());
+        assertEquals(3, operation.getRows(), "Only the returned list should count as rows.");
+        assertEquals(3, operation.getLatency().getCount());
+        assertTrue(DaoMetrics.report().contains("Test.list"));
+    }
+
+    @Test
+    void testTimerCountsAnErrorUnlessMarkedSuccessful() {
+        try (DaoMetrics.Timer timer = DaoMetrics.start("Test.timer")) {
+            timer.success(4);
+        }
+        DaoMetrics.Timer abandoned = DaoMetrics.start("Test.timer");
+        abandoned.close(); // Closed without success, as when the timed code throws.
+        DaoMetrics.Operation operation = DaoMetrics.operation("Test.timer");
+        assertEquals(2, operation.getCalls());
+        assertEquals(1, operation.getErrors());
+        assertEquals(4, operation.getRows());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() throws SQLException {
+        DaoMetrics.setEnabled(false);
+        assertEquals("value", DaoMetrics.call("Test.disabled", () -> "value"));
+        try (DaoMetrics.Timer timer = DaoMetrics.start("Test.disabled")) {
+            timer.success(1);
+        }
+        assertFalse(DaoMetrics.snapshot().containsKey("Test.disabled"));
+    }
+
+    @Test
+    void testDaoCallsAreRecorded() throws SQLException {
+        TestDatabaseManager.getInstance().resetDatabase();
+        GroupDAO groupDAO = new GroupDAO();
+        groupDAO.addGroup(new Group("Metrics"));
+        groupDAO.getAllGroups();
+
+        assertEquals(1, DaoMetrics.operation("GroupDAO.addGroup").getCalls());
+        DaoMetrics.Operation getAll = DaoMetrics.operation("GroupDAO.getAllGroups");
+        assertEquals(1, getAll.getCalls());
+        assertEquals(1, getAll.getRows());
+        assertTrue(getAll.getLatency().getMaxNanos() > 0);
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        TestDatabaseManager.getInstance().resetDatabase();
+        DaoMetrics.setEnabled(false);
+        HelpArticleDAO articleDAO = new HelpArticleDAO();
+        articleDAO.addHelpArticle(new HelpArticle(0, "H", "Recorded title", "S", List.of("k"), "B", List.of()));
+
+        Path file = recordingDir.resolve("dao.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("helpsystem.DaoCall");
+            recording.enable("helpsystem.Search");
+            recording.start();
+            articleDAO.searchHelpArticles(new User("recorder", "pass"), "Recorded", "all");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent call = events.stream().filter(e -> e.getEventType().getName().equals("helpsystem.DaoCall")).findFirst().orElseThrow();
+        assertEquals("HelpArticleDAO.searchHelpArticles(User,String,String)", call.getString("operation"));
+        assertEquals(1, call.getLong("rows"));
+        RecordedEvent search = events.stream().filter(e -> e.getEventType().getName().equals("helpsystem.Search")).findFirst().orElseThrow();
+        assertEquals("Recorded", search.getString("query"));
+        assertEquals(1, search.getInt("hits"));
+        assertTrue(search.getLong("executeNanos") > 0, "Phase timings should be recorded.");
+    }
+}
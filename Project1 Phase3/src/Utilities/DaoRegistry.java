@@ -0,0 +1,81 @@
+package Utilities;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * <p> Title: DaoRegistry Class </p>
+ *
+ * <p> Description: Builds the application's data access objects once, over the shared connection, and
+ * hands the same instances to every page, dialog and entry point instead of each constructing its own.
+ * The DAOs hold nothing but the connection, so one instance of each serves every thread. Wiring that
+ * every DAO needs, such as the traced connection from {@link DatabaseManager}, is therefore done in one
+ * place, while {@link DaoMetrics} and the {@link ChangeEventBus} stay shared singletons the DAOs use
+ * directly. </p>
+ *
+ * <p> It follows the Singleton design pattern for the application's connection; a registry over
+ * another connection can be built with {@link #DaoRegistry(Connection)}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class DaoRegistry {
+    private static DaoRegistry instance;
+
+    private final Connection connection;
+    private final GroupDAO groupDAO;
+    private final HelpArticleDAO helpArticleDAO;
+    private final UserDAO userDAO;
+    private final SearchRequestDAO searchRequestDAO;
+    private final BackupRestoreManager backupRestoreManager;
+
+    /**
+     * Constructs a DaoRegistry over a connection.
+     *
+     * @param connection The connection every DAO uses.
+     */
+    public DaoRegistry(Connection connection) {
+        this.connection = connection;
+        groupDAO = new GroupDAO(connection);
+        helpArticleDAO = new HelpArticleDAO(connection, groupDAO);
+        userDAO = new UserDAO(connection);
+        searchRequestDAO = new SearchRequestDAO(connection);
+        backupRestoreManager = new BackupRestoreManager(helpArticleDAO, groupDAO);
+    }
+
+    /**
+     * Retrieves the singleton instance of DaoRegistry, over the {@link DatabaseManager} connection.
+     *
+     * @return The DaoRegistry instance.
+     * @throws SQLException If the database cannot be opened.
+     */
+    public static synchronized DaoRegistry getInstance() throws SQLException {
+        if (instance == null) {
+            instance = new DaoRegistry(DatabaseManager.getInstance().getConnection());
+        }
+        return instance;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public GroupDAO getGroupDAO() {
+        return groupDAO;
+    }
+
+    public HelpArticleDAO getHelpArticleDAO() {
+        return helpArticleDAO;
+    }
+
+    public UserDAO getUserDAO() {
+        return userDAO;
+    }
+
+    public SearchRequestDAO getSearchRequestDAO() {
+        return searchRequestDAO;
+    }
+
+    public BackupRestoreManager getBackupRestoreManager() {
+        return backupRestoreManager;
+    }
+}
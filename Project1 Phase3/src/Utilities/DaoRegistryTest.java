@@ -0,0 +1,48 @@
+// src/test/java/Utilities/DaoRegistryTest.java
+package Utilities;
+
+import models.Group;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaoRegistryTest {
+    private static TestDatabaseManager testDbManager;
+
+    @BeforeAll
+    static void setupAll() throws SQLException {
+        testDbManager = TestDatabaseManager.getInstance();
+    }
+
+    @BeforeEach
+    void setup() throws SQLException {
+        testDbManager.resetDatabase();
+    }
+
+    @Test
+    void testSharesOneInstanceOfEachDao() throws SQLException {
+        DaoRegistry registry = DaoRegistry.getInstance();
+        assertSame(registry, DaoRegistry.getInstance(), "The registry should be a singleton.");
+        assertSame(DatabaseManager.getInstance().getConnection(), registry.getConnection(),
+                "The registry should use the application's connection.");
+        assertNotNull(registry.getGroupDAO());
+        assertNotNull(registry.getHelpArticleDAO());
+        assertNotNull(registry.getUserDAO());
+        assertNotNull(registry.getSearchRequestDAO());
+        assertNotNull(registry.getBackupRestoreManager());
+        assertSame(registry.getGroupDAO(), DaoRegistry.getInstance().getGroupDAO(), "DAOs should be built once.");
+    }
+
+    @Test
+    void testRegistryOverAnotherConnectionWiresItsOwnDaos() throws SQLException {
+        DaoRegistry registry = new DaoRegistry(testDbManager.getConnection());
+        assertNotSame(DaoRegistry.getInstance().getGroupDAO(), registry.getGroupDAO());
+
+        Group group = new Group("Registry Group");
+        registry.getGroupDAO().addGroup(group);
+        assertFalse(registry.getHelpArticleDAO().isSpecialAccessGroup(group.getId()),
+                "The article DAO should see the group written through the group DAO.");
+    }
+}
@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  * <p> Title: DatabaseManager Class </p>
@@ -12,15 +13,115 @@ import java.sql.Statement;
  * It follows the Singleton design pattern to ensure that only one instance of the 
  * database connection exists throughout the application. The class provides methods 
  * to retrieve the connection, initialize the database schema, and reset the database 
- * for testing purposes. </p>
+ * for testing purposes. The schema is defined by the versioned {@link #MIGRATIONS}, applied by a
+ * {@link SchemaMigrator}. </p>
  * 
  * @version 1.00  2024-10-29  Initial version.
  */
 public class DatabaseManager {
+    /**
+     * The schema, in version order. Never edit a migration once it has shipped; add a new one.
+     */
+    static final List<SchemaMigration> MIGRATIONS = List.of(
+            // The schema as it was before migrations; databases created then already have it.
+            SchemaMigration.of(1, "Create users, groups and help articles",
+                    "CREATE TABLE IF NOT EXISTS Groups (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                            "name VARCHAR(255) UNIQUE NOT NULL," +
+                            "isSpecialAccessGroup BOOLEAN DEFAULT FALSE" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS HelpArticles (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                            "header VARCHAR(255)," +
+                            "title VARCHAR(255) NOT NULL," +
+                            "shortDescription VARCHAR(500)," +
+                            "keywords VARCHAR(500)," +
+                            "body CLOB," +
+                            "referenceLinks VARCHAR(1000)" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS ArticleGroups (" +
+                            "article_id BIGINT NOT NULL," +
+                            "group_id BIGINT NOT NULL," +
+                            "PRIMARY KEY (article_id, group_id)," +
+                            "FOREIGN KEY (article_id) REFERENCES HelpArticles(id) ON DELETE CASCADE," +
+                            "FOREIGN KEY (group_id) REFERENCES Groups(id) ON DELETE CASCADE" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS Users (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                            "username VARCHAR(255) UNIQUE NOT NULL," +
+                            "password VARCHAR(255) NOT NULL," +
+                            "role VARCHAR(50) NOT NULL" +
+                            ");",
+                    "CREATE TABLE IF NOT EXISTS GroupMembers (" +
+                            "group_id BIGINT NOT NULL," +
+                            "username VARCHAR(255) NOT NULL," +
+                            "PRIMARY KEY (group_id, username)," +
+                            "FOREIGN KEY (group_id) REFERENCES Groups(id) ON DELETE CASCADE," +
+                            "FOREIGN KEY (username) REFERENCES Users(username) ON DELETE CASCADE" +
+                            ");"),
+            SchemaMigration.of(2, "Add user profiles and one-time passwords",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS email VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS firstName VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS middleName VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS lastName VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS preferredName VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS isFirstLogin BOOLEAN DEFAULT TRUE;",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS resetRequired BOOLEAN DEFAULT FALSE;",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS oneTimePassword VARCHAR(255);",
+                    "ALTER TABLE Users ADD COLUMN IF NOT EXISTS otpExpiration TIMESTAMP;"),
+            SchemaMigration.of(3, "Create the user roles table",
+                    "CREATE TABLE IF NOT EXISTS UserRoles (" +
+                            "username VARCHAR(255) NOT NULL," +
+                            "role VARCHAR(20) NOT NULL," +
+                            "PRIMARY KEY (username, role)," +
+                            "FOREIGN KEY (username) REFERENCES Users(username) ON DELETE CASCADE" +
+                            ");",
+                    // Lets role listings read only the matching users instead of scanning the whole Users table.
+                    "CREATE INDEX IF NOT EXISTS idx_userroles_role ON UserRoles (role, username);",
+                    // Users saved before this table existed only have the comma-separated role column.
+                    backfillUserRole("ADMIN"),
+                    backfillUserRole("STUDENT"),
+                    backfillUserRole("INSTRUCTOR")),
+            SchemaMigration.of(4, "Version groups and help articles",
+                    "ALTER TABLE Groups ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;",
+                    "ALTER TABLE HelpArticles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;"),
+            SchemaMigration.of(5, "Add the content level of help articles",
+                    "ALTER TABLE HelpArticles ADD COLUMN IF NOT EXISTS contentLevel VARCHAR(50);"),
+            SchemaMigration.of(6, "Create the special access group rights tables",
+                    specialGroupRightsTable("SpecialGroupAdmins"),
+                    specialGroupRightsTable("SpecialGroupInstructorAdmins"),
+                    specialGroupRightsTable("SpecialGroupInstructorViewers"),
+                    specialGroupRightsTable("SpecialGroupStudentViewers")),
+            SchemaMigration.of(7, "Create the search requests table",
+                    "CREATE TABLE IF NOT EXISTS SearchRequests (" +
+                            "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                            "username VARCHAR(255) NOT NULL," +
+                            "query VARCHAR(1000)," +
+                            "timestamp TIMESTAMP NOT NULL" +
+                            ");"),
+            // Every article visibility check looks up a user's groups; covering the lookup saves reading
+            // each membership row.
+            SchemaMigration.online(8, "Index group memberships by user",
+                    "CREATE INDEX IF NOT EXISTS idx_groupmembers_username ON GroupMembers (username, group_id);"),
+            // Group article listings and group deletes find the articles of a group.
+            SchemaMigration.online(9, "Index article links by group",
+                    "CREATE INDEX IF NOT EXISTS idx_articlegroups_group ON ArticleGroups (group_id, article_id);")
+    );
+
+    /** Held while the schema is changed, so a reset does not race a background index build. */
+    private static final Object SCHEMA_LOCK = new Object();
+
+    /** The system property that overrides {@link #APPLICATION_URL}. */
+    public static final String URL_PROPERTY = "helpsystem.dbUrl";
+    /** The file database the application keeps its data in, in the working directory. */
+    public static final String APPLICATION_URL = "jdbc:h2:./helpsystem";
+
     private static DatabaseManager instance;
+    // In-memory H2 database for testing, unless an entry point calls useApplicationDatabase
+    private static String configuredUrl = "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1";
     private Connection connection;
-    // Replace with your actual database URL, username, and password
-    private String url = "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"; // In-memory H2 database for testing
+    // Replace with your actual database username and password
+    private String url = configuredUrl;
     private String username = "sa";
     private String password = "";
 
@@ -32,7 +133,8 @@ public class DatabaseManager {
     private DatabaseManager() throws SQLException {
         try {
             Class.forName("org.h2.Driver"); // Ensure H2 driver is loaded
-            this.connection = DriverManager.getConnection(url, username, password);
+            // Trace every statement so slow queries are logged with their plans.
+            this.connection = SqlTracer.getInstance().wrap(DriverManager.getConnection(url, username, password));
             initializeDatabase(); // Initialize tables
         } catch (ClassNotFoundException ex) {
             throw new SQLException(ex);
@@ -40,12 +142,13 @@ public class DatabaseManager {
     }
 
     /**
-     * Retrieves the singleton instance of DatabaseManager.
+     * Retrieves the singleton instance of DatabaseManager. Synchronized, since the startup warm-up
+     * opens the database on a background thread while pages may already ask for it.
      *
      * @return The DatabaseManager instance.
      * @throws SQLException If there is an error connecting to the database.
      */
-    public static DatabaseManager getInstance() throws SQLException {
+    public static synchronized DatabaseManager getInstance() throws SQLException {
         if (instance == null) {
             instance = new DatabaseManager();
         } else if (instance.getConnection().isClosed()) {
@@ -55,65 +158,92 @@ public class DatabaseManager {
     }
 
     /**
-     * Provides access to the database connection.
+     * Points the application at its file database, {@link #APPLICATION_URL} or the URL in the
+     * {@value #URL_PROPERTY} system property, so data survives a restart. Entry points call this before
+     * anything opens the database.
      *
-     * @return The current database connection.
+     * @throws IllegalStateException If another database is already open.
      */
-    public Connection getConnection() {
-        return connection;
+    public static synchronized void useApplicationDatabase() {
+        String url = System.getProperty(URL_PROPERTY, APPLICATION_URL);
+        if (instance != null && !instance.url.equals(url)) {
+            throw new IllegalStateException("The database " + instance.url + " is already open.");
+        }
+        configuredUrl = url;
     }
 
     /**
-     * Initializes the database schema by creating necessary tables.
+     * Provides access to the database connection.
      *
-     * @throws SQLException If there is an error executing the SQL statements.
+     * @return The current database connection.
      */
-    private void initializeDatabase() throws SQLException {
-        String createGroupsTable = "CREATE TABLE IF NOT EXISTS Groups (" +
-                "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
-                "name VARCHAR(255) UNIQUE NOT NULL," +
-                "isSpecialAccessGroup BOOLEAN DEFAULT FALSE" +
-                ");";
-
-        String createHelpArticlesTable = "CREATE TABLE IF NOT EXISTS HelpArticles (" +
-                                         "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
-                                         "header VARCHAR(255)," +
-                                         "title VARCHAR(255) NOT NULL," +
-                                         "shortDescription VARCHAR(500)," +
-                                         "keywords VARCHAR(500)," +
-                                         "body CLOB," +
-                                         "referenceLinks VARCHAR(1000)" +
-                                         ");";
-
-        String createArticleGroupsTable = "CREATE TABLE IF NOT EXISTS ArticleGroups (" +
-                                          "article_id BIGINT NOT NULL," +
-                                          "group_id BIGINT NOT NULL," +
-                                          "PRIMARY KEY (article_id, group_id)," +
-                                          "FOREIGN KEY (article_id) REFERENCES HelpArticles(id) ON DELETE CASCADE," +
-                                          "FOREIGN KEY (group_id) REFERENCES Groups(id) ON DELETE CASCADE" +
-                                          ");";
+    public Connection getConnection() {
+        return connection;
+    }
 
-        String createUsersTable = "CREATE TABLE IF NOT EXISTS Users (" +
-                                  "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
-                                  "username VARCHAR(255) UNIQUE NOT NULL," +
-                                  "password VARCHAR(255) NOT NULL," +
-                                  "role VARCHAR(50) NOT NULL" +
-                                  ");";
+    private static String backfillUserRole(String role) {
+        return "INSERT INTO UserRoles (username, role) SELECT u.username, '" + role + "' FROM Users u " +
+                "WHERE ',' || REPLACE(u.role, ' ', '') || ',' LIKE '%," + role + ",%' " +
+                "AND NOT EXISTS (SELECT 1 FROM UserRoles ur WHERE ur.username = u.username AND ur.role = '" + role + "');";
+    }
 
-        String createGroupMembersTable = "CREATE TABLE IF NOT EXISTS GroupMembers (" +
+    private static String specialGroupRightsTable(String name) {
+        return "CREATE TABLE IF NOT EXISTS " + name + " (" +
                 "group_id BIGINT NOT NULL," +
                 "username VARCHAR(255) NOT NULL," +
                 "PRIMARY KEY (group_id, username)," +
                 "FOREIGN KEY (group_id) REFERENCES Groups(id) ON DELETE CASCADE," +
                 "FOREIGN KEY (username) REFERENCES Users(username) ON DELETE CASCADE" +
                 ");";
+    }
 
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createGroupsTable);
-            stmt.execute(createHelpArticlesTable);
-            stmt.execute(createArticleGroupsTable);
-            stmt.execute(createUsersTable);
-            stmt.execute(createGroupMembersTable);
+    /**
+     * Applies the pending schema migrations, then builds any pending online indexes in the background on
+     * a connection of their own, so start does not wait for them.
+     *
+     * @throws SQLException If the schema cannot be brought up to date.
+     */
+    private void initializeDatabase() throws SQLException {
+        synchronized (SCHEMA_LOCK) {
+            new SchemaMigrator(connection, MIGRATIONS).migrate();
+        }
+        Thread.ofPlatform().name("schema-index-builder").daemon().start(() -> {
+            synchronized (SCHEMA_LOCK) {
+                try (Connection builder = DriverManager.getConnection(url, username, password)) {
+                    new SchemaMigrator(builder, MIGRATIONS).buildOnlineIndexes();
+                } catch (SQLException e) {
+                    System.out.println("Failed to build indexes; queries will run without them: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies every pending migration, including the online indexes, before returning.
+     *
+     * @param connection The connection to the database.
+     * @throws SQLException If the schema cannot be brought up to date.
+     */
+    static void migrate(Connection connection) throws SQLException {
+        synchronized (SCHEMA_LOCK) {
+            SchemaMigrator migrator = new SchemaMigrator(connection, MIGRATIONS);
+            migrator.migrate();
+            migrator.buildOnlineIndexes();
+        }
+    }
+
+    /**
+     * Drops everything in the database and recreates the schema from the migrations.
+     *
+     * @param connection The connection to the database.
+     * @throws SQLException If there is an error executing the SQL statements.
+     */
+    static void recreateSchema(Connection connection) throws SQLException {
+        synchronized (SCHEMA_LOCK) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS;");
+            }
+            migrate(connection);
         }
     }
 
@@ -123,21 +253,7 @@ public class DatabaseManager {
      * @throws SQLException If there is an error executing the SQL statements.
      */
     public void resetDatabase() throws SQLException {
-        String dropGroupMembers = "DROP TABLE IF EXISTS GroupMembers;";
-        String dropArticleGroups = "DROP TABLE IF EXISTS ArticleGroups;";
-        String dropHelpArticles = "DROP TABLE IF EXISTS HelpArticles;";
-        String dropGroups = "DROP TABLE IF EXISTS Groups;";
-        String dropUsers = "DROP TABLE IF EXISTS Users;";
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(dropGroupMembers);
-            stmt.execute(dropArticleGroups);
-            stmt.execute(dropHelpArticles);
-            stmt.execute(dropGroups);
-            stmt.execute(dropUsers);
-
-            // Recreate tables
-            initializeDatabase();
-        }
+        recreateSchema(connection);
+        ChangeEventBus.getInstance().publish(ChangeEvent.Type.DATABASE_REPLACED, 0, 0, null);
     }
 }
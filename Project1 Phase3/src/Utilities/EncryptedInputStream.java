@@ -0,0 +1,160 @@
+package Utilities;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * <p> Title: EncryptedInputStream Class </p>
+ *
+ * <p> Description: An input stream that decrypts data written by {@link EncryptedOutputStream}.
+ * Chunks are read and authenticated one at a time, so plaintext is only returned after its chunk
+ * has passed the GCM tag check. A stream that ends before its final chunk, or whose chunks were
+ * modified, reordered or removed, fails with an {@link IOException}. </p>
+ *
+ * <p> Instances are created through {@link EncryptionUtils#decryptingStream(InputStream)}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class EncryptedInputStream extends InputStream {
+    private final InputStream in;
+    private final SecretKey key;
+    private final Cipher cipher;
+    private final byte[] noncePrefix = new byte[EncryptionUtils.STREAM_NONCE_PREFIX_BYTES];
+    private final byte[] nonce = new byte[EncryptionUtils.NONCE_BYTES];
+    private final byte[] cipherBuffer = new byte[EncryptionUtils.CHUNK_SIZE + EncryptionUtils.TAG_BYTES];
+    private final byte[] plainBuffer = new byte[EncryptionUtils.CHUNK_SIZE];
+    private int position;
+    private int limit;
+    private int counter;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Constructs an EncryptedInputStream, reads the stream header and selects the key version it names.
+     *
+     * @param in      The stream providing the encrypted bytes.
+     * @param keyRing The keys the stream may have been written with.
+     * @throws IOException If the header is missing, the key version is unknown or the cipher cannot be created.
+     */
+    EncryptedInputStream(InputStream in, KeyRing keyRing) throws IOException {
+        this.in = in;
+        byte[] magic = new byte[EncryptionUtils.STREAM_MAGIC.length];
+        if (in.readNBytes(magic, 0, magic.length) != magic.length
+                || !Arrays.equals(magic, EncryptionUtils.STREAM_MAGIC)) {
+            throw new IOException("Not an encrypted stream.");
+        }
+        int keyVersion = in.read();
+        if (keyVersion < 0) {
+            throw new EOFException("Encrypted stream ended before its final chunk.");
+        }
+        readFully(noncePrefix, noncePrefix.length);
+        try {
+            this.key = keyRing.getKey(keyVersion);
+            this.cipher = Cipher.getInstance(EncryptionUtils.TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot decrypt stream written with key version " + keyVersion + ".", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return plainBuffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int count = Math.min(len, limit - position);
+        System.arraycopy(plainBuffer, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            in.close();
+        }
+    }
+
+    /**
+     * Reads and authenticates chunks until plaintext is available or the final chunk has been consumed.
+     *
+     * @return True if plaintext is available, false at the end of the stream.
+     * @throws IOException If the stream is truncated or a chunk fails authentication.
+     */
+    private boolean fill() throws IOException {
+        ensureOpen();
+        while (!finished) {
+            int header = readInt();
+            boolean last = (header & EncryptedOutputStream.FINAL_CHUNK_FLAG) != 0;
+            int length = header & ~EncryptedOutputStream.FINAL_CHUNK_FLAG;
+            if (length < EncryptionUtils.TAG_BYTES || length > cipherBuffer.length) {
+                throw new IOException("Invalid chunk length " + length + " in encrypted stream.");
+            }
+            readFully(cipherBuffer, length);
+
+            EncryptionUtils.chunkNonce(noncePrefix, counter, last, nonce);
+            try {
+                cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(EncryptionUtils.TAG_BITS, nonce));
+                limit = cipher.doFinal(cipherBuffer, 0, length, plainBuffer, 0);
+            } catch (AEADBadTagException e) {
+                throw new IOException("Chunk " + counter + " failed authentication.", e);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Failed to decrypt chunk " + counter + ".", e);
+            }
+            position = 0;
+            counter++;
+            finished = last;
+            if (limit > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int readInt() throws IOException {
+        int b1 = in.read();
+        int b2 = in.read();
+        int b3 = in.read();
+        int b4 = in.read();
+        if ((b1 | b2 | b3 | b4) < 0) {
+            throw new EOFException("Encrypted stream ended before its final chunk.");
+        }
+        return (b1 << 24) | (b2 << 16) | (b3 << 8) | b4;
+    }
+
+    private void readFully(byte[] buffer, int length) throws IOException {
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new EOFException("Encrypted stream ended before its final chunk.");
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package Utilities;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * <p> Title: EncryptedOutputStream Class </p>
+ *
+ * <p> Description: An output stream that encrypts everything written to it with AES-GCM.
+ * Data is buffered into chunks of {@link EncryptionUtils#CHUNK_SIZE} bytes, and each chunk is
+ * sealed with its own nonce and authentication tag, so memory use stays constant no matter how
+ * much data is written. The stream layout is the magic header, the key version, the per-stream
+ * nonce prefix, and then a sequence of chunks, each written as a 4-byte length (with the high bit
+ * marking the final chunk) followed by the ciphertext and tag. </p>
+ *
+ * <p> Instances are created through {@link EncryptionUtils#encryptingStream(OutputStream)}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class EncryptedOutputStream extends OutputStream {
+    static final int FINAL_CHUNK_FLAG = 0x80000000;
+
+    private final OutputStream out;
+    private final SecretKey key;
+    private final Cipher cipher;
+    private final byte[] noncePrefix;
+    private final byte[] nonce = new byte[EncryptionUtils.NONCE_BYTES];
+    private final byte[] plainBuffer = new byte[EncryptionUtils.CHUNK_SIZE];
+    private final byte[] cipherBuffer = new byte[EncryptionUtils.CHUNK_SIZE + EncryptionUtils.TAG_BYTES];
+    private int position;
+    private int counter;
+    private boolean closed;
+
+    /**
+     * Constructs an EncryptedOutputStream and writes the stream header.
+     *
+     * @param out         The stream receiving the encrypted bytes.
+     * @param keyVersion  The version of {@code key} in the {@link KeyRing}.
+     * @param key         The AES key.
+     * @param noncePrefix The random per-stream nonce prefix.
+     * @throws IOException If the cipher cannot be created or the header cannot be written.
+     */
+    EncryptedOutputStream(OutputStream out, int keyVersion, SecretKey key, byte[] noncePrefix) throws IOException {
+        this.out = out;
+        this.key = key;
+        this.noncePrefix = noncePrefix;
+        try {
+            this.cipher = Cipher.getInstance(EncryptionUtils.TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Encryption is not available.", e);
+        }
+        out.write(EncryptionUtils.STREAM_MAGIC);
+        out.write(keyVersion);
+        out.write(noncePrefix);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (position == plainBuffer.length) {
+            sealChunk(false);
+        }
+        plainBuffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            // A full buffer is only sealed once more data arrives, so the last chunk is never empty by accident.
+            if (position == plainBuffer.length) {
+                sealChunk(false);
+            }
+            int count = Math.min(len, plainBuffer.length - position);
+            System.arraycopy(b, off, plainBuffer, position, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Flushes the underlying stream. Buffered plaintext stays in memory until its chunk
+     * is full or the stream is closed, since only whole chunks can be authenticated.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * Seals the remaining data as the final chunk and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            sealChunk(true);
+            out.flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void sealChunk(boolean last) throws IOException {
+        if (counter < 0) {
+            throw new IOException("Encrypted stream exceeded the maximum number of chunks.");
+        }
+        EncryptionUtils.chunkNonce(noncePrefix, counter, last, nonce);
+        int length;
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(EncryptionUtils.TAG_BITS, nonce));
+            length = cipher.doFinal(plainBuffer, 0, position, cipherBuffer, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to encrypt chunk " + counter + ".", e);
+        }
+        writeInt(last ? length | FINAL_CHUNK_FLAG : length);
+        out.write(cipherBuffer, 0, length);
+        position = 0;
+        counter++;
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
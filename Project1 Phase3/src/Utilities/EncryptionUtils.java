@@ -1,48 +1,339 @@
 package Utilities;
 
 import javax.crypto.Cipher;
-import javax.crypto.spec.SecretKeySpec;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * <p> Title: EncryptionUtils Class </p>
- * 
- * <p> Description: This class provides utility methods for encrypting and decrypting strings.
- * It uses AES encryption for secure handling of sensitive data. </p>
- * 
+ *
+ * <p> Description: This class provides utility methods for encrypting and decrypting strings and streams.
+ * It uses AES in GCM mode, so every ciphertext carries its own random nonce and an authentication tag
+ * that is checked on decryption. Streams are encrypted in fixed-size chunks so that data of any size
+ * can be processed in constant memory (see {@link EncryptedOutputStream} and {@link EncryptedInputStream}). </p>
+ *
+ * <p> Each thread keeps its own {@link Cipher} instance, so repeated calls skip the provider lookup.
+ * For bulk work, the {@link ByteBuffer} methods encrypt straight into caller-owned (optionally direct)
+ * buffers, and {@link #encryptAll(List)} / {@link #decryptAll(List)} process many fields in one call. </p>
+ *
+ * <p> Every ciphertext starts with the version of the key that sealed it, and decryption looks that
+ * version up in the {@link KeyRing}. New values use the ring's current key, so a key can be rotated
+ * without downtime while {@link KeyRotationJob} re-encrypts stored values in the background. </p>
+ *
  * @version 1.00  2024-10-29  Initial version.
  */
 public class EncryptionUtils {
-    private static final String ALGORITHM = "AES";
-    private static final byte[] KEY = "MySuperSecretKey".getBytes(); // 16 bytes key for AES-128
+    static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final byte[] KEY = "MySuperSecretKey".getBytes(StandardCharsets.UTF_8); // 16 bytes key for AES-128 (key version 1)
+    private static final KeyRing KEY_RING = KeyRing.load(KEY);
+
+    static final int VERSION_BYTES = 1;
+    static final int NONCE_BYTES = 12;
+    static final int TAG_BITS = 128;
+    static final int TAG_BYTES = TAG_BITS / 8;
+
+    /** Plaintext bytes per stream chunk. Each chunk is authenticated on its own. */
+    static final int CHUNK_SIZE = 64 * 1024;
+    /** Magic bytes written at the start of every encrypted stream ("HSE" + format version 1). */
+    static final byte[] STREAM_MAGIC = {'H', 'S', 'E', 1};
+    /** Random per-stream part of the chunk nonce; the rest is the chunk counter and the final-chunk flag. */
+    static final int STREAM_NONCE_PREFIX_BYTES = 7;
+    /** Stream header: magic, key version and nonce prefix. */
+    static final int STREAM_HEADER_BYTES = STREAM_MAGIC.length + VERSION_BYTES + STREAM_NONCE_PREFIX_BYTES;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Cipher objects are not thread-safe, so each thread reuses its own instance and nonce scratch array.
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(EncryptionUtils::newCipher);
+    private static final ThreadLocal<byte[]> NONCE = ThreadLocal.withInitial(() -> new byte[NONCE_BYTES]);
 
     /**
-     * Encrypts a plain text string using AES encryption.
+     * Encrypts a plain text string using AES-GCM encryption.
      *
      * @param plainText The plain text string to encrypt.
-     * @return The encrypted string in Base64 format.
+     * @return The key version, nonce, ciphertext and tag, in Base64 format.
      * @throws Exception If there is an error during encryption.
      */
     public static String encrypt(String plainText) throws Exception {
-        SecretKeySpec secretKey = new SecretKeySpec(KEY, ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes());
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+        return encrypt(CIPHER.get(), plainText);
     }
 
     /**
-     * Decrypts an encrypted string using AES decryption.
+     * Decrypts an encrypted string using AES-GCM decryption.
      *
-     * @param encryptedText The encrypted string in Base64 format.
+     * @param encryptedText The encrypted string in Base64 format, as produced by {@link #encrypt(String)}.
      * @return The decrypted plain text string.
-     * @throws Exception If there is an error during decryption.
+     * @throws Exception If the text is malformed or fails authentication.
      */
     public static String decrypt(String encryptedText) throws Exception {
-        SecretKeySpec secretKey = new SecretKeySpec(KEY, ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey);
-        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
-        return new String(decryptedBytes);
+        return decrypt(CIPHER.get(), encryptedText);
+    }
+
+    /**
+     * Encrypts many strings in one call, reusing the same cipher for every field.
+     *
+     * @param plainTexts The plain text strings to encrypt.
+     * @return The encrypted strings in Base64 format, in the same order.
+     * @throws GeneralSecurityException If there is an error during encryption.
+     */
+    public static List<String> encryptAll(List<String> plainTexts) throws GeneralSecurityException {
+        Cipher cipher = CIPHER.get();
+        List<String> encrypted = new ArrayList<>(plainTexts.size());
+        for (String plainText : plainTexts) {
+            encrypted.add(encrypt(cipher, plainText));
+        }
+        return encrypted;
+    }
+
+    /**
+     * Decrypts many strings in one call, reusing the same cipher for every field.
+     *
+     * @param encryptedTexts The encrypted strings in Base64 format.
+     * @return The decrypted plain text strings, in the same order.
+     * @throws GeneralSecurityException If any value is malformed or fails authentication.
+     */
+    public static List<String> decryptAll(List<String> encryptedTexts) throws GeneralSecurityException {
+        Cipher cipher = CIPHER.get();
+        List<String> decrypted = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            decrypted.add(decrypt(cipher, encryptedText));
+        }
+        return decrypted;
+    }
+
+    /**
+     * Encrypts the remaining bytes of {@code plain} into {@code out} as key version, nonce, ciphertext and tag.
+     * Both buffers may be direct, in which case no intermediate arrays are created.
+     *
+     * @param plain The plaintext; its position is advanced to its limit.
+     * @param out   The destination; it needs {@link #encryptedSize(int)} bytes remaining.
+     * @return The number of bytes written to {@code out}.
+     * @throws GeneralSecurityException If {@code out} is too small or encryption fails.
+     */
+    public static int encrypt(ByteBuffer plain, ByteBuffer out) throws GeneralSecurityException {
+        int required = encryptedSize(plain.remaining());
+        if (out.remaining() < required) {
+            throw new ShortBufferException("Output buffer needs " + required + " bytes.");
+        }
+        int version = KEY_RING.getCurrentVersion();
+        byte[] nonce = nextNonce();
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, KEY_RING.getKey(version), new GCMParameterSpec(TAG_BITS, nonce));
+        out.put((byte) version);
+        out.put(nonce);
+        return VERSION_BYTES + NONCE_BYTES + cipher.doFinal(plain, out);
+    }
+
+    /**
+     * Decrypts the remaining bytes of {@code in}, as written by {@link #encrypt(ByteBuffer, ByteBuffer)}, into {@code out}.
+     *
+     * @param in  The key version, nonce, ciphertext and tag; its position is advanced to its limit.
+     * @param out The destination; it needs {@link #decryptedSize(int)} bytes remaining.
+     * @return The number of plaintext bytes written to {@code out}.
+     * @throws GeneralSecurityException If the input is malformed, fails authentication, or {@code out} is too small.
+     */
+    public static int decrypt(ByteBuffer in, ByteBuffer out) throws GeneralSecurityException {
+        if (in.remaining() < VERSION_BYTES + NONCE_BYTES + TAG_BYTES) {
+            throw new GeneralSecurityException("Encrypted data is too short.");
+        }
+        SecretKey key = KEY_RING.getKey(in.get() & 0xFF);
+        byte[] nonce = NONCE.get();
+        in.get(nonce);
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+        return cipher.doFinal(in, out);
+    }
+
+    /**
+     * Returns the number of bytes {@link #encrypt(ByteBuffer, ByteBuffer)} writes for a plaintext of the given length.
+     *
+     * @param plainLength The plaintext length in bytes.
+     * @return The encrypted length in bytes.
+     */
+    public static int encryptedSize(int plainLength) {
+        return VERSION_BYTES + NONCE_BYTES + plainLength + TAG_BYTES;
+    }
+
+    /**
+     * Returns the number of plaintext bytes contained in encrypted data of the given length.
+     *
+     * @param encryptedLength The encrypted length in bytes.
+     * @return The plaintext length in bytes.
+     */
+    public static int decryptedSize(int encryptedLength) {
+        return Math.max(0, encryptedLength - VERSION_BYTES - NONCE_BYTES - TAG_BYTES);
+    }
+
+    /**
+     * Reads the key version an encrypted string was sealed with, without decrypting it.
+     *
+     * @param encryptedText The encrypted string in Base64 format.
+     * @return The key version.
+     * @throws IllegalArgumentException If the text is not valid encrypted data.
+     */
+    public static int keyVersionOf(String encryptedText) {
+        if (encryptedText.length() < 4) {
+            throw new IllegalArgumentException("Encrypted text is too short.");
+        }
+        // The first four Base64 characters decode to the first three bytes, which start with the version.
+        return Base64.getDecoder().decode(encryptedText.substring(0, 4))[0] & 0xFF;
+    }
+
+    /**
+     * Checks whether an encrypted string was sealed with an older key than the current one.
+     *
+     * @param encryptedText The encrypted string in Base64 format.
+     * @return True if the value should be re-encrypted with the current key.
+     */
+    public static boolean needsReencryption(String encryptedText) {
+        return keyVersionOf(encryptedText) != KEY_RING.getCurrentVersion();
+    }
+
+    /**
+     * Re-encrypts a value with the current key. Values that already use the current key are returned unchanged.
+     *
+     * @param encryptedText The encrypted string in Base64 format.
+     * @return The value sealed with the current key.
+     * @throws GeneralSecurityException If the value is malformed or fails authentication.
+     */
+    public static String reencrypt(String encryptedText) throws GeneralSecurityException {
+        if (!needsReencryption(encryptedText)) {
+            return encryptedText;
+        }
+        Cipher cipher = CIPHER.get();
+        return encrypt(cipher, decrypt(cipher, encryptedText));
+    }
+
+    /**
+     * Retrieves the key ring used to encrypt and decrypt values.
+     *
+     * @return The application key ring.
+     */
+    public static KeyRing getKeyRing() {
+        return KEY_RING;
+    }
+
+    /**
+     * Wraps an output stream so that everything written to it is encrypted.
+     * The returned stream must be closed to write the final authenticated chunk.
+     *
+     * @param out The stream receiving the encrypted bytes.
+     * @return An encrypting output stream.
+     * @throws IOException If the stream header cannot be written.
+     */
+    public static OutputStream encryptingStream(OutputStream out) throws IOException {
+        int version = KEY_RING.getCurrentVersion();
+        try {
+            return new EncryptedOutputStream(out, version, KEY_RING.getKey(version), newStreamNoncePrefix());
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Encryption key is not available.", e);
+        }
+    }
+
+    /**
+     * Wraps an input stream produced by {@link #encryptingStream(OutputStream)} so that reads return plaintext.
+     *
+     * @param in The stream providing the encrypted bytes.
+     * @return A decrypting input stream.
+     * @throws IOException If the stream header is missing or invalid.
+     */
+    public static InputStream decryptingStream(InputStream in) throws IOException {
+        return new EncryptedInputStream(in, KEY_RING);
+    }
+
+    /**
+     * Checks whether a stream begins with the encrypted stream header without consuming it.
+     *
+     * @param in A buffered stream positioned at the start of the data.
+     * @return True if the stream was written by {@link #encryptingStream(OutputStream)}.
+     * @throws IOException If the stream cannot be read.
+     */
+    public static boolean isEncryptedStream(BufferedInputStream in) throws IOException {
+        byte[] header = new byte[STREAM_MAGIC.length];
+        in.mark(header.length);
+        int read = in.readNBytes(header, 0, header.length);
+        in.reset();
+        return read == header.length && Arrays.equals(header, STREAM_MAGIC);
+    }
+
+    /**
+     * Builds the GCM nonce for one stream chunk: the per-stream prefix, the big-endian
+     * chunk counter and a flag marking the final chunk, so chunks cannot be reordered,
+     * dropped or truncated without failing authentication.
+     *
+     * @param prefix  The random per-stream nonce prefix.
+     * @param counter The chunk index.
+     * @param last    Whether this is the final chunk of the stream.
+     * @param nonce   The array receiving the nonce.
+     */
+    static void chunkNonce(byte[] prefix, int counter, boolean last, byte[] nonce) {
+        System.arraycopy(prefix, 0, nonce, 0, STREAM_NONCE_PREFIX_BYTES);
+        nonce[7] = (byte) (counter >>> 24);
+        nonce[8] = (byte) (counter >>> 16);
+        nonce[9] = (byte) (counter >>> 8);
+        nonce[10] = (byte) counter;
+        nonce[11] = (byte) (last ? 1 : 0);
+    }
+
+    private static String encrypt(Cipher cipher, String plainText) throws GeneralSecurityException {
+        byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+        int version = KEY_RING.getCurrentVersion();
+        byte[] nonce = nextNonce();
+        cipher.init(Cipher.ENCRYPT_MODE, KEY_RING.getKey(version), new GCMParameterSpec(TAG_BITS, nonce));
+        byte[] output = new byte[encryptedSize(plainBytes.length)];
+        output[0] = (byte) version;
+        System.arraycopy(nonce, 0, output, VERSION_BYTES, NONCE_BYTES);
+        cipher.doFinal(plainBytes, 0, plainBytes.length, output, VERSION_BYTES + NONCE_BYTES);
+        return Base64.getEncoder().encodeToString(output);
+    }
+
+    private static String decrypt(Cipher cipher, String encryptedText) throws GeneralSecurityException {
+        byte[] input = Base64.getDecoder().decode(encryptedText);
+        if (input.length < VERSION_BYTES + NONCE_BYTES + TAG_BYTES) {
+            throw new GeneralSecurityException("Encrypted text is too short.");
+        }
+        SecretKey key = KEY_RING.getKey(input[0] & 0xFF);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, input, VERSION_BYTES, NONCE_BYTES));
+        // Decrypt in place; the plaintext is never longer than the ciphertext.
+        int offset = VERSION_BYTES + NONCE_BYTES;
+        int length = cipher.doFinal(input, offset, input.length - offset, input, 0);
+        return new String(input, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fills and returns this thread's nonce scratch array with fresh random bytes.
+     * The array is only valid until the next call on the same thread.
+     */
+    private static byte[] nextNonce() {
+        byte[] nonce = NONCE.get();
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available.", e);
+        }
+    }
+
+    private static byte[] newStreamNoncePrefix() {
+        byte[] prefix = new byte[STREAM_NONCE_PREFIX_BYTES];
+        RANDOM.nextBytes(prefix);
+        return prefix;
     }
 }
@@ -3,6 +3,24 @@ package Utilities;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EncryptionUtilsTest {
@@ -41,4 +59,159 @@ class EncryptionUtilsTest {
         String invalidEncryptedText = "InvalidText123";
         assertThrows(Exception.class, () -> EncryptionUtils.decrypt(invalidEncryptedText), "Decrypting invalid text should throw an exception.");
     }
+
+    @Test
+    void testEncryptionIsRandomized() throws Exception {
+        String originalText = "Sensitive Information";
+        assertNotEquals(EncryptionUtils.encrypt(originalText), EncryptionUtils.encrypt(originalText), "Each encryption should use a fresh nonce.");
+    }
+
+    @Test
+    void testTamperedTextFailsDecryption() throws Exception {
+        byte[] encrypted = Base64.getDecoder().decode(EncryptionUtils.encrypt("Sensitive Information"));
+        encrypted[encrypted.length - 1] ^= 1;
+        String tampered = Base64.getEncoder().encodeToString(encrypted);
+        assertThrows(Exception.class, () -> EncryptionUtils.decrypt(tampered), "Tampered ciphertext should fail authentication.");
+    }
+
+    @Test
+    void testStreamRoundTripAcrossChunks() throws IOException {
+        byte[] original = new byte[EncryptionUtils.CHUNK_SIZE * 3 + 123];
+        new Random(42).nextBytes(original);
+
+        byte[] encrypted = encryptStream(original);
+        assertEquals(-1, indexOf(encrypted, Arrays.copyOfRange(original, 0, 64)), "Plaintext should not appear in the encrypted stream.");
+        assertArrayEquals(original, decryptStream(encrypted), "Decrypted stream should match the original.");
+    }
+
+    @Test
+    void testEmptyStreamRoundTrip() throws IOException {
+        assertArrayEquals(new byte[0], decryptStream(encryptStream(new byte[0])), "Decrypted empty stream should be empty.");
+    }
+
+    @Test
+    void testExactChunkSizeRoundTrip() throws IOException {
+        byte[] original = new byte[EncryptionUtils.CHUNK_SIZE];
+        new Random(7).nextBytes(original);
+        assertArrayEquals(original, decryptStream(encryptStream(original)), "A stream of exactly one chunk should round-trip.");
+    }
+
+    @Test
+    void testTamperedStreamFailsDecryption() throws IOException {
+        byte[] encrypted = encryptStream(new byte[1000]);
+        encrypted[encrypted.length - 20] ^= 1;
+        assertThrows(IOException.class, () -> decryptStream(encrypted), "Tampered stream should fail authentication.");
+    }
+
+    @Test
+    void testTruncatedStreamFailsDecryption() throws IOException {
+        byte[] original = new byte[EncryptionUtils.CHUNK_SIZE * 2 + 10];
+        byte[] encrypted = encryptStream(original);
+        // Drop the final chunk, leaving only complete earlier chunks.
+        int firstChunkEnd = EncryptionUtils.STREAM_HEADER_BYTES + 4 + EncryptionUtils.CHUNK_SIZE + EncryptionUtils.TAG_BYTES;
+        byte[] truncated = Arrays.copyOf(encrypted, firstChunkEnd);
+        assertThrows(IOException.class, () -> decryptStream(truncated), "Truncated stream should be rejected.");
+    }
+
+    @Test
+    void testPlainStreamIsNotDetectedAsEncrypted() throws IOException {
+        BufferedInputStream plain = new BufferedInputStream(new ByteArrayInputStream("plain data".getBytes()));
+        assertFalse(EncryptionUtils.isEncryptedStream(plain), "Plain data should not be detected as encrypted.");
+        BufferedInputStream encrypted = new BufferedInputStream(new ByteArrayInputStream(encryptStream(new byte[10])));
+        assertTrue(EncryptionUtils.isEncryptedStream(encrypted), "Encrypted data should be detected.");
+    }
+
+    @Test
+    void testDirectByteBufferRoundTrip() throws Exception {
+        byte[] original = "Direct buffer payload".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer plain = ByteBuffer.allocateDirect(original.length).put(original).flip();
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(EncryptionUtils.encryptedSize(original.length));
+
+        int written = EncryptionUtils.encrypt(plain, encrypted);
+        assertEquals(EncryptionUtils.encryptedSize(original.length), written, "Encrypted size should match encryptedSize().");
+
+        encrypted.flip();
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(EncryptionUtils.decryptedSize(written));
+        assertEquals(original.length, EncryptionUtils.decrypt(encrypted, decrypted), "Decrypted length should match the original.");
+
+        byte[] result = new byte[original.length];
+        decrypted.flip().get(result);
+        assertArrayEquals(original, result, "Decrypted buffer should match the original.");
+    }
+
+    @Test
+    void testByteBufferEncryptRejectsSmallOutput() {
+        ByteBuffer plain = ByteBuffer.wrap(new byte[32]);
+        ByteBuffer out = ByteBuffer.allocate(32);
+        assertThrows(GeneralSecurityException.class, () -> EncryptionUtils.encrypt(plain, out), "A too-small output buffer should be rejected.");
+    }
+
+    @Test
+    void testBatchRoundTrip() throws Exception {
+        List<String> fields = Arrays.asList("first", "", "third field with ünïcödé");
+        List<String> encrypted = EncryptionUtils.encryptAll(fields);
+        assertEquals(fields.size(), encrypted.size(), "Batch encryption should return one value per field.");
+        assertEquals(fields, EncryptionUtils.decryptAll(encrypted), "Batch decryption should restore every field in order.");
+        assertEquals(fields.get(2), EncryptionUtils.decrypt(encrypted.get(2)), "Batch output should be readable by decrypt().");
+    }
+
+    @Test
+    void testConcurrentEncryption() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        String text = "thread-" + thread + "-value-" + i;
+                        if (!text.equals(EncryptionUtils.decrypt(EncryptionUtils.encrypt(text)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "Every thread should round-trip its values.");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private byte[] encryptStream(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = EncryptionUtils.encryptingStream(buffer)) {
+            // Write in uneven pieces to exercise chunk boundaries.
+            int offset = 0;
+            int step = 1;
+            while (offset < data.length) {
+                int count = Math.min(step, data.length - offset);
+                out.write(data, offset, count);
+                offset += count;
+                step = step * 3 + 1;
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private byte[] decryptStream(byte[] data) throws IOException {
+        try (InputStream in = EncryptionUtils.decryptingStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,273 @@
+package Utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p> Title: ExpiryWheel Class </p>
+ *
+ * <p> Description: A hierarchical timing wheel that expires keys at their deadlines. Time is
+ * divided into ticks, and the wheel has {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots;
+ * each level covers {@value #WHEEL_SIZE} times the span of the level below it. A key is placed in
+ * the coarsest slot that still separates it from the current tick, and when the wheel turns past
+ * a coarse slot its keys are moved down a level. Scheduling, cancelling and expiring a key are
+ * all constant time, whatever the number of keys. </p>
+ *
+ * <p> Each key is a node in a doubly linked slot list, so cancelled keys are unlinked at once and
+ * memory only grows with the number of live keys. A single background thread turns the wheel and
+ * calls the {@link ExpiryListener} for each expired key, outside the wheel's lock. </p>
+ *
+ * @param <K> The type of key being expired.
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class ExpiryWheel<K> implements AutoCloseable {
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int LEVELS = 4;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+    /**
+     * Receives keys whose deadline has passed.
+     *
+     * @param <K> The type of key being expired.
+     */
+    @FunctionalInterface
+    public interface ExpiryListener<K> {
+        /**
+         * Called on the wheel thread when a key expires.
+         *
+         * @param key            The expired key.
+         * @param deadlineMillis The deadline the key was scheduled with, in epoch milliseconds.
+         */
+        void expired(K key, long deadlineMillis);
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final long deadlineMillis;
+        final long deadlineTick;
+        int level;
+        int slot;
+        Entry<K> prev;
+        Entry<K> next;
+
+        Entry(K key, long deadlineMillis, long deadlineTick) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickMillis;
+    private final ExpiryListener<K> listener;
+    private final LongSupplier clock;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Entry<K>[][] slots = (Entry<K>[][]) new Entry<?>[LEVELS][WHEEL_SIZE];
+    private long currentTick;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructs an ExpiryWheel driven by the system clock. Call {@link #start()} to begin expiring keys.
+     *
+     * @param tickMillis The length of one tick in milliseconds; keys expire up to one tick late.
+     * @param listener   The listener notified of expired keys.
+     */
+    public ExpiryWheel(long tickMillis, ExpiryListener<K> listener) {
+        this(tickMillis, listener, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs an ExpiryWheel driven by the given clock.
+     *
+     * @param tickMillis The length of one tick in milliseconds.
+     * @param listener   The listener notified of expired keys.
+     * @param clock      The source of the current time in epoch milliseconds.
+     */
+    ExpiryWheel(long tickMillis, ExpiryListener<K> listener, LongSupplier clock) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.listener = listener;
+        this.clock = clock;
+        this.currentTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * Starts the background thread that turns the wheel once per tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            throw new IllegalStateException("Expiry wheel already started.");
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Scheduled keys are kept but no longer expire.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedules a key to expire at a deadline, replacing any deadline it already had.
+     * A deadline in the past expires the key on the next tick.
+     *
+     * @param key            The key to expire.
+     * @param deadlineMillis The deadline in epoch milliseconds.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> previous = entries.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        // Round up so a key never expires before its deadline.
+        Entry<K> entry = new Entry<>(key, deadlineMillis, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        entries.put(key, entry);
+        place(entry, currentTick + 1);
+    }
+
+    /**
+     * Cancels the expiry of a key.
+     *
+     * @param key The key to cancel.
+     * @return True if the key was scheduled.
+     */
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Checks whether a key is waiting to expire.
+     *
+     * @param key The key to check.
+     * @return True if the key is scheduled.
+     */
+    public synchronized boolean isScheduled(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns the number of keys waiting to expire.
+     *
+     * @return The number of scheduled keys.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Turns the wheel up to the current time and notifies the listener of every expired key.
+     */
+    void advance() {
+        List<Entry<K>> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = clock.getAsLong() / tickMillis;
+            if (entries.isEmpty()) {
+                currentTick = Math.max(currentTick, targetTick);
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Entry<K> entry = slots[0][(int) (currentTick & WHEEL_MASK)];
+                while (entry != null) {
+                    Entry<K> next = entry.next;
+                    unlink(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry);
+                    entry = next;
+                }
+            }
+        }
+        for (Entry<K> entry : expired) {
+            try {
+                listener.expired(entry.key, entry.deadlineMillis);
+            } catch (RuntimeException e) {
+                System.out.println("Expiry listener failed for " + entry.key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves the keys of every coarse slot the wheel has just reached down to finer levels.
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            long levelTick = currentTick >> (WHEEL_BITS * level);
+            if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                continue;
+            }
+            int slot = (int) (levelTick & WHEEL_MASK);
+            Entry<K> entry = slots[level][slot];
+            slots[level][slot] = null;
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                // Keys due on this very tick land in the level-0 slot expired right after the cascade.
+                place(entry, currentTick);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry<K> entry, long earliestTick) {
+        long tick = Math.max(entry.deadlineTick, earliestTick);
+        long delta = tick - currentTick;
+        if (delta >= MAX_SPAN) {
+            // Park far deadlines in the furthest top-level slot; they are placed again when it cascades.
+            tick = currentTick + MAX_SPAN - 1;
+            delta = MAX_SPAN - 1;
+        }
+        int level = 0;
+        while (delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((tick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = slots[level][slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (slots[entry.level][entry.slot] == entry) {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+}
@@ -0,0 +1,99 @@
+// src/test/java/Utilities/ExpiryWheelTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryWheelTest {
+    private static final long TICK = 1000;
+
+    private AtomicLong now;
+    private List<String> expired;
+    private ExpiryWheel<String> wheel;
+
+    @BeforeEach
+    void setup() {
+        now = new AtomicLong(1_000_000);
+        expired = new ArrayList<>();
+        wheel = new ExpiryWheel<>(TICK, (key, deadline) -> expired.add(key), now::get);
+    }
+
+    @Test
+    void testKeyExpiresAtDeadline() {
+        wheel.schedule("otp", now.get() + 5 * TICK);
+
+        advanceTo(now.get() + 4 * TICK);
+        assertTrue(expired.isEmpty(), "Key should not expire before its deadline.");
+
+        advanceTo(now.get() + TICK);
+        assertEquals(List.of("otp"), expired, "Key should expire at its deadline.");
+        assertEquals(0, wheel.size(), "Expired keys should be removed.");
+    }
+
+    @Test
+    void testCancelledKeyDoesNotExpire() {
+        wheel.schedule("code", now.get() + 3 * TICK);
+        assertTrue(wheel.cancel("code"), "Scheduled key should be cancelled.");
+
+        advanceTo(now.get() + 10 * TICK);
+        assertTrue(expired.isEmpty(), "Cancelled key should not expire.");
+        assertFalse(wheel.cancel("code"), "Cancelling twice should report nothing to cancel.");
+    }
+
+    @Test
+    void testRescheduleReplacesDeadline() {
+        wheel.schedule("otp", now.get() + 2 * TICK);
+        wheel.schedule("otp", now.get() + 100 * TICK);
+
+        advanceTo(now.get() + 50 * TICK);
+        assertTrue(expired.isEmpty(), "Rescheduled key should use its new deadline.");
+        assertEquals(1, wheel.size(), "Rescheduling should not add a second entry.");
+
+        advanceTo(now.get() + 50 * TICK);
+        assertEquals(List.of("otp"), expired, "Rescheduled key should expire once.");
+    }
+
+    @Test
+    void testFarDeadlinesCascadeThroughLevels() {
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 4097, 300_000, 20_000_000};
+        for (long delay : delays) {
+            wheel.schedule("key" + delay, now.get() + delay * TICK);
+        }
+        long start = now.get();
+        for (long delay : delays) {
+            advanceTo(start + (delay - 1) * TICK);
+            assertFalse(expired.contains("key" + delay), "Key should not expire early: " + delay);
+            advanceTo(start + delay * TICK);
+            assertTrue(expired.contains("key" + delay), "Key should expire on its tick: " + delay);
+        }
+    }
+
+    @Test
+    void testPastDeadlineExpiresOnNextTick() {
+        wheel.schedule("late", now.get() - 10 * TICK);
+        advanceTo(now.get() + TICK);
+        assertEquals(List.of("late"), expired, "A deadline in the past should expire on the next tick.");
+    }
+
+    @Test
+    void testMassExpiryReleasesEveryKey() {
+        for (int i = 0; i < 10_000; i++) {
+            wheel.schedule("code" + i, now.get() + (i % 500 + 1) * TICK);
+        }
+        assertEquals(10_000, wheel.size(), "Every key should be scheduled.");
+
+        advanceTo(now.get() + 500 * TICK);
+        assertEquals(10_000, expired.size(), "Every key should expire.");
+        assertEquals(0, wheel.size(), "The wheel should hold nothing after every key expired.");
+    }
+
+    private void advanceTo(long time) {
+        now.set(time);
+        wheel.advance();
+    }
+}
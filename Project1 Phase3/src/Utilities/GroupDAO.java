@@ -6,7 +6,10 @@ import models.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * <p> Title: GroupDAO Class </p>
@@ -22,6 +25,7 @@ import java.util.List;
  */
 public class GroupDAO {
     private Connection connection;
+    private final ChangeEventBus changes = ChangeEventBus.getInstance();
 
     /**
      * Constructs a GroupDAO instance.
@@ -30,186 +34,251 @@ public class GroupDAO {
      * @throws SQLException If there is an error accessing the database.
      */
     public GroupDAO() throws SQLException {
-        connection = DatabaseManager.getInstance().getConnection();
+        this(DatabaseManager.getInstance().getConnection());
+    }
+
+    /**
+     * Constructs a GroupDAO instance with a provided database connection.
+     *
+     * @param connection The database connection to use.
+     */
+    public GroupDAO(Connection connection) {
+        this.connection = connection;
     }
     
     public void addGroup(Group group) throws SQLException {
-        String insertSQL = "INSERT INTO Groups (name, isSpecialAccessGroup) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, group.getName());
-            pstmt.setBoolean(2, group.isSpecialAccessGroup());
-            pstmt.executeUpdate();
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    group.setId(rs.getLong(1));
+        DaoMetrics.run("GroupDAO.addGroup", () -> {
+            String insertSQL = "INSERT INTO Groups (name, isSpecialAccessGroup) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, group.getName());
+                pstmt.setBoolean(2, group.isSpecialAccessGroup());
+                pstmt.executeUpdate();
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        group.setId(rs.getLong(1));
+                    }
                 }
+                group.setVersion(1);
             }
-        }
+            changes.publish(ChangeEvent.Type.GROUP_ADDED, 0, group.getId(), null);
+        });
     }
 
     public List<Group> getAllGroups() throws SQLException {
-        List<Group> groups = new ArrayList<>();
-        String selectSQL = "SELECT * FROM Groups;";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(selectSQL)) {
-            while (rs.next()) {
-                Group group = new Group();
-                group.setId(rs.getLong("id"));
-                group.setName(rs.getString("name"));
-                group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
-                groups.add(group);
-            }
-        }
-        return groups;
-    }
-
-    public Group getGroupByName(String name) throws SQLException {
-        String query = "SELECT * FROM Groups WHERE name = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, name);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
+        return DaoMetrics.call("GroupDAO.getAllGroups", () -> {
+            List<Group> groups = new ArrayList<>();
+            String selectSQL = "SELECT * FROM Groups;";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(selectSQL)) {
+                while (rs.next()) {
                     Group group = new Group();
                     group.setId(rs.getLong("id"));
                     group.setName(rs.getString("name"));
                     group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
-                    return group;
+                    group.setVersion(rs.getLong("version"));
+                    groups.add(group);
                 }
             }
-        }
-        return null;
+            return groups;
+        });
+    }
+
+    public Group getGroupByName(String name) throws SQLException {
+        return DaoMetrics.call("GroupDAO.getGroupByName", () -> {
+            String query = "SELECT * FROM Groups WHERE name = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, name);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        Group group = new Group();
+                        group.setId(rs.getLong("id"));
+                        group.setName(rs.getString("name"));
+                        group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
+                        group.setVersion(rs.getLong("version"));
+                        return group;
+                    }
+                }
+            }
+            return null;
+        });
     }
 
     public Group getGroupById(long groupId) throws SQLException {
-        String query = "SELECT * FROM Groups WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Group group = new Group();
-                    group.setId(rs.getLong("id"));
-                    group.setName(rs.getString("name"));
-                    group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
-                    return group;
+        return DaoMetrics.call("GroupDAO.getGroupById", () -> {
+            String query = "SELECT * FROM Groups WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        Group group = new Group();
+                        group.setId(rs.getLong("id"));
+                        group.setName(rs.getString("name"));
+                        group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
+                        group.setVersion(rs.getLong("version"));
+                        return group;
+                    }
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     public void updateGroup(long groupId, String newGroupName, boolean isSpecialAccessGroup) throws SQLException {
-        String updateSQL = "UPDATE Groups SET name = ?, isSpecialAccessGroup = ? WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
-            pstmt.setString(1, newGroupName);
-            pstmt.setBoolean(2, isSpecialAccessGroup);
-            pstmt.setLong(3, groupId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.updateGroup(long,String,boolean)", () -> {
+            String updateSQL = "UPDATE Groups SET name = ?, isSpecialAccessGroup = ?, version = version + 1 WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+                pstmt.setString(1, newGroupName);
+                pstmt.setBoolean(2, isSpecialAccessGroup);
+                pstmt.setLong(3, groupId);
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.GROUP_UPDATED, 0, groupId, null);
+                }
+            }
+        });
     }
 
     public void deleteGroup(long groupId) throws SQLException {
-        String deleteSQL = "DELETE FROM Groups WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.deleteGroup", () -> {
+            String deleteSQL = "DELETE FROM Groups WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.GROUP_DELETED, 0, groupId, null);
+                }
+            }
+        });
     }
 
     public void deleteAllGroups() throws SQLException {
-        String deleteSQL = "DELETE FROM Groups;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.deleteAllGroups", () -> {
+            String deleteSQL = "DELETE FROM Groups;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.ALL_GROUPS_DELETED, 0, 0, null);
+        });
     }
 
     public List<User> getSpecialGroupAdmins(long groupId) throws SQLException {
-        List<User> admins = new ArrayList<>();
-        String query = "SELECT u.* FROM Users u JOIN SpecialGroupAdmins sga ON u.username = sga.username WHERE sga.group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    User user = extractUserFromResultSet(rs);
-                    admins.add(user);
+        return DaoMetrics.call("GroupDAO.getSpecialGroupAdmins", () -> {
+            List<User> admins = new ArrayList<>();
+            String query = "SELECT u.* FROM Users u JOIN SpecialGroupAdmins sga ON u.username = sga.username WHERE sga.group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        admins.add(user);
+                    }
                 }
             }
-        }
-        return admins;
+            return admins;
+        });
     }
 
     public void addSpecialGroupAdmin(long groupId, String username) throws SQLException {
-        String insertSQL = "INSERT INTO SpecialGroupAdmins (group_id, username) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.addSpecialGroupAdmin", () -> {
+            String insertSQL = "INSERT INTO SpecialGroupAdmins (group_id, username) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                pstmt.executeUpdate();
+            }
+            incrementVersion(groupId);
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public void removeSpecialGroupAdmin(long groupId, String username) throws SQLException {
-        String deleteSQL = "DELETE FROM SpecialGroupAdmins WHERE group_id = ? AND username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.removeSpecialGroupAdmin", () -> {
+            String deleteSQL = "DELETE FROM SpecialGroupAdmins WHERE group_id = ? AND username = ?;";
+            int removed;
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                removed = pstmt.executeUpdate();
+            }
+            if (removed > 0) {
+                incrementVersion(groupId);
+            }
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public List<User> getSpecialGroupInstructorViewers(long groupId) throws SQLException {
-        List<User> viewers = new ArrayList<>();
-        String query = "SELECT u.* FROM Users u JOIN SpecialGroupInstructorViewers sgiv ON u.username = sgiv.username WHERE sgiv.group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    User user = extractUserFromResultSet(rs);
-                    viewers.add(user);
+        return DaoMetrics.call("GroupDAO.getSpecialGroupInstructorViewers", () -> {
+            List<User> viewers = new ArrayList<>();
+            String query = "SELECT u.* FROM Users u JOIN SpecialGroupInstructorViewers sgiv ON u.username = sgiv.username WHERE sgiv.group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        viewers.add(user);
+                    }
                 }
             }
-        }
-        return viewers;
+            return viewers;
+        });
     }
 
     public void addSpecialGroupInstructorViewer(long groupId, String username) throws SQLException {
-        String insertSQL = "INSERT INTO SpecialGroupInstructorViewers (group_id, username) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.addSpecialGroupInstructorViewer", () -> {
+            String insertSQL = "INSERT INTO SpecialGroupInstructorViewers (group_id, username) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                pstmt.executeUpdate();
+            }
+            incrementVersion(groupId);
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public void removeSpecialGroupInstructorViewer(long groupId, String username) throws SQLException {
-        String deleteSQL = "DELETE FROM SpecialGroupInstructorViewers WHERE group_id = ? AND username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.removeSpecialGroupInstructorViewer", () -> {
+            String deleteSQL = "DELETE FROM SpecialGroupInstructorViewers WHERE group_id = ? AND username = ?;";
+            int removed;
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                removed = pstmt.executeUpdate();
+            }
+            if (removed > 0) {
+                incrementVersion(groupId);
+            }
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public List<User> getSpecialGroupInstructorAdmins(long groupId) throws SQLException {
-        List<User> admins = new ArrayList<>();
-        String query = "SELECT u.* FROM Users u JOIN SpecialGroupInstructorAdmins sgia ON u.username = sgia.username WHERE sgia.group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    User user = extractUserFromResultSet(rs);
-                    admins.add(user);
+        return DaoMetrics.call("GroupDAO.getSpecialGroupInstructorAdmins", () -> {
+            List<User> admins = new ArrayList<>();
+            String query = "SELECT u.* FROM Users u JOIN SpecialGroupInstructorAdmins sgia ON u.username = sgia.username WHERE sgia.group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        admins.add(user);
+                    }
                 }
             }
-        }
-        return admins;
+            return admins;
+        });
     }
 
     public void addSpecialGroupInstructorAdmin(long groupId, String username) throws SQLException {
-        if (isFirstInstructorInGroup(groupId, username)) {
-            addSpecialGroupInstructorAdminInternal(groupId, username);
-            addSpecialGroupInstructorViewerInternal(groupId, username);
-        } else {
-            addSpecialGroupInstructorAdminInternal(groupId, username);
-        }
+        DaoMetrics.run("GroupDAO.addSpecialGroupInstructorAdmin", () -> {
+            if (isFirstInstructorInGroup(groupId, username)) {
+                addSpecialGroupInstructorAdminInternal(groupId, username);
+                addSpecialGroupInstructorViewerInternal(groupId, username);
+            } else {
+                addSpecialGroupInstructorAdminInternal(groupId, username);
+            }
+            incrementVersion(groupId);
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     private void addSpecialGroupInstructorAdminInternal(long groupId, String username) throws SQLException {
@@ -231,45 +300,65 @@ public class GroupDAO {
     }
 
     public void removeSpecialGroupInstructorAdmin(long groupId, String username) throws SQLException {
-        String deleteSQL = "DELETE FROM SpecialGroupInstructorAdmins WHERE group_id = ? AND username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.removeSpecialGroupInstructorAdmin", () -> {
+            String deleteSQL = "DELETE FROM SpecialGroupInstructorAdmins WHERE group_id = ? AND username = ?;";
+            int removed;
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                removed = pstmt.executeUpdate();
+            }
+            if (removed > 0) {
+                incrementVersion(groupId);
+            }
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public List<User> getSpecialGroupStudentViewers(long groupId) throws SQLException {
-        List<User> viewers = new ArrayList<>();
-        String query = "SELECT u.* FROM Users u JOIN SpecialGroupStudentViewers sgsv ON u.username = sgsv.username WHERE sgsv.group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    User user = extractUserFromResultSet(rs);
-                    viewers.add(user);
+        return DaoMetrics.call("GroupDAO.getSpecialGroupStudentViewers", () -> {
+            List<User> viewers = new ArrayList<>();
+            String query = "SELECT u.* FROM Users u JOIN SpecialGroupStudentViewers sgsv ON u.username = sgsv.username WHERE sgsv.group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        viewers.add(user);
+                    }
                 }
             }
-        }
-        return viewers;
+            return viewers;
+        });
     }
 
     public void addSpecialGroupStudentViewer(long groupId, String username) throws SQLException {
-        String insertSQL = "INSERT INTO SpecialGroupStudentViewers (group_id, username) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.addSpecialGroupStudentViewer", () -> {
+            String insertSQL = "INSERT INTO SpecialGroupStudentViewers (group_id, username) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                pstmt.executeUpdate();
+            }
+            incrementVersion(groupId);
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     public void removeSpecialGroupStudentViewer(long groupId, String username) throws SQLException {
-        String deleteSQL = "DELETE FROM SpecialGroupStudentViewers WHERE group_id = ? AND username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.removeSpecialGroupStudentViewer", () -> {
+            String deleteSQL = "DELETE FROM SpecialGroupStudentViewers WHERE group_id = ? AND username = ?;";
+            int removed;
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                removed = pstmt.executeUpdate();
+            }
+            if (removed > 0) {
+                incrementVersion(groupId);
+            }
+            changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
+        });
     }
 
     private User extractUserFromResultSet(ResultSet rs) throws SQLException {
@@ -282,9 +371,35 @@ public class GroupDAO {
         return user;
     }
 
+    /**
+     * Checks whether a user may manage a special access group, as one of its admins or instructor admins.
+     *
+     * @param groupId  The ID of the group.
+     * @param username The username to check.
+     * @return True if the user holds admin or instructor admin rights in the group.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean hasSpecialGroupAdminRights(long groupId, String username) throws SQLException {
+        return DaoMetrics.call("GroupDAO.hasSpecialGroupAdminRights", () -> {
+            String query = "SELECT 1 FROM SpecialGroupAdmins WHERE group_id = ? AND username = ? " +
+                    "UNION ALL SELECT 1 FROM SpecialGroupInstructorAdmins WHERE group_id = ? AND username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                pstmt.setLong(3, groupId);
+                pstmt.setString(4, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        });
+    }
+
     public boolean isFirstInstructorInGroup(long groupId, String username) throws SQLException {
-        List<User> instructors = getSpecialGroupInstructorAdmins(groupId);
-        return instructors.isEmpty() && userExists(username) && getUserByUsername(username).getRoles().contains(Role.INSTRUCTOR);
+        return DaoMetrics.call("GroupDAO.isFirstInstructorInGroup", () -> {
+            List<User> instructors = getSpecialGroupInstructorAdmins(groupId);
+            return instructors.isEmpty() && userExists(username) && getUserByUsername(username).getRoles().contains(Role.INSTRUCTOR);
+        });
     }
 
     private boolean userExists(String username) throws SQLException {
@@ -301,110 +416,242 @@ public class GroupDAO {
     }
 
     public User getUserByUsername(String username) throws SQLException {
-        String query = "SELECT * FROM Users WHERE username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = extractUserFromResultSet(rs);
-                    return user;
+        return DaoMetrics.call("GroupDAO.getUserByUsername", () -> {
+            String query = "SELECT * FROM Users WHERE username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        return user;
+                    }
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     public List<Group> getGroupsByNames(List<String> groupNames) throws SQLException {
-        List<Group> groups = new ArrayList<>();
-        if (groupNames == null || groupNames.isEmpty()) {
-            return groups;
-        }
-        StringBuilder queryBuilder = new StringBuilder("SELECT * FROM Groups WHERE name IN (");
-        String placeholders = String.join(",", groupNames.stream().map(name -> "?").toArray(String[]::new));
-        queryBuilder.append(placeholders).append(");");
-        String query = queryBuilder.toString();
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            for (int i = 0; i < groupNames.size(); i++) {
-                pstmt.setString(i + 1, groupNames.get(i));
+        return DaoMetrics.call("GroupDAO.getGroupsByNames", () -> {
+            List<Group> groups = new ArrayList<>();
+            if (groupNames == null || groupNames.isEmpty()) {
+                return groups;
             }
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Group group = new Group();
-                    group.setId(rs.getLong("id"));
-                    group.setName(rs.getString("name"));
-                    group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
-                    groups.add(group);
+            StringBuilder queryBuilder = new StringBuilder("SELECT * FROM Groups WHERE name IN (");
+            String placeholders = String.join(",", groupNames.stream().map(name -> "?").toArray(String[]::new));
+            queryBuilder.append(placeholders).append(");");
+            String query = queryBuilder.toString();
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                for (int i = 0; i < groupNames.size(); i++) {
+                    pstmt.setString(i + 1, groupNames.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Group group = new Group();
+                        group.setId(rs.getLong("id"));
+                        group.setName(rs.getString("name"));
+                        group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
+                        group.setVersion(rs.getLong("version"));
+                        groups.add(group);
+                    }
                 }
             }
-        }
-        return groups;
+            return groups;
+        });
     }
 
     public List<Group> getGroupsByInstructor(String username) throws SQLException {
-        List<Group> groups = new ArrayList<>();
-        String query = "SELECT g.* FROM Groups g JOIN GroupMembers gm ON g.id = gm.group_id WHERE gm.username = ? AND g.isSpecialAccessGroup = FALSE;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Group group = new Group();
-                    group.setId(rs.getLong("id"));
-                    group.setName(rs.getString("name"));
-                    group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
-                    groups.add(group);
+        return DaoMetrics.call("GroupDAO.getGroupsByInstructor", () -> {
+            List<Group> groups = new ArrayList<>();
+            String query = "SELECT g.* FROM Groups g JOIN GroupMembers gm ON g.id = gm.group_id WHERE gm.username = ? AND g.isSpecialAccessGroup = FALSE;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Group group = new Group();
+                        group.setId(rs.getLong("id"));
+                        group.setName(rs.getString("name"));
+                        group.setSpecialAccessGroup(rs.getBoolean("isSpecialAccessGroup"));
+                        group.setVersion(rs.getLong("version"));
+                        groups.add(group);
+                    }
                 }
             }
-        }
-        return groups;
+            return groups;
+        });
+    }
+
+    /**
+     * Retrieves the IDs of the groups a user is a member of.
+     *
+     * @param username The username of the member.
+     * @return The IDs of the user's groups.
+     * @throws SQLException If a database access error occurs.
+     */
+    public Set<Long> getGroupIdsForMember(String username) throws SQLException {
+        return DaoMetrics.call("GroupDAO.getGroupIdsForMember", () -> {
+            Set<Long> groupIds = new HashSet<>();
+            String query = "SELECT group_id FROM GroupMembers WHERE username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        groupIds.add(rs.getLong("group_id"));
+                    }
+                }
+            }
+            return groupIds;
+        });
     }
 
     public void addStudentToGroup(long groupId, String username) throws SQLException {
-        String insertSQL = "INSERT INTO GroupMembers (group_id, username) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.addStudentToGroup", () -> {
+            String insertSQL = "INSERT INTO GroupMembers (group_id, username) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                pstmt.executeUpdate();
+            }
+            incrementVersion(groupId);
+            changes.publish(ChangeEvent.Type.MEMBER_ADDED, 0, groupId, username);
+        });
+    }
+
+    /**
+     * Adds a batch of users to a group in a single round trip.
+     *
+     * @param groupId   The ID of the group.
+     * @param usernames The usernames of the users to add.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void addStudentsToGroup(long groupId, Collection<String> usernames) throws SQLException {
+        DaoMetrics.run("GroupDAO.addStudentsToGroup", () -> {
+            if (usernames.isEmpty()) {
+                return;
+            }
+            String insertSQL = "INSERT INTO GroupMembers (group_id, username) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                for (String username : usernames) {
+                    pstmt.setLong(1, groupId);
+                    pstmt.setString(2, username);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            incrementVersion(groupId);
+            for (String username : usernames) {
+                changes.publish(ChangeEvent.Type.MEMBER_ADDED, 0, groupId, username);
+            }
+        });
     }
 
     public void removeStudentFromGroup(long groupId, String username) throws SQLException {
-        String deleteSQL = "DELETE FROM GroupMembers WHERE group_id = ? AND username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+        DaoMetrics.run("GroupDAO.removeStudentFromGroup", () -> {
+            String deleteSQL = "DELETE FROM GroupMembers WHERE group_id = ? AND username = ?;";
+            int removed;
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.setString(2, username);
+                removed = pstmt.executeUpdate();
+            }
+            if (removed > 0) {
+                incrementVersion(groupId);
+                changes.publish(ChangeEvent.Type.MEMBER_REMOVED, 0, groupId, username);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the current version of a group.
+     *
+     * @param groupId The ID of the group.
+     * @return The group's version, or -1 if it does not exist.
+     * @throws SQLException If a database access error occurs.
+     */
+    public long getGroupVersion(long groupId) throws SQLException {
+        return DaoMetrics.call("GroupDAO.getGroupVersion", () -> {
+            String query = "SELECT version FROM Groups WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getLong("version") : -1;
+                }
+            }
+        });
+    }
+
+    private void incrementVersion(long groupId) throws SQLException {
+        String updateSQL = "UPDATE Groups SET version = version + 1 WHERE id = ?;";
+        try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
             pstmt.setLong(1, groupId);
-            pstmt.setString(2, username);
             pstmt.executeUpdate();
         }
     }
 
     public List<String> getGroupMembers(long groupId) throws SQLException {
-        List<String> members = new ArrayList<>();
-        String query = "SELECT username FROM GroupMembers WHERE group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    members.add(rs.getString("username"));
+        return DaoMetrics.call("GroupDAO.getGroupMembers", () -> {
+            List<String> members = new ArrayList<>();
+            String query = "SELECT username FROM GroupMembers WHERE group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        members.add(rs.getString("username"));
+                    }
                 }
             }
-        }
-        return members;
+            return members;
+        });
     }
 
     
     /**
-     * Updates an existing group in the database.
+     * Updates an existing group in the database, whatever its current version, and increments its version.
+     * The group's version is set to the new one.
      *
      * @param group The Group object with updated information.
      * @throws SQLException If a database access error occurs.
      */
     public void updateGroup(Group group) throws SQLException {
-        String updateSQL = "UPDATE Groups SET name = ?, isSpecialAccessGroup = ? WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
-            pstmt.setString(1, group.getName());
-            pstmt.setBoolean(2, group.isSpecialAccessGroup());
-            pstmt.setLong(3, group.getId());
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("GroupDAO.updateGroup(Group)", () -> {
+            String updateSQL = "UPDATE Groups SET name = ?, isSpecialAccessGroup = ?, version = version + 1 WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+                pstmt.setString(1, group.getName());
+                pstmt.setBoolean(2, group.isSpecialAccessGroup());
+                pstmt.setLong(3, group.getId());
+                if (pstmt.executeUpdate() > 0) {
+                    group.setVersion(getGroupVersion(group.getId()));
+                    changes.publish(ChangeEvent.Type.GROUP_UPDATED, 0, group.getId(), null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Updates a group only if nobody has changed it, its members or its access rights since it was read, and increments its version.
+     *
+     * @param group           The Group object with updated information.
+     * @param expectedVersion The version the group had when it was read.
+     * @return True if the group was updated; false if it was changed or deleted in the meantime,
+     *         in which case nothing is written and the group's version is left as it was.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean updateGroup(Group group, long expectedVersion) throws SQLException {
+        return DaoMetrics.call("GroupDAO.updateGroup(Group,long)", () -> {
+            String updateSQL = "UPDATE Groups SET name = ?, isSpecialAccessGroup = ?, version = version + 1 WHERE id = ? AND version = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+                pstmt.setString(1, group.getName());
+                pstmt.setBoolean(2, group.isSpecialAccessGroup());
+                pstmt.setLong(3, group.getId());
+                pstmt.setLong(4, expectedVersion);
+                if (pstmt.executeUpdate() == 0) {
+                    return false;
+                }
+                group.setVersion(expectedVersion + 1);
+                changes.publish(ChangeEvent.Type.GROUP_UPDATED, 0, group.getId(), null);
+                return true;
+            }
+        });
     }
     
     /**
@@ -415,17 +662,19 @@ public class GroupDAO {
      * @throws SQLException If there is an error executing the SQL statement.
      */
     public void createGroup(String groupName, boolean isSpecialAccessGroup) throws SQLException {
-        String insertSQL = "INSERT INTO Groups (name, isSpecialAccessGroup) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, groupName);
-            pstmt.setBoolean(2, isSpecialAccessGroup);
-            pstmt.executeUpdate();
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    // Optionally set the ID in the Group object if needed
+        DaoMetrics.run("GroupDAO.createGroup", () -> {
+            String insertSQL = "INSERT INTO Groups (name, isSpecialAccessGroup) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, groupName);
+                pstmt.setBoolean(2, isSpecialAccessGroup);
+                pstmt.executeUpdate();
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        changes.publish(ChangeEvent.Type.GROUP_ADDED, 0, rs.getLong(1), null);
+                    }
                 }
             }
-        }
+        });
     }
 
 }
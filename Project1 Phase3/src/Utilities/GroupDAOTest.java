@@ -99,9 +99,60 @@ class GroupDAOTest {
         assertTrue(members.isEmpty(), "There should be no members in the group after removal.");
     }
 
+    @Test
+    void testAddStudentsToGroup() throws SQLException {
+        groupDAO.createGroup("BatchGroup", false);
+        Group group = groupDAO.getGroupByName("BatchGroup");
+        UserDAO userDAO = new UserDAO();
+        for (String username : List.of("batch1", "batch2", "batch3")) {
+            User student = new User(username, "pass");
+            student.setRoles(Arrays.asList(Role.STUDENT));
+            userDAO.addStudent(student);
+        }
+
+        groupDAO.addStudentsToGroup(group.getId(), List.of("batch1", "batch2", "batch3"));
+        assertEquals(3, groupDAO.getGroupMembers(group.getId()).size(), "Every user in the batch should be added.");
+        assertEquals(group.getVersion() + 1, groupDAO.getGroupVersion(group.getId()), "A batch should bump the version once.");
+    }
+
     @Test
     void testDuplicateGroupName() throws SQLException {
         groupDAO.createGroup("UniqueGroup", false);
         assertThrows(SQLException.class, () -> groupDAO.createGroup("UniqueGroup", true), "Creating a group with duplicate name should throw SQLException.");
     }
+
+    @Test
+    void testVersionsAndConditionalUpdate() throws SQLException {
+        Group group = new Group("Versioned");
+        groupDAO.addGroup(group);
+        assertEquals(1, group.getVersion(), "New groups should start at version 1.");
+
+        Group stale = groupDAO.getGroupById(group.getId());
+        group.setName("Renamed");
+        assertTrue(groupDAO.updateGroup(group, group.getVersion()), "An update from a fresh read should succeed.");
+        assertEquals(2, group.getVersion());
+
+        stale.setName("Lost Rename");
+        assertFalse(groupDAO.updateGroup(stale, stale.getVersion()), "An update from a stale read should be refused.");
+        assertEquals("Renamed", groupDAO.getGroupById(group.getId()).getName());
+    }
+
+    @Test
+    void testAccessRightChangesBumpTheVersion() throws SQLException {
+        groupDAO.createGroup("Rights", true);
+        Group group = groupDAO.getGroupByName("Rights");
+        User student = new User("viewer1", "pass");
+        student.setRoles(Arrays.asList(Role.STUDENT));
+        new UserDAO().addStudent(student);
+
+        groupDAO.addSpecialGroupStudentViewer(group.getId(), "viewer1");
+        assertEquals(group.getVersion() + 1, groupDAO.getGroupVersion(group.getId()), "Granting a right should bump the version.");
+        group.setName("Lost Rename");
+        assertFalse(groupDAO.updateGroup(group, group.getVersion()), "An update read before a rights change should be refused.");
+
+        groupDAO.removeSpecialGroupStudentViewer(group.getId(), "viewer1");
+        assertEquals(group.getVersion() + 2, groupDAO.getGroupVersion(group.getId()), "Revoking a right should bump the version.");
+        groupDAO.removeSpecialGroupStudentViewer(group.getId(), "viewer1");
+        assertEquals(group.getVersion() + 2, groupDAO.getGroupVersion(group.getId()), "Revoking a missing right should not.");
+    }
 }
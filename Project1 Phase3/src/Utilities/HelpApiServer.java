@@ -0,0 +1,438 @@
+package Utilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import models.Group;
+import models.HelpArticle;
+import models.Role;
+import models.User;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p> Title: HelpApiServer Class </p>
+ *
+ * <p> Description: A headless HTTP server exposing the help system without the JavaFX client. It is
+ * built on the JDK's {@code com.sun.net.httpserver} and handles each request on its own virtual thread,
+ * calling straight into {@link HelpArticleDAO} and {@link GroupDAO}. Clients log in with
+ * {@code POST /api/login} and send the returned token as {@code Authorization: Bearer <token>};
+ * sessions are kept by the {@link SessionManager}. </p>
+ *
+ * <p> Endpoints:
+ * <ul>
+ *   <li> {@code POST /api/login} (form fields {@code username}, {@code password}, optional {@code role}) </li>
+ *   <li> {@code POST /api/logout} </li>
+ *   <li> {@code GET /api/articles?q=text} searches the articles visible to the user </li>
+ *   <li> {@code GET /api/articles/{id}} fetches one article; send its {@code ETag} back in
+ *        {@code If-None-Match} to get {@code 304 Not Modified} without the body if it is unchanged </li>
+ *   <li> {@code GET /api/groups} lists the groups visible to the user </li>
+ *   <li> {@code GET /api/groups/{id}/members} lists a group's members </li>
+ *   <li> {@code PUT} and {@code DELETE /api/groups/{id}/members/{username}} add and remove a member </li>
+ * </ul>
+ * Membership endpoints require the admin or instructor role. </p>
+ *
+ * <p> The DAOs share one JDBC connection, and H2 serializes work on it with monitors that pin a
+ * virtual thread to its carrier. Database calls therefore take a permit from a small semaphore,
+ * so requests waiting on the database park instead of occupying every carrier thread. </p>
+ *
+ * <p> Responses are encoded by {@link JsonCodec} into {@link JsonWriter}s taken from a small pool, so
+ * a busy server reuses a handful of grown buffers instead of allocating per response. Writers that
+ * grew past {@value #MAX_POOLED_WRITER_BYTES} bytes are dropped rather than pooled. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class HelpApiServer {
+    public static final int DEFAULT_PORT = 8080;
+    static final String PORT_ENV = "HELP_SYSTEM_HTTP_PORT";
+    static final int MAX_POOLED_WRITER_BYTES = 1 << 20;
+    private static final int WRITER_POOL_SIZE = 16;
+
+    @FunctionalInterface
+    private interface DatabaseCall<T> {
+        T call() throws SQLException;
+    }
+
+    private static final class ApiException extends Exception {
+        private static final long serialVersionUID = 1L;
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HelpArticleDAO helpArticleDAO;
+    private final GroupDAO groupDAO;
+    private final UserManager userManager = UserManager.getInstance();
+    private final SessionManager sessionManager = SessionManager.getInstance();
+    private final BlockingQueue<JsonWriter> writers = new ArrayBlockingQueue<>(WRITER_POOL_SIZE);
+    private final Semaphore databasePermits = new Semaphore(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    /**
+     * Constructs a HelpApiServer bound to a port. Call {@link #start()} to begin serving.
+     *
+     * @param port The port to listen on, or 0 to pick a free port.
+     * @throws IOException  If the port cannot be bound.
+     * @throws SQLException If the DAOs cannot be created.
+     */
+    public HelpApiServer(int port) throws IOException, SQLException {
+        helpArticleDAO = DaoRegistry.getInstance().getHelpArticleDAO();
+        groupDAO = DaoRegistry.getInstance().getGroupDAO();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, giving requests in progress time to finish.
+     *
+     * @param delaySeconds The maximum time to wait for requests in progress.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return The bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Starts the server in headless mode. The port is taken from the first argument, the
+     * {@code HELP_SYSTEM_HTTP_PORT} environment variable, or {@value #DEFAULT_PORT}. Data is kept
+     * in the application's file database, see {@link DatabaseManager#useApplicationDatabase()}.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If the server cannot start.
+     */
+    public static void main(String[] args) throws Exception {
+        String configured = args.length > 0 ? args[0] : System.getenv(PORT_ENV);
+        int port = configured == null || configured.isBlank() ? DEFAULT_PORT : Integer.parseInt(configured.trim());
+        DatabaseManager.useApplicationDatabase();
+        HelpApiServer apiServer = new HelpApiServer(port);
+        apiServer.start();
+        System.out.println("Help system API listening on port " + apiServer.getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            String method = exchange.getRequestMethod();
+            JsonWriter json = takeWriter();
+            try {
+                send(exchange, route(exchange, method, path, json), json);
+            } catch (ApiException e) {
+                send(exchange, e.status, error(json, e.getMessage()));
+            } catch (NumberFormatException e) {
+                send(exchange, 400, error(json, "Invalid number: " + e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                // Thrown by URLDecoder for a malformed escape, among others.
+                send(exchange, 400, error(json, "Invalid request: " + e.getMessage()));
+            } catch (SQLException e) {
+                send(exchange, 500, error(json, "Database error: " + e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, error(json, "Server is shutting down."));
+            } catch (RuntimeException e) {
+                System.out.println("API request " + method + " " + exchange.getRequestURI() + " failed: " + e);
+                send(exchange, 500, error(json, "Internal server error."));
+            } finally {
+                returnWriter(json);
+            }
+        }
+    }
+
+    private JsonWriter takeWriter() {
+        JsonWriter json = writers.poll();
+        return json == null ? new JsonWriter() : json.reset();
+    }
+
+    private void returnWriter(JsonWriter json) {
+        if (json.capacity() <= MAX_POOLED_WRITER_BYTES) {
+            writers.offer(json);
+        }
+    }
+
+    /**
+     * Dispatches a request and writes its response body.
+     *
+     * @return The HTTP status of the response.
+     */
+    private int route(HttpExchange exchange, String method, String[] path, JsonWriter json)
+            throws ApiException, SQLException, InterruptedException, IOException {
+        String resource = path[0];
+        if (resource.equals("login") && path.length == 1) {
+            requireMethod(method, "POST");
+            login(readForm(exchange), json);
+            return 200;
+        }
+        Session session = requireSession(exchange);
+        if (resource.equals("logout") && path.length == 1) {
+            requireMethod(method, "POST");
+            sessionManager.invalidateSession(session.getToken());
+            json.beginObject().endObject();
+            return 200;
+        }
+        if (resource.equals("articles") && path.length == 1) {
+            requireMethod(method, "GET");
+            String query = parseForm(exchange.getRequestURI().getRawQuery()).getOrDefault("q", "");
+            List<HelpArticle> articles = withDatabase(() -> query.isBlank()
+                    ? helpArticleDAO.getAllHelpArticles(session.getUser())
+                    : helpArticleDAO.searchHelpArticles(session.getUser(), query, null));
+            JsonCodec.writeArticles(json, articles, false);
+            return 200;
+        }
+        if (resource.equals("articles") && path.length == 2) {
+            requireMethod(method, "GET");
+            long articleId = Long.parseLong(path[1]);
+            long knownVersion = parseETag(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            Versioned<HelpArticle> article = withDatabase(
+                    () -> helpArticleDAO.getHelpArticleIfModified(articleId, session.getUser(), knownVersion));
+            if (article == null) {
+                throw new ApiException(404, "Article not found.");
+            }
+            exchange.getResponseHeaders().set("ETag", "\"v" + article.version() + "\"");
+            if (!article.isModified()) {
+                return 304;
+            }
+            JsonCodec.writeArticle(json, article.value(), true);
+            return 200;
+        }
+        if (resource.equals("groups") && path.length == 1) {
+            requireMethod(method, "GET");
+            listGroups(session, json);
+            return 200;
+        }
+        if (resource.equals("groups") && path.length >= 3 && path[2].equals("members")) {
+            requireRole(session, Role.ADMIN, Role.INSTRUCTOR);
+            long groupId = Long.parseLong(path[1]);
+            Group group = withDatabase(() -> groupDAO.getGroupById(groupId));
+            if (group == null) {
+                throw new ApiException(404, "Group not found.");
+            }
+            if (!withDatabase(() -> canManageMembers(group, session.getUser()))) {
+                throw new ApiException(403, "Not permitted to manage this special access group.");
+            }
+            if (path.length == 3) {
+                requireMethod(method, "GET");
+                json.beginArray();
+                for (String member : withDatabase(() -> groupDAO.getGroupMembers(groupId))) {
+                    json.value(member);
+                }
+                json.endArray();
+                return 200;
+            }
+            if (path.length == 4) {
+                String username = URLDecoder.decode(path[3], StandardCharsets.UTF_8);
+                if (!userManager.isUsernameTaken(username)) {
+                    throw new ApiException(404, "User not found.");
+                }
+                if (method.equals("PUT")) {
+                    withDatabase(() -> {
+                        if (!groupDAO.getGroupMembers(groupId).contains(username)) {
+                            groupDAO.addStudentToGroup(groupId, username);
+                        }
+                        return null;
+                    });
+                } else {
+                    requireMethod(method, "DELETE");
+                    withDatabase(() -> {
+                        groupDAO.removeStudentFromGroup(groupId, username);
+                        return null;
+                    });
+                }
+                json.beginObject().endObject();
+                return 200;
+            }
+        }
+        throw new ApiException(404, "Unknown endpoint.");
+    }
+
+    private void login(Map<String, String> form, JsonWriter json) throws ApiException, InterruptedException {
+        String username = form.getOrDefault("username", "");
+        User user;
+        try {
+            user = userManager.authenticateAsync(username, form.getOrDefault("password", "")).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof LoginThrottledException) {
+                throw new ApiException(429, e.getCause().getMessage());
+            }
+            throw e;
+        }
+        if (user == null) {
+            throw new ApiException(401, "Invalid username or password.");
+        }
+        if (user.isResetRequired()) {
+            throw new ApiException(403, "A password reset is required. Please log in with the desktop client.");
+        }
+        Role role;
+        if (form.containsKey("role")) {
+            try {
+                role = Role.valueOf(form.get("role").toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Unknown role.");
+            }
+            if (!user.getRoles().contains(role)) {
+                throw new ApiException(403, "User does not have the requested role.");
+            }
+        } else if (!user.getRoles().isEmpty()) {
+            role = user.getRoles().get(0);
+        } else {
+            throw new ApiException(403, "User has no role.");
+        }
+        Session session = sessionManager.createSession(user, role);
+        json.beginObject();
+        json.name("token").value(session.getToken());
+        json.name("role").value(role.name());
+        json.endObject();
+    }
+
+    private void listGroups(Session session, JsonWriter json) throws SQLException, InterruptedException {
+        Set<Long> visible = withDatabase(() -> session.getVisibleGroupIds((user, role) -> {
+            if (role == Role.ADMIN) {
+                Set<Long> all = new HashSet<>();
+                for (Group group : groupDAO.getAllGroups()) {
+                    all.add(group.getId());
+                }
+                return all;
+            }
+            return groupDAO.getGroupIdsForMember(user.getUsername());
+        }));
+        List<Group> groups = withDatabase(groupDAO::getAllGroups);
+        json.beginArray();
+        for (Group group : groups) {
+            if (visible.contains(group.getId())) {
+                JsonCodec.writeGroup(json, group);
+            }
+        }
+        json.endArray();
+    }
+
+    private boolean canManageMembers(Group group, User user) throws SQLException {
+        return !group.isSpecialAccessGroup() || groupDAO.hasSpecialGroupAdminRights(group.getId(), user.getUsername());
+    }
+
+    private <T> T withDatabase(DatabaseCall<T> call) throws SQLException, InterruptedException {
+        databasePermits.acquire();
+        try {
+            return call.call();
+        } finally {
+            databasePermits.release();
+        }
+    }
+
+    private Session requireSession(HttpExchange exchange) throws ApiException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing session token.");
+        }
+        Session session = sessionManager.getSession(header.substring("Bearer ".length()).trim());
+        if (session == null || session.getUser() == null) {
+            throw new ApiException(401, "Session expired or unknown.");
+        }
+        return session;
+    }
+
+    private static void requireRole(Session session, Role... allowed) throws ApiException {
+        for (Role role : allowed) {
+            if (role == session.getRole()) {
+                return;
+            }
+        }
+        throw new ApiException(403, "Not permitted for role " + session.getRole() + ".");
+    }
+
+    private static void requireMethod(String method, String expected) throws ApiException {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Method " + method + " not allowed.");
+        }
+    }
+
+    /**
+     * Reads the version out of an {@code If-None-Match} header holding an ETag written by this server.
+     *
+     * @return The version, or 0 if the header is missing or holds some other tag.
+     */
+    private static long parseETag(String header) {
+        if (header == null) {
+            return 0;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 4 || !tag.startsWith("\"v") || !tag.endsWith("\"")) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(tag.substring(2, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        return parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            values.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        if (status == 304) {
+            // A not-modified response carries no body.
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.size());
+        json.writeTo(exchange.getResponseBody());
+    }
+
+    private static JsonWriter error(JsonWriter json, String message) {
+        // Discard anything the route wrote before it failed.
+        return json.reset().beginObject().name("error").value(message).endObject();
+    }
+}
@@ -0,0 +1,212 @@
+// src/test/java/Utilities/HelpApiServerTest.java
+package Utilities;
+
+import models.Group;
+import models.HelpArticle;
+import models.Role;
+import models.User;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HelpApiServerTest {
+    private static TestDatabaseManager testDbManager;
+    private static final HttpClient client = HttpClient.newHttpClient();
+    private HelpApiServer server;
+    private long groupId;
+    private HelpArticleDAO articleDAO;
+    private HelpArticle article;
+
+    @BeforeAll
+    static void setupAll() throws Exception {
+        testDbManager = TestDatabaseManager.getInstance();
+        UserManager userManager = UserManager.getInstance();
+        User student = new User("apiStudent", "studentPass");
+        student.setRoles(new ArrayList<>(List.of(Role.STUDENT)));
+        userManager.addUser(student);
+        User instructor = new User("apiInstructor", "instructorPass");
+        instructor.setRoles(new ArrayList<>(List.of(Role.INSTRUCTOR)));
+        userManager.addUser(instructor);
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        testDbManager.resetDatabase();
+        UserManager.getInstance().addUser(UserManager.getInstance().getUserByUsername("apiStudent"));
+        UserManager.getInstance().addUser(UserManager.getInstance().getUserByUsername("apiInstructor"));
+        UserManager.getInstance().flush();
+
+        GroupDAO groupDAO = new GroupDAO();
+        Group group = new Group("Week 1");
+        groupDAO.addGroup(group);
+        groupId = group.getId();
+
+        articleDAO = new HelpArticleDAO();
+        article = new HelpArticle(0, "Intro", "Using \"Eclipse\"", "Setup guide",
+                List.of("eclipse", "setup"), "Line one\nLine two", List.of("https://example.com"));
+        articleDAO.addHelpArticle(article);
+
+        server = new HelpApiServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRequestsWithoutTokenAreRejected() throws Exception {
+        assertEquals(401, send("GET", "/api/articles", null, null).statusCode(), "Requests need a session token.");
+    }
+
+    @Test
+    void testLoginAndSearchArticles() throws Exception {
+        String token = login("apiStudent", "studentPass");
+
+        HttpResponse<String> search = send("GET", "/api/articles?q=Eclipse", token, null);
+        assertEquals(200, search.statusCode(), "Search should succeed.");
+        assertTrue(search.body().contains("\"title\":\"Using \\\"Eclipse\\\"\""), "Search should return the escaped title.");
+
+        HttpResponse<String> fetch = send("GET", "/api/articles/" + articleId(search.body()), token, null);
+        assertEquals(200, fetch.statusCode(), "Fetch should succeed.");
+        assertTrue(fetch.body().contains("\"body\":\"Line one\\nLine two\""), "Fetch should include the escaped body.");
+
+        assertEquals(404, send("GET", "/api/articles/999999", token, null).statusCode(), "Unknown articles should be 404.");
+    }
+
+    @Test
+    void testConditionalFetch() throws Exception {
+        String token = login("apiStudent", "studentPass");
+        URI uri = URI.create("http://localhost:" + server.getPort() + "/api/articles/" + article.getId());
+
+        HttpResponse<String> first = send("GET", "/api/articles/" + article.getId(), token, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> unchanged = client.send(HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, unchanged.statusCode(), "An unchanged article should not be sent again.");
+        assertEquals("", unchanged.body(), "Not-modified responses have no body.");
+
+        article.setBody("Revised");
+        articleDAO.updateHelpArticle(article);
+        HttpResponse<String> changed = client.send(HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changed.statusCode(), "A changed article should be sent.");
+        assertTrue(changed.body().contains("\"body\":\"Revised\""), "The new body should be sent.");
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow(), "The ETag should change with the version.");
+    }
+
+    @Test
+    void testBadPasswordIsRejected() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/login", null, "username=apiStudent&password=wrong");
+        assertEquals(401, response.statusCode(), "Wrong passwords should be rejected.");
+    }
+
+    @Test
+    void testMembershipManagement() throws Exception {
+        String instructorToken = login("apiInstructor", "instructorPass");
+        String studentToken = login("apiStudent", "studentPass");
+
+        assertEquals("[]", send("GET", "/api/groups", studentToken, null).body(), "Student should see no groups yet.");
+        assertEquals(403, send("PUT", "/api/groups/" + groupId + "/members/apiStudent", studentToken, null).statusCode(),
+                "Students should not manage membership.");
+
+        assertEquals(200, send("PUT", "/api/groups/" + groupId + "/members/apiStudent", instructorToken, null).statusCode(),
+                "Instructors should add members.");
+        assertEquals("[\"apiStudent\"]", send("GET", "/api/groups/" + groupId + "/members", instructorToken, null).body(),
+                "Member list should include the new member.");
+        assertTrue(send("GET", "/api/groups", studentToken, null).body().contains("\"name\":\"Week 1\""),
+                "Student should see the group after being added.");
+
+        assertEquals(200, send("DELETE", "/api/groups/" + groupId + "/members/apiStudent", instructorToken, null).statusCode(),
+                "Instructors should remove members.");
+        assertEquals("[]", send("GET", "/api/groups", studentToken, null).body(), "Student should no longer see the group.");
+    }
+
+    @Test
+    void testSpecialGroupMembershipRequiresGroupRights() throws Exception {
+        GroupDAO groupDAO = new GroupDAO();
+        Group special = new Group("Confidential");
+        special.setSpecialAccessGroup(true);
+        groupDAO.addGroup(special);
+        String path = "/api/groups/" + special.getId() + "/members/apiStudent";
+        String instructorToken = login("apiInstructor", "instructorPass");
+
+        assertEquals(403, send("GET", "/api/groups/" + special.getId() + "/members", instructorToken, null).statusCode(),
+                "Instructors without rights in the group should not list its members.");
+
+        assertEquals(403, send("PUT", path, instructorToken, null).statusCode(),
+                "Instructors without rights in the group should not add members.");
+        assertFalse(groupDAO.getGroupMembers(special.getId()).contains("apiStudent"));
+
+        groupDAO.addStudentToGroup(special.getId(), "apiStudent");
+        assertEquals(403, send("DELETE", path, instructorToken, null).statusCode(),
+                "Instructors without rights in the group should not remove members.");
+        assertTrue(groupDAO.getGroupMembers(special.getId()).contains("apiStudent"));
+
+        groupDAO.addSpecialGroupInstructorAdmin(special.getId(), "apiInstructor");
+        assertEquals(200, send("DELETE", path, instructorToken, null).statusCode(),
+                "Instructor admins of the group should manage its members.");
+        assertEquals(200, send("GET", "/api/groups/" + special.getId() + "/members", instructorToken, null).statusCode());
+        assertFalse(groupDAO.getGroupMembers(special.getId()).contains("apiStudent"));
+    }
+
+    @Test
+    void testMembershipOfUnknownGroupIsNotFound() throws Exception {
+        String instructorToken = login("apiInstructor", "instructorPass");
+        long unknown = groupId + 1000;
+        assertEquals(404, send("PUT", "/api/groups/" + unknown + "/members/apiStudent", instructorToken, null).statusCode(),
+                "Adding to a group that does not exist should be not found, not a database error.");
+        assertEquals(404, send("GET", "/api/groups/" + unknown + "/members", instructorToken, null).statusCode());
+    }
+
+    @Test
+    void testMalformedEscapeIsABadRequest() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/login", null, "username=%zz&password=x");
+        assertEquals(400, response.statusCode(), "A malformed escape should be rejected, not drop the connection.");
+        assertTrue(response.body().contains("\"error\""), "The error should be reported as JSON.");
+    }
+
+    @Test
+    void testLogoutEndsSession() throws Exception {
+        String token = login("apiStudent", "studentPass");
+        assertEquals(200, send("POST", "/api/logout", token, "").statusCode(), "Logout should succeed.");
+        assertEquals(401, send("GET", "/api/groups", token, null).statusCode(), "Token should not work after logout.");
+    }
+
+    private String login(String username, String password) throws Exception {
+        HttpResponse<String> response = send("POST", "/api/login", null, "username=" + username + "&password=" + password);
+        assertEquals(200, response.statusCode(), "Login should succeed.");
+        String body = response.body();
+        int start = body.indexOf("\"token\":\"") + "\"token\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private static long articleId(String json) {
+        int start = json.indexOf("\"id\":") + "\"id\":".length();
+        int end = start;
+        while (Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(json.substring(start, end));
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String form) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, form == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(form));
+        if (form != null) {
+            request.header("Content-Type", "application/x-www-form-urlencoded");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
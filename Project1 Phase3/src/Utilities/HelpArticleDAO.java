@@ -8,6 +8,7 @@ import models.User;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,8 +26,8 @@ import java.util.List;
  */
 public class HelpArticleDAO {
     private Connection connection;
-    private EncryptionUtils encryptionUtils;
     private GroupDAO groupDAO;
+    private final ChangeEventBus changes = ChangeEventBus.getInstance();
     
     /**
      * Constructs a HelpArticleDAO instance with a provided database connection.
@@ -34,7 +35,18 @@ public class HelpArticleDAO {
      * @param connection The database connection to use.
      */
     public HelpArticleDAO(Connection connection) {
+        this(connection, new GroupDAO(connection));
+    }
+
+    /**
+     * Constructs a HelpArticleDAO instance that reads group rights through a shared GroupDAO.
+     *
+     * @param connection The database connection to use.
+     * @param groupDAO   The GroupDAO over the same connection.
+     */
+    public HelpArticleDAO(Connection connection, GroupDAO groupDAO) {
         this.connection = connection;
+        this.groupDAO = groupDAO;
     }
 
     /**
@@ -44,179 +56,407 @@ public class HelpArticleDAO {
      * @throws SQLException If there is an error accessing the database.
      */
     public HelpArticleDAO() throws SQLException {
-        connection = DatabaseManager.getInstance().getConnection();
-        try {
-            encryptionUtils = new EncryptionUtils();
-            groupDAO = new GroupDAO();
-        } catch (Exception e) {
-            throw new SQLException("Initialization failed.", e);
-        }
+        this(DatabaseManager.getInstance().getConnection());
     }
     
     public void addHelpArticle(HelpArticle article) throws SQLException {
-        String insertSQL = "INSERT INTO HelpArticles (header, title, shortDescription, keywords, body, referenceLinks) VALUES (?, ?, ?, ?, ?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, article.getHeader());
-            pstmt.setString(2, article.getTitle());
-            pstmt.setString(3, article.getShortDescription());
-            pstmt.setString(4, String.join(",", article.getKeywords()));
-            pstmt.setString(5, article.getBody());
-            pstmt.setString(6, String.join(",", article.getReferenceLinks()));
-            pstmt.executeUpdate();
-
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    article.setId(rs.getLong(1));
+        DaoMetrics.run("HelpArticleDAO.addHelpArticle", () -> {
+            String insertSQL = "INSERT INTO HelpArticles (header, title, shortDescription, keywords, body, referenceLinks) VALUES (?, ?, ?, ?, ?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, article.getHeader());
+                pstmt.setString(2, article.getTitle());
+                pstmt.setString(3, article.getShortDescription());
+                pstmt.setString(4, String.join(",", article.getKeywords()));
+                pstmt.setString(5, article.getBody());
+                pstmt.setString(6, String.join(",", article.getReferenceLinks()));
+                pstmt.executeUpdate();
+
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        article.setId(rs.getLong(1));
+                    }
                 }
+                article.setVersion(1);
             }
-        }
+            changes.publish(ChangeEvent.Type.ARTICLE_ADDED, article.getId(), 0, null);
+        });
+    }
+
+    /**
+     * Inserts a batch of help articles in a single round trip and sets their generated IDs.
+     *
+     * @param articles The articles to insert.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void addHelpArticles(List<HelpArticle> articles) throws SQLException {
+        DaoMetrics.run("HelpArticleDAO.addHelpArticles", () -> {
+            if (articles.isEmpty()) {
+                return;
+            }
+            String insertSQL = "INSERT INTO HelpArticles (header, title, shortDescription, keywords, body, referenceLinks) VALUES (?, ?, ?, ?, ?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (HelpArticle article : articles) {
+                    setArticleColumns(pstmt, article);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    for (HelpArticle article : articles) {
+                        if (!rs.next()) {
+                            throw new SQLException("No generated key returned for a batched article.");
+                        }
+                        article.setId(rs.getLong(1));
+                        article.setVersion(1);
+                    }
+                }
+            }
+            for (HelpArticle article : articles) {
+                changes.publish(ChangeEvent.Type.ARTICLE_ADDED, article.getId(), 0, null);
+            }
+        });
     }
 
     public List<HelpArticle> getAllHelpArticles(User user) throws SQLException {
-        List<HelpArticle> articles = new ArrayList<>();
-        String query = "SELECT DISTINCT ha.* FROM HelpArticles ha " +
-                "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
-                "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
-                "WHERE gm.username = ? OR ag.group_id IS NULL";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, user.getUsername());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    HelpArticle article = new HelpArticle();
-                    article.setId(rs.getLong("id"));
-                    article.setHeader(rs.getString("header"));
-                    article.setTitle(rs.getString("title"));
-                    article.setShortDescription(rs.getString("shortDescription"));
-                    article.setKeywords(parseList(rs.getString("keywords")));
-                    article.setBody(rs.getString("body"));
-                    article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
-                    articles.add(article);
+        return DaoMetrics.call("HelpArticleDAO.getAllHelpArticles", () -> {
+            List<HelpArticle> articles = new ArrayList<>();
+            String query = "SELECT DISTINCT ha.* FROM HelpArticles ha " +
+                    "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
+                    "WHERE gm.username = ? OR ag.group_id IS NULL";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, user.getUsername());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        article.setBody(rs.getString("body"));
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        articles.add(article);
+                    }
                 }
             }
-        }
-        return articles;
+            return articles;
+        });
     }
 
-    public HelpArticle getHelpArticleById(long articleId, User user) throws SQLException {
-        String query = "SELECT ha.* FROM HelpArticles ha " +
-                "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
-                "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
-                "WHERE ha.id = ? AND (gm.username = ? OR ag.group_id IS NULL)";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, articleId);
-            pstmt.setString(2, user.getUsername());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    HelpArticle article = new HelpArticle();
-                    article.setId(rs.getLong("id"));
-                    article.setHeader(rs.getString("header"));
-                    article.setTitle(rs.getString("title"));
-                    article.setShortDescription(rs.getString("shortDescription"));
-                    article.setKeywords(parseList(rs.getString("keywords")));
-                    article.setBody(rs.getString("body"));
-                    article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
-                    return article;
+    /**
+     * Returns the ids of the articles a user can see, in id order, without reading the articles. A view
+     * pages through them with {@link #getHelpArticlesInRange}.
+     *
+     * @param user The user viewing the articles.
+     * @return The ids, ascending.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<Long> getHelpArticleIds(User user) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getHelpArticleIds", () -> {
+            List<Long> ids = new ArrayList<>();
+            String query = "SELECT DISTINCT ha.id FROM HelpArticles ha " +
+                    "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
+                    "WHERE gm.username = ? OR ag.group_id IS NULL " +
+                    "ORDER BY ha.id";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, user.getUsername());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
                 }
             }
-        }
-        return null;
+            return ids;
+        });
     }
 
-    public void associateArticleWithGroup(long articleId, long groupId) throws SQLException {
-        String insertSQL = "INSERT INTO ArticleGroups (article_id, group_id) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, articleId);
-            pstmt.setLong(2, groupId);
-            pstmt.executeUpdate();
-        }
+    /**
+     * Returns the articles a user can see with ids from one id to another, in id order. The range is
+     * found by key on the primary key index, so a page costs the same wherever it is.
+     *
+     * @param user    The user viewing the articles.
+     * @param firstId The lowest id, inclusive.
+     * @param lastId  The highest id, inclusive.
+     * @return The articles, ascending by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<HelpArticle> getHelpArticlesInRange(User user, long firstId, long lastId) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getHelpArticlesInRange", () -> {
+            List<HelpArticle> articles = new ArrayList<>();
+            String query = "SELECT DISTINCT ha.* FROM HelpArticles ha " +
+                    "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
+                    "WHERE ha.id BETWEEN ? AND ? AND (gm.username = ? OR ag.group_id IS NULL) " +
+                    "ORDER BY ha.id";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, firstId);
+                pstmt.setLong(2, lastId);
+                pstmt.setString(3, user.getUsername());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        article.setBody(rs.getString("body"));
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        articles.add(article);
+                    }
+                }
+            }
+            return articles;
+        });
     }
 
-    public List<HelpArticle> getArticlesByGroup(long groupId) throws SQLException {
-        List<HelpArticle> articles = new ArrayList<>();
-        String query = "SELECT ha.* FROM HelpArticles ha " +
-                "JOIN ArticleGroups ag ON ha.id = ag.article_id " +
-                "WHERE ag.group_id = ?";
-
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    HelpArticle article = new HelpArticle();
-                    article.setId(rs.getLong("id"));
-                    article.setHeader(rs.getString("header"));
-                    article.setTitle(rs.getString("title"));
-                    article.setShortDescription(rs.getString("shortDescription"));
-                    article.setKeywords(parseList(rs.getString("keywords")));
-                    article.setBody(rs.getString("body"));
-                    articles.add(article);
+    public HelpArticle getHelpArticleById(long articleId, User user) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getHelpArticleById", () -> {
+            String query = "SELECT ha.* FROM HelpArticles ha " +
+                    "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
+                    "WHERE ha.id = ? AND (gm.username = ? OR ag.group_id IS NULL)";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, articleId);
+                pstmt.setString(2, user.getUsername());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        article.setBody(rs.getString("body"));
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        return article;
+                    }
                 }
             }
-        }
-        return articles;
+            return null;
+        });
     }
-    
-    public List<HelpArticle> searchHelpArticles(User user, String query, String contentLevel, String groupName) throws SQLException {
-        List<HelpArticle> articles = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT DISTINCT ha.* FROM HelpArticles ha ");
 
-        if (groupName != null && !groupName.equalsIgnoreCase("all")) {
-            sql.append("JOIN ArticleGroups ag ON ha.id = ag.article_id ");
-            sql.append("JOIN Groups g ON ag.group_id = g.id ");
-            sql.append("JOIN GroupMembers gm ON ag.group_id = gm.group_id ");
-        }
+    /**
+     * Retrieves a help article only if it changed since the version the caller already holds.
+     * An unchanged article costs one small row: its body is not read.
+     *
+     * @param articleId    The ID of the help article.
+     * @param user         The user reading the article, whose group memberships decide visibility.
+     * @param knownVersion The version the caller holds, or 0 to always read the article.
+     * @return The article and its version, with a null article if it is unchanged; or null if the
+     *         article does not exist or is not visible to the user.
+     * @throws SQLException If a database access error occurs.
+     */
+    public Versioned<HelpArticle> getHelpArticleIfModified(long articleId, User user, long knownVersion) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getHelpArticleIfModified", () -> {
+            String versionQuery = "SELECT ha.version FROM HelpArticles ha " +
+                    "LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id " +
+                    "WHERE ha.id = ? AND (gm.username = ? OR ag.group_id IS NULL)";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(versionQuery)) {
+                pstmt.setLong(1, articleId);
+                pstmt.setString(2, user.getUsername());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    long version = rs.getLong("version");
+                    if (version == knownVersion) {
+                        return new Versioned<>(null, version);
+                    }
+                }
+            }
+            HelpArticle article = getHelpArticleById(articleId, user);
+            return article == null ? null : new Versioned<>(article, article.getVersion());
+        });
+    }
 
-        sql.append("WHERE (");
+    /**
+     * Retrieves the current version of a help article.
+     *
+     * @param articleId The ID of the help article.
+     * @return The article's version, or -1 if it does not exist.
+     * @throws SQLException If a database access error occurs.
+     */
+    public long getHelpArticleVersion(long articleId) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getHelpArticleVersion", () -> {
+            String query = "SELECT version FROM HelpArticles WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, articleId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getLong("version") : -1;
+                }
+            }
+        });
+    }
 
-        if (groupName != null && !groupName.equalsIgnoreCase("all")) {
-            sql.append("gm.username = ? ");
-        } else {
-            sql.append("ag.group_id IS NULL ");
-        }
+    public void associateArticleWithGroup(long articleId, long groupId) throws SQLException {
+        DaoMetrics.run("HelpArticleDAO.associateArticleWithGroup", () -> {
+            String insertSQL = "INSERT INTO ArticleGroups (article_id, group_id) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, articleId);
+                pstmt.setLong(2, groupId);
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.ARTICLE_LINKED, articleId, groupId, null);
+        });
+    }
 
-        sql.append(")");
+    /**
+     * Links a batch of help articles to a group in a single round trip.
+     *
+     * @param groupId    The ID of the group.
+     * @param articleIds The IDs of the articles to link.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void associateArticlesWithGroup(long groupId, Collection<Long> articleIds) throws SQLException {
+        DaoMetrics.run("HelpArticleDAO.associateArticlesWithGroup", () -> {
+            if (articleIds.isEmpty()) {
+                return;
+            }
+            String insertSQL = "INSERT INTO ArticleGroups (article_id, group_id) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                for (long articleId : articleIds) {
+                    pstmt.setLong(1, articleId);
+                    pstmt.setLong(2, groupId);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            for (long articleId : articleIds) {
+                changes.publish(ChangeEvent.Type.ARTICLE_LINKED, articleId, groupId, null);
+            }
+        });
+    }
 
-        if (contentLevel != null && !contentLevel.equalsIgnoreCase("all")) {
-            sql.append(" AND ha.contentLevel = ? ");
-        }
+    public List<HelpArticle> getArticlesByGroup(long groupId) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.getArticlesByGroup", () -> {
+            List<HelpArticle> articles = new ArrayList<>();
+            String query = "SELECT ha.* FROM HelpArticles ha " +
+                    "JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                    "WHERE ag.group_id = ?";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        article.setBody(rs.getString("body"));
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        articles.add(article);
+                    }
+                }
+            }
+            return articles;
+        });
+    }
+    
+    public List<HelpArticle> searchHelpArticles(User user, String query, String contentLevel, String groupName) throws SQLException {
+        return searchHelpArticles(user, query, contentLevel, groupName, null);
+    }
 
-        if (query != null && !query.isEmpty()) {
-            sql.append(" AND (ha.title LIKE ? OR ha.body LIKE ?) ");
-        }
+    /**
+     * Searches article titles and bodies, optionally within one of the user's groups and at one content
+     * level. With the group "all", the search covers public articles and those of every group the user
+     * belongs to. The search can be stopped from another thread through the given cancellation, which
+     * is checked before the query runs and between rows.
+     *
+     * @param user         The user searching.
+     * @param query        The text to look for, or null or empty to match everything.
+     * @param contentLevel The content level, or "all".
+     * @param groupName    The group to search in, or "all".
+     * @param cancellation Stops the search when cancelled, or null.
+     * @return The matching articles.
+     * @throws SQLException If a database access error occurs or the search was cancelled.
+     */
+    public List<HelpArticle> searchHelpArticles(User user, String query, String contentLevel, String groupName,
+                                                QueryCancellation cancellation) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.searchHelpArticles(User,String,String,String)", () -> {
+            SearchEvent search = new SearchEvent();
+            search.begin();
+            long prepareStart = System.nanoTime();
+            List<HelpArticle> articles = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("SELECT DISTINCT ha.* FROM HelpArticles ha ");
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
-            int paramIndex = 1;
             if (groupName != null && !groupName.equalsIgnoreCase("all")) {
-                pstmt.setString(paramIndex++, user.getUsername());
+                sql.append("JOIN ArticleGroups ag ON ha.id = ag.article_id ");
+                sql.append("JOIN Groups g ON ag.group_id = g.id ");
+                sql.append("JOIN GroupMembers gm ON ag.group_id = gm.group_id ");
+                sql.append("WHERE (gm.username = ? AND g.name = ?)");
+            } else {
+                sql.append("LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id ");
+                sql.append("WHERE (ag.group_id IS NULL OR ag.group_id IN (SELECT group_id FROM GroupMembers WHERE username = ?))");
             }
 
             if (contentLevel != null && !contentLevel.equalsIgnoreCase("all")) {
-                pstmt.setString(paramIndex++, contentLevel.toLowerCase());
+                sql.append(" AND ha.contentLevel = ? ");
             }
 
             if (query != null && !query.isEmpty()) {
-                String likeQuery = "%" + query + "%";
-                pstmt.setString(paramIndex++, likeQuery);
-                pstmt.setString(paramIndex++, likeQuery);
-            }
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    HelpArticle article = new HelpArticle();
-                    article.setId(rs.getLong("id"));
-                    article.setHeader(rs.getString("header"));
-                    article.setTitle(rs.getString("title"));
-                    article.setShortDescription(rs.getString("shortDescription"));
-                    article.setKeywords(parseList(rs.getString("keywords")));
-                    article.setBody(rs.getString("body"));
-                    article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
-                    articles.add(article);
+                sql.append(" AND (ha.title LIKE ? OR ha.body LIKE ?) ");
+            }
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+                int paramIndex = 1;
+                pstmt.setString(paramIndex++, user.getUsername());
+                if (groupName != null && !groupName.equalsIgnoreCase("all")) {
+                    pstmt.setString(paramIndex++, groupName);
+                }
+
+                if (contentLevel != null && !contentLevel.equalsIgnoreCase("all")) {
+                    pstmt.setString(paramIndex++, contentLevel.toLowerCase());
+                }
+
+                if (query != null && !query.isEmpty()) {
+                    String likeQuery = "%" + query + "%";
+                    pstmt.setString(paramIndex++, likeQuery);
+                    pstmt.setString(paramIndex++, likeQuery);
+                }
+
+                if (cancellation != null) {
+                    cancellation.throwIfCancelled();
+                }
+                long executeStart = System.nanoTime();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    long readStart = System.nanoTime();
+                    while (rs.next()) {
+                        if (cancellation != null) {
+                            cancellation.throwIfCancelled();
+                        }
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        article.setBody(rs.getString("body"));
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        articles.add(article);
+                    }
+                    search.finish(query, contentLevel, groupName, articles.size(),
+                            executeStart - prepareStart, readStart - executeStart, System.nanoTime() - readStart);
                 }
             }
-        }
 
-        return articles;
+            return articles;
+        });
     }
 
     private List<String> parseList(String str) {
@@ -233,23 +473,59 @@ public class HelpArticleDAO {
 
     
     /**
-     * Updates an existing help article in the database.
+     * Updates an existing help article in the database, whatever its current version, and increments
+     * its version. The article's version is set to the new one.
      *
      * @param article The HelpArticle object with updated information.
      * @throws SQLException If a database access error occurs.
      */
     public void updateHelpArticle(HelpArticle article) throws SQLException {
-        String updateSQL = "UPDATE HelpArticles SET header = ?, title = ?, shortDescription = ?, keywords = ?, body = ?, referenceLinks = ? WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
-            pstmt.setString(1, article.getHeader());
-            pstmt.setString(2, article.getTitle());
-            pstmt.setString(3, article.getShortDescription());
-            pstmt.setString(4, String.join(",", article.getKeywords()));
-            pstmt.setString(5, article.getBody());
-            pstmt.setString(6, String.join(",", article.getReferenceLinks()));
-            pstmt.setLong(7, article.getId());
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.updateHelpArticle(HelpArticle)", () -> {
+            String updateSQL = "UPDATE HelpArticles SET header = ?, title = ?, shortDescription = ?, keywords = ?, body = ?, referenceLinks = ?, version = version + 1 WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+                setArticleColumns(pstmt, article);
+                pstmt.setLong(7, article.getId());
+                if (pstmt.executeUpdate() > 0) {
+                    article.setVersion(getHelpArticleVersion(article.getId()));
+                    changes.publish(ChangeEvent.Type.ARTICLE_UPDATED, article.getId(), 0, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Updates a help article only if nobody has changed it since it was read, and increments its version.
+     *
+     * @param article         The HelpArticle object with updated information.
+     * @param expectedVersion The version the article had when it was read.
+     * @return True if the article was updated; false if it was changed or deleted in the meantime,
+     *         in which case nothing is written and the article's version is left as it was.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean updateHelpArticle(HelpArticle article, long expectedVersion) throws SQLException {
+        return DaoMetrics.call("HelpArticleDAO.updateHelpArticle(HelpArticle,long)", () -> {
+            String updateSQL = "UPDATE HelpArticles SET header = ?, title = ?, shortDescription = ?, keywords = ?, body = ?, referenceLinks = ?, version = version + 1 WHERE id = ? AND version = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+                setArticleColumns(pstmt, article);
+                pstmt.setLong(7, article.getId());
+                pstmt.setLong(8, expectedVersion);
+                if (pstmt.executeUpdate() == 0) {
+                    return false;
+                }
+                article.setVersion(expectedVersion + 1);
+                changes.publish(ChangeEvent.Type.ARTICLE_UPDATED, article.getId(), 0, null);
+                return true;
+            }
+        });
+    }
+
+    private void setArticleColumns(PreparedStatement pstmt, HelpArticle article) throws SQLException {
+        pstmt.setString(1, article.getHeader());
+        pstmt.setString(2, article.getTitle());
+        pstmt.setString(3, article.getShortDescription());
+        pstmt.setString(4, String.join(",", article.getKeywords()));
+        pstmt.setString(5, article.getBody());
+        pstmt.setString(6, String.join(",", article.getReferenceLinks()));
     }
 
     /**
@@ -259,11 +535,15 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void deleteHelpArticle(long articleId) throws SQLException {
-        String deleteSQL = "DELETE FROM HelpArticles WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, articleId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.deleteHelpArticle", () -> {
+            String deleteSQL = "DELETE FROM HelpArticles WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, articleId);
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.ARTICLE_DELETED, articleId, 0, null);
+                }
+            }
+        });
     }
 
     /**
@@ -272,10 +552,13 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void deleteAllHelpArticles() throws SQLException {
-        String deleteSQL = "DELETE FROM HelpArticles;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.deleteAllHelpArticles", () -> {
+            String deleteSQL = "DELETE FROM HelpArticles;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.ALL_ARTICLES_DELETED, 0, 0, null);
+        });
     }
 
     /**
@@ -286,12 +569,16 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void dissociateArticleFromGroup(long articleId, long groupId) throws SQLException {
-        String deleteAssociationSQL = "DELETE FROM ArticleGroups WHERE article_id = ? AND group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteAssociationSQL)) {
-            pstmt.setLong(1, articleId);
-            pstmt.setLong(2, groupId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.dissociateArticleFromGroup", () -> {
+            String deleteAssociationSQL = "DELETE FROM ArticleGroups WHERE article_id = ? AND group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteAssociationSQL)) {
+                pstmt.setLong(1, articleId);
+                pstmt.setLong(2, groupId);
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.ARTICLE_UNLINKED, articleId, groupId, null);
+                }
+            }
+        });
     }
 
     /**
@@ -310,22 +597,25 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public List<Group> getGroupsByArticleId(long articleId) throws SQLException {
-        List<Group> groups = new ArrayList<>();
-        String query = "SELECT g.* FROM Groups g " +
-                       "JOIN ArticleGroups ag ON g.id = ag.group_id " +
-                       "WHERE ag.article_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, articleId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Group group = new Group();
-                    group.setId(rs.getLong("id"));
-                    group.setName(rs.getString("name"));
-                    groups.add(group);
+        return DaoMetrics.call("HelpArticleDAO.getGroupsByArticleId", () -> {
+            List<Group> groups = new ArrayList<>();
+            String query = "SELECT g.* FROM Groups g " +
+                           "JOIN ArticleGroups ag ON g.id = ag.group_id " +
+                           "WHERE ag.article_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, articleId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Group group = new Group();
+                        group.setId(rs.getLong("id"));
+                        group.setName(rs.getString("name"));
+                        group.setVersion(rs.getLong("version"));
+                        groups.add(group);
+                    }
                 }
             }
-        }
-        return groups;
+            return groups;
+        });
     }
 
     /**
@@ -335,11 +625,14 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void clearAssociationsForGroup(long groupId) throws SQLException {
-        String deleteSQL = "DELETE FROM ArticleGroups WHERE group_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, groupId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.clearAssociationsForGroup", () -> {
+            String deleteSQL = "DELETE FROM ArticleGroups WHERE group_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, groupId);
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.LINKS_CLEARED, 0, groupId, null);
+        });
     }
 
     /**
@@ -349,11 +642,14 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void clearAssociationsForArticle(long articleId) throws SQLException {
-        String deleteSQL = "DELETE FROM ArticleGroups WHERE article_id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setLong(1, articleId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.clearAssociationsForArticle", () -> {
+            String deleteSQL = "DELETE FROM ArticleGroups WHERE article_id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setLong(1, articleId);
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.LINKS_CLEARED, articleId, 0, null);
+        });
     }
 
     /**
@@ -362,10 +658,13 @@ public class HelpArticleDAO {
      * @throws SQLException If a database access error occurs.
      */
     public void clearAllAssociations() throws SQLException {
-        String deleteSQL = "DELETE FROM ArticleGroups;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("HelpArticleDAO.clearAllAssociations", () -> {
+            String deleteSQL = "DELETE FROM ArticleGroups;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.LINKS_CLEARED, 0, 0, null);
+        });
     }
 
     /**
@@ -392,29 +691,33 @@ public class HelpArticleDAO {
 
     
     public boolean isSpecialAccessGroup(long groupId) throws SQLException {
-        String query = "SELECT isSpecialAccessGroup FROM Groups WHERE id = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, groupId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getBoolean("isSpecialAccessGroup");
+        return DaoMetrics.call("HelpArticleDAO.isSpecialAccessGroup", () -> {
+            String query = "SELECT isSpecialAccessGroup FROM Groups WHERE id = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getBoolean("isSpecialAccessGroup");
+                    }
                 }
             }
-        }
-        return false;
+            return false;
+        });
     }
     
     public Long getGroupIdByArticleId(long articleId) throws SQLException {
-        String query = "SELECT group_id FROM ArticleGroups WHERE article_id = ? LIMIT 1;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setLong(1, articleId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getLong("group_id");
+        return DaoMetrics.call("HelpArticleDAO.getGroupIdByArticleId", () -> {
+            String query = "SELECT group_id FROM ArticleGroups WHERE article_id = ? LIMIT 1;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, articleId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getLong("group_id");
+                    }
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     private boolean hasViewRights(long groupId, User user) throws SQLException {
@@ -436,41 +739,51 @@ public class HelpArticleDAO {
  
     
     public List<HelpArticle> searchHelpArticles(User user, String query, String groupName) throws SQLException {
-        List<HelpArticle> articles = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT DISTINCT ha.* FROM HelpArticles ha ");
-        sql.append("LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id ");
-        sql.append("LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id ");
-        sql.append("WHERE (ha.title LIKE ? OR ha.shortDescription LIKE ? OR ha.keywords LIKE ?) ");
-        sql.append("AND (ag.group_id IN (SELECT group_id FROM GroupMembers WHERE username = ?) OR ag.group_id IS NULL) ");
-
-        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
-            String likeQuery = "%" + query + "%";
-            pstmt.setString(1, likeQuery);
-            pstmt.setString(2, likeQuery);
-            pstmt.setString(3, likeQuery);
-            pstmt.setString(4, user.getUsername());
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    HelpArticle article = new HelpArticle();
-                    article.setId(rs.getLong("id"));
-                    article.setHeader(rs.getString("header"));
-                    article.setTitle(rs.getString("title"));
-                    article.setShortDescription(rs.getString("shortDescription"));
-                    article.setKeywords(Arrays.asList(rs.getString("keywords").split(",")));
-                    article.setBody(rs.getString("body"));
-                    String referenceLinksStr = rs.getString("referenceLinks");
-                    if (referenceLinksStr != null && !referenceLinksStr.isEmpty()) {
-                        article.setReferenceLinks(Arrays.asList(referenceLinksStr.split(",")));
-                    } else {
-                        article.setReferenceLinks(new ArrayList<>());
+        return DaoMetrics.call("HelpArticleDAO.searchHelpArticles(User,String,String)", () -> {
+            SearchEvent search = new SearchEvent();
+            search.begin();
+            long prepareStart = System.nanoTime();
+            List<HelpArticle> articles = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("SELECT DISTINCT ha.* FROM HelpArticles ha ");
+            sql.append("LEFT JOIN ArticleGroups ag ON ha.id = ag.article_id ");
+            sql.append("LEFT JOIN GroupMembers gm ON ag.group_id = gm.group_id ");
+            sql.append("WHERE (ha.title LIKE ? OR ha.shortDescription LIKE ? OR ha.keywords LIKE ?) ");
+            sql.append("AND (ag.group_id IN (SELECT group_id FROM GroupMembers WHERE username = ?) OR ag.group_id IS NULL) ");
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+                String likeQuery = "%" + query + "%";
+                pstmt.setString(1, likeQuery);
+                pstmt.setString(2, likeQuery);
+                pstmt.setString(3, likeQuery);
+                pstmt.setString(4, user.getUsername());
+
+                long executeStart = System.nanoTime();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    long readStart = System.nanoTime();
+                    while (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(Arrays.asList(rs.getString("keywords").split(",")));
+                        article.setBody(rs.getString("body"));
+                        String referenceLinksStr = rs.getString("referenceLinks");
+                        if (referenceLinksStr != null && !referenceLinksStr.isEmpty()) {
+                            article.setReferenceLinks(Arrays.asList(referenceLinksStr.split(",")));
+                        } else {
+                            article.setReferenceLinks(new ArrayList<>());
+                        }
+                        articles.add(article);
                     }
-                    articles.add(article);
+                    search.finish(query, null, groupName, articles.size(),
+                            executeStart - prepareStart, readStart - executeStart, System.nanoTime() - readStart);
                 }
             }
-        }
 
-        return articles;
+            return articles;
+        });
     }
 
     /**
@@ -482,12 +795,43 @@ public class HelpArticleDAO {
         return connection;
     }
 
+    /**
+     * Retrieves the articles linked to a group. The bodies of a special access group's articles are
+     * only included for a caller with view rights in the group.
+     *
+     * @param groupId       The ID of the group.
+     * @param hasViewRights Whether the caller may read the bodies of a special access group's articles.
+     * @return The group's articles.
+     * @throws SQLException If a database access error occurs.
+     */
     public List<HelpArticle> getArticlesByGroupId(long groupId, boolean hasViewRights) throws SQLException {
-        List<HelpArticle> articles = new ArrayList<>();
-        String query = "SELECT ha.*, g.isSpecialAccessGroup FROM HelpArticles ha " +
-                       "JOIN ArticleGroups ag ON ha.id = ag.article_id " +
-                       "JOIN Groups g ON ag.group_id = g.id " +
-                       "WHERE ag.group_id = ?;";
-        return articles;
+        return DaoMetrics.call("HelpArticleDAO.getArticlesByGroupId", () -> {
+            List<HelpArticle> articles = new ArrayList<>();
+            String query = "SELECT ha.*, g.isSpecialAccessGroup FROM HelpArticles ha " +
+                           "JOIN ArticleGroups ag ON ha.id = ag.article_id " +
+                           "JOIN Groups g ON ag.group_id = g.id " +
+                           "WHERE ag.group_id = ?;";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setLong(1, groupId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        HelpArticle article = new HelpArticle();
+                        article.setId(rs.getLong("id"));
+                        article.setVersion(rs.getLong("version"));
+                        article.setHeader(rs.getString("header"));
+                        article.setTitle(rs.getString("title"));
+                        article.setShortDescription(rs.getString("shortDescription"));
+                        article.setKeywords(parseList(rs.getString("keywords")));
+                        if (hasViewRights || !rs.getBoolean("isSpecialAccessGroup")) {
+                            article.setBody(rs.getString("body"));
+                        }
+                        article.setReferenceLinks(parseList(rs.getString("referenceLinks")));
+                        articles.add(article);
+                    }
+                }
+            }
+            return articles;
+        });
     }
 }
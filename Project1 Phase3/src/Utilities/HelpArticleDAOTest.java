@@ -8,6 +8,7 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -180,4 +181,124 @@ class HelpArticleDAOTest {
         assertEquals(1, searchResults.size(), "There should be one search result for 'Guide'.");
         assertEquals("Writing Tests with JUnit", searchResults.get(0).getTitle(), "Title should match 'Writing Tests with JUnit'.");
     }
+
+    @Test
+    void testVersionsAndConditionalUpdate() throws SQLException {
+        HelpArticle article = new HelpArticle(0, "Header", "Title", "Short", Arrays.asList("k"), "Body", Arrays.asList("http://a.com"));
+        helpArticleDAO.addHelpArticle(article);
+        assertEquals(1, article.getVersion(), "New articles should start at version 1.");
+
+        HelpArticle stale = helpArticleDAO.getHelpArticleById(article.getId(), new User("testuser", "password"));
+        article.setTitle("First Edit");
+        helpArticleDAO.updateHelpArticle(article);
+        assertEquals(2, article.getVersion(), "Every update should increment the version.");
+
+        stale.setTitle("Lost Edit");
+        assertFalse(helpArticleDAO.updateHelpArticle(stale, stale.getVersion()), "An update from a stale read should be refused.");
+        assertTrue(helpArticleDAO.updateHelpArticle(article, article.getVersion()), "An update from a fresh read should succeed.");
+        assertEquals(3, helpArticleDAO.getHelpArticleVersion(article.getId()));
+    }
+
+    @Test
+    void testGetHelpArticleIfModified() throws SQLException {
+        HelpArticle article = new HelpArticle(0, "Header", "Title", "Short", Arrays.asList("k"), "Body", Arrays.asList("http://a.com"));
+        helpArticleDAO.addHelpArticle(article);
+        User user = new User("testuser", "password");
+
+        Versioned<HelpArticle> unchanged = helpArticleDAO.getHelpArticleIfModified(article.getId(), user, 1);
+        assertFalse(unchanged.isModified(), "An unchanged article should not be read.");
+        assertEquals(1, unchanged.version());
+
+        helpArticleDAO.updateHelpArticle(article);
+        Versioned<HelpArticle> changed = helpArticleDAO.getHelpArticleIfModified(article.getId(), user, 1);
+        assertTrue(changed.isModified(), "A changed article should be read.");
+        assertEquals("Body", changed.value().getBody());
+        assertEquals(2, changed.version());
+
+        assertNull(helpArticleDAO.getHelpArticleIfModified(999999, user, 1), "Missing articles should return null.");
+    }
+
+    @Test
+    void testBatchInsertAndLink() throws SQLException {
+        List<HelpArticle> articles = List.of(
+                new HelpArticle(0, "H1", "Batch One", "S", Arrays.asList("k"), "Body", Arrays.asList()),
+                new HelpArticle(0, "H2", "Batch Two", "S", Arrays.asList("k"), "Body", Arrays.asList()));
+        helpArticleDAO.addHelpArticles(articles);
+        assertTrue(articles.get(0).getId() > 0 && articles.get(1).getId() > articles.get(0).getId(),
+                "Every batched article should get its own generated ID.");
+        assertEquals(1, articles.get(1).getVersion());
+
+        long groupId = new GroupDAO().getGroupByName("TestGroup").getId();
+        helpArticleDAO.associateArticlesWithGroup(groupId, List.of(articles.get(0).getId(), articles.get(1).getId()));
+        assertEquals(2, helpArticleDAO.getArticlesByGroup(groupId).size(), "Both articles should be linked to the group.");
+    }
+
+    @Test
+    void testGetArticlesByGroupIdHidesSpecialBodiesWithoutRights() throws SQLException {
+        GroupDAO groupDAO = new GroupDAO();
+        groupDAO.createGroup("Special", true);
+        long openId = groupDAO.getGroupByName("TestGroup").getId();
+        long specialId = groupDAO.getGroupByName("Special").getId();
+        HelpArticle open = new HelpArticle(0, "H", "Open", "S", Arrays.asList("k"), "Open body", Arrays.asList());
+        HelpArticle secret = new HelpArticle(0, "H", "Secret", "S", Arrays.asList("k"), "Secret body", Arrays.asList());
+        helpArticleDAO.addHelpArticles(List.of(open, secret));
+        helpArticleDAO.associateArticleWithGroup(open.getId(), openId);
+        helpArticleDAO.associateArticleWithGroup(secret.getId(), specialId);
+
+        List<HelpArticle> openArticles = helpArticleDAO.getArticlesByGroupId(openId, false);
+        assertEquals(1, openArticles.size(), "The group's articles should be returned.");
+        assertEquals("Open body", openArticles.get(0).getBody());
+
+        List<HelpArticle> hidden = helpArticleDAO.getArticlesByGroupId(specialId, false);
+        assertEquals("Secret", hidden.get(0).getTitle());
+        assertNull(hidden.get(0).getBody(), "Special bodies should be left out without view rights.");
+        assertEquals("Secret body", helpArticleDAO.getArticlesByGroupId(specialId, true).get(0).getBody());
+    }
+
+    @Test
+    void testSearchByGroupAndCancel() throws SQLException {
+        HelpArticle open = new HelpArticle(0, "H", "Public Guide", "S", Arrays.asList("k"), "Body", Arrays.asList());
+        HelpArticle grouped = new HelpArticle(0, "H", "Group Guide", "S", Arrays.asList("k"), "Body", Arrays.asList());
+        helpArticleDAO.addHelpArticles(List.of(open, grouped));
+        GroupDAO groupDAO = new GroupDAO();
+        long groupId = groupDAO.getGroupByName("TestGroup").getId();
+        helpArticleDAO.associateArticleWithGroup(grouped.getId(), groupId);
+        User user = new User("testuser", "password");
+
+        assertEquals(1, helpArticleDAO.searchHelpArticles(user, "Guide", "all", "all").size(),
+                "Outside the group, only the public article should be found.");
+        groupDAO.addStudentToGroup(groupId, "testuser");
+        assertEquals(2, helpArticleDAO.searchHelpArticles(user, "Guide", "all", "all").size(),
+                "Searching all groups should include the articles of the user's groups.");
+        List<HelpArticle> inGroup = helpArticleDAO.searchHelpArticles(user, "Guide", "all", "TestGroup");
+        assertEquals(1, inGroup.size());
+        assertEquals("Group Guide", inGroup.get(0).getTitle());
+
+        QueryCancellation cancellation = new QueryCancellation();
+        cancellation.cancel();
+        SQLException e = assertThrows(SQLException.class,
+                () -> helpArticleDAO.searchHelpArticles(user, "Guide", "all", "all", cancellation));
+        assertTrue(QueryCancellation.isCancellation(e), "A cancelled search should report the cancelled SQL state.");
+    }
+
+    @Test
+    void testPageArticlesByIdRange() throws SQLException {
+        List<HelpArticle> articles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            articles.add(new HelpArticle(0, "H", "Page Guide " + i, "S", Arrays.asList("k"), "Body", Arrays.asList()));
+        }
+        helpArticleDAO.addHelpArticles(articles);
+        long hiddenGroupId = new GroupDAO().getGroupByName("TestGroup").getId();
+        helpArticleDAO.associateArticleWithGroup(articles.get(2).getId(), hiddenGroupId);
+        User user = new User("testuser", "password");
+
+        List<Long> ids = helpArticleDAO.getHelpArticleIds(user);
+        assertEquals(List.of(articles.get(0).getId(), articles.get(1).getId(), articles.get(3).getId(),
+                articles.get(4).getId()), ids, "Ids should be ascending and leave out articles of other groups.");
+
+        List<HelpArticle> page = helpArticleDAO.getHelpArticlesInRange(user, ids.get(1), ids.get(2));
+        assertEquals(2, page.size(), "The range should skip the article the user cannot see.");
+        assertEquals("Page Guide 1", page.get(0).getTitle());
+        assertEquals("Page Guide 3", page.get(1).getTitle());
+    }
 }
@@ -0,0 +1,276 @@
+package Utilities;
+
+import models.Group;
+import models.HelpArticle;
+import models.SearchRequest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p> Title: JsonCodec Class </p>
+ *
+ * <p> Description: Reads and writes {@link HelpArticle}, {@link Group} and {@link SearchRequest} as
+ * JSON, field by field and without reflection, on top of {@link JsonWriter} and {@link JsonReader}.
+ * Members the reader does not recognise are skipped, so documents from newer versions still load. </p>
+ *
+ * <p> The field names are:
+ * <ul>
+ *   <li> article: {@code id}, {@code version}, {@code header}, {@code title}, {@code shortDescription}, {@code keywords},
+ *        {@code body}, {@code referenceLinks} </li>
+ *   <li> group: {@code id}, {@code version}, {@code name}, {@code specialAccess} </li>
+ *   <li> search request: {@code username}, {@code query}, {@code timestamp} (ISO-8601 local date-time) </li>
+ * </ul>
+ * String lists are always written as arrays, empty when the model holds null. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class JsonCodec {
+    private JsonCodec() {
+    }
+
+    // Help articles
+
+    /**
+     * Writes an article.
+     *
+     * @param json        The writer to append to.
+     * @param article     The article to write.
+     * @param includeBody False to leave out the body and reference links, for listings.
+     */
+    public static void writeArticle(JsonWriter json, HelpArticle article, boolean includeBody) {
+        json.beginObject();
+        json.name("id").value(article.getId());
+        json.name("version").value(article.getVersion());
+        json.name("header").value(article.getHeader());
+        json.name("title").value(article.getTitle());
+        json.name("shortDescription").value(article.getShortDescription());
+        writeStrings(json.name("keywords"), article.getKeywords());
+        if (includeBody) {
+            json.name("body").value(article.getBody());
+            writeStrings(json.name("referenceLinks"), article.getReferenceLinks());
+        }
+        json.endObject();
+    }
+
+    /**
+     * Writes a list of articles as an array.
+     *
+     * @param json        The writer to append to.
+     * @param articles    The articles to write.
+     * @param includeBody False to leave out the bodies and reference links, for listings.
+     */
+    public static void writeArticles(JsonWriter json, List<HelpArticle> articles, boolean includeBody) {
+        json.beginArray();
+        for (HelpArticle article : articles) {
+            writeArticle(json, article, includeBody);
+        }
+        json.endArray();
+    }
+
+    /**
+     * Reads an article.
+     *
+     * @param json The reader positioned at the article object.
+     * @return The article.
+     * @throws IOException If the input is malformed.
+     */
+    public static HelpArticle readArticle(JsonReader json) throws IOException {
+        HelpArticle article = new HelpArticle();
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> article.setId(json.nextLong());
+                case "version" -> article.setVersion(json.nextLong());
+                case "header" -> article.setHeader(json.nextString());
+                case "title" -> article.setTitle(json.nextString());
+                case "shortDescription" -> article.setShortDescription(json.nextString());
+                case "keywords" -> article.setKeywords(readStrings(json));
+                case "body" -> article.setBody(json.nextString());
+                case "referenceLinks" -> article.setReferenceLinks(readStrings(json));
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        return article;
+    }
+
+    /**
+     * Reads an array of articles.
+     *
+     * @param json The reader positioned at the array.
+     * @return The articles.
+     * @throws IOException If the input is malformed.
+     */
+    public static List<HelpArticle> readArticles(JsonReader json) throws IOException {
+        List<HelpArticle> articles = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            articles.add(readArticle(json));
+        }
+        json.endArray();
+        return articles;
+    }
+
+    // Groups
+
+    /**
+     * Writes a group.
+     *
+     * @param json  The writer to append to.
+     * @param group The group to write.
+     */
+    public static void writeGroup(JsonWriter json, Group group) {
+        json.beginObject();
+        json.name("id").value(group.getId());
+        json.name("version").value(group.getVersion());
+        json.name("name").value(group.getName());
+        json.name("specialAccess").value(group.isSpecialAccessGroup());
+        json.endObject();
+    }
+
+    /**
+     * Reads a group.
+     *
+     * @param json The reader positioned at the group object.
+     * @return The group.
+     * @throws IOException If the input is malformed.
+     */
+    public static Group readGroup(JsonReader json) throws IOException {
+        Group group = new Group();
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> group.setId(json.nextLong());
+                case "version" -> group.setVersion(json.nextLong());
+                case "name" -> group.setName(json.nextString());
+                case "specialAccess" -> group.setSpecialAccessGroup(json.nextBoolean());
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        return group;
+    }
+
+    /**
+     * Reads an array of groups.
+     *
+     * @param json The reader positioned at the array.
+     * @return The groups.
+     * @throws IOException If the input is malformed.
+     */
+    public static List<Group> readGroups(JsonReader json) throws IOException {
+        List<Group> groups = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            groups.add(readGroup(json));
+        }
+        json.endArray();
+        return groups;
+    }
+
+    // Search requests
+
+    /**
+     * Writes a search request.
+     *
+     * @param json    The writer to append to.
+     * @param request The search request to write.
+     */
+    public static void writeSearchRequest(JsonWriter json, SearchRequest request) {
+        json.beginObject();
+        json.name("username").value(request.getUsername());
+        json.name("query").value(request.getQuery());
+        json.name("timestamp").value(request.getTimestamp() == null ? null : request.getTimestamp().toString());
+        json.endObject();
+    }
+
+    /**
+     * Writes a list of search requests as an array.
+     *
+     * @param json     The writer to append to.
+     * @param requests The search requests to write.
+     */
+    public static void writeSearchRequests(JsonWriter json, List<SearchRequest> requests) {
+        json.beginArray();
+        for (SearchRequest request : requests) {
+            writeSearchRequest(json, request);
+        }
+        json.endArray();
+    }
+
+    /**
+     * Reads a search request.
+     *
+     * @param json The reader positioned at the search request object.
+     * @return The search request.
+     * @throws IOException If the input is malformed or the timestamp cannot be parsed.
+     */
+    public static SearchRequest readSearchRequest(JsonReader json) throws IOException {
+        SearchRequest request = new SearchRequest(null, null, null);
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "username" -> request.setUsername(json.nextString());
+                case "query" -> request.setQuery(json.nextString());
+                case "timestamp" -> {
+                    String timestamp = json.nextString();
+                    try {
+                        request.setTimestamp(timestamp == null ? null : LocalDateTime.parse(timestamp));
+                    } catch (DateTimeParseException e) {
+                        throw new IOException("Invalid timestamp: " + timestamp, e);
+                    }
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        return request;
+    }
+
+    /**
+     * Reads an array of search requests.
+     *
+     * @param json The reader positioned at the array.
+     * @return The search requests.
+     * @throws IOException If the input is malformed.
+     */
+    public static List<SearchRequest> readSearchRequests(JsonReader json) throws IOException {
+        List<SearchRequest> requests = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            requests.add(readSearchRequest(json));
+        }
+        json.endArray();
+        return requests;
+    }
+
+    // Helpers
+
+    private static void writeStrings(JsonWriter json, List<String> values) {
+        json.beginArray();
+        if (values != null) {
+            for (String value : values) {
+                json.value(value);
+            }
+        }
+        json.endArray();
+    }
+
+    private static List<String> readStrings(JsonReader json) throws IOException {
+        if (json.peek() == JsonReader.Token.NULL) {
+            json.nextNull();
+            return new ArrayList<>();
+        }
+        List<String> values = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            values.add(json.nextString());
+        }
+        json.endArray();
+        return values;
+    }
+}
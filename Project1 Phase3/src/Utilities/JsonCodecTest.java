@@ -0,0 +1,122 @@
+// src/test/java/Utilities/JsonCodecTest.java
+package Utilities;
+
+import models.Group;
+import models.HelpArticle;
+import models.SearchRequest;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTest {
+    private final JsonWriter json = new JsonWriter(16);
+
+    private static JsonReader reader(String document) {
+        return new JsonReader(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testArticleRoundTrip() throws IOException {
+        String body = "Line one\nSays \"hi\" \\ tab\t bell\u0007 caf\u00e9 \u20ac \ud83d\ude00";
+        HelpArticle article = new HelpArticle(7, "Header", "Title", "Short", List.of("java", "eclipse"), body,
+                List.of("https://example.com/a?b=c&d=e"));
+        JsonCodec.writeArticles(json, List.of(article, article), true);
+
+        List<HelpArticle> read = JsonCodec.readArticles(new JsonReader(json.toByteArray()));
+        assertEquals(2, read.size(), "Both articles should be read back.");
+        HelpArticle copy = read.get(1);
+        assertEquals(7, copy.getId());
+        assertEquals("Title", copy.getTitle());
+        assertEquals(body, copy.getBody(), "Escaped and multi-byte characters should survive.");
+        assertEquals(List.of("java", "eclipse"), copy.getKeywords());
+        assertEquals(List.of("https://example.com/a?b=c&d=e"), copy.getReferenceLinks());
+    }
+
+    @Test
+    void testEscaping() {
+        json.value("a\"b\\c\n\u0001\ud800");
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\ufffd\"", json.toString(), "Lone surrogates become U+FFFD.");
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\ufffd\"".getBytes(StandardCharsets.UTF_8).length, json.size());
+    }
+
+    @Test
+    void testLargeStringGrowsBufferWithWrittenBytes() {
+        String body = "a".repeat(180_000);
+        json.value(body);
+        assertEquals(180_002, json.size());
+        assertTrue(json.capacity() < HelpApiServer.MAX_POOLED_WRITER_BYTES,
+                "Room for worst-case escapes should not be reserved for the whole string.");
+
+        // A surrogate pair and escapes across the boundary between chunks.
+        String mixed = "x".repeat(1023) + "\ud83d\ude00" + "\n".repeat(2000);
+        json.reset().value(mixed);
+        assertEquals("\"" + "x".repeat(1023) + "\ud83d\ude00" + "\\n".repeat(2000) + "\"", json.toString());
+    }
+
+    @Test
+    void testListingLeavesOutBody() {
+        HelpArticle article = new HelpArticle(1, "H", "T", "S", null, "secret", null);
+        JsonCodec.writeArticle(json, article, false);
+        assertEquals("{\"id\":1,\"version\":0,\"header\":\"H\",\"title\":\"T\",\"shortDescription\":\"S\",\"keywords\":[]}", json.toString());
+    }
+
+    @Test
+    void testGroupAndSearchRequestRoundTrip() throws IOException {
+        Group group = new Group(3, "Week 1");
+        group.setSpecialAccessGroup(true);
+        group.setVersion(4);
+        JsonCodec.writeGroup(json, group);
+        Group copy = JsonCodec.readGroup(new JsonReader(json.toByteArray()));
+        assertEquals(3, copy.getId());
+        assertEquals("Week 1", copy.getName());
+        assertTrue(copy.isSpecialAccessGroup());
+        assertEquals(4, copy.getVersion());
+
+        LocalDateTime timestamp = LocalDateTime.of(2026, 10, 19, 8, 30, 15);
+        JsonCodec.writeSearchRequests(json.reset(), List.of(new SearchRequest("alice", "how to ?", timestamp)));
+        SearchRequest request = JsonCodec.readSearchRequests(new JsonReader(json.toByteArray())).get(0);
+        assertEquals("alice", request.getUsername());
+        assertEquals("how to ?", request.getQuery());
+        assertEquals(timestamp, request.getTimestamp());
+    }
+
+    @Test
+    void testUnknownMembersAreSkipped() throws IOException {
+        Group group = JsonCodec.readGroup(reader(
+                " { \"extra\" : {\"nested\": [1, -2.5e3, true, null, \"x\"]}, \"id\": 9, \"name\": \"G\\u00e9\", \"more\": [] } "));
+        assertEquals(9, group.getId());
+        assertEquals("G\u00e9", group.getName());
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        json.beginArray().value(0).value(-42).value(Long.MAX_VALUE).value(Long.MIN_VALUE).endArray();
+        assertEquals("[0,-42," + Long.MAX_VALUE + "," + Long.MIN_VALUE + "]", json.toString());
+        JsonReader in = new JsonReader(json.toByteArray());
+        in.beginArray();
+        assertEquals(0, in.nextLong());
+        assertEquals(-42, in.nextLong());
+        assertEquals(Long.MAX_VALUE, in.nextLong());
+        assertEquals(Long.MIN_VALUE, in.nextLong());
+        in.endArray();
+        assertEquals(JsonReader.Token.END_DOCUMENT, in.peek());
+        assertThrows(IOException.class, () -> reader("9223372036854775808").nextLong(), "Overflow should be rejected.");
+    }
+
+    @Test
+    void testMalformedInput() {
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"id\":1,}")), "Trailing comma.");
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"id\" 1}")), "Missing colon.");
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"id\":1 \"name\":\"x\"}")), "Missing comma.");
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"name\":\"unterminated}")), "Unterminated string.");
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"name\":\"\\q\"}")), "Bad escape.");
+        assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("{\"id\":\"1\"}")), "Wrong value type.");
+        IOException e = assertThrows(IOException.class, () -> JsonCodec.readGroup(reader("[]")));
+        assertTrue(e.getMessage().contains("offset 0"), "Errors should name the byte offset.");
+    }
+}
@@ -0,0 +1,383 @@
+package Utilities;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p> Title: JsonReader Class </p>
+ *
+ * <p> Description: A pull parser for UTF-8 JSON held in a byte array. The caller asks for the next
+ * token it expects ({@link #beginObject()}, {@link #nextName()}, {@link #nextString()} and so on) and
+ * the reader parses only as far as that token, so documents are decoded straight into model objects
+ * without building a tree. Strings are decoded through one reusable character buffer. </p>
+ *
+ * <p> Malformed input raises an {@link IOException} naming the byte offset of the problem. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class JsonReader {
+    /**
+     * The kinds of token the reader can be positioned at.
+     */
+    public enum Token { BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    private final byte[] input;
+    private final int limit;
+    private int position;
+    private char[] chars = new char[64];
+    // One flag per nesting level: whether the level is an object, and whether a value has been read in it.
+    private boolean[] inObject = new boolean[16];
+    private boolean[] hasValue = new boolean[16];
+    private int depth;
+    private boolean expectingValue;
+
+    /**
+     * Constructs a JsonReader over a whole byte array.
+     *
+     * @param input The UTF-8 encoded document.
+     */
+    public JsonReader(byte[] input) {
+        this(input, 0, input.length);
+    }
+
+    /**
+     * Constructs a JsonReader over part of a byte array.
+     *
+     * @param input  The buffer holding the document.
+     * @param offset The offset of the first byte of the document.
+     * @param length The document length in bytes.
+     */
+    public JsonReader(byte[] input, int offset, int length) {
+        this.input = input;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Returns the kind of the next token without consuming it.
+     *
+     * @return The next token.
+     * @throws IOException If the input is malformed.
+     */
+    public Token peek() throws IOException {
+        skipSeparators();
+        if (position >= limit) {
+            return Token.END_DOCUMENT;
+        }
+        byte b = input[position];
+        if (depth > 0 && inObject[depth] && !expectingValue && b != '}') {
+            return Token.NAME;
+        }
+        return switch (b) {
+            case '{' -> Token.BEGIN_OBJECT;
+            case '}' -> Token.END_OBJECT;
+            case '[' -> Token.BEGIN_ARRAY;
+            case ']' -> Token.END_ARRAY;
+            case '"' -> Token.STRING;
+            case 't', 'f' -> Token.BOOLEAN;
+            case 'n' -> Token.NULL;
+            default -> {
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    yield Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) b + "'");
+            }
+        };
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        position++;
+        push(true);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        position++;
+        pop();
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        position++;
+        push(false);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        position++;
+        pop();
+    }
+
+    /**
+     * Checks whether the current object or array has another member or element.
+     *
+     * @return True if another member or element follows.
+     * @throws IOException If the input is malformed.
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Reads an object member name and its colon.
+     *
+     * @return The member name.
+     * @throws IOException If the input is malformed.
+     */
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        if (input[position] != '"') {
+            throw error("Expected a member name");
+        }
+        String name = readString();
+        skipWhitespace();
+        if (position >= limit || input[position] != ':') {
+            throw error("Expected ':'");
+        }
+        position++;
+        expectingValue = true;
+        return name;
+    }
+
+    /**
+     * Reads a string value, or null for a JSON null.
+     *
+     * @return The string, or null.
+     * @throws IOException If the input is malformed.
+     */
+    public String nextString() throws IOException {
+        if (peek() == Token.NULL) {
+            nextNull();
+            return null;
+        }
+        expect(Token.STRING);
+        String value = readString();
+        valueRead();
+        return value;
+    }
+
+    public long nextLong() throws IOException {
+        expect(Token.NUMBER);
+        boolean negative = input[position] == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        long value = 0;
+        while (position < limit && input[position] >= '0' && input[position] <= '9') {
+            int digit = input[position++] - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw error("Number out of range");
+            }
+            // Accumulate negatively so Long.MIN_VALUE can be read.
+            value = value * 10 - digit;
+        }
+        if (position == start) {
+            throw error("Expected digits");
+        }
+        if (position < limit && (input[position] == '.' || input[position] == 'e' || input[position] == 'E')) {
+            throw error("Expected an integer");
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw error("Number out of range");
+        }
+        valueRead();
+        return negative ? value : -value;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        boolean value = input[position] == 't';
+        expectLiteral(value ? "true" : "false");
+        valueRead();
+        return value;
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+        expectLiteral("null");
+        valueRead();
+    }
+
+    /**
+     * Skips the next value, including any nested objects or arrays. Used for members the caller does not know.
+     *
+     * @throws IOException If the input is malformed.
+     */
+    public void skipValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT -> {
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+            }
+            case BEGIN_ARRAY -> {
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+            }
+            case STRING -> nextString();
+            case BOOLEAN -> nextBoolean();
+            case NULL -> nextNull();
+            case NUMBER -> {
+                while (position < limit && "+-0123456789.eE".indexOf(input[position]) >= 0) {
+                    position++;
+                }
+                valueRead();
+            }
+            default -> throw error("Expected a value");
+        }
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token actual = peek();
+        if (actual != expected) {
+            throw error("Expected " + expected + " but found " + actual);
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (position >= limit || input[position++] != literal.charAt(i)) {
+                throw error("Expected '" + literal + "'");
+            }
+        }
+    }
+
+    private void push(boolean object) {
+        valueRead();
+        if (++depth == inObject.length) {
+            inObject = Arrays.copyOf(inObject, depth * 2);
+            hasValue = Arrays.copyOf(hasValue, depth * 2);
+        }
+        inObject[depth] = object;
+        hasValue[depth] = false;
+    }
+
+    private void pop() {
+        depth--;
+    }
+
+    private void valueRead() {
+        expectingValue = false;
+        if (depth > 0) {
+            hasValue[depth] = true;
+        }
+    }
+
+    /**
+     * Skips whitespace and, between members or elements, the separating comma.
+     */
+    private void skipSeparators() throws IOException {
+        skipWhitespace();
+        if (depth > 0 && !expectingValue && hasValue[depth] && position < limit) {
+            byte b = input[position];
+            if (b == ',') {
+                position++;
+                skipWhitespace();
+                if (position < limit && (input[position] == '}' || input[position] == ']')) {
+                    throw error("Trailing comma");
+                }
+                // The comma is consumed; clear the flag so it is not expected again before the next value.
+                hasValue[depth] = false;
+            } else if (b != '}' && b != ']') {
+                throw error("Expected ',' or a closing bracket");
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte b = input[position];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Decodes a quoted string starting at the current position, handling escapes and multi-byte UTF-8.
+     */
+    private String readString() throws IOException {
+        position++;
+        int count = 0;
+        while (true) {
+            if (position >= limit) {
+                throw error("Unterminated string");
+            }
+            if (count + 2 > chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            int b = input[position++] & 0xFF;
+            if (b == '"') {
+                return new String(chars, 0, count);
+            }
+            if (b == '\\') {
+                if (position >= limit) {
+                    throw error("Unterminated escape");
+                }
+                byte escape = input[position++];
+                chars[count++] = switch (escape) {
+                    case '"' -> '"';
+                    case '\\' -> '\\';
+                    case '/' -> '/';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    case 'b' -> '\b';
+                    case 'f' -> '\f';
+                    case 'u' -> readHexChar();
+                    default -> throw error("Invalid escape '\\" + (char) escape + "'");
+                };
+            } else if (b < 0x20) {
+                throw error("Unescaped control character in string");
+            } else if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | continuation());
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | (continuation() << 6) | continuation());
+            } else if ((b & 0xF8) == 0xF0) {
+                int codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw error("Invalid UTF-8");
+            }
+        }
+    }
+
+    private int continuation() throws IOException {
+        if (position >= limit || (input[position] & 0xC0) != 0x80) {
+            throw error("Invalid UTF-8");
+        }
+        return input[position++] & 0x3F;
+    }
+
+    private char readHexChar() throws IOException {
+        if (position + 4 > limit) {
+            throw error("Truncated unicode escape");
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(input[position++], 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at offset " + position + ".");
+    }
+}
@@ -0,0 +1,297 @@
+package Utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p> Title: JsonWriter Class </p>
+ *
+ * <p> Description: A streaming JSON writer that encodes straight into a growable UTF-8 byte buffer.
+ * Strings are escaped and encoded in a single pass over their characters, without building an
+ * intermediate {@link String} or {@code byte[]} per value, and numbers are written digit by digit.
+ * The buffer is kept between documents, so a writer reused through {@link #reset()} stops allocating
+ * once it has grown to the size of the largest document. </p>
+ *
+ * <p> The writer tracks nesting to place commas and colons, but does not check that the calls form
+ * a valid document; callers are expected to pair every {@code begin} with its {@code end}. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class JsonWriter {
+    private static final int ESCAPE_CHUNK = 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private byte[] buffer;
+    private int size;
+    // One flag per nesting level: whether the next value at that level needs a leading comma.
+    private boolean[] needsComma = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * Constructs a JsonWriter with a 1 KB initial buffer.
+     */
+    public JsonWriter() {
+        this(1024);
+    }
+
+    /**
+     * Constructs a JsonWriter.
+     *
+     * @param initialCapacity The initial buffer size in bytes.
+     */
+    public JsonWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Discards the written document but keeps the buffer for the next one.
+     *
+     * @return This writer.
+     */
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        afterName = false;
+        needsComma[0] = false;
+        return this;
+    }
+
+    public JsonWriter beginObject() {
+        beforeValue();
+        push();
+        writeByte('{');
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        depth--;
+        writeByte('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        beforeValue();
+        push();
+        writeByte('[');
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        depth--;
+        writeByte(']');
+        return this;
+    }
+
+    /**
+     * Writes an object member name. The next call must write the member's value.
+     *
+     * @param name The member name.
+     * @return This writer.
+     */
+    public JsonWriter name(String name) {
+        beforeValue();
+        writeQuoted(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeQuoted(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return The document size in bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the size of the buffer, which is at least the size of the largest document written so far.
+     *
+     * @return The buffer capacity in bytes.
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Copies the written document.
+     *
+     * @return The UTF-8 encoded document.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the document to a stream without copying it.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream fails.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (needsComma[depth]) {
+            writeByte(',');
+        }
+        needsComma[depth] = true;
+    }
+
+    private void push() {
+        if (++depth == needsComma.length) {
+            needsComma = Arrays.copyOf(needsComma, depth * 2);
+        }
+        needsComma[depth] = false;
+    }
+
+    /**
+     * Escapes and UTF-8 encodes a string in one pass. The string is encoded in chunks of
+     * {@value #ESCAPE_CHUNK} characters; room for the worst case of six bytes per character (an escaped
+     * control character) is reserved for each chunk, so the inner loop never checks capacity while the
+     * buffer only grows with what is actually written.
+     */
+    private void writeQuoted(String value) {
+        int length = value.length();
+        writeByte('"');
+        int i = 0;
+        while (i < length) {
+            int end = Math.min(length, i + ESCAPE_CHUNK);
+            // A surrogate pair may run one character past the chunk; its four bytes fit the six reserved.
+            ensureCapacity((end - i) * 6);
+            byte[] out = buffer;
+            int position = size;
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        out[position++] = (byte) c;
+                        continue;
+                    }
+                    out[position++] = '\\';
+                    switch (c) {
+                        case '"' -> out[position++] = '"';
+                        case '\\' -> out[position++] = '\\';
+                        case '\n' -> out[position++] = 'n';
+                        case '\r' -> out[position++] = 'r';
+                        case '\t' -> out[position++] = 't';
+                        case '\b' -> out[position++] = 'b';
+                        case '\f' -> out[position++] = 'f';
+                        default -> {
+                            out[position++] = 'u';
+                            out[position++] = '0';
+                            out[position++] = '0';
+                            out[position++] = HEX[c >> 4];
+                            out[position++] = HEX[c & 0xF];
+                        }
+                    }
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xC0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // An unpaired surrogate cannot be encoded as UTF-8; write U+FFFD like String.getBytes does.
+                    out[position++] = (byte) 0xEF;
+                    out[position++] = (byte) 0xBF;
+                    out[position++] = (byte) 0xBD;
+                } else {
+                    out[position++] = (byte) (0xE0 | (c >> 12));
+                    out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            size = position;
+        }
+        writeByte('"');
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        int position = size + digits;
+        size = position;
+        do {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
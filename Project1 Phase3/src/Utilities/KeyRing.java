@@ -0,0 +1,141 @@
+package Utilities;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p> Title: KeyRing Class </p>
+ *
+ * <p> Description: This class holds every AES key the application can decrypt with, indexed by a
+ * one-byte key version. Each ciphertext produced by {@link EncryptionUtils} records the version of the
+ * key that sealed it, so values written under older keys remain readable after the current key changes.
+ * New data is always encrypted with the current version. </p>
+ *
+ * <p> Version 1 is the application's built-in key. Further keys can be supplied through the
+ * {@value #KEYS_ENVIRONMENT_VARIABLE} environment variable as a comma-separated list of
+ * {@code version:base64Key} entries; the highest version found becomes current. Keys can also be
+ * added and activated at runtime, after which a {@link KeyRotationJob} can move existing rows
+ * to the new key in the background. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class KeyRing {
+    public static final String KEYS_ENVIRONMENT_VARIABLE = "HELP_SYSTEM_ENCRYPTION_KEYS";
+    public static final int MIN_VERSION = 1;
+    public static final int MAX_VERSION = 255;
+
+    private static final String ALGORITHM = "AES";
+
+    private final Map<Integer, SecretKey> keys = new ConcurrentHashMap<>();
+    private volatile int currentVersion;
+
+    /**
+     * Constructs a KeyRing containing a single key, which becomes the current key.
+     *
+     * @param version The version of the key.
+     * @param key     The raw AES key bytes.
+     */
+    public KeyRing(int version, byte[] key) {
+        addKey(version, key);
+        currentVersion = version;
+    }
+
+    /**
+     * Creates the application key ring from the built-in key and any keys configured in the environment.
+     *
+     * @param builtInKey The raw bytes of the built-in version 1 key.
+     * @return The loaded key ring.
+     */
+    static KeyRing load(byte[] builtInKey) {
+        KeyRing keyRing = new KeyRing(MIN_VERSION, builtInKey);
+        String configured = System.getenv(KEYS_ENVIRONMENT_VARIABLE);
+        if (configured != null && !configured.trim().isEmpty()) {
+            for (String entry : configured.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid key entry in " + KEYS_ENVIRONMENT_VARIABLE + ": expected version:base64Key.");
+                }
+                int version = Integer.parseInt(parts[0].trim());
+                keyRing.addKey(version, Base64.getDecoder().decode(parts[1].trim()));
+                if (version > keyRing.currentVersion) {
+                    keyRing.currentVersion = version;
+                }
+            }
+        }
+        return keyRing;
+    }
+
+    /**
+     * Adds a key to the ring without making it current.
+     *
+     * @param version The key version, between {@value #MIN_VERSION} and {@value #MAX_VERSION}.
+     * @param key     The raw AES key bytes (16, 24 or 32 bytes).
+     * @throws IllegalArgumentException If the version or key length is invalid, or the version is already
+     *                                  registered with a different key.
+     */
+    public void addKey(int version, byte[] key) {
+        if (version < MIN_VERSION || version > MAX_VERSION) {
+            throw new IllegalArgumentException("Key version must be between " + MIN_VERSION + " and " + MAX_VERSION + ".");
+        }
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("AES keys must be 16, 24 or 32 bytes.");
+        }
+        SecretKey secretKey = new SecretKeySpec(key, ALGORITHM);
+        SecretKey existing = keys.putIfAbsent(version, secretKey);
+        if (existing != null && !existing.equals(secretKey)) {
+            throw new IllegalArgumentException("Key version " + version + " is already registered with a different key.");
+        }
+    }
+
+    /**
+     * Makes a registered key the one used for all new encryption.
+     *
+     * @param version The key version to activate.
+     * @throws IllegalArgumentException If no key is registered for the version.
+     */
+    public void setCurrentVersion(int version) {
+        if (!keys.containsKey(version)) {
+            throw new IllegalArgumentException("No key registered for version " + version + ".");
+        }
+        currentVersion = version;
+    }
+
+    /**
+     * Retrieves the version used for new encryption.
+     *
+     * @return The current key version.
+     */
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * Retrieves the key for a version.
+     *
+     * @param version The key version recorded in a ciphertext.
+     * @return The matching key.
+     * @throws GeneralSecurityException If no key is registered for the version.
+     */
+    public SecretKey getKey(int version) throws GeneralSecurityException {
+        SecretKey key = keys.get(version);
+        if (key == null) {
+            throw new GeneralSecurityException("Unknown key version " + version + ".");
+        }
+        return key;
+    }
+
+    /**
+     * Retrieves all registered key versions.
+     *
+     * @return The versions in ascending order.
+     */
+    public Set<Integer> getVersions() {
+        return new TreeSet<>(keys.keySet());
+    }
+}
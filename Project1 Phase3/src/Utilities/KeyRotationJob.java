@@ -0,0 +1,233 @@
+package Utilities;
+
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p> Title: KeyRotationJob Class </p>
+ *
+ * <p> Description: This class re-encrypts the values of one encrypted column with the current
+ * {@link KeyRing} key. It walks the table in primary-key order, one batch at a time
+ * ({@code WHERE id > lastId ORDER BY id LIMIT batchSize}), so each query touches only a small
+ * range of rows and the job can stop and resume anywhere. A rows-per-second limit keeps the
+ * job from competing with interactive queries. </p>
+ *
+ * <p> Readers never wait for the job: {@link EncryptionUtils#decrypt(String)} accepts any key
+ * version still in the ring. Each update only applies if the stored value is unchanged since it
+ * was read, so rows written concurrently by the application are left as they are. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class KeyRotationJob implements Runnable {
+    private static final String IDENTIFIER = "[A-Za-z_][A-Za-z0-9_]*";
+
+    private final Connection connection;
+    private final String selectSQL;
+    private final String updateSQL;
+    private final int batchSize;
+    private final int maxRowsPerSecond;
+
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicLong rowsReencrypted = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private volatile long lastId = Long.MIN_VALUE;
+    private volatile boolean stopRequested;
+    private volatile boolean finished;
+    private volatile SQLException lastError;
+    private Thread thread;
+
+    /**
+     * Constructs a KeyRotationJob for one encrypted column.
+     *
+     * @param connection       The database connection to use.
+     * @param table            The table holding the encrypted column.
+     * @param idColumn         The numeric primary key column used for keyset ordering.
+     * @param valueColumn      The column holding values produced by {@link EncryptionUtils#encrypt(String)}.
+     * @param batchSize        The number of rows read per batch.
+     * @param maxRowsPerSecond The maximum number of rows scanned per second, or 0 for no limit.
+     */
+    public KeyRotationJob(Connection connection, String table, String idColumn, String valueColumn,
+                          int batchSize, int maxRowsPerSecond) {
+        if (!table.matches(IDENTIFIER) || !idColumn.matches(IDENTIFIER) || !valueColumn.matches(IDENTIFIER)) {
+            throw new IllegalArgumentException("Table and column names must be plain SQL identifiers.");
+        }
+        if (batchSize <= 0 || maxRowsPerSecond < 0) {
+            throw new IllegalArgumentException("Batch size must be positive and the rate limit non-negative.");
+        }
+        this.connection = connection;
+        this.selectSQL = "SELECT " + idColumn + ", " + valueColumn + " FROM " + table +
+                " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?;";
+        this.updateSQL = "UPDATE " + table + " SET " + valueColumn + " = ? WHERE " + idColumn + " = ? AND " + valueColumn + " = ?;";
+        this.batchSize = batchSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+
+    /**
+     * Starts the job on a background daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Key rotation job already started.");
+        }
+        thread = new Thread(this, "key-rotation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Asks the job to stop after the current batch. The job can be resumed later with a new instance;
+     * rows already moved to the current key are skipped.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Waits for a started job to finish.
+     *
+     * @param timeoutMillis The maximum time to wait, in milliseconds.
+     * @return True if the job finished within the timeout.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+    public boolean awaitCompletion(long timeoutMillis) throws InterruptedException {
+        Thread running;
+        synchronized (this) {
+            running = thread;
+        }
+        if (running != null) {
+            running.join(timeoutMillis);
+        }
+        return finished;
+    }
+
+    /**
+     * Runs the job on the calling thread until every row has been visited or {@link #stop()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!stopRequested) {
+                long batchStart = System.nanoTime();
+                int scanned = processBatch();
+                if (scanned < batchSize) {
+                    finished = true;
+                    break;
+                }
+                throttle(scanned, batchStart);
+            }
+        } catch (SQLException e) {
+            lastError = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Re-encrypts the next batch of rows.
+     *
+     * @return The number of rows read in the batch.
+     * @throws SQLException If a database access error occurs.
+     */
+    int processBatch() throws SQLException {
+        int scanned = 0;
+        try (PreparedStatement select = connection.prepareStatement(selectSQL);
+             PreparedStatement update = connection.prepareStatement(updateSQL)) {
+            select.setLong(1, lastId);
+            select.setInt(2, batchSize);
+            int pending = 0;
+            long batchLastId = lastId;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    scanned++;
+                    batchLastId = rs.getLong(1);
+                    String value = rs.getString(2);
+                    if (value == null || value.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        if (!EncryptionUtils.needsReencryption(value)) {
+                            continue;
+                        }
+                        update.setString(1, EncryptionUtils.reencrypt(value));
+                        update.setLong(2, batchLastId);
+                        update.setString(3, value);
+                        update.addBatch();
+                        pending++;
+                    } catch (GeneralSecurityException | IllegalArgumentException e) {
+                        rowsFailed.incrementAndGet();
+                    }
+                }
+            }
+            if (pending > 0) {
+                for (int count : update.executeBatch()) {
+                    if (count > 0) {
+                        rowsReencrypted.addAndGet(count);
+                    }
+                }
+            }
+            lastId = batchLastId;
+        }
+        rowsScanned.addAndGet(scanned);
+        return scanned;
+    }
+
+    private void throttle(int scanned, long batchStart) throws InterruptedException {
+        if (maxRowsPerSecond == 0) {
+            return;
+        }
+        long minimumNanos = scanned * 1_000_000_000L / maxRowsPerSecond;
+        long remainingMillis = (minimumNanos - (System.nanoTime() - batchStart)) / 1_000_000;
+        if (remainingMillis > 0) {
+            Thread.sleep(remainingMillis);
+        }
+    }
+
+    /**
+     * Retrieves the number of rows read so far.
+     *
+     * @return The rows scanned.
+     */
+    public long getRowsScanned() {
+        return rowsScanned.get();
+    }
+
+    /**
+     * Retrieves the number of rows moved to the current key so far.
+     *
+     * @return The rows re-encrypted.
+     */
+    public long getRowsReencrypted() {
+        return rowsReencrypted.get();
+    }
+
+    /**
+     * Retrieves the number of rows whose value could not be decrypted and was left unchanged.
+     *
+     * @return The rows that failed.
+     */
+    public long getRowsFailed() {
+        return rowsFailed.get();
+    }
+
+    /**
+     * Checks whether the job has visited every row.
+     *
+     * @return True once the last batch has been processed.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Retrieves the database error that stopped the job, if any.
+     *
+     * @return The error, or null if the job has not failed.
+     */
+    public SQLException getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,135 @@
+// src/test/java/Utilities/KeyRotationJobTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyRotationJobTest {
+    private static final byte[] SECOND_KEY = "AnotherSecretKey".getBytes();
+
+    private static Connection connection;
+    private KeyRing keyRing;
+
+    @BeforeAll
+    static void setupAll() throws SQLException {
+        connection = TestDatabaseManager.getInstance().getConnection();
+    }
+
+    @BeforeEach
+    void setup() throws SQLException {
+        keyRing = EncryptionUtils.getKeyRing();
+        keyRing.addKey(2, SECOND_KEY);
+        keyRing.setCurrentVersion(1);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS SecureNotes;");
+            stmt.execute("CREATE TABLE SecureNotes (id BIGINT PRIMARY KEY, note VARCHAR(1000));");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keyRing.setCurrentVersion(1);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS SecureNotes;");
+        }
+    }
+
+    @Test
+    void testRotationReencryptsAllRows() throws Exception {
+        List<String> originals = insertNotes(25);
+        keyRing.setCurrentVersion(2);
+
+        KeyRotationJob job = new KeyRotationJob(connection, "SecureNotes", "id", "note", 10, 0);
+        job.run();
+
+        assertTrue(job.isFinished(), "Job should finish after visiting every row.");
+        assertNull(job.getLastError(), "Job should not record an error.");
+        assertEquals(25, job.getRowsScanned(), "Every row should be scanned.");
+        assertEquals(25, job.getRowsReencrypted(), "Every row should be re-encrypted.");
+
+        List<String> stored = readNotes();
+        for (int i = 0; i < stored.size(); i++) {
+            assertEquals(2, EncryptionUtils.keyVersionOf(stored.get(i)), "Stored values should use the new key.");
+            assertEquals(originals.get(i), EncryptionUtils.decrypt(stored.get(i)), "Values should decrypt to the original text.");
+        }
+    }
+
+    @Test
+    void testRowsOnCurrentKeyAreSkipped() throws Exception {
+        insertNotes(5);
+        KeyRotationJob job = new KeyRotationJob(connection, "SecureNotes", "id", "note", 2, 0);
+        job.run();
+
+        assertEquals(5, job.getRowsScanned(), "Every row should be scanned.");
+        assertEquals(0, job.getRowsReencrypted(), "Rows already on the current key should not be rewritten.");
+    }
+
+    @Test
+    void testOldValuesStayReadableDuringRotation() throws Exception {
+        String oldValue = EncryptionUtils.encrypt("written before rotation");
+        keyRing.setCurrentVersion(2);
+        String newValue = EncryptionUtils.encrypt("written after rotation");
+
+        assertEquals(1, EncryptionUtils.keyVersionOf(oldValue), "Old value should carry key version 1.");
+        assertEquals(2, EncryptionUtils.keyVersionOf(newValue), "New value should carry key version 2.");
+        assertEquals("written before rotation", EncryptionUtils.decrypt(oldValue), "Old value should still decrypt.");
+        assertEquals("written after rotation", EncryptionUtils.decrypt(newValue), "New value should decrypt.");
+    }
+
+    @Test
+    void testBackgroundJobHonorsRateLimit() throws Exception {
+        insertNotes(20);
+        keyRing.setCurrentVersion(2);
+
+        KeyRotationJob job = new KeyRotationJob(connection, "SecureNotes", "id", "note", 5, 100);
+        long start = System.nanoTime();
+        job.start();
+        assertTrue(job.awaitCompletion(10_000), "Background job should finish.");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(20, job.getRowsReencrypted(), "Every row should be re-encrypted.");
+        // Three full batches of 5 rows at 100 rows/second must take at least 150 ms.
+        assertTrue(elapsedMillis >= 140, "Job should be throttled by the rate limit.");
+    }
+
+    @Test
+    void testRejectsUnsafeIdentifiers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new KeyRotationJob(connection, "SecureNotes; DROP TABLE Users", "id", "note", 10, 0),
+                "Table names with SQL should be rejected.");
+    }
+
+    private List<String> insertNotes(int count) throws Exception {
+        List<String> originals = new ArrayList<>();
+        try (PreparedStatement pstmt = connection.prepareStatement("INSERT INTO SecureNotes (id, note) VALUES (?, ?);")) {
+            for (int i = 1; i <= count; i++) {
+                String text = "note " + i;
+                originals.add(text);
+                pstmt.setLong(1, i);
+                pstmt.setString(2, EncryptionUtils.encrypt(text));
+                pstmt.executeUpdate();
+            }
+        }
+        return originals;
+    }
+
+    private List<String> readNotes() throws SQLException {
+        List<String> notes = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT note FROM SecureNotes ORDER BY id;")) {
+            while (rs.next()) {
+                notes.add(rs.getString("note"));
+            }
+        }
+        return notes;
+    }
+}
@@ -0,0 +1,62 @@
+// src/test/java/Utilities/LatencyHistogramTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, LatencyHistogram.MAX_TRACKABLE_NANOS}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKETS, "Index out of range for " + value);
+            assertTrue(LatencyHistogram.bucketLowerBound(index) <= value, "Lower bound too high for " + value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "Upper bound too low for " + value);
+        }
+        for (int i = 1; i < LatencyHistogram.BUCKETS; i++) {
+            assertEquals(LatencyHistogram.bucketUpperBound(i - 1) + 1, LatencyHistogram.bucketLowerBound(i),
+                    "Buckets should be contiguous at " + i);
+        }
+    }
+
+    @Test
+    void testPercentilesAreWithinOneBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMeanNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "Median should be within 12.5%: " + p50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 should be within 12.5% and not above the max: " + p99);
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        assertEquals(40_000, histogram.getCount(), "No recording should be lost.");
+        assertEquals(9_999, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,22 @@
+package Utilities;
+
+/**
+ * <p> Title: LoginThrottledException Class </p>
+ *
+ * <p> Description: Thrown when a login attempt is refused without checking the password, because
+ * the user has made too many failed attempts or the password verification queue is full. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class LoginThrottledException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a LoginThrottledException with a message.
+     *
+     * @param message The reason the attempt was refused.
+     */
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
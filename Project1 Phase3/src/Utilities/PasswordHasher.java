@@ -0,0 +1,145 @@
+package Utilities;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * <p> Title: PasswordHasher Class </p>
+ *
+ * <p> Description: This class hashes and verifies passwords with PBKDF2-HMAC-SHA256. Hashes are
+ * stored as {@code pbkdf2-sha256$iterations$salt$hash}, so each hash records its own work factor
+ * and the work factor can be raised without invalidating existing passwords. Values that are not
+ * in this format are treated as legacy plaintext passwords and compared in constant time, so they
+ * can be upgraded the next time the user logs in. </p>
+ *
+ * <p> The work factor defaults to {@value #DEFAULT_ITERATIONS} iterations and can be changed with
+ * the {@code HELP_SYSTEM_PASSWORD_ITERATIONS} environment variable. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class PasswordHasher {
+    public static final int DEFAULT_ITERATIONS = 310_000;
+    static final String ITERATIONS_ENV = "HELP_SYSTEM_PASSWORD_ITERATIONS";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    /**
+     * Constructs a PasswordHasher with a work factor.
+     *
+     * @param iterations The number of PBKDF2 iterations used for new hashes.
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iteration count must be positive.");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Constructs a PasswordHasher using the work factor from the environment, or the default.
+     *
+     * @return The password hasher.
+     */
+    public static PasswordHasher fromEnvironment() {
+        String configured = System.getenv(ITERATIONS_ENV);
+        if (configured == null || configured.isBlank()) {
+            return new PasswordHasher(DEFAULT_ITERATIONS);
+        }
+        try {
+            return new PasswordHasher(Integer.parseInt(configured.trim()));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ignoring invalid " + ITERATIONS_ENV + " value: " + configured);
+            return new PasswordHasher(DEFAULT_ITERATIONS);
+        }
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password The password to hash.
+     * @return The encoded hash.
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    /**
+     * Checks a password against a stored hash or legacy plaintext value.
+     *
+     * @param password The password to check.
+     * @param stored   The stored hash or legacy plaintext password.
+     * @return True if the password matches.
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a stored value should be replaced by a new hash, because it is legacy
+     * plaintext or was hashed with a different work factor.
+     *
+     * @param stored The stored hash or legacy plaintext password.
+     * @return True if the password should be hashed again after a successful login.
+     */
+    public boolean needsRehash(String stored) {
+        return !isHash(stored) || !stored.startsWith(PREFIX + "$" + iterations + "$");
+    }
+
+    /**
+     * Checks whether a stored value is a hash produced by this class.
+     *
+     * @param stored The stored value.
+     * @return True if the value is an encoded PBKDF2 hash.
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$") && stored.split("\\$").length == 4;
+    }
+
+    /**
+     * Returns the work factor used for new hashes.
+     *
+     * @return The number of PBKDF2 iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
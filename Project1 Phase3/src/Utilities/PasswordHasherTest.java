@@ -0,0 +1,44 @@
+// src/test/java/Utilities/PasswordHasherTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+    private final PasswordHasher hasher = new PasswordHasher(1000);
+
+    @Test
+    void testHashVerifies() {
+        String hash = hasher.hash("password123");
+        assertTrue(PasswordHasher.isHash(hash), "Hash should use the encoded format.");
+        assertTrue(hasher.verify("password123", hash), "Correct password should verify.");
+        assertFalse(hasher.verify("password124", hash), "Wrong password should not verify.");
+    }
+
+    @Test
+    void testHashesAreSalted() {
+        assertNotEquals(hasher.hash("password123"), hasher.hash("password123"), "Each hash should use a new salt.");
+    }
+
+    @Test
+    void testLegacyPlaintextVerifiesAndNeedsRehash() {
+        assertTrue(hasher.verify("password123", "password123"), "Legacy plaintext password should verify.");
+        assertFalse(hasher.verify("password", "password123"), "Wrong password should not verify against plaintext.");
+        assertTrue(hasher.needsRehash("password123"), "Plaintext should be rehashed.");
+    }
+
+    @Test
+    void testWorkFactorChangeNeedsRehash() {
+        String oldHash = new PasswordHasher(500).hash("password123");
+        assertTrue(hasher.verify("password123", oldHash), "Hashes with another work factor should still verify.");
+        assertTrue(hasher.needsRehash(oldHash), "Hashes with another work factor should be rehashed.");
+        assertFalse(hasher.needsRehash(hasher.hash("password123")), "Current hashes should not be rehashed.");
+    }
+
+    @Test
+    void testMalformedHashDoesNotVerify() {
+        assertFalse(hasher.verify("password123", "pbkdf2-sha256$abc$!!$!!"), "Malformed hashes should not verify.");
+        assertFalse(hasher.verify(null, hasher.hash("password123")), "Null passwords should not verify.");
+    }
+}
@@ -0,0 +1,64 @@
+package Utilities;
+
+import java.sql.SQLException;
+
+/**
+ * <p> Title: QueryCancellation Class </p>
+ *
+ * <p> Description: Lets one thread stop a query that another thread asked for, such as a search
+ * superseded by the next keystroke. A DAO method given a cancellation checks it before running its
+ * statement, so a query cancelled while it waited for the connection never runs, and again while
+ * reading rows, so no more rows are built once nobody wants them. A cancelled DAO method throws an
+ * {@link SQLException} with SQL state {@value #CANCELLED_STATE}. </p>
+ *
+ * <p> {@link java.sql.Statement#cancel()} is deliberately not used. H2 cancels the whole session rather
+ * than the statement, does not stop the joined, filtered searches this application runs, and leaves the
+ * cancel pending, so the next statement on the shared connection fails instead. </p>
+ *
+ * <p> A cancellation is for one query and cannot be reset. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class QueryCancellation {
+    /** The SQL state of a cancelled query, the one H2 uses. */
+    public static final String CANCELLED_STATE = "57014";
+
+    private volatile boolean cancelled;
+
+    /**
+     * Cancels the query. It stops at its next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether {@link #cancel()} has been called.
+     *
+     * @return True if cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throws if the query was cancelled.
+     *
+     * @throws SQLException If cancelled.
+     */
+    void throwIfCancelled() throws SQLException {
+        if (cancelled) {
+            throw new SQLException("The query was cancelled.", CANCELLED_STATE);
+        }
+    }
+
+    /**
+     * Returns whether an exception reports a cancelled query.
+     *
+     * @param e The exception.
+     * @return True if the query was cancelled.
+     */
+    public static boolean isCancellation(Throwable e) {
+        return e instanceof SQLException && CANCELLED_STATE.equals(((SQLException) e).getSQLState());
+    }
+}
@@ -0,0 +1,88 @@
+package Utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * <p> Title: RotatingLog Class </p>
+ *
+ * <p> Description: An append-only diagnostic log kept in a few rotating files of bounded size. The files
+ * are opened on the first entry, so a log that is never written creates nothing. Each entry is written
+ * as given, followed by a line separator, and flushed at once. If the files cannot be opened, a notice is
+ * printed once and entries are dropped, so diagnostics never break the application. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class RotatingLog {
+    /** The size, in bytes, at which a log file is rotated. */
+    public static final int FILE_LIMIT = 1024 * 1024;
+
+    /** The number of rotated files kept. */
+    public static final int FILE_COUNT = 5;
+
+    private final String name;
+    private final String pattern;
+    private FileHandler handler;
+    private boolean failed;
+
+    /**
+     * Constructs a RotatingLog.
+     *
+     * @param name    What the log holds, used in the notice if it cannot be opened.
+     * @param pattern The {@link FileHandler} file pattern; {@code %g} is replaced by the rotation number.
+     */
+    public RotatingLog(String name, String pattern) {
+        this.name = name;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Appends an entry, opening the log first if needed.
+     *
+     * @param entry The entry; it may span several lines.
+     */
+    public synchronized void append(String entry) {
+        if (handler == null && !failed) {
+            open();
+        }
+        if (handler == null) {
+            return;
+        }
+        handler.publish(new LogRecord(Level.WARNING, entry));
+        handler.flush();
+    }
+
+    /**
+     * Closes the log files. A later entry opens them again.
+     */
+    public synchronized void close() {
+        if (handler != null) {
+            handler.close();
+            handler = null;
+        }
+    }
+
+    private void open() {
+        try {
+            Path parent = Path.of(pattern).toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            handler = new FileHandler(pattern, FILE_LIMIT, FILE_COUNT, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + System.lineSeparator();
+                }
+            });
+        } catch (IOException e) {
+            failed = true;
+            System.out.println(name + " log unavailable: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+// src/test/java/Utilities/RotatingLogTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotatingLogTest {
+    @TempDir
+    Path logDir;
+
+    @Test
+    void testOpensOnFirstEntryAndWritesEachEntryAsLines() throws Exception {
+        Path pattern = logDir.resolve("logs").resolve("test.%g.log");
+        RotatingLog log = new RotatingLog("Test", pattern.toString());
+        assertFalse(Files.exists(logDir.resolve("logs")), "Nothing should be created before the first entry.");
+
+        log.append("first");
+        log.append("second\n    detail");
+        String text = Files.readString(logDir.resolve("logs").resolve("test.0.log"));
+        assertEquals("first" + System.lineSeparator() + "second\n    detail" + System.lineSeparator(), text,
+                "Entries should be written as given, one after another.");
+        log.close();
+    }
+
+    @Test
+    void testUnavailableLogDropsEntries() throws Exception {
+        Path blocker = Files.writeString(logDir.resolve("blocker"), "not a directory");
+        RotatingLog log = new RotatingLog("Test", blocker.resolve("test.%g.log").toString());
+        assertDoesNotThrow(() -> log.append("dropped"));
+        assertDoesNotThrow(() -> log.append("dropped again"));
+    }
+}
@@ -0,0 +1,80 @@
+package Utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * <p> Title: SchemaMigration Record </p>
+ *
+ * <p> Description: One versioned change to the database schema, applied once by a
+ * {@link SchemaMigrator}. Its checksum covers its statements, so a migration that has been applied
+ * must never be edited; later changes ship as new migrations. H2 commits each DDL statement on its
+ * own, so statements should be written to be safe to run again if a migration fails partway. </p>
+ *
+ * <p> An online migration only builds indexes. It is applied in the background on its own
+ * connection, after the other migrations, so a slow build does not hold up start. </p>
+ *
+ * @param version     The version the schema is at once the migration is applied, from 1, ascending.
+ * @param description What the migration changes.
+ * @param online      Whether the migration is built in the background.
+ * @param statements  The SQL statements, run in order.
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public record SchemaMigration(int version, String description, boolean online, List<String> statements) {
+
+    public SchemaMigration {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration versions start at 1: " + version);
+        }
+        if (statements.isEmpty()) {
+            throw new IllegalArgumentException("Migration " + version + " has no statements.");
+        }
+        statements = List.copyOf(statements);
+    }
+
+    /**
+     * Creates a migration applied before the database is used.
+     *
+     * @param version     The version.
+     * @param description What the migration changes.
+     * @param statements  The SQL statements.
+     * @return The migration.
+     */
+    public static SchemaMigration of(int version, String description, String... statements) {
+        return new SchemaMigration(version, description, false, List.of(statements));
+    }
+
+    /**
+     * Creates an index migration built in the background.
+     *
+     * @param version     The version.
+     * @param description What the migration changes.
+     * @param statements  The CREATE INDEX statements.
+     * @return The migration.
+     */
+    public static SchemaMigration online(int version, String description, String... statements) {
+        return new SchemaMigration(version, description, true, List.of(statements));
+    }
+
+    /**
+     * Computes the SHA-256 checksum of the statements, recorded when the migration is applied.
+     *
+     * @return The checksum, as 64 hex digits.
+     */
+    public String checksum() {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String statement : statements) {
+                sha256.update(statement.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package Utilities;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> Title: SchemaMigrator Class </p>
+ *
+ * <p> Description: Brings a database schema up to date by applying {@link SchemaMigration}s in version
+ * order. Each applied migration is recorded in the SchemaVersion table with its checksum. Before
+ * anything is applied, the recorded checksums are compared with the migrations, and start fails if a
+ * migration was edited after it was applied or if the database is at a version this application does
+ * not know. </p>
+ *
+ * <p> {@link #migrate()} applies the pending migrations the application needs before it can use the
+ * database. {@link #buildOnlineIndexes()} applies the pending online migrations and can run later, on
+ * another connection. H2 locks a table while an index is built on it, so readers of that table wait for
+ * the build; readers of other tables are not held up. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public final class SchemaMigrator {
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS SchemaVersion (" +
+            "version INT PRIMARY KEY," +
+            "description VARCHAR(255) NOT NULL," +
+            "checksum CHAR(64) NOT NULL," +
+            "appliedAt TIMESTAMP NOT NULL," +
+            "executionMillis BIGINT NOT NULL" +
+            ");";
+
+    private final Connection connection;
+    private final List<SchemaMigration> migrations;
+
+    /**
+     * Constructs a SchemaMigrator.
+     *
+     * @param connection The connection the migrations run on.
+     * @param migrations The migrations, in ascending version order.
+     * @throws IllegalArgumentException If the versions are not unique and ascending.
+     */
+    public SchemaMigrator(Connection connection, List<SchemaMigration> migrations) {
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() <= migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Migration " + migrations.get(i).version() +
+                        " must come after migration " + migrations.get(i - 1).version() + ".");
+            }
+        }
+        this.connection = connection;
+        this.migrations = List.copyOf(migrations);
+    }
+
+    /**
+     * Applies the pending migrations other than online ones.
+     *
+     * @return The number of migrations applied.
+     * @throws SQLException If the recorded schema does not match the migrations, or a migration fails.
+     */
+    public int migrate() throws SQLException {
+        return apply(false);
+    }
+
+    /**
+     * Applies the pending online migrations.
+     *
+     * @return The number of migrations applied.
+     * @throws SQLException If the recorded schema does not match the migrations, or a migration fails.
+     */
+    public int buildOnlineIndexes() throws SQLException {
+        return apply(true);
+    }
+
+    /**
+     * Retrieves the highest version applied.
+     *
+     * @return The version, or 0 if no migration has been applied.
+     * @throws SQLException If a database access error occurs.
+     */
+    public int getCurrentVersion() throws SQLException {
+        return appliedChecksums().keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private int apply(boolean online) throws SQLException {
+        Map<Integer, String> applied = appliedChecksums();
+        verify(applied);
+        int count = 0;
+        for (SchemaMigration migration : migrations) {
+            if (migration.online() == online && !applied.containsKey(migration.version())) {
+                run(migration);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Map<Integer, String> appliedChecksums() throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+            try (ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM SchemaVersion;")) {
+                while (rs.next()) {
+                    applied.put(rs.getInt("version"), rs.getString("checksum"));
+                }
+            }
+        }
+        return applied;
+    }
+
+    private void verify(Map<Integer, String> applied) throws SQLException {
+        Map<Integer, SchemaMigration> known = new HashMap<>();
+        for (SchemaMigration migration : migrations) {
+            known.put(migration.version(), migration);
+        }
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            SchemaMigration migration = known.get(entry.getKey());
+            if (migration == null) {
+                throw new SQLException("The database has migration " + entry.getKey() +
+                        " applied, which this application does not know; it is newer than the application.");
+            }
+            if (!migration.checksum().equals(entry.getValue())) {
+                throw new SQLException("Migration " + entry.getKey() + " (" + migration.description() +
+                        ") was changed after it was applied; add a new migration instead.");
+            }
+        }
+    }
+
+    private void run(SchemaMigration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement()) {
+            for (String statement : migration.statements()) {
+                stmt.execute(statement);
+            }
+            String insertSQL = "INSERT INTO SchemaVersion (version, description, checksum, appliedAt, executionMillis) " +
+                    "VALUES (?, ?, ?, ?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setInt(1, migration.version());
+                pstmt.setString(2, migration.description());
+                pstmt.setString(3, migration.checksum());
+                pstmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                pstmt.setLong(5, (System.nanoTime() - start) / 1_000_000);
+                pstmt.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration " + migration.version() + " (" + migration.description() +
+                    ") failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
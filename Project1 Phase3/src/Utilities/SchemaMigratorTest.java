@@ -0,0 +1,173 @@
+// src/test/java/Utilities/SchemaMigratorTest.java
+package Utilities;
+
+import models.Group;
+import models.Role;
+import models.SearchRequest;
+import models.User;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+    private static final SchemaMigration CREATE_NOTES = SchemaMigration.of(1, "Create notes",
+            "CREATE TABLE Notes (id BIGINT PRIMARY KEY, text VARCHAR(255));");
+    private static final SchemaMigration ADD_AUTHOR = SchemaMigration.of(2, "Add note authors",
+            "ALTER TABLE Notes ADD COLUMN author VARCHAR(255);");
+    private static final SchemaMigration INDEX_AUTHOR = SchemaMigration.online(3, "Index notes by author",
+            "CREATE INDEX idx_notes_author ON Notes (author);");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setupAll() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:migratortest;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @BeforeEach
+    void setup() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS;");
+        }
+    }
+
+    @Test
+    void testAppliesPendingMigrationsInOrderOnce() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(connection, List.of(CREATE_NOTES, ADD_AUTHOR));
+        assertEquals(0, migrator.getCurrentVersion(), "A new database should be at version 0.");
+        assertEquals(2, migrator.migrate(), "Both migrations should be applied.");
+        assertEquals(2, migrator.getCurrentVersion());
+        assertEquals(0, migrator.migrate(), "Applied migrations should not run again.");
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM SchemaVersion ORDER BY version;")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt("version"));
+            assertEquals(CREATE_NOTES.checksum(), rs.getString("checksum"), "The checksum should be recorded.");
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt("version"));
+        }
+
+        SchemaMigration indexText = SchemaMigration.of(4, "Index notes by text",
+                "CREATE INDEX idx_notes_text ON Notes (text);");
+        assertEquals(1, new SchemaMigrator(connection, List.of(CREATE_NOTES, ADD_AUTHOR, indexText)).migrate(),
+                "Only the new migration should be applied to an existing database.");
+    }
+
+    @Test
+    void testRejectsMigrationChangedAfterItWasApplied() throws SQLException {
+        new SchemaMigrator(connection, List.of(CREATE_NOTES)).migrate();
+
+        SchemaMigration edited = SchemaMigration.of(1, "Create notes",
+                "CREATE TABLE Notes (id BIGINT PRIMARY KEY, text VARCHAR(500));");
+        SQLException e = assertThrows(SQLException.class,
+                () -> new SchemaMigrator(connection, List.of(edited, ADD_AUTHOR)).migrate());
+        assertTrue(e.getMessage().contains("changed"), "The error should name the edited migration.");
+        assertFalse(columnExists("NOTES", "AUTHOR"), "Nothing should be applied after a checksum mismatch.");
+    }
+
+    @Test
+    void testRejectsDatabaseNewerThanTheApplication() throws SQLException {
+        new SchemaMigrator(connection, List.of(CREATE_NOTES, ADD_AUTHOR)).migrate();
+
+        assertThrows(SQLException.class, () -> new SchemaMigrator(connection, List.of(CREATE_NOTES)).migrate());
+    }
+
+    @Test
+    void testRejectsMigrationsOutOfOrder() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SchemaMigrator(connection, List.of(ADD_AUTHOR, CREATE_NOTES)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SchemaMigrator(connection, List.of(CREATE_NOTES, CREATE_NOTES)));
+    }
+
+    @Test
+    void testFailedMigrationIsNotRecorded() throws SQLException {
+        SchemaMigration broken = SchemaMigration.of(2, "Add note authors", "ALTER TABLE Missing ADD COLUMN author VARCHAR(255);");
+        SchemaMigrator migrator = new SchemaMigrator(connection, List.of(CREATE_NOTES, broken));
+        assertThrows(SQLException.class, migrator::migrate);
+        assertEquals(1, migrator.getCurrentVersion(), "The failed migration should not be recorded.");
+
+        assertEquals(1, new SchemaMigrator(connection, List.of(CREATE_NOTES, ADD_AUTHOR)).migrate(),
+                "The fixed migration should be applied on the next run.");
+    }
+
+    @Test
+    void testOnlineIndexesAreBuiltSeparately() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(connection, List.of(CREATE_NOTES, ADD_AUTHOR, INDEX_AUTHOR));
+        assertEquals(2, migrator.migrate(), "Online migrations should be left for the index build.");
+        assertFalse(indexExists("IDX_NOTES_AUTHOR"));
+
+        try (Connection builder = DriverManager.getConnection("jdbc:h2:mem:migratortest;DB_CLOSE_DELAY=-1", "sa", "")) {
+            assertEquals(1, new SchemaMigrator(builder, List.of(CREATE_NOTES, ADD_AUTHOR, INDEX_AUTHOR)).buildOnlineIndexes());
+        }
+        assertTrue(indexExists("IDX_NOTES_AUTHOR"), "The index should be built on the other connection.");
+        assertEquals(3, migrator.getCurrentVersion());
+        assertEquals(0, migrator.buildOnlineIndexes());
+    }
+
+    @Test
+    void testApplicationSchemaCreatesEveryTableTheDaosUse() throws SQLException {
+        DatabaseManager.migrate(connection);
+        assertEquals(DatabaseManager.MIGRATIONS.get(DatabaseManager.MIGRATIONS.size() - 1).version(),
+                new SchemaMigrator(connection, DatabaseManager.MIGRATIONS).getCurrentVersion());
+        assertTrue(columnExists("HELPARTICLES", "CONTENTLEVEL"));
+        assertTrue(indexExists("IDX_GROUPMEMBERS_USERNAME"));
+
+        SearchRequestDAO searchRequestDAO = new SearchRequestDAO(connection);
+        searchRequestDAO.addSearchRequest(new SearchRequest("alice", "backup", LocalDateTime.now()));
+        assertEquals("backup", searchRequestDAO.getAllSearchRequests().get(0).getQuery());
+
+        GroupDAO groupDAO = new GroupDAO(connection);
+        Group group = new Group("Special");
+        groupDAO.addGroup(group);
+        assertTrue(groupDAO.getSpecialGroupAdmins(group.getId()).isEmpty(),
+                "The special access group rights tables should exist.");
+    }
+
+    @Test
+    void testUpgradesDatabaseCreatedBeforeMigrations() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String statement : DatabaseManager.MIGRATIONS.get(0).statements()) {
+                stmt.execute(statement);
+            }
+            stmt.execute("INSERT INTO Users (username, password, role) VALUES ('legacy', 'secret', 'ADMIN, STUDENT');");
+            stmt.execute("INSERT INTO Groups (name, isSpecialAccessGroup) VALUES ('Legacy Group', FALSE);");
+        }
+
+        DatabaseManager.migrate(connection);
+
+        UserDAO userDAO = new UserDAO(connection);
+        User legacy = userDAO.getUserByUsername("legacy");
+        assertNotNull(legacy, "The user should be readable with the new columns.");
+        assertTrue(legacy.isFirstLogin(), "Added columns should take their defaults.");
+        assertTrue(legacy.getRoles().contains(Role.STUDENT));
+
+        GroupDAO groupDAO = new GroupDAO(connection);
+        Group group = groupDAO.getAllGroups().get(0);
+        assertEquals(1, group.getVersion(), "Existing groups should start at version 1.");
+        group.setName("Renamed Group");
+        assertTrue(groupDAO.updateGroup(group, 1), "Optimistic updates should work on upgraded rows.");
+    }
+
+    private boolean columnExists(String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(null, "PUBLIC", table, column)) {
+            return rs.next();
+        }
+    }
+
+    private boolean indexExists(String index) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1 FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = '" + index + "';")) {
+            return rs.next();
+        }
+    }
+}
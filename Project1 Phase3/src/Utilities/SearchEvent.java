@@ -0,0 +1,76 @@
+package Utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * <p> Title: SearchEvent Class </p>
+ *
+ * <p> Description: A JDK Flight Recorder event for one article search, with the time spent in each
+ * phase: building and binding the query, executing it, and reading the matching articles. Disabled
+ * unless the recording uses the {@code helpsystem.jfc} profile. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@Name("helpsystem.Search")
+@Label("Article Search")
+@Category({"Help System", "Search"})
+@Description("A search of the help articles")
+@Enabled(false)
+public class SearchEvent extends Event {
+    @Label("Query")
+    String query;
+
+    @Label("Content Level")
+    String contentLevel;
+
+    @Label("Group")
+    String groupName;
+
+    @Label("Hits")
+    @Description("The articles found")
+    int hits;
+
+    @Label("Prepare Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long prepareNanos;
+
+    @Label("Execute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long executeNanos;
+
+    @Label("Read Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long readNanos;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param query        The search text.
+     * @param contentLevel The content level searched, or null.
+     * @param groupName    The group searched, or null.
+     * @param hits         The articles found.
+     * @param prepareNanos The time spent building and binding the query.
+     * @param executeNanos The time spent executing it.
+     * @param readNanos    The time spent reading the results.
+     */
+    void finish(String query, String contentLevel, String groupName, int hits,
+                long prepareNanos, long executeNanos, long readNanos) {
+        end();
+        if (shouldCommit()) {
+            this.query = query;
+            this.contentLevel = contentLevel;
+            this.groupName = groupName;
+            this.hits = hits;
+            this.prepareNanos = prepareNanos;
+            this.executeNanos = executeNanos;
+            this.readNanos = readNanos;
+            commit();
+        }
+    }
+}
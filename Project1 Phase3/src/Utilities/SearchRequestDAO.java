@@ -9,35 +9,45 @@ import java.util.List;
 
 public class SearchRequestDAO {
     private Connection connection;
+    private final ChangeEventBus changes = ChangeEventBus.getInstance();
 
     public SearchRequestDAO() throws SQLException {
-        connection = DatabaseManager.getInstance().getConnection();
+        this(DatabaseManager.getInstance().getConnection());
+    }
+
+    public SearchRequestDAO(Connection connection) {
+        this.connection = connection;
     }
 
     public void addSearchRequest(SearchRequest request) throws SQLException {
-        String insertSQL = "INSERT INTO SearchRequests (username, query, timestamp) VALUES (?, ?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setString(1, request.getUsername());
-            pstmt.setString(2, request.getQuery());
-            pstmt.setTimestamp(3, Timestamp.valueOf(request.getTimestamp()));
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("SearchRequestDAO.addSearchRequest", () -> {
+            String insertSQL = "INSERT INTO SearchRequests (username, query, timestamp) VALUES (?, ?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setString(1, request.getUsername());
+                pstmt.setString(2, request.getQuery());
+                pstmt.setTimestamp(3, Timestamp.valueOf(request.getTimestamp()));
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.SEARCH_RECORDED, 0, 0, request.getUsername());
+        });
     }
 
     public List<SearchRequest> getAllSearchRequests() throws SQLException {
-        List<SearchRequest> requests = new ArrayList<>();
-        String selectSQL = "SELECT * FROM SearchRequests;";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(selectSQL)) {
-            while (rs.next()) {
-                SearchRequest request = new SearchRequest(
-                        rs.getString("username"),
-                        rs.getString("query"),
-                        rs.getTimestamp("timestamp").toLocalDateTime()
-                );
-                requests.add(request);
+        return DaoMetrics.call("SearchRequestDAO.getAllSearchRequests", () -> {
+            List<SearchRequest> requests = new ArrayList<>();
+            String selectSQL = "SELECT * FROM SearchRequests;";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(selectSQL)) {
+                while (rs.next()) {
+                    SearchRequest request = new SearchRequest(
+                            rs.getString("username"),
+                            rs.getString("query"),
+                            rs.getTimestamp("timestamp").toLocalDateTime()
+                    );
+                    requests.add(request);
+                }
             }
-        }
-        return requests;
+            return requests;
+        });
     }
 }
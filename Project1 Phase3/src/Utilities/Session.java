@@ -0,0 +1,158 @@
+package Utilities;
+
+import models.Role;
+import models.User;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * <p> Title: Session Class </p>
+ *
+ * <p> Description: One logged-in user's session, identified by an opaque token. A session holds
+ * the user, the role the user is acting in, and a cache of the groups the user may see in that
+ * role, so visibility does not have to be looked up again for every request. Sessions are created
+ * and expired by {@link SessionManager}. </p>
+ *
+ * <p> Each invalidation or role change advances a visibility generation. A load that was running while
+ * the generation moved on returns its result to its caller but does not cache it, so a change that
+ * arrives during a load is never overwritten by the stale set. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class Session {
+    /**
+     * Loads the IDs of the groups visible to a user acting in a role.
+     */
+    @FunctionalInterface
+    public interface VisibilityLoader {
+        /**
+         * Loads the visible group IDs.
+         *
+         * @param user The session's user.
+         * @param role The session's role.
+         * @return The IDs of the groups the user may see.
+         * @throws SQLException If a database access error occurs.
+         */
+        Set<Long> load(User user, Role role) throws SQLException;
+    }
+
+    private final String token;
+    private final User user;
+    private final long createdAt;
+    private volatile long lastAccessed;
+    private volatile Role role;
+    private volatile Set<Long> visibleGroupIds;
+    private long visibilityGeneration;  // Guarded by this
+
+    /**
+     * Constructs a Session.
+     *
+     * @param token     The opaque session token.
+     * @param user      The session's user, or null for a session without a login.
+     * @param role      The role the user is acting in, or null if none is chosen yet.
+     * @param createdAt The creation time in milliseconds of the session manager's clock.
+     */
+    Session(String token, User user, Role role, long createdAt) {
+        this.token = token;
+        this.user = user;
+        this.role = role;
+        this.createdAt = createdAt;
+        this.lastAccessed = createdAt;
+    }
+
+    /**
+     * Retrieves the session token.
+     *
+     * @return The opaque token identifying the session.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Retrieves the session's user.
+     *
+     * @return The user, or null if no user is logged in.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Retrieves the role the user is acting in.
+     *
+     * @return The role, or null if none is chosen.
+     */
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Sets the role the user is acting in. The cached visibility is dropped, since it depends on the role.
+     *
+     * @param role The new role.
+     */
+    public synchronized void setRole(Role role) {
+        this.role = role;
+        visibilityGeneration++;
+        this.visibleGroupIds = null;
+    }
+
+    /**
+     * Retrieves the IDs of the groups visible in this session, loading and caching them on first use.
+     *
+     * @param loader Loads the visible group IDs when they are not cached.
+     * @return The visible group IDs.
+     * @throws SQLException If loading fails.
+     */
+    public Set<Long> getVisibleGroupIds(VisibilityLoader loader) throws SQLException {
+        Set<Long> cached = visibleGroupIds;
+        if (cached != null) {
+            return cached;
+        }
+        long generation;
+        Role loadRole;
+        synchronized (this) {
+            generation = visibilityGeneration;
+            loadRole = role;
+        }
+        Set<Long> loaded = Set.copyOf(loader.load(user, loadRole));
+        synchronized (this) {
+            if (visibilityGeneration == generation) {
+                visibleGroupIds = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the cached visibility, so it is loaded again on next use.
+     */
+    public synchronized void invalidateVisibility() {
+        visibilityGeneration++;
+        visibleGroupIds = null;
+    }
+
+    /**
+     * Retrieves the time the session was created.
+     *
+     * @return The creation time in milliseconds of the session manager's clock.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Retrieves the time the session was last used.
+     *
+     * @return The last access time in milliseconds of the session manager's clock.
+     */
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    void touch(long now) {
+        lastAccessed = now;
+    }
+}
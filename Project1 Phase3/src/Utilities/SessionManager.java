@@ -3,27 +3,77 @@ package Utilities;
 import models.User;
 import models.Role;
 
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
 /**
  * <p> Title: SessionManager Class </p>
- * 
- * <p> Description: This class manages the current user session within the application.
- * It follows the Singleton design pattern to ensure that only one session exists at a time.
+ *
+ * <p> Description: This class manages user sessions within the application.
+ * It follows the Singleton design pattern so every part of the application shares one session registry.
  * The class provides methods to set and retrieve the current user and role, as well as to clear the session.
  * </p>
- * 
+ *
+ * <p> Sessions are kept in a {@link ConcurrentHashMap} keyed by opaque random tokens, so many users can be
+ * logged in at once. A session ends when it has been idle for longer than the idle timeout or has existed for
+ * longer than the absolute timeout; a background sweeper removes such sessions once a minute, and lookups
+ * refuse them straight away. The desktop user's session is the current session used by
+ * {@link #getCurrentUser()} and {@link #getCurrentRole()}; it is never timed out and ends with
+ * {@link #clearSession()}. </p>
+ *
+ * <p> Cached group visibility is kept coherent by listening to the {@link ChangeEventBus}. </p>
+ *
  * @author Naimish Maniya
- * 
+ *
  * <p> @version 1.00  2024-10-29  Initial version. </p>
  */
 public class SessionManager {
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    static final long DEFAULT_ABSOLUTE_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(12);
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int TOKEN_BYTES = 32;
+
     private static SessionManager instance;
-    private User currentUser;
-    private Role currentRole;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final LongSupplier clock;
+    private volatile String currentToken;
 
     /**
-     * Private constructor to enforce Singleton pattern.
+     * Private constructor to enforce Singleton pattern. Starts the background sweeper.
      */
-    private SessionManager() {}
+    private SessionManager() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_ABSOLUTE_TIMEOUT_MILLIS, () -> System.nanoTime() / 1_000_000);
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepExpiredSessions, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        ChangeEventBus.getInstance().subscribe(this::onChange);
+    }
+
+    /**
+     * Constructs a SessionManager with its own timeouts and clock and no background sweeper.
+     *
+     * @param idleTimeoutMillis     The time a session may go unused before it ends.
+     * @param absoluteTimeoutMillis The time after which a session ends however much it is used.
+     * @param clock                 The source of the current time in milliseconds.
+     */
+    SessionManager(long idleTimeoutMillis, long absoluteTimeoutMillis, LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.absoluteTimeoutMillis = absoluteTimeoutMillis;
+        this.clock = clock;
+    }
 
     /**
      * Retrieves the singleton instance of SessionManager.
@@ -37,22 +87,167 @@ public class SessionManager {
         return instance;
     }
 
+    // Session registry
+
+    /**
+     * Starts a new session.
+     *
+     * @param user The user logging in.
+     * @param role The role the user is acting in, or null if none is chosen yet.
+     * @return The new session.
+     */
+    public Session createSession(User user, Role role) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, user, role, clock.getAsLong());
+        sessions.put(token, session);
+        return session;
+    }
+
+    /**
+     * Retrieves a live session by its token and records the access.
+     *
+     * @param token The session token.
+     * @return The session, or null if the token is unknown or the session has timed out.
+     */
+    public Session getSession(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (isExpired(session, now)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token The session token.
+     */
+    public void invalidateSession(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Ends every session of a user, for example after the user is deleted.
+     *
+     * @param username The username whose sessions end.
+     */
+    public void invalidateSessionsForUser(String username) {
+        sessions.values().removeIf(session -> session.getUser() != null && session.getUser().getUsername().equals(username));
+    }
+
+    /**
+     * Drops the cached visibility of every session of a user, for example after the user's group memberships change.
+     *
+     * @param username The username whose cached visibility is dropped.
+     */
+    public void invalidateVisibility(String username) {
+        for (Session session : sessions.values()) {
+            if (session.getUser() != null && session.getUser().getUsername().equals(username)) {
+                session.invalidateVisibility();
+            }
+        }
+    }
+
+    /**
+     * Drops the cached visibility of every session, for example after a group is deleted.
+     */
+    public void invalidateAllVisibility() {
+        for (Session session : sessions.values()) {
+            session.invalidateVisibility();
+        }
+    }
+
+    /**
+     * Drops cached visibility affected by a database change. Membership changes affect one user;
+     * new, deleted or replaced groups affect everyone, since admins see every group.
+     *
+     * @param event The change.
+     */
+    void onChange(ChangeEvent event) {
+        switch (event.type()) {
+            case MEMBER_ADDED, MEMBER_REMOVED, GROUP_RIGHTS_CHANGED -> invalidateVisibility(event.username());
+            case GROUP_ADDED, GROUP_DELETED, ALL_GROUPS_DELETED, DATABASE_REPLACED -> invalidateAllVisibility();
+            case USER_DELETED -> invalidateSessionsForUser(event.username());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Removes every session that has timed out. This runs on the background sweeper once a minute.
+     *
+     * @return The number of sessions removed.
+     */
+    public int sweepExpiredSessions() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        for (Iterator<Session> iterator = sessions.values().iterator(); iterator.hasNext(); ) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of sessions in the registry.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private boolean isExpired(Session session, long now) {
+        if (session.getToken().equals(currentToken)) {
+            return false;
+        }
+        return now - session.getLastAccessed() > idleTimeoutMillis || now - session.getCreatedAt() > absoluteTimeoutMillis;
+    }
+
+    // Current desktop session
+
+    /**
+     * Retrieves the current desktop session.
+     *
+     * @return The current {@link Session}, or null if no session is set.
+     */
+    public Session getCurrentSession() {
+        return getSession(currentToken);
+    }
+
     /**
      * Retrieves the current user of the session.
      *
      * @return The current {@link User}, or null if no user is set.
      */
     public User getCurrentUser() {
-        return currentUser;
+        Session session = getCurrentSession();
+        return session == null ? null : session.getUser();
     }
 
     /**
-     * Sets the current user of the session.
+     * Sets the current user of the session. This starts a new session with a new token and no role.
      *
      * @param currentUser The {@link User} to set as current.
      */
-    public void setCurrentUser(User currentUser) {
-        this.currentUser = currentUser;
+    public synchronized void setCurrentUser(User currentUser) {
+        invalidateSession(currentToken);
+        currentToken = createSession(currentUser, null).getToken();
     }
 
     /**
@@ -61,7 +256,8 @@ public class SessionManager {
      * @return The current {@link Role}, or null if no role is set.
      */
     public Role getCurrentRole() {
-        return currentRole;
+        Session session = getCurrentSession();
+        return session == null ? null : session.getRole();
     }
 
     /**
@@ -69,17 +265,20 @@ public class SessionManager {
      *
      * @param currentRole The {@link Role} to set as current.
      */
-    public void setCurrentRole(Role currentRole) {
-        this.currentRole = currentRole;
+    public synchronized void setCurrentRole(Role currentRole) {
+        Session session = getCurrentSession();
+        if (session == null) {
+            currentToken = createSession(null, currentRole).getToken();
+        } else {
+            session.setRole(currentRole);
+        }
     }
 
     /**
      * Clears the current session by resetting the user and role.
      */
-    public void clearSession() {
-        this.currentUser = null;
-        this.currentRole = null;
+    public synchronized void clearSession() {
+        invalidateSession(currentToken);
+        currentToken = null;
     }
-    
-    
 }
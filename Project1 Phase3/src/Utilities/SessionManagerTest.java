@@ -8,6 +8,9 @@ import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p> Title: SessionManagerTest Class </p>
@@ -112,4 +115,132 @@ class SessionManagerTest {
         // Depending on implementation, you might want to assert user is still null
         assertNull(sessionManager.getCurrentUser(), "Current user should still be null.");
     }
+    
+    @Test
+    @DisplayName("Test Concurrent Sessions Are Kept Apart")
+    void testMultipleSessions() {
+        SessionManager registry = new SessionManager(1000, 10_000, new AtomicLong()::get);
+        User alice = new User("alice", "password123");
+        User bob = new User("bob", "password123");
+        
+        Session aliceSession = registry.createSession(alice, Role.STUDENT);
+        Session bobSession = registry.createSession(bob, Role.INSTRUCTOR);
+        
+        assertNotEquals(aliceSession.getToken(), bobSession.getToken(), "Tokens should be unique.");
+        assertEquals(alice, registry.getSession(aliceSession.getToken()).getUser(), "Token should resolve to its user.");
+        assertEquals(Role.INSTRUCTOR, registry.getSession(bobSession.getToken()).getRole(), "Token should resolve to its role.");
+        assertNull(registry.getSession("unknown"), "Unknown tokens should not resolve.");
+        
+        registry.invalidateSessionsForUser("alice");
+        assertNull(registry.getSession(aliceSession.getToken()), "Invalidated sessions should not resolve.");
+        assertNotNull(registry.getSession(bobSession.getToken()), "Other sessions should be kept.");
+    }
+    
+    @Test
+    @DisplayName("Test Idle And Absolute Timeouts")
+    void testTimeouts() {
+        AtomicLong now = new AtomicLong();
+        SessionManager registry = new SessionManager(1000, 5000, now::get);
+        Session idle = registry.createSession(new User("idle", "p"), Role.STUDENT);
+        Session busy = registry.createSession(new User("busy", "p"), Role.STUDENT);
+        
+        for (int i = 0; i < 4; i++) {
+            now.addAndGet(900);
+            assertNotNull(registry.getSession(busy.getToken()), "Used sessions should stay alive.");
+        }
+        assertNull(registry.getSession(idle.getToken()), "Idle sessions should time out.");
+        
+        now.addAndGet(900);
+        assertNotNull(registry.getSession(busy.getToken()), "Sessions should live until the absolute timeout.");
+        now.addAndGet(900);
+        assertNull(registry.getSession(busy.getToken()), "Sessions should end at the absolute timeout.");
+    }
+    
+    @Test
+    @DisplayName("Test Sweeper Removes Expired Sessions")
+    void testSweepExpiredSessions() {
+        AtomicLong now = new AtomicLong();
+        SessionManager registry = new SessionManager(1000, 5000, now::get);
+        for (int i = 0; i < 10; i++) {
+            registry.createSession(new User("user" + i, "p"), Role.STUDENT);
+        }
+        now.addAndGet(500);
+        Session fresh = registry.createSession(new User("fresh", "p"), Role.STUDENT);
+        now.addAndGet(600);
+        
+        assertEquals(10, registry.sweepExpiredSessions(), "Timed-out sessions should be swept.");
+        assertEquals(1, registry.getSessionCount(), "Only the fresh session should remain.");
+        assertNotNull(registry.getSession(fresh.getToken()), "Fresh session should still resolve.");
+    }
+    
+    @Test
+    @DisplayName("Test Visibility Is Cached Per Session")
+    void testVisibilityCache() throws Exception {
+        SessionManager registry = new SessionManager(1000, 5000, new AtomicLong()::get);
+        Session session = registry.createSession(new User("viewer", "p"), Role.STUDENT);
+        AtomicInteger loads = new AtomicInteger();
+        Session.VisibilityLoader loader = (user, role) -> {
+            loads.incrementAndGet();
+            return role == Role.STUDENT ? Set.of(1L, 2L) : Set.of(3L);
+        };
+        
+        assertEquals(Set.of(1L, 2L), session.getVisibleGroupIds(loader), "Visibility should come from the loader.");
+        session.getVisibleGroupIds(loader);
+        assertEquals(1, loads.get(), "Visibility should be cached.");
+        
+        session.setRole(Role.INSTRUCTOR);
+        assertEquals(Set.of(3L), session.getVisibleGroupIds(loader), "Changing role should reload visibility.");
+        
+        registry.invalidateVisibility("viewer");
+        session.getVisibleGroupIds(loader);
+        assertEquals(3, loads.get(), "Invalidation should force a reload.");
+    }
+
+    @Test
+    @DisplayName("Test Change Events Invalidate Visibility")
+    void testChangeEventsInvalidateVisibility() throws Exception {
+        SessionManager registry = new SessionManager(1000, 5000, new AtomicLong()::get);
+        Session session = registry.createSession(new User("viewer", "p"), Role.STUDENT);
+        AtomicInteger loads = new AtomicInteger();
+        Session.VisibilityLoader loader = (user, role) -> Set.of((long) loads.incrementAndGet());
+
+        session.getVisibleGroupIds(loader);
+        registry.onChange(new ChangeEvent(1, ChangeEvent.Type.MEMBER_ADDED, 0, 7, "someoneElse", 0));
+        session.getVisibleGroupIds(loader);
+        assertEquals(1, loads.get(), "Another user's membership change should keep the cache.");
+
+        registry.onChange(new ChangeEvent(2, ChangeEvent.Type.MEMBER_REMOVED, 0, 7, "viewer", 0));
+        session.getVisibleGroupIds(loader);
+        assertEquals(2, loads.get(), "The user's own membership change should reload.");
+
+        registry.onChange(new ChangeEvent(3, ChangeEvent.Type.GROUP_DELETED, 0, 7, null, 0));
+        session.getVisibleGroupIds(loader);
+        assertEquals(3, loads.get(), "Deleting a group should reload every session.");
+    }
+
+    @Test
+    @DisplayName("Test Invalidation During A Load Is Not Overwritten")
+    void testInvalidationDuringLoadIsNotOverwritten() throws Exception {
+        SessionManager registry = new SessionManager(1000, 5000, new AtomicLong()::get);
+        Session session = registry.createSession(new User("viewer", "p"), Role.STUDENT);
+        AtomicInteger loads = new AtomicInteger();
+        Session.VisibilityLoader revokedWhileLoading = (user, role) -> {
+            // The membership is revoked after this load has read it.
+            registry.invalidateVisibility("viewer");
+            return Set.of((long) loads.incrementAndGet());
+        };
+
+        assertEquals(Set.of(1L), session.getVisibleGroupIds(revokedWhileLoading), "The caller should get its load.");
+        assertEquals(Set.of(2L), session.getVisibleGroupIds((user, role) -> Set.of((long) loads.incrementAndGet())),
+                "The stale load should not be cached.");
+
+        Session.VisibilityLoader roleChangedWhileLoading = (user, role) -> {
+            session.setRole(Role.INSTRUCTOR);
+            return Set.of(99L);
+        };
+        session.invalidateVisibility();
+        session.getVisibleGroupIds(roleChangedWhileLoading);
+        assertEquals(Set.of(3L), session.getVisibleGroupIds((user, role) -> Set.of(3L)),
+                "A load for the previous role should not be cached.");
+    }
 }
@@ -8,6 +8,7 @@ import java.util.List;
 
 public class SpecialAccessGroupRightsDAO {
     private Connection connection;
+    private final ChangeEventBus changes = ChangeEventBus.getInstance();
 
     public SpecialAccessGroupRightsDAO() throws SQLException {
         connection = DatabaseManager.getInstance().getConnection();
@@ -35,6 +36,7 @@ public class SpecialAccessGroupRightsDAO {
             pstmt.setString(2, username);
             pstmt.executeUpdate();
         }
+        changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
     }
 
     public void removeSpecialGroupAdmin(long groupId, String username) throws SQLException {
@@ -44,6 +46,7 @@ public class SpecialAccessGroupRightsDAO {
             pstmt.setString(2, username);
             pstmt.executeUpdate();
         }
+        changes.publish(ChangeEvent.Type.GROUP_RIGHTS_CHANGED, 0, groupId, username);
     }
 
     // Similar methods for instructor viewers/admins and student viewers can be added here
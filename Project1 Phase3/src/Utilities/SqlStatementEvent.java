@@ -0,0 +1,40 @@
+package Utilities;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p> Title: SqlStatementEvent Class </p>
+ *
+ * <p> Description: A JDK Flight Recorder event for one executed SQL statement, emitted by
+ * {@link SqlTracer}. Its duration covers the execute call only. The SQL id is the same for every run of
+ * the same SQL text, so statements can be grouped, and matches the id in the slow-query log. Disabled
+ * unless the recording uses the {@code helpsystem.jfc} profile. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+@Name("helpsystem.SqlStatement")
+@Label("SQL Statement")
+@Category({"Help System", "Database"})
+@Description("An executed SQL statement")
+@Enabled(false)
+public class SqlStatementEvent extends Event {
+    @Label("SQL Id")
+    @Description("A stable id for the SQL text")
+    String sqlId;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Parameters")
+    @Description("The bound parameters, redacted")
+    String parameters;
+
+    @Label("Rows")
+    @Description("The rows read by a query, or changed by an update")
+    long rows;
+}
@@ -0,0 +1,411 @@
+package Utilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p> Title: SqlTracer Class </p>
+ *
+ * <p> Description: Traces the SQL run on a connection. {@link #wrap(Connection)} returns a proxy whose
+ * statements record their SQL text, bound parameters, execution time and row count as a {@link Trace}.
+ * The most recent traces are kept in memory for {@link #recentTraces()}. It follows the Singleton design
+ * pattern; {@link DatabaseManager} wraps its connection with the shared instance. </p>
+ *
+ * <p> Bound parameters are redacted: numbers and booleans are shown, but strings, which may hold
+ * passwords or personal details, are shown only by length. Statements taking at least the slow threshold
+ * ({@code helpsystem.slowQueryMillis}, 50 ms by default) are appended to a rotating slow-query log
+ * ({@code helpsystem.slowQueryLog}, {@value #DEFAULT_LOG_PATTERN} by default) with their H2 {@code EXPLAIN}
+ * plan, captured once per distinct query. </p>
+ *
+ * <p> Execution time covers the execute call only; reading the rows of a query is not included, but the
+ * rows read are counted and the trace is completed when its result set or statement is closed. Each
+ * statement is also emitted as a {@link SqlStatementEvent} when a flight recording enables it. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class SqlTracer {
+    static final String THRESHOLD_PROPERTY = "helpsystem.slowQueryMillis";
+    static final String LOG_PROPERTY = "helpsystem.slowQueryLog";
+    static final String DEFAULT_LOG_PATTERN = "slow-queries.%g.log";
+    static final int RECENT_CAPACITY = 256;
+    static final int MAX_CACHED_PLANS = 512;
+
+    /**
+     * One executed statement.
+     *
+     * @param sql             The SQL text.
+     * @param parameters      The bound parameters, redacted; empty for plain statements.
+     * @param elapsedNanos    How long the execute call took.
+     * @param rows            The rows read for a query, or the rows changed by an update.
+     * @param timestampMillis When the statement was executed, in epoch milliseconds.
+     * @param slow            Whether it reached the slow threshold.
+     * @param plan            The H2 query plan of a slow query, or null.
+     */
+    public record Trace(String sql, String parameters, long elapsedNanos, long rows, long timestampMillis,
+                        boolean slow, String plan) {
+    }
+
+    private static SqlTracer instance;
+    private final long thresholdNanos;
+    private final AtomicLong traced = new AtomicLong();
+    private final AtomicReferenceArray<Trace> recent = new AtomicReferenceArray<>(RECENT_CAPACITY);
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private final RotatingLog slowLog;
+
+    /**
+     * Constructs a SqlTracer.
+     *
+     * @param thresholdNanos The execution time at which a statement is logged as slow.
+     * @param logPattern     The {@link RotatingLog} file pattern of the slow-query log.
+     */
+    SqlTracer(long thresholdNanos, String logPattern) {
+        this.thresholdNanos = thresholdNanos;
+        this.slowLog = new RotatingLog("Slow-query", logPattern);
+    }
+
+    /**
+     * Retrieves the singleton instance of SqlTracer, configured from system properties.
+     *
+     * @return The SqlTracer instance.
+     */
+    public static synchronized SqlTracer getInstance() {
+        if (instance == null) {
+            long thresholdMillis = Long.getLong(THRESHOLD_PROPERTY, 50);
+            instance = new SqlTracer(TimeUnit.MILLISECONDS.toNanos(thresholdMillis),
+                    System.getProperty(LOG_PROPERTY, DEFAULT_LOG_PATTERN));
+        }
+        return instance;
+    }
+
+    /**
+     * Wraps a connection so that the statements it creates are traced.
+     *
+     * @param connection The connection to wrap.
+     * @return The tracing connection.
+     */
+    public Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Returns the most recent traces, oldest first.
+     *
+     * @return Up to {@value #RECENT_CAPACITY} traces.
+     */
+    public List<Trace> recentTraces() {
+        long last = traced.get();
+        List<Trace> traces = new ArrayList<>();
+        for (long next = Math.max(1, last - RECENT_CAPACITY + 1); next <= last; next++) {
+            Trace trace = recent.get((int) (next % RECENT_CAPACITY));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * Returns a short id for SQL text that is the same in every run, for grouping statements in logs
+     * and recordings.
+     *
+     * @param sql The SQL text.
+     * @return The id, as eight hexadecimal digits.
+     */
+    public static String sqlId(String sql) {
+        return String.format("%08x", sql.hashCode());
+    }
+
+    /**
+     * Records a finished statement, logging it if it was slow.
+     */
+    private Trace record(Connection connection, String sql, Object[] parameters, long elapsedNanos, long rows) {
+        boolean slow = elapsedNanos >= thresholdNanos;
+        String plan = slow ? explain(connection, sql, parameters) : null;
+        Trace trace = new Trace(sql, redact(parameters), elapsedNanos, rows, System.currentTimeMillis(), slow, plan);
+        recent.set((int) (traced.incrementAndGet() % RECENT_CAPACITY), trace);
+        if (slow) {
+            logSlow(trace);
+        }
+        return trace;
+    }
+
+    /**
+     * Captures the plan of a query, once per distinct SQL text. Only queries are explained, as EXPLAIN
+     * of other statements tells little here.
+     */
+    private String explain(Connection connection, String sql, Object[] parameters) {
+        String start = sql.stripLeading().toUpperCase(Locale.ROOT);
+        if (!start.startsWith("SELECT") && !start.startsWith("WITH")) {
+            return null;
+        }
+        String cached = plans.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String plan;
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i < parameters.length; i++) {
+                explain.setObject(i, parameters[i]);
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                StringBuilder lines = new StringBuilder();
+                while (rs.next()) {
+                    lines.append(rs.getString(1));
+                }
+                plan = lines.toString();
+            }
+        } catch (SQLException e) {
+            plan = "Plan unavailable: " + e.getMessage();
+        }
+        if (plans.size() < MAX_CACHED_PLANS) {
+            plans.put(sql, plan);
+        }
+        return plan;
+    }
+
+    private void logSlow(Trace trace) {
+        StringBuilder entry = new StringBuilder()
+                .append(Instant.ofEpochMilli(trace.timestampMillis()))
+                .append(' ').append(TimeUnit.NANOSECONDS.toMicros(trace.elapsedNanos())).append("us")
+                .append(" rows=").append(trace.rows())
+                .append(" id=").append(sqlId(trace.sql()))
+                .append(" sql=").append(trace.sql().replaceAll("\\s+", " ").trim());
+        if (!trace.parameters().isEmpty()) {
+            entry.append(" params=").append(trace.parameters());
+        }
+        if (trace.plan() != null) {
+            entry.append(System.lineSeparator()).append("    plan: ").append(trace.plan().replace("\n", " "));
+        }
+        slowLog.append(entry.toString());
+    }
+
+    /**
+     * Formats bound parameters without revealing text values.
+     */
+    static String redact(Object[] parameters) {
+        if (parameters.length <= 1) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 1; i < parameters.length; i++) {
+            if (i > 1) {
+                text.append(", ");
+            }
+            Object value = parameters[i];
+            if (value == null) {
+                text.append("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                text.append(value);
+            } else if (value instanceof CharSequence chars) {
+                text.append("<string:").append(chars.length()).append('>');
+            } else if (value instanceof byte[] bytes) {
+                text.append("<bytes:").append(bytes.length).append('>');
+            } else {
+                text.append('<').append(value.getClass().getSimpleName()).append('>');
+            }
+        }
+        return text.append(']').toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Hands out tracing statements for a connection.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                            new StatementHandler(target, (Statement) SqlTracer.invoke(target, method, args), (String) args[0]));
+                case "createStatement":
+                    return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {Statement.class},
+                            new StatementHandler(target, (Statement) SqlTracer.invoke(target, method, args), null));
+                default:
+                    return SqlTracer.invoke(target, method, args);
+            }
+        }
+    }
+
+    /**
+     * Times the executions of one statement and collects its parameters and rows.
+     */
+    private final class StatementHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Statement target;
+        private final String preparedSql;
+        private Object[] parameters = new Object[1];
+        private int highestIndex;
+        private int batched;
+        // The last execution, completed when its rows have been read.
+        private String pendingSql;
+        private SqlStatementEvent pendingEvent;
+        private Object[] pendingParameters;
+        private long pendingNanos;
+        private long pendingRows;
+
+        StatementHandler(Connection connection, Statement target, String preparedSql) {
+            this.connection = connection;
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    parameters = new Object[1];
+                    highestIndex = 0;
+                    break;
+                case "addBatch":
+                    batched++;
+                    break;
+                case "clearBatch":
+                    batched = 0;
+                    break;
+                case "close":
+                    finish();
+                    break;
+                case "getResultSet":
+                    ResultSet rs = (ResultSet) SqlTracer.invoke(target, method, args);
+                    return rs == null || pendingSql == null ? rs : countRows(rs);
+                default:
+                    if (name.startsWith("execute")) {
+                        return execute(method, args);
+                    }
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                            && method.getDeclaringClass() == PreparedStatement.class) {
+                        bind(index, name.equals("setNull") ? null : args[1]);
+                    }
+            }
+            return SqlTracer.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            Object[] bound = batched > 0 ? new Object[1] : Arrays.copyOf(parameters, highestIndex + 1);
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Object result = SqlTracer.invoke(target, method, args);
+            pendingNanos = System.nanoTime() - start;
+            event.end();
+            pendingEvent = event;
+            pendingSql = sql == null ? "" : (batched > 0 ? sql + " -- batch of " + batched : sql);
+            pendingParameters = bound;
+            pendingRows = 0;
+            if (method.getName().equals("executeBatch") || method.getName().equals("executeLargeBatch")) {
+                batched = 0;
+            }
+            if (result instanceof ResultSet rs) {
+                return countRows(rs);
+            }
+            if (result instanceof Number count) {
+                pendingRows = Math.max(0, count.longValue());
+                finish();
+            } else if (result instanceof int[] counts) {
+                pendingRows = Arrays.stream(counts).filter(c -> c > 0).asLongStream().sum();
+                finish();
+            } else if (result instanceof long[] counts) {
+                pendingRows = Arrays.stream(counts).filter(c -> c > 0).sum();
+                finish();
+            } else if (Boolean.FALSE.equals(result)) {
+                pendingRows = Math.max(0, target.getUpdateCount());
+                finish();
+            }
+            return result;
+        }
+
+        private ResultSet countRows(ResultSet rs) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "next":
+                                Object more = SqlTracer.invoke(rs, method, args);
+                                if (Boolean.TRUE.equals(more)) {
+                                    pendingRows++;
+                                }
+                                return more;
+                            case "close":
+                                finish();
+                                break;
+                            default:
+                                break;
+                        }
+                        return SqlTracer.invoke(rs, method, args);
+                    });
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = value;
+            highestIndex = Math.max(highestIndex, index);
+        }
+
+        private void finish() {
+            if (pendingSql == null) {
+                return;
+            }
+            String sql = pendingSql;
+            pendingSql = null;
+            Trace trace = record(connection, sql, pendingParameters, pendingNanos, pendingRows);
+            if (pendingEvent.shouldCommit()) {
+                pendingEvent.sqlId = sqlId(sql);
+                pendingEvent.sql = sql;
+                pendingEvent.parameters = trace.parameters();
+                pendingEvent.rows = trace.rows();
+                pendingEvent.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+// src/test/java/Utilities/SqlTracerTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTracerTest {
+    @TempDir
+    Path logDir;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TestDatabaseManager testDbManager = TestDatabaseManager.getInstance();
+        testDbManager.resetDatabase();
+        connection = testDbManager.getConnection();
+    }
+
+    @Test
+    void testQueriesAreTracedWithRedactedParameters() throws Exception {
+        SqlTracer tracer = new SqlTracer(Long.MAX_VALUE, logDir.resolve("slow.%g.log").toString());
+        Connection traced = tracer.wrap(connection);
+        try (Statement stmt = traced.createStatement()) {
+            assertEquals(2, stmt.executeUpdate("INSERT INTO Groups (name) VALUES ('One'), ('Two')"));
+        }
+        try (PreparedStatement pstmt = traced.prepareStatement("SELECT id FROM Groups WHERE name <> ? AND id > ?")) {
+            pstmt.setString(1, "secret");
+            pstmt.setLong(2, 0);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+
+        List<SqlTracer.Trace> traces = tracer.recentTraces();
+        assertEquals(2, traces.size());
+        assertEquals(2, traces.get(0).rows(), "An update should count the rows it changed.");
+        SqlTracer.Trace query = traces.get(1);
+        assertEquals(2, query.rows(), "A query should count the rows read.");
+        assertEquals("[<string:6>, 0]", query.parameters(), "Text parameters should be redacted.");
+        assertFalse(query.slow());
+        assertNull(query.plan());
+        assertFalse(Files.exists(logDir.resolve("slow.0.log")), "Nothing should be logged below the threshold.");
+    }
+
+    @Test
+    void testSlowQueriesAreLoggedWithPlans() throws Exception {
+        SqlTracer tracer = new SqlTracer(0, logDir.resolve("slow.%g.log").toString());
+        Connection traced = tracer.wrap(connection);
+        try (PreparedStatement pstmt = traced.prepareStatement("SELECT * FROM Groups WHERE name = ?")) {
+            pstmt.setString(1, "Missing");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertFalse(rs.next());
+            }
+        }
+
+        SqlTracer.Trace trace = tracer.recentTraces().get(0);
+        assertTrue(trace.slow());
+        assertNotNull(trace.plan());
+        assertTrue(trace.plan().toUpperCase().contains("GROUPS"), "The plan should come from EXPLAIN: " + trace.plan());
+        String log = Files.readString(logDir.resolve("slow.0.log"));
+        assertTrue(log.contains("SELECT * FROM Groups WHERE name = ?"));
+        assertTrue(log.contains("plan:"));
+        assertFalse(log.contains("Missing"), "Parameter values must not reach the log.");
+    }
+
+    @Test
+    void testRedact() {
+        assertEquals("", SqlTracer.redact(new Object[1]));
+        assertEquals("[NULL, true, <bytes:3>, <string:0>]", SqlTracer.redact(new Object[] {null, null, true, new byte[3], ""}));
+    }
+}
@@ -0,0 +1,85 @@
+package Utilities;
+
+import java.util.function.LongSupplier;
+
+/**
+ * <p> Title: TokenBucket Class </p>
+ *
+ * <p> Description: A token bucket rate limiter. The bucket holds up to a fixed number of tokens
+ * and refills at a steady rate; each guarded action takes one token and is refused when the
+ * bucket is empty. This allows short bursts while capping the long-run rate. </p>
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public class TokenBucket {
+    private final int capacity;
+    private final long refillNanos;
+    private final LongSupplier clock;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructs a full TokenBucket.
+     *
+     * @param capacity     The maximum number of tokens.
+     * @param refillMillis The time taken to add one token, in milliseconds.
+     */
+    public TokenBucket(int capacity, long refillMillis) {
+        this(capacity, refillMillis, System::nanoTime);
+    }
+
+    /**
+     * Constructs a full TokenBucket driven by the given clock.
+     *
+     * @param capacity     The maximum number of tokens.
+     * @param refillMillis The time taken to add one token, in milliseconds.
+     * @param clock        The source of the current time in nanoseconds.
+     */
+    TokenBucket(int capacity, long refillMillis, LongSupplier clock) {
+        if (capacity <= 0 || refillMillis <= 0) {
+            throw new IllegalArgumentException("Capacity and refill time must be positive.");
+        }
+        this.capacity = capacity;
+        this.refillNanos = refillMillis * 1_000_000L;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return True if a token was taken, false if the bucket is empty.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire()}, for actions that turned out not to count.
+     */
+    public synchronized void release() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Returns the number of whole tokens currently available.
+     *
+     * @return The available tokens.
+     */
+    public synchronized int getAvailableTokens() {
+        refill();
+        return (int) tokens;
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillNanos);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,45 @@
+// src/test/java/Utilities/TokenBucketTest.java
+package Utilities;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(3, 1000, nanos::get);
+
+    @Test
+    void testBurstThenRefuse() {
+        assertTrue(bucket.tryAcquire(), "First token should be available.");
+        assertTrue(bucket.tryAcquire(), "Second token should be available.");
+        assertTrue(bucket.tryAcquire(), "Third token should be available.");
+        assertFalse(bucket.tryAcquire(), "Empty bucket should refuse.");
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+        nanos.addAndGet(1_500_000_000L);
+        assertEquals(1, bucket.getAvailableTokens(), "One token should refill after one and a half periods.");
+        nanos.addAndGet(10_000_000_000L);
+        assertEquals(3, bucket.getAvailableTokens(), "Refill should stop at the capacity.");
+    }
+
+    @Test
+    void testReleaseReturnsToken() {
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+        bucket.release();
+        assertTrue(bucket.tryAcquire(), "Released token should be available again.");
+        bucket.release();
+        bucket.release();
+        bucket.release();
+        assertEquals(3, bucket.getAvailableTokens(), "Release should not exceed the capacity.");
+    }
+}
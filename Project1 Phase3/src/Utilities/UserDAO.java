@@ -6,75 +6,335 @@ import models.User;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class UserDAO {
+    private static final String USER_COLUMNS = "username, password, role, email, firstName, middleName, lastName, " +
+            "preferredName, isFirstLogin, resetRequired, oneTimePassword, otpExpiration";
+
     private Connection connection;
+    private final ChangeEventBus changes = ChangeEventBus.getInstance();
 
     public UserDAO() throws SQLException {
-        connection = DatabaseManager.getInstance().getConnection();
+        this(DatabaseManager.getInstance().getConnection());
+    }
+
+    public UserDAO(Connection connection) {
+        this.connection = connection;
     }
 
     public void addUser(User user) throws SQLException {
-        String insertSQL = "INSERT INTO Users (username, password, role) VALUES (?, ?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, user.getPassword());
-            pstmt.setString(3, convertRolesToString(user.getRoles()));
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("UserDAO.addUser", () -> {
+            insertUser(user);
+        });
     }
 
     public void addStudent(User user) throws SQLException {
-        addUser(user);
+        DaoMetrics.run("UserDAO.addStudent", () -> {
+            insertUser(user);
+        });
+    }
+
+    /**
+     * Inserts a user and its roles in one transaction.
+     *
+     * @param user The user to insert.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void insertUser(User user) throws SQLException {
+        inTransaction(() -> {
+            String insertSQL = "INSERT INTO Users (" + USER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                bindUser(pstmt, user);
+                pstmt.executeUpdate();
+            }
+            saveRoles(List.of(user));
+        });
+        changes.publish(ChangeEvent.Type.USER_SAVED, 0, 0, user.getUsername());
+    }
+
+    /**
+     * Inserts or updates a batch of users in a single round trip, matching rows by username.
+     *
+     * @param users The users to save.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void saveUsers(Collection<User> users) throws SQLException {
+        DaoMetrics.run("UserDAO.saveUsers", () -> {
+            if (users.isEmpty()) {
+                return;
+            }
+            String mergeSQL = "MERGE INTO Users (" + USER_COLUMNS + ") KEY (username) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+            inTransaction(() -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(mergeSQL)) {
+                    for (User user : users) {
+                        bindUser(pstmt, user);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                saveRoles(users);
+            });
+            for (User user : users) {
+                changes.publish(ChangeEvent.Type.USER_SAVED, 0, 0, user.getUsername());
+            }
+        });
     }
 
     public void deleteUser(String username) throws SQLException {
-        String deleteSQL = "DELETE FROM Users WHERE username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setString(1, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("UserDAO.deleteUser", () -> {
+            String deleteSQL = "DELETE FROM Users WHERE username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setString(1, username);
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.USER_DELETED, 0, 0, username);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes a batch of users in a single round trip.
+     *
+     * @param usernames The usernames of the users to delete.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void deleteUsers(Collection<String> usernames) throws SQLException {
+        DaoMetrics.run("UserDAO.deleteUsers", () -> {
+            if (usernames.isEmpty()) {
+                return;
+            }
+            String deleteSQL = "DELETE FROM Users WHERE username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                for (String username : usernames) {
+                    pstmt.setString(1, username);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                int i = 0;
+                for (String username : usernames) {
+                    // Drivers may report SUCCESS_NO_INFO instead of a row count.
+                    if (counts[i++] != 0) {
+                        changes.publish(ChangeEvent.Type.USER_DELETED, 0, 0, username);
+                    }
+                }
+            }
+        });
     }
 
     public void deleteStudent(String username) throws SQLException {
-        String deleteSQL = "DELETE FROM Users WHERE username = ? AND role LIKE '%STUDENT%';";
-        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
-            pstmt.setString(1, username);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("UserDAO.deleteStudent", () -> {
+            String deleteSQL = "DELETE FROM Users WHERE username = ? " +
+                    "AND EXISTS (SELECT 1 FROM UserRoles WHERE username = ? AND role = ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+                pstmt.setString(1, username);
+                pstmt.setString(2, username);
+                pstmt.setString(3, Role.STUDENT.name());
+                if (pstmt.executeUpdate() > 0) {
+                    changes.publish(ChangeEvent.Type.USER_DELETED, 0, 0, username);
+                }
+            }
+        });
     }
 
     public List<User> getAllStudents() throws SQLException {
-        List<User> students = new ArrayList<>();
-        String query = "SELECT * FROM Users WHERE role LIKE '%STUDENT%';";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            while (rs.next()) {
-                User student = new User(rs.getString("username"), rs.getString("password"));
-                List<Role> roles = parseRoles(rs.getString("role"));
-                student.setRoles(roles);
-                students.add(student);
+        return DaoMetrics.call("UserDAO.getAllStudents", () -> {
+            return getUsersByRole(Role.STUDENT);
+        });
+    }
+
+    /**
+     * Retrieves all users holding a role, using the index on the UserRoles table.
+     *
+     * @param role The role to look up.
+     * @return A list of users with the role.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<User> getUsersByRole(Role role) throws SQLException {
+        return DaoMetrics.call("UserDAO.getUsersByRole", () -> {
+            List<User> users = new ArrayList<>();
+            String query = "SELECT u.* FROM UserRoles ur JOIN Users u ON u.username = ur.username WHERE ur.role = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, role.name());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        users.add(extractUser(rs));
+                    }
+                }
             }
-        }
-        return students;
+            return users;
+        });
+    }
+
+    /**
+     * Retrieves every user in the database.
+     *
+     * @return A list of all users.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<User> getAllUsers() throws SQLException {
+        return DaoMetrics.call("UserDAO.getAllUsers", () -> {
+            List<User> users = new ArrayList<>();
+            String query = "SELECT * FROM Users;";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    users.add(extractUser(rs));
+                }
+            }
+            return users;
+        });
+    }
+
+    /**
+     * Retrieves every username, in order, without reading the users. A view pages through them with
+     * {@link #getUsersInRange}.
+     *
+     * @return The usernames, ascending.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<String> getUsernames() throws SQLException {
+        return DaoMetrics.call("UserDAO.getUsernames", () -> {
+            List<String> usernames = new ArrayList<>();
+            String query = "SELECT username FROM Users ORDER BY username;";
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    usernames.add(rs.getString(1));
+                }
+            }
+            return usernames;
+        });
+    }
+
+    /**
+     * Retrieves the users with usernames from one to another, found by key on the username index.
+     *
+     * @param firstUsername The lowest username, inclusive.
+     * @param lastUsername  The highest username, inclusive.
+     * @return The users, ascending by username.
+     * @throws SQLException If a database access error occurs.
+     */
+    public List<User> getUsersInRange(String firstUsername, String lastUsername) throws SQLException {
+        return DaoMetrics.call("UserDAO.getUsersInRange", () -> {
+            List<User> users = new ArrayList<>();
+            String query = "SELECT * FROM Users WHERE username BETWEEN ? AND ? ORDER BY username;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, firstUsername);
+                pstmt.setString(2, lastUsername);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        users.add(extractUser(rs));
+                    }
+                }
+            }
+            return users;
+        });
     }
 
     public User getUserByUsername(String username) throws SQLException {
-        String query = "SELECT * FROM Users WHERE username = ?;";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User(rs.getString("username"), rs.getString("password"));
-                    List<Role> roles = parseRoles(rs.getString("role"));
-                    user.setRoles(roles);
-                    return user;
+        return DaoMetrics.call("UserDAO.getUserByUsername", () -> {
+            String query = "SELECT * FROM Users WHERE username = ?;";
+            try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return extractUser(rs);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs writes as one transaction, so a failure part way through leaves none of them applied. The
+     * connection is shared, so transactions on it are serialized. Inside a caller's transaction, the
+     * writes join it instead.
+     *
+     * @param body The writes.
+     * @throws SQLException If a database access error occurs; the transaction is rolled back.
+     */
+    private void inTransaction(DaoMetrics.SqlAction body) throws SQLException {
+        synchronized (connection) {
+            if (!connection.getAutoCommit()) {
+                body.run();
+                return;
+            }
+            connection.setAutoCommit(false);
+            try {
+                body.run();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Replaces the UserRoles rows of each user with the user's current roles.
+     *
+     * @param users The users whose roles are saved.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void saveRoles(Collection<User> users) throws SQLException {
+        String deleteSQL = "DELETE FROM UserRoles WHERE username = ?;";
+        String insertSQL = "INSERT INTO UserRoles (username, role) VALUES (?, ?);";
+        try (PreparedStatement delete = connection.prepareStatement(deleteSQL);
+             PreparedStatement insert = connection.prepareStatement(insertSQL)) {
+            boolean hasRoles = false;
+            for (User user : users) {
+                delete.setString(1, user.getUsername());
+                delete.addBatch();
+                for (Role role : new LinkedHashSet<>(user.getRoles())) {
+                    insert.setString(1, user.getUsername());
+                    insert.setString(2, role.name());
+                    insert.addBatch();
+                    hasRoles = true;
                 }
             }
+            delete.executeBatch();
+            if (hasRoles) {
+                insert.executeBatch();
+            }
         }
-        return null;
+    }
+
+    private void bindUser(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getUsername());
+        pstmt.setString(2, user.getPassword());
+        pstmt.setString(3, convertRolesToString(user.getRoles()));
+        pstmt.setString(4, user.getEmail());
+        pstmt.setString(5, user.getFirstName());
+        pstmt.setString(6, user.getMiddleName());
+        pstmt.setString(7, user.getLastName());
+        pstmt.setString(8, user.getPreferredName());
+        pstmt.setBoolean(9, user.isFirstLogin());
+        pstmt.setBoolean(10, user.isResetRequired());
+        pstmt.setString(11, user.getOneTimePassword());
+        pstmt.setTimestamp(12, user.getOtpExpiration() == null ? null : Timestamp.valueOf(user.getOtpExpiration()));
+    }
+
+    private User extractUser(ResultSet rs) throws SQLException {
+        User user = new User(rs.getString("username"), rs.getString("password"));
+        user.setRoles(parseRoles(rs.getString("role")));
+        user.setEmail(rs.getString("email"));
+        user.setFirstName(rs.getString("firstName"));
+        user.setMiddleName(rs.getString("middleName"));
+        user.setLastName(rs.getString("lastName"));
+        user.setPreferredName(rs.getString("preferredName"));
+        user.setFirstLogin(rs.getBoolean("isFirstLogin"));
+        user.setResetRequired(rs.getBoolean("resetRequired"));
+        user.setOneTimePassword(rs.getString("oneTimePassword"));
+        Timestamp otpExpiration = rs.getTimestamp("otpExpiration");
+        user.setOtpExpiration(otpExpiration == null ? null : otpExpiration.toLocalDateTime());
+        return user;
     }
 
     private String convertRolesToString(List<Role> roles) {
@@ -92,13 +352,16 @@ public class UserDAO {
                      .map(Role::valueOf)
                      .collect(Collectors.toList());
     }
-    
+
     public void associateArticleWithGroup(long articleId, long groupId) throws SQLException {
-        String insertSQL = "INSERT INTO ArticleGroups (article_id, group_id) VALUES (?, ?);";
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setLong(1, articleId);
-            pstmt.setLong(2, groupId);
-            pstmt.executeUpdate();
-        }
+        DaoMetrics.run("UserDAO.associateArticleWithGroup", () -> {
+            String insertSQL = "INSERT INTO ArticleGroups (article_id, group_id) VALUES (?, ?);";
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
+                pstmt.setLong(1, articleId);
+                pstmt.setLong(2, groupId);
+                pstmt.executeUpdate();
+            }
+            changes.publish(ChangeEvent.Type.ARTICLE_LINKED, articleId, groupId, null);
+        });
     }
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.List;
 
@@ -77,6 +78,46 @@ class UserDAOTest {
         assertTrue(students.stream().anyMatch(u -> u.getUsername().equals("student2")), "student2 should be in the list.");
     }
 
+    @Test
+    void testGetUsersByRoleFollowsRoleChanges() throws SQLException {
+        User user = new User("multi_role", "pass");
+        user.setRoles(Arrays.asList(Role.STUDENT, Role.INSTRUCTOR));
+        userDAO.addUser(user);
+
+        assertEquals(1, userDAO.getUsersByRole(Role.INSTRUCTOR).size(), "User should be listed as an instructor.");
+        assertEquals(1, userDAO.getAllStudents().size(), "User should be listed as a student.");
+
+        user.setRoles(Arrays.asList(Role.ADMIN));
+        userDAO.saveUsers(List.of(user));
+
+        assertTrue(userDAO.getAllStudents().isEmpty(), "User should no longer be listed as a student.");
+        assertEquals("multi_role", userDAO.getUsersByRole(Role.ADMIN).get(0).getUsername(), "User should be listed as an admin.");
+
+        userDAO.deleteUser("multi_role");
+        assertTrue(userDAO.getUsersByRole(Role.ADMIN).isEmpty(), "Deleting the user should remove its roles.");
+    }
+
+    @Test
+    void testRoleListingsIncludeUsersSavedBeforeUserRoles() throws SQLException {
+        // Rebuild the database as it was before UserRoles existed, when roles were only in Users.role.
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS;");
+        }
+        new SchemaMigrator(connection, DatabaseManager.MIGRATIONS.subList(0, 2)).migrate();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO Users (username, password, role) VALUES ('old_student', 'pass', 'STUDENT');");
+            stmt.execute("INSERT INTO Users (username, password, role) VALUES ('old_staff', 'pass', 'ADMIN,INSTRUCTOR');");
+        }
+
+        DatabaseManager.migrate(connection);
+
+        List<User> students = userDAO.getAllStudents();
+        assertEquals(1, students.size(), "The existing student should be listed.");
+        assertEquals("old_student", students.get(0).getUsername());
+        assertEquals("old_staff", userDAO.getUsersByRole(Role.ADMIN).get(0).getUsername(), "Every listed role should be backfilled.");
+        assertEquals("old_staff", userDAO.getUsersByRole(Role.INSTRUCTOR).get(0).getUsername());
+    }
+
     @Test
     void testDuplicateUsername() throws SQLException {
         User user1 = new User("duplicateUser", "password1");
@@ -88,4 +129,47 @@ class UserDAOTest {
 
         assertThrows(SQLException.class, () -> userDAO.addStudent(user2), "Adding a user with duplicate username should throw SQLException.");
     }
+
+    @Test
+    void testPageUsersByUsernameRange() throws SQLException {
+        for (String username : List.of("carol", "alice", "dave", "bob")) {
+            User user = new User(username, "password");
+            user.setRoles(Arrays.asList(Role.STUDENT));
+            userDAO.addStudent(user);
+        }
+
+        assertEquals(List.of("alice", "bob", "carol", "dave"), userDAO.getUsernames(), "Usernames should be in order.");
+        List<User> page = userDAO.getUsersInRange("bob", "carol");
+        assertEquals(2, page.size(), "The range should include both ends.");
+        assertEquals("bob", page.get(0).getUsername());
+        assertEquals("carol", page.get(1).getUsername());
+    }
+
+    @Test
+    void testUserIsNotAddedWhenItsRolesFail() throws SQLException {
+        User existing = new User("existing", "password");
+        existing.setRoles(Arrays.asList(Role.STUDENT));
+        userDAO.addUser(existing);
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE UserRoles ADD CONSTRAINT no_admins CHECK (role <> 'ADMIN');");
+        }
+        try {
+            User admin = new User("half_added", "password");
+            admin.setRoles(Arrays.asList(Role.ADMIN));
+            assertThrows(SQLException.class, () -> userDAO.addUser(admin));
+            assertNull(userDAO.getUserByUsername("half_added"), "A user whose roles fail should not be added.");
+
+            existing.setRoles(Arrays.asList(Role.ADMIN));
+            existing.setEmail("changed@example.com");
+            assertThrows(SQLException.class, () -> userDAO.saveUsers(List.of(existing)));
+            User saved = userDAO.getUserByUsername("existing");
+            assertNull(saved.getEmail(), "A batch whose roles fail should not be saved.");
+            assertTrue(saved.getRoles().contains(Role.STUDENT), "The old roles should be kept.");
+        } finally {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE UserRoles DROP CONSTRAINT no_admins;");
+            }
+        }
+    }
 }
@@ -4,8 +4,25 @@ import models.User;
 import models.InvitationCode;
 import models.Role;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p> Title: User Manager Utility. </p>
@@ -17,23 +34,136 @@ import java.util.*;
  * <p> The `UserManager` manages users, invitation codes, and provides various utility methods 
  * to handle password resets, user roles, and session-related tasks. </p>
  * 
+ * <p> Users are cached in a {@link ConcurrentHashMap} that is loaded from the Users table through
+ * {@link UserDAO} when the manager is created, so lookups and authentication never lock or touch the
+ * database. Every change is recorded as a pending write and a background thread saves pending users
+ * in batches, so callers never wait on the database. Several changes to the same user before a flush
+ * are saved as one write. Users saved or deleted through {@link UserDAO} by other code are picked up
+ * from the {@link ChangeEventBus}. </p>
+ * 
+ * <p> A per-role index of usernames is kept alongside the cache, so {@link #getUsersByRole(Role)}
+ * only visits the users holding the role. Role changes must go through {@link #addUser(User)},
+ * {@link #addRoleToUser(String, Role)} or {@link #removeRoleFromUser(String, Role)} to be indexed. </p>
+ * 
+ * <p> One-time passwords and invitation codes are expired by an {@link ExpiryWheel} on a single
+ * background thread: an expired OTP is cleared and an expired invitation code is removed, so codes
+ * issued in bulk do not accumulate. Listeners added with {@link #addExpiryListener(ExpiryListener)}
+ * are told about each expiry, for auditing. </p>
+ * 
+ * <p> Passwords are stored as PBKDF2 hashes made by {@link PasswordHasher}. Checking a password is
+ * deliberately slow, so {@link #authenticateAsync(String, String)} runs it on a small verification
+ * pool with a bounded queue rather than on the caller's thread. Each user has a {@link TokenBucket}
+ * that is spent by failed attempts, so password guessing cannot make the pool do unbounded work.
+ * Every password check pays for the slow hash; an attempt on an unknown username is checked against
+ * a fixed hash in the same way, so the time taken does not reveal which usernames exist. New
+ * passwords are hashed on the same pool by {@link #addUserAsync(User)} and
+ * {@link #changePasswordAsync(User, String)}. </p>
+ * 
  * @author Naimish Maniya
  * 
  * @version 1.00   2024-10-09  Initial version.
  */
 public class UserManager {
     
-    private static UserManager instance = null;
-    private Map<String, User> users;  // Stores users with username as the key
-    private Map<String, InvitationCode> invitationCodes;  // Stores invitation codes
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+    private static final long EXPIRY_TICK_MILLIS = 1000;
+    private static final Duration INVITATION_CODE_LIFETIME = Duration.ofDays(7);
+    private static final int VERIFY_QUEUE_CAPACITY = 256;
+    private static final int LOGIN_ATTEMPT_BURST = 5;
+    private static final long LOGIN_ATTEMPT_REFILL_MILLIS = 12_000;
+    private static final int MAX_TRACKED_LOGIN_ATTEMPTS = 10_000;
+
+    private enum PendingWrite { SAVE, DELETE }
+
+    /**
+     * The kinds of credential expired by the manager.
+     */
+    public enum ExpiryType { ONE_TIME_PASSWORD, INVITATION_CODE }
+
+    /**
+     * Receives expired one-time passwords and invitation codes.
+     */
+    @FunctionalInterface
+    public interface ExpiryListener {
+        /**
+         * Called on the expiry thread after a credential has expired.
+         * 
+         * @param type The kind of credential that expired.
+         * @param key  The username for a one-time password, or the code for an invitation code.
+         */
+        void expired(ExpiryType type, String key);
+    }
+
+    private record ExpiryKey(ExpiryType type, String key) { }
+
+    private static volatile UserManager instance = null;
+    private final Map<String, User> users;  // Stores users with username as the key
+    private final Map<String, InvitationCode> invitationCodes;  // Stores invitation codes
+    private final Map<Role, Set<String>> roleIndex;  // Usernames holding each role
+    private final Map<String, PendingWrite> pendingWrites;  // Usernames waiting to be written to the database
+    private final UserDAO userDAO;
+    private final ScheduledExecutorService writer;
+    private final ExpiryWheel<ExpiryKey> expiryWheel;
+    private final List<ExpiryListener> expiryListeners = new CopyOnWriteArrayList<>();
+    private final PasswordHasher passwordHasher = PasswordHasher.fromEnvironment();
+    private final ExecutorService verifier;
+    private final Map<String, TokenBucket> loginAttempts = new ConcurrentHashMap<>();
+    private final CompletableFuture<String> unknownUserHash;  // Checked against for usernames that do not exist
+    private volatile Thread flushingThread;  // Set while this manager's own writes publish change events
 
     /**
      * Private constructor to prevent instantiation from outside the class.
-     * Implements the Singleton pattern.
+     * Implements the Singleton pattern. Loads the existing users from the database and
+     * starts the background writer; if the database is unavailable, users are kept in memory only.
      */
     private UserManager() {
-        users = new HashMap<>();
-        invitationCodes = new HashMap<>();
+        users = new ConcurrentHashMap<>();
+        invitationCodes = new ConcurrentHashMap<>();
+        pendingWrites = new ConcurrentHashMap<>();
+        roleIndex = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            roleIndex.put(role, ConcurrentHashMap.newKeySet());
+        }
+        expiryWheel = new ExpiryWheel<>(EXPIRY_TICK_MILLIS, this::expire);
+        int verifierThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        verifier = new ThreadPoolExecutor(verifierThreads, verifierThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(VERIFY_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        byte[] unknownUserPassword = new byte[16];
+        new SecureRandom().nextBytes(unknownUserPassword);
+        unknownUserHash = CompletableFuture.supplyAsync(
+                () -> passwordHasher.hash(Base64.getEncoder().encodeToString(unknownUserPassword)), verifier);
+
+        UserDAO dao = null;
+        try {
+            dao = DaoRegistry.getInstance().getUserDAO();
+            for (User user : dao.getAllUsers()) {
+                users.put(user.getUsername(), user);
+                indexRoles(user);
+                scheduleOtpExpiry(user);
+            }
+        } catch (SQLException e) {
+            System.out.println("Failed to load users from the database; changes will not be persisted: " + e.getMessage());
+            dao = null;
+        }
+        userDAO = dao;
+
+        if (userDAO != null) {
+            writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "user-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writer.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "user-writer-shutdown"));
+            ChangeEventBus.getInstance().subscribe(this::onChange);
+        } else {
+            writer = null;
+        }
+        expiryWheel.start();
     }
 
     /**
@@ -42,43 +172,152 @@ public class UserManager {
      * @return The singleton instance of `UserManager`.
      */
     public static UserManager getInstance() {
-        if (instance == null) {
-            instance = new UserManager();
+        UserManager result = instance;
+        if (result == null) {
+            synchronized (UserManager.class) {
+                result = instance;
+                if (result == null) {
+                    result = new UserManager();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     // Authentication
 
     /**
-     * Authenticates a user by checking the username and password. 
+     * Authenticates a user by checking the username and password, waiting for the result.
      * If the user is required to reset their password, it checks the one-time password (OTP).
      * 
      * @param username The username of the user.
      * @param password The password or OTP of the user.
-     * @return The authenticated user, or null if authentication fails.
+     * @return The authenticated user, or null if authentication fails or the attempt was throttled.
      */
     public User authenticate(String username, String password) {
+        try {
+            return authenticateAsync(username, password).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Authenticates a user without blocking the caller. Password checks run on the verification pool;
+     * OTP checks complete immediately.
+     * 
+     * @param username The username of the user.
+     * @param password The password or OTP of the user.
+     * @return A future holding the authenticated user, or null if the credentials are wrong. The future
+     *         fails with a {@link LoginThrottledException} if the user has made too many failed attempts
+     *         or the verification queue is full.
+     */
+    public CompletableFuture<User> authenticateAsync(String username, String password) {
+        if (username == null || password == null) {
+            return CompletableFuture.completedFuture(null);
+        }
         User user = users.get(username);
-        if (user != null) {
-            if (!user.isResetRequired() && user.getPassword().equals(password)) {
-                return user;
-            } else if (user.isResetRequired()) {
-                // Check if OTP is valid and not expired
-                if (user.getOneTimePassword().equals(password)) {
-                    LocalDateTime now = LocalDateTime.now();
-                    if (user.getOtpExpiration() != null && now.isBefore(user.getOtpExpiration())) {
-                        return user;
-                    } else {
-                        // OTP expired
-                        return null;
-                    }
+        if (user != null && user.isResetRequired()) {
+            return CompletableFuture.completedFuture(checkOneTimePassword(user, password) ? user : null);
+        }
+        String storedHash = user == null ? null : user.getPassword();
+
+        // Unknown usernames are throttled like real ones, so guessing them costs the same.
+        if (user == null && loginAttempts.size() >= MAX_TRACKED_LOGIN_ATTEMPTS) {
+            loginAttempts.values().removeIf(bucket -> bucket.getAvailableTokens() >= LOGIN_ATTEMPT_BURST);
+        }
+        TokenBucket attempts = loginAttempts.computeIfAbsent(username,
+                name -> new TokenBucket(LOGIN_ATTEMPT_BURST, LOGIN_ATTEMPT_REFILL_MILLIS));
+        CompletableFuture<User> future = new CompletableFuture<>();
+        if (!attempts.tryAcquire()) {
+            future.completeExceptionally(new LoginThrottledException("Too many failed login attempts. Please wait and try again."));
+            return future;
+        }
+        try {
+            verifier.execute(() -> {
+                try {
+                    future.complete(user == null ? verifyUnknownUser(password)
+                            : verifyPassword(user, password, storedHash, attempts));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            attempts.release();
+            future.completeExceptionally(new LoginThrottledException("The server is busy. Please try again."));
+        }
+        return future;
+    }
+
+    /**
+     * Runs on the verification pool. A successful check returns the attempt token and upgrades the
+     * stored hash if it is plaintext or uses an old work factor.
+     */
+    private User verifyPassword(User user, String password, String storedHash, TokenBucket attempts) {
+        if (!passwordHasher.verify(password, storedHash)) {
+            return null;
+        }
+        attempts.release();
+        if (passwordHasher.needsRehash(storedHash)) {
+            synchronized (user) {
+                if (storedHash.equals(user.getPassword())) {
+                    user.setPassword(passwordHasher.hash(password));
+                    markForSave(user.getUsername());
                 }
             }
         }
+        return user;
+    }
+
+    /**
+     * Runs on the verification pool. Does the work of a password check for a username that does not
+     * exist, then fails it.
+     */
+    private User verifyUnknownUser(String password) {
+        passwordHasher.verify(password, unknownUserHash.join());
         return null;
     }
 
+    private boolean checkOneTimePassword(User user, String password) {
+        String oneTimePassword = user.getOneTimePassword();
+        if (oneTimePassword == null || !MessageDigest.isEqual(oneTimePassword.getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        // Check that the OTP has not expired
+        return user.getOtpExpiration() != null && LocalDateTime.now().isBefore(user.getOtpExpiration());
+    }
+
+    /**
+     * Sets a new password for a user, storing its hash. The password is hashed on the caller's thread;
+     * UI code should use {@link #changePasswordAsync(User, String)}.
+     * 
+     * @param user     The user whose password is changed.
+     * @param password The new plaintext password.
+     */
+    public void changePassword(User user, String password) {
+        user.setPassword(passwordHasher.hash(password));
+        markForSave(user.getUsername());
+    }
+
+    /**
+     * Sets a new password for a user, hashing it on the verification pool.
+     * 
+     * @param user     The user whose password is changed.
+     * @param password The new plaintext password.
+     * @return A future that completes once the hash is stored, or fails if the pool is full.
+     */
+    public CompletableFuture<Void> changePasswordAsync(User user, String password) {
+        return hashAsync(password).thenAccept(hash -> {
+            user.setPassword(hash);
+            markForSave(user.getUsername());
+        });
+    }
+
     // Password Reset
 
     /**
@@ -93,6 +332,8 @@ public class UserManager {
             user.setOneTimePassword(oneTimePassword);
             user.setResetRequired(true);
             user.setOtpExpiration(LocalDateTime.now().plusHours(24));
+            scheduleOtpExpiry(user);
+            markForSave(username);
             System.out.println("Password reset. One-time password: " + oneTimePassword);
             System.out.println("OTP expires at: " + user.getOtpExpiration());
         }
@@ -107,17 +348,45 @@ public class UserManager {
         user.setOneTimePassword(null);
         user.setResetRequired(false);
         user.setOtpExpiration(null);
+        expiryWheel.cancel(new ExpiryKey(ExpiryType.ONE_TIME_PASSWORD, user.getUsername()));
+        markForSave(user.getUsername());
     }
 
     // User Management
 
     /**
-     * Adds a new user to the system.
+     * Adds a new user to the system, or saves changes to an existing user.
+     * A plaintext password is replaced by its hash before the user is stored, on the caller's thread;
+     * UI code should use {@link #addUserAsync(User)}.
      * 
      * @param user The user to be added.
      */
     public void addUser(User user) {
+        if (user.getPassword() != null && !PasswordHasher.isHash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
+        }
         users.put(user.getUsername(), user);
+        indexRoles(user);
+        markForSave(user.getUsername());
+    }
+
+    /**
+     * Adds a new user to the system, or saves changes to an existing user, hashing a plaintext
+     * password on the verification pool first.
+     * 
+     * @param user The user to be added.
+     * @return A future that completes once the user is stored, or fails if the pool is full.
+     */
+    public CompletableFuture<Void> addUserAsync(User user) {
+        String password = user.getPassword();
+        if (password == null || PasswordHasher.isHash(password)) {
+            addUser(user);
+            return CompletableFuture.completedFuture(null);
+        }
+        return hashAsync(password).thenAccept(hash -> {
+            user.setPassword(hash);
+            addUser(user);
+        });
     }
 
     /**
@@ -136,8 +405,8 @@ public class UserManager {
      * @param username The username of the user to be removed.
      */
     public void removeUser(String username) {
-        if (users.containsKey(username)) {
-            users.remove(username);
+        if (forget(username)) {
+            pendingWrites.put(username, PendingWrite.DELETE);
         } else {
             System.out.println("User not found.");
         }
@@ -183,6 +452,8 @@ public class UserManager {
         User user = users.get(username);
         if (user != null) {
             user.addRole(role);
+            roleIndex.get(role).add(username);
+            markForSave(username);
         }
     }
 
@@ -196,28 +467,43 @@ public class UserManager {
         User user = users.get(username);
         if (user != null) {
             user.removeRole(role);
+            if (!user.getRoles().contains(role)) {
+                roleIndex.get(role).remove(username);
+            }
+            markForSave(username);
         }
     }
 
     // Invitation Code Management
 
     /**
-     * Adds a new invitation code to the system.
+     * Adds a new invitation code to the system. A code without an expiration time
+     * expires after seven days.
      * 
      * @param code The invitation code to be added.
      */
     public void addInvitationCode(InvitationCode code) {
+        if (code.getExpiresAt() == null) {
+            code.setExpiresAt(LocalDateTime.now().plus(INVITATION_CODE_LIFETIME));
+        }
         invitationCodes.put(code.getCode(), code);
+        expiryWheel.schedule(new ExpiryKey(ExpiryType.INVITATION_CODE, code.getCode()), toEpochMillis(code.getExpiresAt()));
     }
 
     /**
      * Retrieves an invitation code by its code string.
      * 
      * @param code The invitation code string.
-     * @return The invitation code, or null if not found.
+     * @return The invitation code, or null if not found or expired.
      */
     public InvitationCode getInvitationCode(String code) {
-        return invitationCodes.get(code);
+        InvitationCode invitation = invitationCodes.get(code);
+        // The expiry thread may be up to a tick behind, so check the deadline here too.
+        if (invitation != null && invitation.getExpiresAt() != null
+                && !LocalDateTime.now().isBefore(invitation.getExpiresAt())) {
+            return null;
+        }
+        return invitation;
     }
 
     /**
@@ -227,6 +513,36 @@ public class UserManager {
      */
     public void removeInvitationCode(String code) {
         invitationCodes.remove(code);
+        expiryWheel.cancel(new ExpiryKey(ExpiryType.INVITATION_CODE, code));
+    }
+
+    // Expiry
+
+    /**
+     * Registers a listener to be told about expired one-time passwords and invitation codes.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addExpiryListener(ExpiryListener listener) {
+        expiryListeners.add(listener);
+    }
+
+    /**
+     * Unregisters an expiry listener.
+     * 
+     * @param listener The listener to remove.
+     */
+    public void removeExpiryListener(ExpiryListener listener) {
+        expiryListeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of one-time passwords and invitation codes waiting to expire.
+     * 
+     * @return The number of scheduled expiries.
+     */
+    public int getPendingExpiryCount() {
+        return expiryWheel.size();
     }
     
     public boolean isResetRequired(String username) {
@@ -237,10 +553,206 @@ public class UserManager {
         return false;
     }
     
+    /**
+     * Returns the users holding a role, looked up through the role index.
+     * 
+     * @param role The role to look up.
+     * @return A list of users with the role.
+     */
     public List<User> getUsersByRole(Role role) {
-        return users.values().stream()
-                .filter(user -> user.getRoles().contains(role))
-                .toList();
+        List<User> result = new ArrayList<>();
+        for (String username : roleIndex.get(role)) {
+            User user = users.get(username);
+            // The index may briefly lag a concurrent change, so confirm against the user itself.
+            if (user != null && user.getRoles().contains(role)) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    // Persistence
+
+    /**
+     * Writes all pending user changes to the database now, in one batch of saves and one batch of deletes.
+     * This normally runs on the background writer; callers can use it to make changes durable immediately.
+     *
+     * @throws SQLException If the database write fails. Failed changes stay pending and are retried.
+     */
+    public void flush() throws SQLException {
+        if (userDAO == null) {
+            pendingWrites.clear();
+            return;
+        }
+        synchronized (pendingWrites) {
+            List<User> saves = new ArrayList<>();
+            List<String> deletes = new ArrayList<>();
+            for (String username : new ArrayList<>(pendingWrites.keySet())) {
+                PendingWrite write = pendingWrites.remove(username);
+                if (write == PendingWrite.DELETE) {
+                    deletes.add(username);
+                } else if (write == PendingWrite.SAVE) {
+                    User user = users.get(username);
+                    if (user != null) {
+                        saves.add(user);
+                    }
+                }
+            }
+            flushingThread = Thread.currentThread();
+            try {
+                userDAO.deleteUsers(deletes);
+                userDAO.saveUsers(saves);
+            } catch (SQLException e) {
+                // Requeue without overwriting any newer change made while the batch was being written.
+                for (String username : deletes) {
+                    pendingWrites.putIfAbsent(username, PendingWrite.DELETE);
+                }
+                for (User user : saves) {
+                    pendingWrites.putIfAbsent(user.getUsername(), PendingWrite.SAVE);
+                }
+                throw e;
+            } finally {
+                flushingThread = null;
+            }
+        }
+    }
+
+    /**
+     * Follows users written to the database by code other than this manager, such as a page or the API
+     * server calling {@link UserDAO} directly. A deleted user is dropped from the cache with any pending
+     * write, so the write cannot bring the row back. A saved user is reloaded unless it has a change of
+     * its own waiting to be written.
+     *
+     * @param event The change.
+     */
+    void onChange(ChangeEvent event) {
+        if (Thread.currentThread() == flushingThread) {
+            return;
+        }
+        switch (event.type()) {
+            case USER_DELETED -> {
+                // Waits for a flush in progress, so the deleted user is not saved again after this.
+                synchronized (pendingWrites) {
+                    pendingWrites.remove(event.username());
+                    forget(event.username());
+                }
+            }
+            case USER_SAVED -> reload(event.username());
+            default -> {
+            }
+        }
     }
 
+    /**
+     * Returns the number of users with changes not yet written to the database.
+     * 
+     * @return The number of pending writes.
+     */
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    private void scheduleOtpExpiry(User user) {
+        if (user.isResetRequired() && user.getOneTimePassword() != null && user.getOtpExpiration() != null) {
+            expiryWheel.schedule(new ExpiryKey(ExpiryType.ONE_TIME_PASSWORD, user.getUsername()),
+                    toEpochMillis(user.getOtpExpiration()));
+        }
+    }
+
+    /**
+     * Called by the expiry wheel. An expired OTP is cleared but the reset flag and expiration time are kept,
+     * so the login page can still explain why the OTP was refused.
+     */
+    private void expire(ExpiryKey expiryKey, long deadlineMillis) {
+        if (expiryKey.type() == ExpiryType.ONE_TIME_PASSWORD) {
+            User user = users.get(expiryKey.key());
+            if (user == null || user.getOtpExpiration() == null
+                    || LocalDateTime.now().isBefore(user.getOtpExpiration())) {
+                return;
+            }
+            user.setOneTimePassword(null);
+            markForSave(user.getUsername());
+        } else {
+            InvitationCode code = invitationCodes.get(expiryKey.key());
+            if (code == null || (code.getExpiresAt() != null && LocalDateTime.now().isBefore(code.getExpiresAt()))) {
+                return;
+            }
+            invitationCodes.remove(expiryKey.key());
+        }
+        for (ExpiryListener listener : expiryListeners) {
+            listener.expired(expiryKey.type(), expiryKey.key());
+        }
+    }
+
+    private CompletableFuture<String> hashAsync(String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordHasher.hash(password), verifier);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new LoginThrottledException("The server is busy. Please try again."));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Drops a user from the cache and ends everything held for it.
+     *
+     * @param username The username.
+     * @return True if the user was cached.
+     */
+    private boolean forget(String username) {
+        if (users.remove(username) == null) {
+            return false;
+        }
+        unindexRoles(username);
+        loginAttempts.remove(username);
+        SessionManager.getInstance().invalidateSessionsForUser(username);
+        expiryWheel.cancel(new ExpiryKey(ExpiryType.ONE_TIME_PASSWORD, username));
+        return true;
+    }
+
+    private void reload(String username) {
+        synchronized (pendingWrites) {
+            if (pendingWrites.containsKey(username)) {
+                return;
+            }
+            try {
+                User user = userDAO.getUserByUsername(username);
+                if (user != null) {
+                    users.put(username, user);
+                    indexRoles(user);
+                    scheduleOtpExpiry(user);
+                }
+            } catch (SQLException e) {
+                System.out.println("Failed to reload user " + username + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void indexRoles(User user) {
+        unindexRoles(user.getUsername());
+        for (Role role : user.getRoles()) {
+            roleIndex.get(role).add(user.getUsername());
+        }
+    }
+
+    private void unindexRoles(String username) {
+        for (Set<String> usernames : roleIndex.values()) {
+            usernames.remove(username);
+        }
+    }
+
+    private void markForSave(String username) {
+        pendingWrites.put(username, PendingWrite.SAVE);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            System.out.println("Failed to save users: " + e.getMessage());
+        }
+    }
 }
@@ -1,7 +1,20 @@
 package Utilities;
 
+import models.InvitationCode;
+import models.Role;
 import models.User;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 /**
  * <p> Title: UserManagerTest Class </p>
  * 
@@ -43,6 +56,15 @@ public class UserManagerTest {
         testIsUsernameTaken();
         testAuthenticate();
         testResetPassword();
+        testPersistence();
+        testConcurrentAuthentication();
+        testGetUsersByRole();
+        testInvitationCodeExpiry();
+        testPasswordIsHashed();
+        testFailedLoginsAreThrottled();
+        testFollowsDirectUserWrites();
+        testUnknownUsernamesAreThrottled();
+        testAsyncPasswordHashing();
         
         System.out.println("Tests completed.");
     }
@@ -118,4 +140,244 @@ public class UserManagerTest {
             System.out.println("Failed: Password reset did not occur.");
         }
     }
+
+    /**
+     * Tests that users added to the {@link UserManager} are written to the Users table.
+     * It adds a user, flushes pending writes, and reads the user back through {@link UserDAO}.
+     */
+    public void testPersistence() {
+        System.out.println("\nTest: Persist User");
+        UserManager userManager = UserManager.getInstance();
+        User user = new User("testUser5", "password123");
+        userManager.addUser(user);
+
+        try {
+            userManager.flush();
+            User stored = new UserDAO().getUserByUsername("testUser5");
+            if (stored != null && userManager.getPendingWriteCount() == 0) {
+                System.out.println("Passed: User was saved to the database.");
+            } else {
+                System.out.println("Failed: User was not saved to the database.");
+            }
+        } catch (SQLException e) {
+            System.out.println("Failed: Saving the user raised an error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that many threads can authenticate at the same time.
+     * It adds a user per thread and authenticates them concurrently. Every login pays for the full
+     * password hash, so each thread logs in only a few times.
+     */
+    public void testConcurrentAuthentication() {
+        System.out.println("\nTest: Concurrent Authentication");
+        UserManager userManager = UserManager.getInstance();
+        for (int i = 0; i < 8; i++) {
+            userManager.addUser(new User("testUser6-" + i, "password123"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String username = "testUser6-" + i;
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 4; j++) {
+                        if (userManager.authenticate(username, "password123") == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            boolean allPassed = true;
+            for (Future<Boolean> result : results) {
+                allPassed &= result.get();
+            }
+            if (allPassed) {
+                System.out.println("Passed: Concurrent authentication succeeded.");
+            } else {
+                System.out.println("Failed: Concurrent authentication failed.");
+            }
+        } catch (Exception e) {
+            System.out.println("Failed: Concurrent authentication raised an error: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that users are listed by role as roles are added and removed.
+     * It adds a student, makes it an instructor, and checks both role listings.
+     */
+    public void testGetUsersByRole() {
+        System.out.println("\nTest: Get Users By Role");
+        UserManager userManager = UserManager.getInstance();
+        User user = new User("testUser7", "password123");
+        user.addRole(Role.STUDENT);
+        userManager.addUser(user);
+
+        userManager.addRoleToUser("testUser7", Role.INSTRUCTOR);
+        userManager.removeRoleFromUser("testUser7", Role.STUDENT);
+        boolean isInstructor = userManager.getUsersByRole(Role.INSTRUCTOR).contains(user);
+        boolean isStudent = userManager.getUsersByRole(Role.STUDENT).contains(user);
+        if (isInstructor && !isStudent) {
+            System.out.println("Passed: Users are listed by their current roles.");
+        } else {
+            System.out.println("Failed: Role listing does not match the user's roles.");
+        }
+    }
+
+    /**
+     * Tests that expired invitation codes are refused and removed by the expiry thread.
+     * It adds a code that has already expired and waits for the expiry listener to report it.
+     */
+    public void testInvitationCodeExpiry() {
+        System.out.println("\nTest: Invitation Code Expiry");
+        UserManager userManager = UserManager.getInstance();
+        CountDownLatch expired = new CountDownLatch(1);
+        UserManager.ExpiryListener listener = (type, key) -> {
+            if (type == UserManager.ExpiryType.INVITATION_CODE && key.equals("expiredCode")) {
+                expired.countDown();
+            }
+        };
+        userManager.addExpiryListener(listener);
+
+        InvitationCode code = new InvitationCode("expiredCode", List.of(Role.STUDENT));
+        code.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        userManager.addInvitationCode(code);
+        try {
+            boolean refused = userManager.getInvitationCode("expiredCode") == null;
+            if (refused && expired.await(5, TimeUnit.SECONDS)) {
+                System.out.println("Passed: Expired invitation code was removed.");
+            } else {
+                System.out.println("Failed: Expired invitation code was not removed.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Failed: Interrupted while waiting for expiry.");
+        } finally {
+            userManager.removeExpiryListener(listener);
+        }
+    }
+
+    /**
+     * Tests that passwords are stored as hashes and still authenticate.
+     * It adds a user with a plaintext password and checks the stored value and a login.
+     */
+    public void testPasswordIsHashed() {
+        System.out.println("\nTest: Password Is Hashed");
+        UserManager userManager = UserManager.getInstance();
+        User user = new User("testUser8", "password123");
+        userManager.addUser(user);
+
+        boolean hashed = PasswordHasher.isHash(user.getPassword());
+        if (hashed && userManager.authenticate("testUser8", "password123") != null
+                && userManager.authenticate("testUser8", "wrongPassword") == null) {
+            System.out.println("Passed: Password was hashed and verified.");
+        } else {
+            System.out.println("Failed: Password was not hashed or did not verify.");
+        }
+    }
+
+    /**
+     * Tests that repeated failed logins are refused without checking the password.
+     * It makes failed attempts until the user's attempt budget is spent.
+     */
+    public void testFailedLoginsAreThrottled() {
+        System.out.println("\nTest: Failed Logins Are Throttled");
+        UserManager userManager = UserManager.getInstance();
+        userManager.addUser(new User("testUser9", "password123"));
+
+        boolean throttled = false;
+        for (int i = 0; i < 10 && !throttled; i++) {
+            try {
+                userManager.authenticateAsync("testUser9", "wrongPassword").join();
+            } catch (CompletionException e) {
+                throttled = e.getCause() instanceof LoginThrottledException;
+            }
+        }
+        if (throttled) {
+            System.out.println("Passed: Failed logins were throttled.");
+        } else {
+            System.out.println("Failed: Failed logins were not throttled.");
+        }
+    }
+
+    /**
+     * Tests that users written through {@link UserDAO} by other code are seen by the cache.
+     * It adds a user directly, checks it can log in, then deletes it directly and checks it cannot.
+     */
+    public void testFollowsDirectUserWrites() {
+        System.out.println("\nTest: Follows Direct User Writes");
+        UserManager userManager = UserManager.getInstance();
+        try {
+            User user = new User("testUser10", new PasswordHasher(1000).hash("password123"));
+            user.setRoles(List.of(Role.STUDENT));
+            UserDAO userDAO = DaoRegistry.getInstance().getUserDAO();
+            userDAO.addUser(user);
+            boolean added = userManager.authenticate("testUser10", "password123") != null;
+
+            userManager.changePassword(userManager.getUserByUsername("testUser10"), "newPassword");
+            userDAO.deleteUser("testUser10");
+            userManager.flush();
+            boolean deleted = userManager.getUserByUsername("testUser10") == null
+                    && userDAO.getUserByUsername("testUser10") == null;
+
+            if (added && deleted) {
+                System.out.println("Passed: Direct writes were followed.");
+            } else {
+                System.out.println("Failed: Direct writes were not followed.");
+            }
+        } catch (SQLException e) {
+            System.out.println("Failed: Writing the user raised an error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that logins for a username that does not exist are checked and throttled like real ones,
+     * so they cannot be told apart from wrong passwords.
+     */
+    public void testUnknownUsernamesAreThrottled() {
+        System.out.println("\nTest: Unknown Usernames Are Throttled");
+        UserManager userManager = UserManager.getInstance();
+
+        boolean rejected = true;
+        boolean throttled = false;
+        for (int i = 0; i < 10 && !throttled; i++) {
+            try {
+                rejected &= userManager.authenticateAsync("noSuchUser", "password123").join() == null;
+            } catch (CompletionException e) {
+                throttled = e.getCause() instanceof LoginThrottledException;
+            }
+        }
+        if (rejected && throttled) {
+            System.out.println("Passed: Unknown usernames were rejected and throttled.");
+        } else {
+            System.out.println("Failed: Unknown usernames were not handled like real ones.");
+        }
+    }
+
+    /**
+     * Tests that the asynchronous add and password change hash the password before storing it.
+     */
+    public void testAsyncPasswordHashing() {
+        System.out.println("\nTest: Async Password Hashing");
+        UserManager userManager = UserManager.getInstance();
+        User user = new User("testUser11", "password123");
+        userManager.addUserAsync(user).join();
+        boolean added = PasswordHasher.isHash(user.getPassword()) && userManager.getUserByUsername("testUser11") == user
+                && userManager.authenticate("testUser11", "password123") != null;
+
+        userManager.changePasswordAsync(user, "newPassword").join();
+        boolean changed = PasswordHasher.isHash(user.getPassword())
+                && userManager.authenticate("testUser11", "newPassword") != null
+                && userManager.authenticate("testUser11", "password123") == null;
+
+        if (added && changed) {
+            System.out.println("Passed: Passwords were hashed off the caller's thread.");
+        } else {
+            System.out.println("Failed: Async add or password change did not store a hash.");
+        }
+    }
 }
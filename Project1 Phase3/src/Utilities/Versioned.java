@@ -0,0 +1,25 @@
+package Utilities;
+
+/**
+ * <p> Title: Versioned Record </p>
+ *
+ * <p> Description: The result of a conditional read. When the row has changed since the version the
+ * caller already holds, {@link #value()} is the fresh row; when it has not, the value is null and only
+ * {@link #version()} is returned, so large columns such as article bodies are never read. </p>
+ *
+ * @param <T>     The type of row read.
+ * @param value   The row, or null if it is unchanged.
+ * @param version The row's current version.
+ *
+ * @version 1.00  2026-10-19  Initial version.
+ */
+public record Versioned<T>(T value, long version) {
+    /**
+     * Checks whether the row changed since the version the caller held.
+     *
+     * @return True if {@link #value()} holds a fresh row.
+     */
+    public boolean isModified() {
+        return value != null;
+    }
+}
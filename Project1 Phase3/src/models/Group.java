@@ -20,6 +20,7 @@ public class Group implements Serializable {
     private long id;
     private String name;
     private boolean isSpecialAccessGroup;
+    private long version;
 
     /**
      * Default constructor for Group.
@@ -89,6 +90,24 @@ public class Group implements Serializable {
     public void setSpecialAccessGroup(boolean isSpecialAccessGroup) {
         this.isSpecialAccessGroup = isSpecialAccessGroup;
     }
+
+    /**
+     * Retrieves the version of the group, which the database increments on every change to the group, its members or its access rights.
+     *
+     * @return The group's version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the group.
+     *
+     * @param version The group's version.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
     
     @Override
     public boolean equals(Object o) {
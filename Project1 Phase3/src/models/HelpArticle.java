@@ -1,8 +1,11 @@
 package models;
 
+import java.io.Serializable;
 import java.util.List;
 
-public class HelpArticle {
+public class HelpArticle implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private long id;
     private String header;
     private String title;
@@ -10,6 +13,7 @@ public class HelpArticle {
     private List<String> keywords;
     private String body;
     private List<String> referenceLinks;
+    private long version;
 
     // Constructors
 
@@ -69,5 +73,11 @@ public class HelpArticle {
     }
 
     public void setReferenceLinks(List<String> referenceLinks) { this.referenceLinks = referenceLinks; }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) { this.version = version; }
 	
 }
@@ -13,7 +13,8 @@ public class InvitationCode {
      * 
      * <p> Description: This class represents an invitation code that can be used to create a new user.
      * The invitation code contains a unique code, a list of roles that the new user will have, and
-     * a flag indicating whether the code has been used. </p>
+     * a flag indicating whether the code has been used. A code may also carry an expiration time,
+     * after which it can no longer be used. </p>
      * 
      * @author Naimish Maniya
      * 
@@ -23,6 +24,7 @@ public class InvitationCode {
     private String code;
     private List<Role> roles;
     private boolean isUsed;
+    private LocalDateTime expiresAt;
 
     /**
      * Constructor that initializes the invitation code with a unique code and a list of roles.
@@ -90,4 +92,22 @@ public class InvitationCode {
     public void setUsed(boolean isUsed) {
         this.isUsed = isUsed;
     }
+
+    /**
+     * Returns the time this invitation code expires.
+     * 
+     * @return The expiration time, or null if the code does not expire.
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets the time this invitation code expires.
+     * 
+     * @param expiresAt The expiration time, or null if the code does not expire.
+     */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }